@@ -0,0 +1,352 @@
+package org.chathamrobotics.ftcutils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Writes log lines on a background thread so that the opmode's thread never waits on the log cat.
+ * Lines are put into a bounded ring buffer without locking and written in batches by a single
+ * writer thread. When the buffer is full new lines are dropped and counted.
+ *
+ * <p>Here is an example of how one might use {@link AsyncLogSink}:</p>
+ *
+ * <pre>
+ *     AsyncLogSink sink = new AsyncLogSink(256);
+ *     sink.start();
+ *     RobotLogger.setAsyncSink(sink);
+ * </pre>
+ */
+public class AsyncLogSink {
+    /**
+     * The default number of lines written per batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 32;
+
+    /**
+     * The default time the writer thread waits for new lines when the buffer is empty.
+     */
+    public static final long DEFAULT_IDLE_NANOS = 5000000;
+
+    /**
+     * The tag used for the sink's own messages.
+     */
+    public static final String TAG = "AsyncLogSink";
+
+    /**
+     * The writer used to write the lines.
+     */
+    private final LogWriter writer;
+
+    /**
+     * The buffered lines.
+     */
+    private final int[] priorities;
+    private final String[] tags;
+    private final String[] lines;
+
+    /**
+     * The sequence published for each slot. A slot is readable when its sequence is one past its position.
+     */
+    private final AtomicLongArray published;
+
+    /**
+     * Used to wrap positions into the buffer.
+     */
+    private final int mask;
+
+    /**
+     * The next position to be claimed by a producer.
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * The next position to be written. Only changed by the writer.
+     */
+    private volatile long tail;
+
+    /**
+     * The number of lines dropped because the buffer was full.
+     */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * The number of dropped lines that have already been reported.
+     */
+    private long reportedDropped;
+
+    /**
+     * The maximum number of lines written per batch.
+     */
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * The time the writer thread waits for new lines when the buffer is empty.
+     */
+    private long idleNanos = DEFAULT_IDLE_NANOS;
+
+    /**
+     * The writer thread. Kept after a stop until the thread has exited, so that nothing else
+     * writes lines while it is still writing.
+     */
+    private volatile Thread thread;
+
+    /**
+     * Whether the writer thread should keep running.
+     */
+    private volatile boolean running;
+
+    /**
+     * Creates a new instance of AsyncLogSink that writes to the log cat.
+     *
+     * @param capacity  the number of lines that can be buffered. Rounded up to a power of two.
+     */
+    public AsyncLogSink(int capacity) {
+        this(capacity, LogWriter.ANDROID);
+    }
+
+    /**
+     * Creates a new instance of AsyncLogSink.
+     *
+     * @param capacity  the number of lines that can be buffered. Rounded up to a power of two.
+     * @param writer    the writer to write the lines to.
+     */
+    public AsyncLogSink(int capacity, LogWriter writer) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be positive");
+
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+
+        this.writer = writer;
+        this.mask = size - 1;
+        this.priorities = new int[size];
+        this.tags = new String[size];
+        this.lines = new String[size];
+        this.published = new AtomicLongArray(size);
+    }
+
+    /**
+     * Sets the maximum number of lines written per batch.
+     *
+     * @param batchSize the batch size.
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) throw new IllegalArgumentException("batchSize must be positive");
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Sets the time the writer thread waits for new lines when the buffer is empty.
+     *
+     * @param idleNanos the idle time in nanoseconds.
+     */
+    public void setIdleNanos(long idleNanos) {
+        this.idleNanos = idleNanos;
+    }
+
+    /**
+     * Gets the number of lines that can be buffered.
+     *
+     * @return  the capacity.
+     */
+    public int getCapacity() {
+        return this.mask + 1;
+    }
+
+    /**
+     * Gets the number of lines dropped because the buffer was full.
+     *
+     * @return  the number of dropped lines.
+     */
+    public long getDroppedCount() {
+        return this.dropped.get();
+    }
+
+    /**
+     * Gets the number of lines waiting to be written.
+     *
+     * @return  the number of pending lines.
+     */
+    public int getPendingCount() {
+        return (int) (this.head.get() - this.tail);
+    }
+
+    /**
+     * Starts the writer thread.
+     *
+     * @throws IllegalStateException    Thrown if the writer thread from before a timed out stop is still running.
+     */
+    public synchronized void start() {
+        if (writerThread() != null) {
+            if (this.running) return;
+            throw new IllegalStateException("the previous writer thread has not stopped yet");
+        }
+
+        this.running = true;
+        this.thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                runWriter();
+            }
+        }, TAG);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Writes all of the buffered lines and stops the writer thread. If the writer thread is still
+     * writing when the timeout is up it is left to finish on its own, and lines are not written on
+     * other threads until it has.
+     *
+     * @param timeoutMillis the maximum time to wait for the writer thread.
+     * @return              whether the writer thread stopped within the timeout.
+     * @throws InterruptedException     Thrown if the thread is interrupted while waiting.
+     */
+    public synchronized boolean stop(long timeoutMillis) throws InterruptedException {
+        Thread thread = this.thread;
+        if (thread == null) return true;
+
+        this.running = false;
+        LockSupport.unpark(thread);
+        thread.join(timeoutMillis);
+
+        if (thread.isAlive()) return false;
+
+        this.thread = null;
+        return true;
+    }
+
+    /**
+     * Gets the writer thread, forgetting it if it has exited after a stop.
+     *
+     * @return  the writer thread, or null if there is none.
+     */
+    private synchronized Thread writerThread() {
+        Thread thread = this.thread;
+
+        if (thread != null && ! this.running && ! thread.isAlive()) {
+            this.thread = null;
+            return null;
+        }
+
+        return thread;
+    }
+
+    /**
+     * Adds a line to the buffer. Never blocks. If the buffer is full the line is dropped.
+     *
+     * @param priority  the priority of the line.
+     * @param tag       the tag for the line.
+     * @param line      the line.
+     * @return          whether the line was buffered.
+     */
+    public boolean offer(int priority, String tag, String line) {
+        long position;
+
+        do {
+            position = this.head.get();
+
+            if (position - this.tail > this.mask) {
+                this.dropped.incrementAndGet();
+                return false;
+            }
+        } while (! this.head.compareAndSet(position, position + 1));
+
+        int index = (int) position & this.mask;
+        this.priorities[index] = priority;
+        this.tags[index] = tag;
+        this.lines[index] = line;
+        this.published.lazySet(index, position + 1);
+
+        return true;
+    }
+
+    /**
+     * Waits for all of the lines buffered before this call to be written. If the writer thread is
+     * not running the lines are written on the calling thread.
+     *
+     * @param timeoutMillis the maximum time to wait.
+     * @return              whether all of the lines were written.
+     */
+    public boolean flush(long timeoutMillis) {
+        long target = this.head.get();
+        Thread thread;
+
+        synchronized (this) {
+            thread = writerThread();
+
+            if (thread == null) {
+                while (this.tail < target && drain() > 0);
+                return this.tail >= target;
+            }
+        }
+
+        long deadline = System.nanoTime() + timeoutMillis * 1000000;
+        LockSupport.unpark(thread);
+
+        while (this.tail < target) {
+            if (System.nanoTime() >= deadline) return false;
+            Thread.yield();
+        }
+
+        return true;
+    }
+
+    /**
+     * The writer thread's loop.
+     */
+    private void runWriter() {
+        while (this.running) {
+            if (drain() == 0) {
+                LockSupport.parkNanos(this, this.idleNanos);
+            }
+        }
+
+        // write anything left over
+        while (drain() > 0);
+    }
+
+    /**
+     * Writes a batch of lines. Only called by a single thread at a time.
+     *
+     * @return  the number of lines written.
+     */
+    private int drain() {
+        long position = this.tail;
+        int count = 0;
+
+        while (count < this.batchSize) {
+            int index = (int) position & this.mask;
+            if (this.published.get(index) != position + 1) break;
+
+            int priority = this.priorities[index];
+            String tag = this.tags[index];
+            String line = this.lines[index];
+            this.tags[index] = null;
+            this.lines[index] = null;
+
+            this.writer.println(priority, tag, line);
+
+            // only free up the slot once the line has been written so that flush waits for it
+            this.tail = ++position;
+            count++;
+        }
+
+        long dropped = this.dropped.get();
+        if (dropped != this.reportedDropped) {
+            this.writer.println(RobotLogger.Level.WARN.priority, TAG,
+                    "Dropped " + (dropped - this.reportedDropped) + " lines");
+            this.reportedDropped = dropped;
+        }
+
+        return count;
+    }
+}
@@ -3,6 +3,8 @@ package org.chathamrobotics.ftcutils;
 import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
 import com.qualcomm.robotcore.eventloop.opmode.OpMode;
 
+import java.lang.reflect.InvocationTargetException;
+
 /*!
  * ftc-utils
  * Copyright (c) 2017 Chatham Robotics
@@ -22,7 +24,23 @@ import com.qualcomm.robotcore.eventloop.opmode.OpMode;
  * <pre>
  *     public class AutoOpMode extends AutonomousOpMode{@code<Robot9853>} {
  *         public AutoOpMode(boolean isRedTeam) {
- *             super(isRedTeam, Robot9853.class);
+ *             super(isRedTeam, new RobotFactory{@code<Robot9853>}() {
+ *                 {@code @Override}
+ *                 public Robot9853 create(OpMode opMode) {
+ *                     return new Robot9853(opMode);
+ *                 }
+ *             });
+ *         }
+ *
+ *         {@code @Override}
+ *         public void initRobot() {
+ *             // runs in the background while waiting for start
+ *             this.init.add("gyro", 3000, new InitPipeline.Task() {
+ *                 {@code @Override}
+ *                 public void run() throws Exception {
+ *                     robot.calibrateGyro();
+ *                 }
+ *             });
  *         }
  *
  *         {@code @Override}
@@ -30,6 +48,22 @@ import com.qualcomm.robotcore.eventloop.opmode.OpMode;
  *             this.robot.doSomething();
  *
  *             // Your autonomous code
+ *
+ *             // or run tasks at fixed rates
+ *             this.loops.addTask(100, new LoopScheduler.Task() {
+ *                 {@code @Override}
+ *                 public void run() {
+ *                     robot.updateHardware();
+ *                     // Your control code
+ *                 }
+ *             });
+ *             this.loops.addTask(10, new LoopScheduler.Task() {
+ *                 {@code @Override}
+ *                 public void run() {
+ *                     robot.debug();
+ *                 }
+ *             });
+ *             runLoops();
  *         }
  *     }
  * </pre>
@@ -43,10 +77,57 @@ public abstract class AutonomousOpMode<ROBOT_TYPE extends Robot> extends LinearO
     protected boolean isRedTeam;
 
     /**
-     * The robot object.
+     * The robot object. Created when the opmode is initialized.
      */
     protected ROBOT_TYPE robot;
 
+    /**
+     * The class of the robot. Null if a factory is used.
+     */
+    private final Class<ROBOT_TYPE> robotClazz;
+
+    /**
+     * Creates the robot. Null if the robot is created by reflection.
+     */
+    private final RobotFactory<ROBOT_TYPE> robotFactory;
+
+    /**
+     * The time between init progress updates in milliseconds.
+     */
+    public static final long INIT_REPORT_INTERVAL = 100;
+
+    /**
+     * Runs setup tasks in the background during init. Tasks should be added in {@link AutonomousOpMode#initRobot()}.
+     */
+    protected final InitPipeline init = new InitPipeline();
+
+    /**
+     * Stopped when the opmode stops. Code running on other threads can check it to stop with the opmode.
+     */
+    protected final StopToken stopToken = new StopToken();
+
+    /**
+     * Stops the robot if the opmode is stopped while its code is busy.
+     */
+    private StopWatchdog watchdog;
+
+    /**
+     * Runs commands side by side. Commands can be scheduled here and run with
+     * {@link AutonomousOpMode#runCommand(Command)}.
+     */
+    protected final CommandScheduler commands = new CommandScheduler();
+
+    /**
+     * Runs periodic tasks at fixed rates. Tasks should be added before calling {@link AutonomousOpMode#runLoops()}.
+     */
+    protected final LoopScheduler loops = new LoopScheduler();
+
+    /**
+     * Called after the robot is built, before start. Setup that takes a while should be added to
+     * {@link AutonomousOpMode#init} here so it runs in the background while waiting for start.
+     */
+    public void initRobot() {}
+
     /**
      * Called on start
      */
@@ -59,9 +140,37 @@ public abstract class AutonomousOpMode<ROBOT_TYPE extends Robot> extends LinearO
      */
     public AutonomousOpMode (boolean isRedTeam, Class<ROBOT_TYPE> robotClazz) {
         this.isRedTeam = isRedTeam;
+        this.robotClazz = robotClazz;
+        this.robotFactory = null;
+    }
+
+    /**
+     * Creates a new instance of AutonomousOpMode that creates its robot with a factory instead of reflection.
+     * @param isRedTeam     Whether the current team is red or not.
+     * @param robotFactory  Creates the robot.
+     */
+    public AutonomousOpMode (boolean isRedTeam, RobotFactory<ROBOT_TYPE> robotFactory) {
+        this.isRedTeam = isRedTeam;
+        this.robotClazz = null;
+        this.robotFactory = robotFactory;
+    }
+
+    /**
+     * Creates the robot. This is done in {@link AutonomousOpMode#runOpMode()} rather than the
+     * constructor because the hardware map is not set until after the opmode is constructed.
+     */
+    protected void buildRobot() {
+        if (this.robotFactory != null) {
+            this.robot = this.robotFactory.create(this);
+            return;
+        }
 
         try {
-            this.robot = robotClazz.getDeclaredConstructor(OpMode.class).newInstance(this);
+            this.robot = this.robotClazz.getDeclaredConstructor(OpMode.class).newInstance(this);
+        } catch (InvocationTargetException e) {
+            // let missing hardware and other errors from the robot's constructor through as they are
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new RuntimeException(e.getCause());
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -73,19 +182,73 @@ public abstract class AutonomousOpMode<ROBOT_TYPE extends Robot> extends LinearO
      */
     @Override
     public void runOpMode() throws InterruptedException {
-        waitForStart();
+        this.stopToken.reset();
+        buildRobot();
 
-        this.robot.debug();
-        this.robot.start();
+        this.watchdog = new StopWatchdog(this, this.robot, this.stopToken, StopWatchdog.DEFAULT_PERIOD);
+        this.watchdog.start();
 
         try {
-            runRobot();
-        } catch (StoppedException error) {
-            // Just ignore
-        } finally {
+            initRobot();
+
+            runInit();
+
             this.robot.debug();
-            this.robot.stop();
+            this.robot.start();
+
+            try {
+                runRobot();
+            } catch (StoppedException error) {
+                // Just ignore
+            } finally {
+                this.commands.cancelAll();
+
+                // let the watchdog finish stopping the motors first if it is
+                this.watchdog.close();
+                this.robot.debug();
+                this.robot.stop();
+            }
+        } finally {
+            this.watchdog.close();
+        }
+    }
+
+    /**
+     * Runs the init tasks while waiting for start, showing their progress. Any tasks still running
+     * at start are waited for, up to their timeouts.
+     */
+    private void runInit() {
+        this.init.start();
+
+        while (! isStarted() && ! isStopRequested()) {
+            reportInit(true);
+            sleep(INIT_REPORT_INTERVAL);
         }
+
+        waitForStart();
+
+        try {
+            while (! this.init.await(INIT_REPORT_INTERVAL) && opModeIsActive()) {
+                reportInit(true);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        this.init.cancel();
+        reportInit(false);
+    }
+
+    /**
+     * Shows the progress of the init tasks.
+     * @param looping   Whether this is called in a loop.
+     */
+    private void reportInit(boolean looping) {
+        if (this.init.getTaskCount() == 0) return;
+
+        this.init.update();
+        this.init.report(this.robot.logger, looping);
+        if (looping) this.robot.telemetry.update();
     }
 
     /**
@@ -93,15 +256,85 @@ public abstract class AutonomousOpMode<ROBOT_TYPE extends Robot> extends LinearO
      * @throws StoppedException     Thrown if the opmode has stopped.
      */
     public void status() throws StoppedException{
+        this.robot.updateHardware();
         this.robot.debug();
         checkForStop();
     }
 
+    /**
+     * Runs the tasks added to {@link AutonomousOpMode#loops} at their rates until the scheduler is
+     * stopped. The timing statistics are logged when it returns.
+     * @throws StoppedException     Thrown if the opmode has been stopped.
+     */
+    public void runLoops() throws StoppedException {
+        this.loops.start();
+
+        try {
+            while (this.loops.isRunning()) {
+                checkForStop();
+                this.loops.runDue();
+                this.loops.waitForNextDeadline();
+            }
+        } finally {
+            this.loops.stop();
+            this.loops.report(this.robot.logger);
+        }
+    }
+
+    /**
+     * Follows a path until its end is reached, checking the status every update.
+     * @param follower              The follower of the path.
+     * @param driver                The driver to drive.
+     * @throws StoppedException     Thrown if the opmode has been stopped.
+     */
+    public void followPath(PathFollower follower, OmniWheelDriver driver) throws StoppedException {
+        follower.start();
+
+        try {
+            while (follower.update(driver)) {
+                status();
+            }
+        } finally {
+            // gives the driver back its offset angle if stopped part way
+            follower.stop();
+        }
+    }
+
+    /**
+     * Schedules a command and runs the scheduled commands until it is done, checking the status
+     * every loop. Other scheduled commands keep running alongside it, and after it.
+     * @param command               The command to run.
+     * @throws StoppedException     Thrown if the opmode has been stopped.
+     */
+    public void runCommand(Command command) throws StoppedException {
+        if (! this.commands.schedule(command)) {
+            throw new IllegalStateException("a command using the same resources cannot be interrupted");
+        }
+
+        while (command.isScheduled()) {
+            this.commands.run();
+            status();
+        }
+    }
+
     /**
      * Checks to make sure the opmode has not been stopped.
      * @throws StoppedException     Thrown if the opmode has been stopped.
      */
     protected void checkForStop() throws StoppedException{
-        if (! opModeIsActive()) throw new StoppedException();
+        if (this.stopToken.isStopped() || ! opModeIsActive()) {
+            this.stopToken.stop();
+            throw StoppedException.STOPPED;
+        }
+    }
+
+    /**
+     * Waits for a time, returning as soon as the opmode is stopped.
+     * @param milliseconds          The time to wait.
+     * @throws StoppedException     Thrown if the opmode is stopped while waiting.
+     */
+    public void waitFor(long milliseconds) throws StoppedException {
+        checkForStop();
+        this.stopToken.sleep(milliseconds);
     }
 }
@@ -9,7 +9,12 @@ package org.chathamrobotics.ftcutils;
  */
 
 /**
- * A collection of methods for ballistics calculations.
+ * A collection of methods for ballistics calculations. Trajectories are in a vacuum, with the
+ * distance and height measured from where the projectile leaves the launcher.
+ *
+ * <p>A shot that cannot hit its target, such as one fired too flat to get up to the target's height,
+ * has no solution. The methods return NaN for these instead of a meaningless number, and
+ * {@link Ballistics#canHit(double, double, double)} checks for one up front.</p>
  */
 public final class Ballistics {
     /**
@@ -22,11 +27,82 @@ public final class Ballistics {
      * @param distance  The horizontal displacement to the target.
      * @param height    The vertical displacement to the target.
      * @param fireAngle The angle the project is being fired at.
-     * @return          The required velocity.
+     * @return          The required velocity, or NaN if the target cannot be hit at the angle.
      */
     public double requiredVelocity(double distance, double height, double fireAngle) {
-        return (distance * GRAVITY_ACCELERATION) /
-                Math.sqrt(2 * distance * GRAVITY_ACCELERATION * Math.cos(fireAngle) * Math.sin(fireAngle)
-                        - 2 * GRAVITY_ACCELERATION * height * Math.pow(Math.cos(fireAngle), 2));
+        return solveVelocity(distance, height, fireAngle);
+    }
+
+    /**
+     * Finds the required velocity in order fire a projectile at a given target.
+     * @param distance  The horizontal displacement to the target.
+     * @param height    The vertical displacement to the target.
+     * @param fireAngle The angle the project is being fired at.
+     * @return          The required velocity, or NaN if the target cannot be hit at the angle.
+     */
+    public static double solveVelocity(double distance, double height, double fireAngle) {
+        double cos = Math.cos(fireAngle);
+        double rise = distance * Math.sin(fireAngle) / cos - height;
+
+        // the projectile has to be aimed above the target to fall onto it
+        if (! (distance > 0) || ! (cos > 0) || ! (rise > 0)) return Double.NaN;
+
+        return distance / cos * Math.sqrt(GRAVITY_ACCELERATION / (2 * rise));
+    }
+
+    /**
+     * Checks whether a target can be hit at an angle with some velocity.
+     * @param distance  The horizontal displacement to the target.
+     * @param height    The vertical displacement to the target.
+     * @param fireAngle The angle the project is being fired at.
+     * @return          Whether there is a velocity that hits the target.
+     */
+    public static boolean canHit(double distance, double height, double fireAngle) {
+        return ! Double.isNaN(solveVelocity(distance, height, fireAngle));
+    }
+
+    /**
+     * Finds the angle to fire at to hit a target with a given velocity. There are usually two: a
+     * flat one and a lofted one that takes longer to get there.
+     * @param distance  The horizontal displacement to the target.
+     * @param height    The vertical displacement to the target.
+     * @param velocity  The velocity the projectile is fired at.
+     * @param lofted    Whether to find the higher of the two angles.
+     * @return          The angle in radians, or NaN if the target is out of range at the velocity.
+     */
+    public static double solveAngle(double distance, double height, double velocity, boolean lofted) {
+        double g = GRAVITY_ACCELERATION;
+        double squared = velocity * velocity;
+        double discriminant = squared * squared - g * (g * distance * distance + 2 * height * squared);
+
+        if (! (distance > 0) || ! (discriminant >= 0)) return Double.NaN;
+
+        double root = Math.sqrt(discriminant);
+        return Math.atan((squared + (lofted ? root : -root)) / (g * distance));
+    }
+
+    /**
+     * Finds the angle that hits a target with the least velocity. This is the best angle to use
+     * when the launcher's speed is limited.
+     * @param distance  The horizontal displacement to the target.
+     * @param height    The vertical displacement to the target.
+     * @return          The angle in radians, or NaN if the distance is not positive.
+     */
+    public static double optimalAngle(double distance, double height) {
+        if (! (distance > 0)) return Double.NaN;
+
+        return Math.atan((height + Math.hypot(distance, height)) / distance);
+    }
+
+    /**
+     * Finds the least velocity that can hit a target, which is the velocity needed at the optimal angle.
+     * @param distance  The horizontal displacement to the target.
+     * @param height    The vertical displacement to the target.
+     * @return          The velocity, or NaN if the distance is not positive.
+     */
+    public static double minimumVelocity(double distance, double height) {
+        if (! (distance > 0)) return Double.NaN;
+
+        return Math.sqrt(GRAVITY_ACCELERATION * (height + Math.hypot(distance, height)));
     }
 }
@@ -0,0 +1,135 @@
+package org.chathamrobotics.ftcutils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * An action the robot does over time, run by a {@link CommandScheduler}. The scheduler calls
+ * {@link Command#initialize()} once, then {@link Command#execute()} every loop until
+ * {@link Command#isFinished()} is true, and then {@link Command#end(boolean)}.
+ *
+ * <p>A command declares the resources it uses, such as a driver or a lift motor, with
+ * {@link Command#requires(Object...)}. Only one command can use a resource at a time, so starting
+ * a command interrupts any running command using the same resource.</p>
+ *
+ * <p>Here is an example of a command:</p>
+ *
+ * <pre>
+ *     public class RaiseLift extends Command {
+ *         private final DcMotor lift;
+ *
+ *         public RaiseLift(DcMotor lift) {
+ *             this.lift = lift;
+ *             requires(lift);
+ *         }
+ *
+ *         {@code @Override}
+ *         public void execute() {
+ *             this.lift.setPower(1);
+ *         }
+ *
+ *         {@code @Override}
+ *         public boolean isFinished() {
+ *             return this.lift.getCurrentPosition() >= TOP;
+ *         }
+ *
+ *         {@code @Override}
+ *         public void end(boolean interrupted) {
+ *             this.lift.setPower(0);
+ *         }
+ *     }
+ * </pre>
+ */
+public abstract class Command {
+    /**
+     * The resources used by the command.
+     */
+    private final List<Object> requirements = new ArrayList<>();
+
+    /**
+     * The resources used by the command, for reading.
+     */
+    private final List<Object> requirementsView = Collections.unmodifiableList(this.requirements);
+
+    /**
+     * Whether the command is scheduled. Set by the scheduler.
+     */
+    boolean scheduled;
+
+    /**
+     * Whether the command was cancelled while the scheduler was running. Set by the scheduler.
+     */
+    boolean cancelled;
+
+    /**
+     * Declares resources used by the command. This should be done in the constructor.
+     *
+     * @param resources the resources.
+     */
+    protected final void requires(Object... resources) {
+        for (Object resource : resources) {
+            if (! this.requirements.contains(resource)) this.requirements.add(resource);
+        }
+    }
+
+    /**
+     * Gets the resources used by the command.
+     *
+     * @return  the resources.
+     */
+    public final List<Object> getRequirements() {
+        return this.requirementsView;
+    }
+
+    /**
+     * Checks whether the command is scheduled.
+     *
+     * @return  whether the command is scheduled.
+     */
+    public final boolean isScheduled() {
+        return this.scheduled;
+    }
+
+    /**
+     * Checks whether the command can be interrupted by another command that needs its resources.
+     * A command that cannot be interrupted keeps the other command from starting.
+     *
+     * @return  whether the command can be interrupted.
+     */
+    public boolean isInterruptible() {
+        return true;
+    }
+
+    /**
+     * Called once when the command starts.
+     */
+    public void initialize() {}
+
+    /**
+     * Called every loop while the command is running.
+     */
+    public void execute() {}
+
+    /**
+     * Checks whether the command is done. Called every loop after {@link Command#execute()}.
+     *
+     * @return  whether the command is done.
+     */
+    public abstract boolean isFinished();
+
+    /**
+     * Called once when the command is done or interrupted.
+     *
+     * @param interrupted   whether the command was interrupted before it was done.
+     */
+    public void end(boolean interrupted) {}
+}
@@ -0,0 +1,244 @@
+package org.chathamrobotics.ftcutils;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Runs several commands as one. The group uses every resource its commands use. The commands in a
+ * group are run by the group and must not be scheduled on their own. Commands that run at the same
+ * time must not share a resource.
+ *
+ * <p>Here is an example of how one might drive while raising a lift, and then shoot:</p>
+ *
+ * <pre>
+ *     runCommand(CommandGroup.sequence(
+ *             CommandGroup.parallel(new FollowPathCommand(follower, driver), new RaiseLift(lift)),
+ *             CommandGroup.race(new Shoot(shooter), new WaitCommand(2000))));
+ * </pre>
+ */
+public class CommandGroup extends Command {
+    /**
+     * How the commands are run.
+     */
+    private enum Mode {
+        /**
+         * One after another.
+         */
+        SEQUENCE,
+
+        /**
+         * All at once until they are all done.
+         */
+        PARALLEL,
+
+        /**
+         * All at once until one is done.
+         */
+        RACE
+    }
+
+    /**
+     * How the commands are run.
+     */
+    private final Mode mode;
+
+    /**
+     * The commands.
+     */
+    private final Command[] commands;
+
+    /**
+     * Whether each command is running.
+     */
+    private final boolean[] running;
+
+    /**
+     * The index of the running command of a sequence.
+     */
+    private int current;
+
+    /**
+     * Whether a command of a race is done.
+     */
+    private boolean raceFinished;
+
+    /**
+     * Creates a new instance of CommandGroup.
+     *
+     * @param mode      how the commands are run.
+     * @param commands  the commands.
+     * @throws IllegalArgumentException Thrown if commands that run at the same time share a resource.
+     */
+    private CommandGroup(Mode mode, Command... commands) {
+        this.mode = mode;
+        this.commands = commands.clone();
+        this.running = new boolean[commands.length];
+
+        for (int i = 0; i < commands.length; i++) {
+            if (mode != Mode.SEQUENCE) checkNotShared(i);
+            requires(commands[i].getRequirements().toArray());
+        }
+    }
+
+    /**
+     * Checks that a command does not share a resource with the commands before it. Both would use
+     * the resource at once, which the scheduler would never allow for commands of their own.
+     *
+     * @param index the index of the command.
+     * @throws IllegalArgumentException Thrown if it shares a resource, or is in the group twice.
+     */
+    private void checkNotShared(int index) {
+        Command command = this.commands[index];
+        String group = this.mode == Mode.RACE ? "race" : "parallel group";
+
+        for (int i = 0; i < index; i++) {
+            if (this.commands[i] == command) {
+                throw new IllegalArgumentException("a command cannot be in a " + group + " twice");
+            }
+
+            for (Object resource : command.getRequirements()) {
+                if (this.commands[i].getRequirements().contains(resource)) {
+                    throw new IllegalArgumentException("commands in a " + group + " cannot share the resource " + resource);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a group that runs commands one after another.
+     *
+     * @param commands  the commands.
+     * @return          the group.
+     */
+    public static CommandGroup sequence(Command... commands) {
+        return new CommandGroup(Mode.SEQUENCE, commands);
+    }
+
+    /**
+     * Creates a group that runs commands at the same time until they are all done.
+     *
+     * @param commands  the commands.
+     * @return          the group.
+     * @throws IllegalArgumentException Thrown if the commands share a resource.
+     */
+    public static CommandGroup parallel(Command... commands) {
+        return new CommandGroup(Mode.PARALLEL, commands);
+    }
+
+    /**
+     * Creates a group that runs commands at the same time until one is done. The rest are interrupted.
+     *
+     * @param commands  the commands.
+     * @return          the group.
+     * @throws IllegalArgumentException Thrown if the commands share a resource.
+     */
+    public static CommandGroup race(Command... commands) {
+        return new CommandGroup(Mode.RACE, commands);
+    }
+
+    @Override
+    public void initialize() {
+        this.current = 0;
+        this.raceFinished = false;
+
+        if (this.mode == Mode.SEQUENCE) {
+            if (this.commands.length > 0) start(0);
+        } else {
+            for (int i = 0; i < this.commands.length; i++) start(i);
+        }
+    }
+
+    @Override
+    public void execute() {
+        if (this.mode == Mode.SEQUENCE) {
+            if (this.current >= this.commands.length) return;
+
+            if (step(this.current)) {
+                this.current++;
+                if (this.current < this.commands.length) start(this.current);
+            }
+        } else {
+            for (int i = 0; i < this.commands.length; i++) {
+                if (this.running[i] && step(i)) this.raceFinished = true;
+            }
+        }
+    }
+
+    @Override
+    public boolean isFinished() {
+        switch (this.mode) {
+            case SEQUENCE:
+                return this.current >= this.commands.length;
+            case RACE:
+                // a race with nothing running is done too
+                return this.raceFinished || allStopped();
+            default:
+                return allStopped();
+        }
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        // a race interrupts the commands that did not finish first
+        for (int i = 0; i < this.commands.length; i++) {
+            if (this.running[i]) {
+                this.running[i] = false;
+                this.commands[i].end(true);
+            }
+        }
+    }
+
+    @Override
+    public boolean isInterruptible() {
+        for (Command command : this.commands) {
+            if (! command.isInterruptible()) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks whether none of the commands are running.
+     *
+     * @return  whether every command is stopped.
+     */
+    private boolean allStopped() {
+        for (boolean running : this.running) {
+            if (running) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Starts a command.
+     *
+     * @param index the index of the command.
+     */
+    private void start(int index) {
+        this.running[index] = true;
+        this.commands[index].initialize();
+    }
+
+    /**
+     * Runs a command for a loop, ending it if it is done.
+     *
+     * @param index the index of the command.
+     * @return      whether the command is done.
+     */
+    private boolean step(int index) {
+        Command command = this.commands[index];
+        command.execute();
+
+        if (! command.isFinished()) return false;
+
+        this.running[index] = false;
+        command.end(false);
+        return true;
+    }
+}
@@ -0,0 +1,241 @@
+package org.chathamrobotics.ftcutils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Runs {@link Command}s side by side on the opmode's thread. Every call to
+ * {@link CommandScheduler#run()} runs each scheduled command once, so a drive and a lift can move
+ * at the same time without interleaving their loops by hand.
+ *
+ * <p>The scheduler keeps track of which command is using each resource. Scheduling a command that
+ * needs a resource in use interrupts the command using it, unless that command cannot be
+ * interrupted, in which case the new command is not scheduled.</p>
+ *
+ * <p>Running the commands creates no objects. Commands scheduled or cancelled by other commands
+ * while running take effect once every command has run. Whether a command can be scheduled is still
+ * decided when it is scheduled: it holds its resources from then on, and the commands it
+ * interrupts are ended once every command has run.</p>
+ */
+public class CommandScheduler {
+    /**
+     * The scheduled commands, in the order they were scheduled.
+     */
+    private Command[] scheduled = new Command[8];
+    private int scheduledCount;
+
+    /**
+     * Commands scheduled while running.
+     */
+    private Command[] pending = new Command[8];
+    private int pendingCount;
+
+    /**
+     * The command using each resource.
+     */
+    private final Map<Object, Command> owners = new HashMap<>();
+
+    /**
+     * Whether the commands are being run.
+     */
+    private boolean running;
+
+    /**
+     * Schedules a command, interrupting any commands using the same resources. Scheduling a command
+     * that is already scheduled does nothing.
+     *
+     * @param command   the command.
+     * @return          whether the command was scheduled (or will be once the running commands
+     *                  have run). False if a command using one of its resources cannot be interrupted,
+     *                  including a command scheduled earlier in the same run.
+     */
+    public boolean schedule(Command command) {
+        if (command.scheduled || pendingIndex(command) >= 0) return true;
+
+        List<Object> requirements = command.getRequirements();
+        for (int i = 0; i < requirements.size(); i++) {
+            Command owner = claimant(requirements.get(i));
+            if (owner != null && ! owner.isInterruptible()) return false;
+        }
+
+        for (int i = 0; i < requirements.size(); i++) {
+            Command owner = claimant(requirements.get(i));
+            if (owner != null) cancel(owner);
+        }
+
+        if (this.running) {
+            if (this.pendingCount == this.pending.length) this.pending = Arrays.copyOf(this.pending, this.pendingCount * 2);
+            this.pending[this.pendingCount++] = command;
+            return true;
+        }
+
+        if (this.scheduledCount == this.scheduled.length) this.scheduled = Arrays.copyOf(this.scheduled, this.scheduledCount * 2);
+        this.scheduled[this.scheduledCount++] = command;
+        for (int i = 0; i < requirements.size(); i++) this.owners.put(requirements.get(i), command);
+
+        command.scheduled = true;
+        command.cancelled = false;
+        command.initialize();
+        return true;
+    }
+
+    /**
+     * Runs every scheduled command once, and ends the ones that are done. This should be called once every loop.
+     */
+    public void run() {
+        this.running = true;
+
+        try {
+            for (int i = 0; i < this.scheduledCount; ) {
+                Command command = this.scheduled[i];
+
+                if (command.cancelled) {
+                    remove(i, true);
+                    continue;
+                }
+
+                command.execute();
+
+                if (command.isFinished()) remove(i, false);
+                else i++;
+            }
+        } finally {
+            this.running = false;
+        }
+
+        // commands cancelled after they ran this loop
+        for (int i = 0; i < this.scheduledCount; ) {
+            if (this.scheduled[i].cancelled) remove(i, true);
+            else i++;
+        }
+
+        int pendingCount = this.pendingCount;
+        this.pendingCount = 0;
+
+        for (int i = 0; i < pendingCount; i++) {
+            Command command = this.pending[i];
+            this.pending[i] = null;
+            schedule(command);
+        }
+    }
+
+    /**
+     * Interrupts a command if it is scheduled. A command scheduled while running that has not
+     * started yet will not be started.
+     *
+     * @param command   the command.
+     */
+    public void cancel(Command command) {
+        int pendingIndex = pendingIndex(command);
+        if (pendingIndex >= 0) {
+            System.arraycopy(this.pending, pendingIndex + 1, this.pending, pendingIndex, this.pendingCount - pendingIndex - 1);
+            this.pending[--this.pendingCount] = null;
+            return;
+        }
+
+        if (! command.scheduled) return;
+
+        if (this.running) {
+            command.cancelled = true;
+            return;
+        }
+
+        for (int i = 0; i < this.scheduledCount; i++) {
+            if (this.scheduled[i] == command) {
+                remove(i, true);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Interrupts every scheduled command.
+     */
+    public void cancelAll() {
+        for (int i = this.scheduledCount - 1; i >= 0; i--) cancel(this.scheduled[i]);
+
+        for (int i = 0; i < this.pendingCount; i++) this.pending[i] = null;
+        this.pendingCount = 0;
+    }
+
+    /**
+     * Gets the command using a resource.
+     *
+     * @param resource  the resource.
+     * @return          the command, or null if the resource is free.
+     */
+    public Command getOwner(Object resource) {
+        return this.owners.get(resource);
+    }
+
+    /**
+     * Gets the number of scheduled commands.
+     *
+     * @return  the number of commands.
+     */
+    public int getScheduledCount() {
+        return this.scheduledCount;
+    }
+
+    /**
+     * Gets the command that will be using a resource once the running commands have run: a
+     * command scheduled while running, or else a scheduled command that has not been cancelled.
+     *
+     * @param resource  the resource.
+     * @return          the command, or null if the resource will be free.
+     */
+    private Command claimant(Object resource) {
+        for (int i = this.pendingCount - 1; i >= 0; i--) {
+            if (this.pending[i].getRequirements().contains(resource)) return this.pending[i];
+        }
+
+        Command owner = this.owners.get(resource);
+        return owner == null || owner.cancelled ? null : owner;
+    }
+
+    /**
+     * Finds a command scheduled while running.
+     *
+     * @param command   the command.
+     * @return          the index of the command in the pending commands, or -1 if it is not pending.
+     */
+    private int pendingIndex(Command command) {
+        for (int i = 0; i < this.pendingCount; i++) {
+            if (this.pending[i] == command) return i;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Ends a scheduled command and frees its resources.
+     *
+     * @param index         the index of the command.
+     * @param interrupted   whether the command was interrupted.
+     */
+    private void remove(int index, boolean interrupted) {
+        Command command = this.scheduled[index];
+
+        System.arraycopy(this.scheduled, index + 1, this.scheduled, index, this.scheduledCount - index - 1);
+        this.scheduled[--this.scheduledCount] = null;
+
+        List<Object> requirements = command.getRequirements();
+        for (int i = 0; i < requirements.size(); i++) {
+            if (this.owners.get(requirements.get(i)) == command) this.owners.remove(requirements.get(i));
+        }
+
+        command.scheduled = false;
+        command.cancelled = false;
+        command.end(interrupted);
+    }
+}
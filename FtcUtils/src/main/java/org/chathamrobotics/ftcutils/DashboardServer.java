@@ -0,0 +1,802 @@
+package org.chathamrobotics.ftcutils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * A small web server that streams telemetry channels and log lines to a browser. Going to
+ * http://{robot address}:{port}/ shows a page that connects back over a WebSocket and displays
+ * every value as it comes in.
+ *
+ * <p>Everything is done on one selector thread. Publishing a channel only copies its values into a
+ * buffer, so the control loop never waits on a client. The buffer is sent to every client as one
+ * binary WebSocket frame every {@link DashboardServer#setSendInterval(long) send interval}. If the
+ * buffer fills up between sends the samples are dropped and counted, and clients that fall too far
+ * behind skip frames.</p>
+ *
+ * <p>A frame holds one or more messages. All numbers are big endian and strings are a u16 length
+ * followed by UTF-8 bytes.</p>
+ *
+ * <ul>
+ *     <li>Schema: u8 1, u8 channel, u16 key count, then the caption of each key.</li>
+ *     <li>Sample: u8 2, u8 channel, i64 time in nanoseconds, u16 value count, then a f32 for each value.</li>
+ *     <li>Log: u8 3, u8 priority, tag, line.</li>
+ * </ul>
+ *
+ * <p>Here is an example of how one might use {@link DashboardServer}:</p>
+ *
+ * <pre>
+ *     DashboardServer server = new DashboardServer(8080);
+ *     server.attach(robot.logger.getChannel());
+ *     server.start();
+ *
+ *     // values are sent every time the channel is published, eg in robot.debug()
+ *
+ *     server.stop();
+ * </pre>
+ */
+public class DashboardServer {
+    /**
+     * The default port to listen on.
+     */
+    public static final int DEFAULT_PORT = 8080;
+
+    /**
+     * The default time between frames in milliseconds.
+     */
+    public static final long DEFAULT_SEND_INTERVAL = 50;
+
+    /**
+     * The default size of the buffer for the messages between frames.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * The most bytes a client can have waiting to be sent before frames are skipped for it.
+     */
+    public static final int MAX_CLIENT_BACKLOG = 1024 * 1024;
+
+    /**
+     * The message types.
+     */
+    public static final byte SCHEMA = 1;
+    public static final byte SAMPLE = 2;
+    public static final byte LOG = 3;
+
+    /**
+     * The largest HTTP request that will be read.
+     */
+    private static final int MAX_REQUEST_SIZE = 8 * 1024;
+
+    /**
+     * The key used to accept WebSocket handshakes.
+     */
+    private static final String WEBSOCKET_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final char[] BASE64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+    /**
+     * The page that displays the values.
+     */
+    private static final String PAGE = "<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Robot Dashboard</title>"
+            + "<style>body{font-family:monospace}td{padding:0 1em}#log{white-space:pre;max-height:20em;overflow:auto}</style>"
+            + "</head><body><h3 id=\"status\">Connecting...</h3><table id=\"values\"></table><div id=\"log\"></div><script>\n"
+            + "var rows = {}, cells = {}, table = document.getElementById('values'), log = document.getElementById('log');\n"
+            + "var ws = new WebSocket('ws://' + location.host + '/ws'); ws.binaryType = 'arraybuffer';\n"
+            + "ws.onopen = function () { document.getElementById('status').textContent = 'Connected'; };\n"
+            + "ws.onclose = function () { document.getElementById('status').textContent = 'Disconnected'; };\n"
+            + "ws.onmessage = function (e) {\n"
+            + "  var d = new DataView(e.data), p = 0;\n"
+            + "  function str() { var n = d.getUint16(p); p += 2; var s = new TextDecoder().decode(new Uint8Array(e.data, p, n)); p += n; return s; }\n"
+            + "  while (p < d.byteLength) {\n"
+            + "    var type = d.getUint8(p++);\n"
+            + "    if (type === 1) {\n"
+            + "      var ch = d.getUint8(p++), n = d.getUint16(p); p += 2;\n"
+            + "      (rows[ch] || []).forEach(function (row) { table.deleteRow(row.rowIndex); }); rows[ch] = []; cells[ch] = [];\n"
+            + "      for (var i = 0; i < n; i++) { var row = table.insertRow(); rows[ch].push(row); row.insertCell().textContent = str(); cells[ch].push(row.insertCell()); }\n"
+            + "    } else if (type === 2) {\n"
+            + "      var ch = d.getUint8(p++); p += 8; var n = d.getUint16(p); p += 2;\n"
+            + "      for (var i = 0; i < n; i++) { var v = d.getFloat32(p); p += 4; if (cells[ch] && cells[ch][i]) cells[ch][i].textContent = v.toFixed(3); }\n"
+            + "    } else if (type === 3) {\n"
+            + "      var priority = d.getUint8(p++), tag = str(), line = str();\n"
+            + "      log.textContent += '[' + tag + '] ' + line + '\\n'; log.scrollTop = log.scrollHeight;\n"
+            + "    } else break;\n"
+            + "  }\n"
+            + "};\n"
+            + "</script></body></html>";
+
+    /**
+     * A connected client.
+     */
+    private static class Client {
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocate(MAX_REQUEST_SIZE);
+        private final ArrayDeque<ByteBuffer> out = new ArrayDeque<>();
+        private int backlog;
+        private boolean webSocket;
+        private boolean closeAfterWrite;
+
+        private Client(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    /**
+     * Sends a channel's values to the server when it is published.
+     */
+    private class Source implements TelemetryChannel.Subscriber {
+        private final int id;
+        private int keyCount = -1;
+
+        private Source(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public void onSample(TelemetryChannel channel, long time, double[] values) {
+            int count = channel.getKeyCount();
+
+            if (count != this.keyCount) {
+                this.keyCount = count;
+                schemaChanged(this.id, channel);
+            }
+
+            synchronized (lock) {
+                ByteBuffer buffer = pending;
+                if (buffer.remaining() < 12 + 4 * count) {
+                    droppedCount++;
+                    return;
+                }
+
+                buffer.put(SAMPLE).put((byte) this.id).putLong(time).putShort((short) count);
+                for (int i = 0; i < count; i++) buffer.putFloat((float) values[i]);
+            }
+        }
+    }
+
+    /**
+     * The port to listen on.
+     */
+    private final int port;
+
+    /**
+     * Guards the message buffers.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * The buffer messages are added to, and the buffer being sent.
+     */
+    private ByteBuffer pending;
+    private ByteBuffer sending;
+
+    /**
+     * The number of messages dropped because the buffer was full.
+     */
+    private long droppedCount;
+
+    /**
+     * The latest schema message of each channel, sent to clients when they connect.
+     */
+    private volatile byte[][] schemas = new byte[0][];
+
+    /**
+     * Guards changes to the schemas. The server's own monitor is held while stopping, so the
+     * publishing thread must not wait on it.
+     */
+    private final Object schemaLock = new Object();
+
+    /**
+     * The attached channels and their subscribers.
+     */
+    private TelemetryChannel[] channels = new TelemetryChannel[0];
+    private Source[] sources = new Source[0];
+
+    /**
+     * The time between frames in milliseconds.
+     */
+    private volatile long sendInterval = DEFAULT_SEND_INTERVAL;
+
+    /**
+     * The selector and socket of the running server. Null if not running. The selector thread
+     * uses the ones it was started with, so that a thread left over from a stop cannot touch the
+     * next server's.
+     */
+    private Selector selector;
+    private ServerSocketChannel server;
+
+    /**
+     * The selector thread. Null if not running.
+     */
+    private volatile Thread thread;
+
+    /**
+     * The number of clients with an open WebSocket.
+     */
+    private volatile int clientCount;
+
+    /**
+     * Creates a new instance of DashboardServer.
+     *
+     * @param port  the port to listen on.
+     */
+    public DashboardServer(int port) {
+        this(port, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a new instance of DashboardServer.
+     *
+     * @param port          the port to listen on, or 0 for any free port.
+     * @param bufferSize    the size of the buffer for the messages between frames.
+     */
+    public DashboardServer(int port, int bufferSize) {
+        this.port = port;
+        this.pending = ByteBuffer.allocate(bufferSize);
+        this.sending = ByteBuffer.allocate(bufferSize);
+    }
+
+    /**
+     * Starts streaming a channel. Its values are sent every time it is published.
+     *
+     * @param channel   the channel.
+     */
+    public synchronized void attach(TelemetryChannel channel) {
+        for (TelemetryChannel attached : this.channels) {
+            if (attached == channel) return;
+        }
+
+        if (this.channels.length > 255) throw new IllegalStateException("Too many channels");
+
+        Source source = new Source(this.channels.length);
+
+        this.channels = Arrays.copyOf(this.channels, this.channels.length + 1);
+        this.channels[source.id] = channel;
+        this.sources = Arrays.copyOf(this.sources, this.sources.length + 1);
+        this.sources[source.id] = source;
+
+        channel.addSubscriber(source);
+    }
+
+    /**
+     * Stops streaming every attached channel.
+     */
+    public synchronized void detachAll() {
+        for (int i = 0; i < this.channels.length; i++) this.channels[i].removeSubscriber(this.sources[i]);
+
+        this.channels = new TelemetryChannel[0];
+        this.sources = new Source[0];
+
+        synchronized (this.schemaLock) {
+            this.schemas = new byte[0][];
+        }
+    }
+
+    /**
+     * Creates a log writer that sends every line to the dashboard as well as to another writer.
+     * @see RobotLogger#setLogWriter(LogWriter)
+     *
+     * @param next  the writer to also write to.
+     * @return      the writer.
+     */
+    public LogWriter logWriter(final LogWriter next) {
+        return new LogWriter() {
+            @Override
+            public void println(int priority, String tag, String line) {
+                next.println(priority, tag, line);
+                log(priority, tag, line);
+            }
+        };
+    }
+
+    /**
+     * Sends a log line to the dashboard.
+     *
+     * @param priority  the priority of the line.
+     * @param tag       the tag of the line.
+     * @param line      the line.
+     */
+    public void log(int priority, String tag, String line) {
+        byte[] tagBytes = tag.getBytes(UTF_8);
+        byte[] lineBytes = line.getBytes(UTF_8);
+
+        synchronized (this.lock) {
+            ByteBuffer buffer = this.pending;
+            if (buffer.remaining() < 6 + tagBytes.length + lineBytes.length) {
+                this.droppedCount++;
+                return;
+            }
+
+            buffer.put(LOG).put((byte) priority);
+            putString(buffer, tagBytes);
+            putString(buffer, lineBytes);
+        }
+    }
+
+    /**
+     * Sets the time between frames.
+     *
+     * @param milliseconds  the time in milliseconds.
+     */
+    public void setSendInterval(long milliseconds) {
+        this.sendInterval = Math.max(1, milliseconds);
+    }
+
+    /**
+     * Starts the server.
+     *
+     * @throws IOException  Thrown if the server could not listen on its port.
+     */
+    public synchronized void start() throws IOException {
+        if (this.thread != null) return;
+
+        Selector openedSelector = null;
+        ServerSocketChannel openedServer = null;
+
+        try {
+            openedSelector = Selector.open();
+            openedServer = ServerSocketChannel.open();
+            openedServer.configureBlocking(false);
+            openedServer.socket().setReuseAddress(true);
+            openedServer.socket().bind(new InetSocketAddress(this.port));
+            openedServer.register(openedSelector, SelectionKey.OP_ACCEPT);
+        } catch (IOException | RuntimeException e) {
+            // nothing is listening, so do not leave the socket or selector open
+            closeQuietly(openedServer);
+            closeQuietly(openedSelector);
+            throw e;
+        }
+
+        final Selector selector = openedSelector;
+        final ServerSocketChannel server = openedServer;
+        this.selector = selector;
+        this.server = server;
+
+        this.thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                serve(selector, server);
+            }
+        }, "DashboardServer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Stops the server and disconnects every client.
+     *
+     * @throws InterruptedException Thrown if the thread is interrupted while waiting.
+     */
+    public synchronized void stop() throws InterruptedException {
+        Thread thread = this.thread;
+        if (thread == null) return;
+
+        this.thread = null;
+        this.selector.wakeup();
+        thread.join(1000);
+    }
+
+    /**
+     * Checks whether the server is running.
+     *
+     * @return  whether the server is running.
+     */
+    public boolean isRunning() {
+        return this.thread != null;
+    }
+
+    /**
+     * Gets the port the server is listening on.
+     *
+     * @return  the port, or -1 if not running.
+     */
+    public int getLocalPort() {
+        ServerSocketChannel server = this.server;
+        return server == null || this.thread == null ? -1 : server.socket().getLocalPort();
+    }
+
+    /**
+     * Gets the number of clients with an open WebSocket.
+     *
+     * @return  the number of clients.
+     */
+    public int getClientCount() {
+        return this.clientCount;
+    }
+
+    /**
+     * Gets the number of messages dropped because the buffer was full.
+     *
+     * @return  the count.
+     */
+    public long getDroppedCount() {
+        synchronized (this.lock) {
+            return this.droppedCount;
+        }
+    }
+
+    /**
+     * Builds the schema message of a channel and queues it. Called on the publishing thread when
+     * the channel's keys change.
+     *
+     * @param id        the id of the channel.
+     * @param channel   the channel.
+     */
+    private void schemaChanged(int id, TelemetryChannel channel) {
+        int count = channel.getKeyCount();
+        byte[][] captions = new byte[count][];
+        int size = 4;
+
+        for (int i = 0; i < count; i++) {
+            captions[i] = channel.getCaption(i).getBytes(UTF_8);
+            size += 2 + captions[i].length;
+        }
+
+        ByteBuffer schema = ByteBuffer.allocate(size);
+        schema.put(SCHEMA).put((byte) id).putShort((short) count);
+        for (byte[] caption : captions) putString(schema, caption);
+
+        synchronized (this.schemaLock) {
+            byte[][] schemas = Arrays.copyOf(this.schemas, Math.max(this.schemas.length, id + 1));
+            schemas[id] = schema.array();
+            this.schemas = schemas;
+        }
+
+        synchronized (this.lock) {
+            if (this.pending.remaining() < size) this.droppedCount++;
+            else this.pending.put(schema.array());
+        }
+    }
+
+    /**
+     * The selector thread's loop.
+     *
+     * @param selector  the selector the server was started with.
+     * @param server    the socket the server was started with.
+     */
+    private void serve(Selector selector, ServerSocketChannel server) {
+        long lastSend = System.nanoTime();
+
+        try {
+            while (this.thread == Thread.currentThread()) {
+                selector.select(this.sendInterval);
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+
+                    try {
+                        if (! key.isValid()) continue;
+                        if (key.isAcceptable()) accept(selector, server);
+                        if (key.isValid() && key.isReadable()) read(key);
+                        if (key.isValid() && key.isWritable()) write(key);
+                    } catch (IOException e) {
+                        close(key);
+                    }
+                }
+
+                long now = System.nanoTime();
+                if ((now - lastSend) / 1000000 >= this.sendInterval) {
+                    lastSend = now;
+                    broadcast(selector);
+                }
+            }
+        } catch (IOException e) {
+            // the selector failed, so there is nothing left to do but close
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof Client) close(key);
+            }
+
+            closeQuietly(server);
+            closeQuietly(selector);
+
+            this.clientCount = 0;
+        }
+    }
+
+    /**
+     * Accepts a new client.
+     */
+    private void accept(Selector selector, ServerSocketChannel server) throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) return;
+
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        channel.register(selector, SelectionKey.OP_READ, new Client(channel));
+    }
+
+    /**
+     * Reads from a client.
+     */
+    private void read(SelectionKey key) throws IOException {
+        Client client = (Client) key.attachment();
+
+        if (client.channel.read(client.in) < 0) {
+            close(key);
+            return;
+        }
+
+        if (client.webSocket) readFrames(key, client);
+        else readRequest(key, client);
+    }
+
+    /**
+     * Reads an HTTP request and responds with the page or a WebSocket handshake.
+     */
+    private void readRequest(SelectionKey key, Client client) throws IOException {
+        String request = new String(client.in.array(), 0, client.in.position(), UTF_8);
+        int end = request.indexOf("\r\n\r\n");
+
+        if (end < 0) {
+            if (! client.in.hasRemaining()) respond(key, client, "431 Request Header Fields Too Large", "text/plain", "");
+            return;
+        }
+
+        client.in.clear();
+
+        String[] lines = request.substring(0, end).split("\r\n");
+        String[] requestLine = lines[0].split(" ");
+        String path = requestLine.length > 1 ? requestLine[1] : "";
+        String webSocketKey = null;
+
+        for (String line : lines) {
+            int colon = line.indexOf(':');
+            if (colon > 0 && line.substring(0, colon).trim().equalsIgnoreCase("Sec-WebSocket-Key")) {
+                webSocketKey = line.substring(colon + 1).trim();
+            }
+        }
+
+        if (! "GET".equals(requestLine[0])) {
+            respond(key, client, "405 Method Not Allowed", "text/plain", "");
+        } else if (path.equals("/ws") && webSocketKey != null) {
+            String response = "HTTP/1.1 101 Switching Protocols\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+                    + "Sec-WebSocket-Accept: " + acceptKey(webSocketKey) + "\r\n\r\n";
+            queue(key, client, ByteBuffer.wrap(response.getBytes(UTF_8)));
+
+            client.webSocket = true;
+            this.clientCount++;
+
+            // send the schemas so that the client knows what the values are
+            for (byte[] schema : this.schemas) {
+                if (schema != null) queue(key, client, ByteBuffer.wrap(frame(schema, 0, schema.length)));
+            }
+        } else if (path.equals("/") || path.startsWith("/?")) {
+            respond(key, client, "200 OK", "text/html; charset=utf-8", PAGE);
+        } else {
+            respond(key, client, "404 Not Found", "text/plain", "");
+        }
+    }
+
+    /**
+     * Reads the WebSocket frames from a client. The client does not send anything of use, so the
+     * frames are skipped except for close.
+     */
+    private void readFrames(SelectionKey key, Client client) throws IOException {
+        ByteBuffer in = client.in;
+        in.flip();
+
+        while (in.remaining() >= 2) {
+            int start = in.position();
+            int opcode = in.get() & 0x0F;
+            int second = in.get() & 0xFF;
+            long length = second & 0x7F;
+
+            if (length == 126) {
+                if (in.remaining() < 2) { in.position(start); break; }
+                length = in.getShort() & 0xFFFF;
+            } else if (length == 127) {
+                if (in.remaining() < 8) { in.position(start); break; }
+                length = in.getLong();
+            }
+
+            long skip = length + ((second & 0x80) != 0 ? 4 : 0);
+            if (skip > in.capacity()) throw new IOException("Frame too large");
+            if (in.remaining() < skip) { in.position(start); break; }
+            in.position(in.position() + (int) skip);
+
+            if (opcode == 0x8) {
+                // answer the close and hang up
+                client.closeAfterWrite = true;
+                queue(key, client, ByteBuffer.wrap(new byte[] {(byte) 0x88, 0}));
+                break;
+            }
+        }
+
+        in.compact();
+    }
+
+    /**
+     * Sends an HTTP response and closes the connection.
+     */
+    private void respond(SelectionKey key, Client client, String status, String type, String body) throws IOException {
+        byte[] content = body.getBytes(UTF_8);
+        byte[] header = ("HTTP/1.1 " + status + "\r\nContent-Type: " + type + "\r\nContent-Length: " + content.length
+                + "\r\nCache-Control: no-cache\r\nConnection: close\r\n\r\n").getBytes(UTF_8);
+
+        ByteBuffer response = ByteBuffer.allocate(header.length + content.length);
+        response.put(header).put(content).flip();
+
+        client.closeAfterWrite = true;
+        queue(key, client, response);
+    }
+
+    /**
+     * Sends the buffered messages to every client as one frame.
+     */
+    private void broadcast(Selector selector) {
+        synchronized (this.lock) {
+            if (this.pending.position() == 0) return;
+
+            ByteBuffer full = this.pending;
+            this.pending = this.sending;
+            this.sending = full;
+        }
+
+        ByteBuffer messages = this.sending;
+        byte[] frame = frame(messages.array(), 0, messages.position());
+        messages.clear();
+
+        for (SelectionKey key : selector.keys()) {
+            if (! (key.attachment() instanceof Client) || ! key.isValid()) continue;
+
+            Client client = (Client) key.attachment();
+            if (! client.webSocket || client.closeAfterWrite) continue;
+
+            // skip the frame for clients that are not keeping up
+            if (client.backlog + frame.length > MAX_CLIENT_BACKLOG) continue;
+
+            try {
+                queue(key, client, ByteBuffer.wrap(frame));
+            } catch (IOException e) {
+                close(key);
+            }
+        }
+    }
+
+    /**
+     * Queues data to be sent to a client and tries to send it right away.
+     */
+    private void queue(SelectionKey key, Client client, ByteBuffer data) throws IOException {
+        client.out.add(data);
+        client.backlog += data.remaining();
+        write(key);
+    }
+
+    /**
+     * Sends as much queued data to a client as it will take.
+     */
+    private void write(SelectionKey key) throws IOException {
+        Client client = (Client) key.attachment();
+
+        while (! client.out.isEmpty()) {
+            ByteBuffer head = client.out.peek();
+            int written = client.channel.write(head);
+            client.backlog -= written;
+
+            if (head.hasRemaining()) break;
+            client.out.poll();
+        }
+
+        if (client.out.isEmpty()) {
+            if (client.closeAfterWrite) close(key);
+            else key.interestOps(SelectionKey.OP_READ);
+        } else {
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+    }
+
+    /**
+     * Disconnects a client.
+     */
+    private void close(SelectionKey key) {
+        Client client = (Client) key.attachment();
+        if (client.webSocket) {
+            client.webSocket = false;
+            this.clientCount--;
+        }
+
+        key.cancel();
+        try {
+            client.channel.close();
+        } catch (IOException e) {
+            // already closed
+        }
+    }
+
+    /**
+     * Closes a socket or selector, ignoring errors.
+     */
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) return;
+
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // already stopping
+        }
+    }
+
+    /**
+     * Wraps data in a binary WebSocket frame.
+     */
+    private static byte[] frame(byte[] data, int offset, int length) {
+        int header = length < 126 ? 2 : length <= 0xFFFF ? 4 : 10;
+        ByteBuffer frame = ByteBuffer.allocate(header + length);
+
+        frame.put((byte) 0x82);
+        if (length < 126) {
+            frame.put((byte) length);
+        } else if (length <= 0xFFFF) {
+            frame.put((byte) 126).putShort((short) length);
+        } else {
+            frame.put((byte) 127).putLong(length);
+        }
+
+        frame.put(data, offset, length);
+        return frame.array();
+    }
+
+    /**
+     * Puts a string as a u16 length followed by its bytes.
+     */
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        int length = Math.min(bytes.length, 0xFFFF);
+        buffer.putShort((short) length).put(bytes, 0, length);
+    }
+
+    /**
+     * Computes the accept key for a WebSocket handshake.
+     */
+    private static String acceptKey(String key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-1").digest((key + WEBSOCKET_GUID).getBytes(UTF_8));
+            return base64(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Encodes bytes as base 64.
+     */
+    private static String base64(byte[] bytes) {
+        StringBuilder builder = new StringBuilder((bytes.length + 2) / 3 * 4);
+
+        for (int i = 0; i < bytes.length; i += 3) {
+            int remaining = bytes.length - i;
+            int chunk = (bytes[i] & 0xFF) << 16
+                    | (remaining > 1 ? (bytes[i + 1] & 0xFF) << 8 : 0)
+                    | (remaining > 2 ? bytes[i + 2] & 0xFF : 0);
+
+            builder.append(BASE64[chunk >> 18 & 0x3F]).append(BASE64[chunk >> 12 & 0x3F]);
+            builder.append(remaining > 1 ? BASE64[chunk >> 6 & 0x3F] : '=');
+            builder.append(remaining > 2 ? BASE64[chunk & 0x3F] : '=');
+        }
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,168 @@
+package org.chathamrobotics.ftcutils;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Turns chassis speeds into wheel speeds for a drivetrain. For every drivetrain with fixed wheels
+ * each wheel's speed is a weighted sum of the forward speed, the right speed and the rotation, so a
+ * drivetrain is just a table of weights with a row per wheel. Solving is one pass over that table,
+ * written into a given array, so no objects are created.
+ *
+ * <p>Chassis speeds are fractions of full speed: y is forward, x is right and rotation is positive
+ * for right (clockwise), as with {@link OmniWheelDriver}. Wheel speeds are in the order front left,
+ * front right, back left, back right. The right side motors are expected to be mounted mirrored,
+ * so a negative power drives them forward, as with {@link OmniWheelDriver}.</p>
+ */
+public class DriveKinematics {
+    /**
+     * The indexes of the wheels in a wheel speed array.
+     */
+    public static final int FRONT_LEFT = 0, FRONT_RIGHT = 1, BACK_LEFT = 2, BACK_RIGHT = 3;
+
+    /**
+     * The indexes of the weights in a row.
+     */
+    public static final int Y = 0, X = 1, ROTATION = 2;
+
+    /**
+     * The number of weights in a row.
+     */
+    public static final int ROW_SIZE = 3;
+
+    /**
+     * Cosine and sine of pi / 4.
+     */
+    private static final double DIAGONAL = Math.sqrt(0.5);
+
+    /**
+     * The weights of each output, ROW_SIZE per row.
+     */
+    private final double[] weights;
+
+    /**
+     * The number of outputs.
+     */
+    private final int rowCount;
+
+    /**
+     * Creates a new instance of DriveKinematics.
+     *
+     * @param weights   the y, x and rotation weights of each wheel, one row after another.
+     */
+    public DriveKinematics(double... weights) {
+        if (weights.length == 0 || weights.length % ROW_SIZE != 0) {
+            throw new IllegalArgumentException("weights must be rows of y, x and rotation weights");
+        }
+
+        this.weights = weights.clone();
+        this.rowCount = weights.length / ROW_SIZE;
+    }
+
+    /**
+     * Creates the kinematics of a tank drive with four motors, which cannot move sideways.
+     *
+     * @return  the kinematics.
+     */
+    public static DriveKinematics tank() {
+        return new DriveKinematics(
+                1, 0, 1,
+                -1, 0, 1,
+                1, 0, 1,
+                -1, 0, 1
+        );
+    }
+
+    /**
+     * Creates the kinematics of a mecanum drive with its rollers forming an X when seen from above.
+     *
+     * @return  the kinematics.
+     */
+    public static DriveKinematics mecanum() {
+        return new DriveKinematics(
+                1, 1, 1,
+                -1, 1, 1,
+                1, -1, 1,
+                -1, -1, 1
+        );
+    }
+
+    /**
+     * Creates the kinematics of an X-drive, with omniwheels in the corners at 45 degrees. Each wheel
+     * rolls along the clockwise tangent of its corner for a positive power, so a right rotation
+     * drives every wheel forward. {@link OmniKinematics} uses these rows.
+     *
+     * @return  the kinematics.
+     */
+    public static DriveKinematics xDrive() {
+        return new DriveKinematics(
+                DIAGONAL, DIAGONAL, 1,
+                -DIAGONAL, DIAGONAL, 1,
+                DIAGONAL, -DIAGONAL, 1,
+                -DIAGONAL, -DIAGONAL, 1
+        );
+    }
+
+    /**
+     * Gets the number of wheel speeds.
+     *
+     * @return  the number of wheels.
+     */
+    public int getWheelCount() {
+        return this.rowCount;
+    }
+
+    /**
+     * Calculates the wheel speeds. They may be over 1, see {@link DriveKinematics#normalize(double[], int, double)}.
+     *
+     * @param y         the forward speed.
+     * @param x         the right speed.
+     * @param rotation  the rotation. Positive for right and negative for left.
+     * @param speeds    the array to write the wheel speeds to.
+     */
+    public void solve(double y, double x, double rotation, double[] speeds) {
+        multiply(this.weights, this.rowCount, y, x, rotation, speeds);
+    }
+
+    /**
+     * Multiplies rows of weights by the chassis speeds.
+     *
+     * @param weights   the weights, ROW_SIZE per row.
+     * @param rowCount  the number of rows.
+     * @param y         the forward speed.
+     * @param x         the right speed.
+     * @param rotation  the rotation.
+     * @param out       the array to write a value per row to.
+     */
+    static void multiply(double[] weights, int rowCount, double y, double x, double rotation, double[] out) {
+        for (int row = 0, i = 0; row < rowCount; row++, i += ROW_SIZE) {
+            out[row] = weights[i + Y] * y + weights[i + X] * x + weights[i + ROTATION] * rotation;
+        }
+    }
+
+    /**
+     * Scales speeds down together so none is over a max. Unlike clipping each speed, this keeps
+     * the ratios between them, so the robot still moves in the right direction.
+     *
+     * @param speeds    the speeds.
+     * @param count     the number of speeds.
+     * @param max       the max speed.
+     * @return          the scale the speeds were multiplied by, 1 if they were not changed.
+     */
+    public static double normalize(double[] speeds, int count, double max) {
+        double largest = 0;
+        for (int i = 0; i < count; i++) largest = Math.max(largest, Math.abs(speeds[i]));
+
+        if (largest <= max) return 1;
+
+        double scale = max / largest;
+        for (int i = 0; i < count; i++) speeds[i] *= scale;
+
+        return scale;
+    }
+}
@@ -9,9 +9,20 @@ package org.chathamrobotics.ftcutils;
  */
 
 /**
- * A common driver interface.
+ * A common driver interface. How chassis speeds become wheel powers is up to the drivetrain, see
+ * {@link DriveKinematics}.
  */
 public interface Driver {
+    /**
+     * Drives at the given speeds, as fractions of full speed. Wheel powers that would be over full
+     * power are scaled down or clipped by the drivetrain.
+     *
+     * @param y         the forward speed.
+     * @param x         the right speed. Ignored by drivetrains that cannot move sideways.
+     * @param rotation  the rotation. Positive for right and negative for left.
+     */
+    void drive(double y, double x, double rotation);
+
     /**
      * Stops all driving functionality.
      */
@@ -0,0 +1,469 @@
+package org.chathamrobotics.ftcutils;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Remembers the firing solutions of a {@link ProjectileModel} for a launcher with a fixed fire
+ * angle. Targets are rounded to a grid of the given resolution, and the velocity for each grid
+ * point is only ever calculated once. The least recently used solutions are forgotten once there
+ * are more than the capacity.
+ *
+ * <p>Calculating a solution takes a while, so the cache should be warmed during init by
+ * {@link FiringSolutionCache#startWarming(double, double, double, double)}, which calculates every
+ * grid point in a range on a background thread. Queries during the match are then a lookup in a
+ * hash table of primitive arrays, which creates no objects. A query for a point that has not been
+ * calculated yet calculates it on the calling thread.</p>
+ *
+ * <p>Here is an example of how one might use {@link FiringSolutionCache}:</p>
+ *
+ * <pre>
+ *     // in the robot's initHardware()
+ *     this.firingSolutions = new FiringSolutionCache(ProjectileModel.ball(0.057, 0.0686, 0.47, 0.1),
+ *             Math.toRadians(40), 10, 0.02, 20000);
+ *     this.firingSolutions.startWarming(0.5, 4, 0, 1.2);
+ *
+ *     // in the loop
+ *     double velocity = this.firingSolutions.solve(distanceToGoal, goalHeight);
+ * </pre>
+ */
+public class FiringSolutionCache {
+    /**
+     * The tag used for logging.
+     */
+    public static final String TAG = "FiringSolutionCache";
+
+    /**
+     * The model of the projectile.
+     */
+    private final ProjectileModel model;
+
+    /**
+     * The angle the launcher fires at in radians.
+     */
+    private final double fireAngle;
+
+    /**
+     * The fastest the launcher can fire.
+     */
+    private final double maxVelocity;
+
+    /**
+     * The spacing of the grid targets are rounded to.
+     */
+    private final double resolution;
+
+    /**
+     * The most solutions remembered.
+     */
+    private final int capacity;
+
+    /**
+     * The solutions by grid point, in order of use. Guarded by itself.
+     */
+    private final SolutionTable solutions;
+
+    /**
+     * The number of queries answered with and without a remembered solution.
+     */
+    private long hitCount, missCount;
+
+    /**
+     * The thread warming the cache, or null.
+     */
+    private Thread warmer;
+
+    /**
+     * Whether the warming thread should keep going.
+     */
+    private volatile boolean warming;
+
+    /**
+     * Creates a new instance of FiringSolutionCache.
+     *
+     * @param model         the model of the projectile.
+     * @param fireAngle     the angle the launcher fires at in radians.
+     * @param maxVelocity   the fastest the launcher can fire. Targets needing more cannot be hit.
+     * @param resolution    the spacing of the grid targets are rounded to.
+     * @param capacity      the most solutions remembered.
+     */
+    public FiringSolutionCache(ProjectileModel model, double fireAngle, double maxVelocity, double resolution, int capacity) {
+        if (! (resolution > 0)) throw new IllegalArgumentException("resolution must be positive");
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be positive");
+
+        this.model = model;
+        this.fireAngle = fireAngle;
+        this.maxVelocity = maxVelocity;
+        this.resolution = resolution;
+        this.capacity = capacity;
+        this.solutions = new SolutionTable(capacity);
+    }
+
+    /**
+     * Finds the velocity to hit a target, rounded to the nearest grid point.
+     *
+     * @param distance  the horizontal displacement to the target.
+     * @param height    the vertical displacement to the target.
+     * @return          the velocity, or NaN if the target cannot be hit.
+     */
+    public double solve(double distance, double height) {
+        long row = Math.round(distance / this.resolution);
+        long column = Math.round(height / this.resolution);
+        long key = key(row, column);
+
+        synchronized (this.solutions) {
+            int entry = this.solutions.use(key);
+            if (entry >= 0) {
+                this.hitCount++;
+                return this.solutions.values[entry];
+            }
+
+            this.missCount++;
+        }
+
+        return calculate(key, row, column);
+    }
+
+    /**
+     * Starts calculating every grid point in a range on a background thread. The range should fit
+     * within the capacity.
+     *
+     * @param minDistance   the shortest distance.
+     * @param maxDistance   the longest distance.
+     * @param minHeight     the lowest height.
+     * @param maxHeight     the highest height.
+     */
+    public synchronized void startWarming(double minDistance, double maxDistance, double minHeight, double maxHeight) {
+        final long firstRow = Math.round(minDistance / this.resolution), lastRow = Math.round(maxDistance / this.resolution);
+        final long firstColumn = Math.round(minHeight / this.resolution), lastColumn = Math.round(maxHeight / this.resolution);
+
+        if ((lastRow - firstRow + 1) * (lastColumn - firstColumn + 1) > this.capacity) {
+            throw new IllegalArgumentException("the range has more grid points than the capacity");
+        }
+
+        stopWarming();
+
+        this.warming = true;
+        this.warmer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (long row = firstRow; row <= lastRow && warming; row++) {
+                    for (long column = firstColumn; column <= lastColumn && warming; column++) {
+                        long key = key(row, column);
+
+                        boolean known;
+                        synchronized (solutions) {
+                            known = solutions.indexOf(key) >= 0;
+                        }
+
+                        if (! known) calculate(key, row, column);
+                    }
+                }
+
+                warming = false;
+            }
+        }, TAG);
+        this.warmer.setDaemon(true);
+        this.warmer.setPriority(Thread.MIN_PRIORITY);
+        this.warmer.start();
+    }
+
+    /**
+     * Stops warming the cache and waits for the thread to finish its current grid point.
+     */
+    public synchronized void stopWarming() {
+        this.warming = false;
+
+        if (this.warmer != null) {
+            try {
+                this.warmer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            this.warmer = null;
+        }
+    }
+
+    /**
+     * Waits for warming to finish.
+     *
+     * @param milliseconds          the longest time to wait.
+     * @return                      whether warming has finished.
+     * @throws InterruptedException Thrown if the thread is interrupted while waiting.
+     */
+    public boolean awaitWarm(long milliseconds) throws InterruptedException {
+        Thread warmer;
+        synchronized (this) {
+            warmer = this.warmer;
+        }
+
+        if (warmer != null) warmer.join(milliseconds);
+        return ! this.warming;
+    }
+
+    /**
+     * Checks whether the cache is being warmed.
+     *
+     * @return  whether the cache is being warmed.
+     */
+    public boolean isWarming() {
+        return this.warming;
+    }
+
+    /**
+     * Gets the number of remembered solutions.
+     *
+     * @return  the number of solutions.
+     */
+    public int size() {
+        synchronized (this.solutions) {
+            return this.solutions.size;
+        }
+    }
+
+    /**
+     * Gets the number of queries answered with a remembered solution.
+     *
+     * @return  the number of hits.
+     */
+    public long getHitCount() {
+        synchronized (this.solutions) {
+            return this.hitCount;
+        }
+    }
+
+    /**
+     * Gets the number of queries that had to calculate their solution.
+     *
+     * @return  the number of misses.
+     */
+    public long getMissCount() {
+        synchronized (this.solutions) {
+            return this.missCount;
+        }
+    }
+
+    /**
+     * Calculates and remembers the solution at a grid point. The calculation is done without
+     * holding the lock so queries are not blocked by it.
+     *
+     * @param key       the key of the grid point.
+     * @param row       the distance of the grid point in resolutions.
+     * @param column    the height of the grid point in resolutions.
+     * @return          the solution.
+     */
+    private double calculate(long key, long row, long column) {
+        double solution = this.model.solveVelocity(row * this.resolution, column * this.resolution, this.fireAngle, this.maxVelocity);
+
+        synchronized (this.solutions) {
+            this.solutions.put(key, solution);
+        }
+
+        return solution;
+    }
+
+    /**
+     * Gets the key of a grid point.
+     *
+     * @param row       the distance of the grid point in resolutions.
+     * @param column    the height of the grid point in resolutions.
+     * @return          the key.
+     */
+    private static long key(long row, long column) {
+        return (row << 32) ^ (column & 0xffffffffL);
+    }
+
+    /**
+     * A map from grid point keys to solutions that forgets the least recently used solution once
+     * full. It is kept in primitive arrays so that lookups do not box the keys or solutions. Keys
+     * are found by linear probing, and entries are linked from least to most recently used.
+     */
+    private static final class SolutionTable {
+        /**
+         * The key and solution of each entry.
+         */
+        private final long[] keys;
+        private final double[] values;
+
+        /**
+         * The entries used just before and after each entry, or -1.
+         */
+        private final int[] previous, next;
+
+        /**
+         * The least and most recently used entries, or -1 if empty.
+         */
+        private int oldest = -1, newest = -1;
+
+        /**
+         * The number of entries.
+         */
+        private int size;
+
+        /**
+         * The entry in each hash slot plus one, or 0 if the slot is empty.
+         */
+        private final int[] slots;
+
+        /**
+         * Used to wrap hashes into the slots.
+         */
+        private final int mask;
+
+        /**
+         * Creates a new instance of SolutionTable.
+         *
+         * @param capacity  the most entries kept.
+         */
+        private SolutionTable(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new double[capacity];
+            this.previous = new int[capacity];
+            this.next = new int[capacity];
+
+            // at most half full so that probes stay short
+            int slotCount = 2;
+            while (slotCount < capacity * 2) slotCount <<= 1;
+            this.slots = new int[slotCount];
+            this.mask = slotCount - 1;
+        }
+
+        /**
+         * Finds the entry with a key.
+         *
+         * @param key   the key.
+         * @return      the entry, or -1 if there is none.
+         */
+        private int indexOf(long key) {
+            return this.slots[slotOf(key)] - 1;
+        }
+
+        /**
+         * Finds the entry with a key and marks it as the most recently used.
+         *
+         * @param key   the key.
+         * @return      the entry, or -1 if there is none.
+         */
+        private int use(long key) {
+            int entry = indexOf(key);
+            if (entry >= 0 && entry != this.newest) {
+                unlink(entry);
+                linkNewest(entry);
+            }
+
+            return entry;
+        }
+
+        /**
+         * Sets the solution for a key, forgetting the least recently used solution if full.
+         *
+         * @param key   the key.
+         * @param value the solution.
+         */
+        private void put(long key, double value) {
+            int entry = use(key);
+            if (entry >= 0) {
+                this.values[entry] = value;
+                return;
+            }
+
+            if (this.size == this.keys.length) {
+                entry = this.oldest;
+                unlink(entry);
+                removeSlot(slotOf(this.keys[entry]));
+            } else {
+                entry = this.size++;
+            }
+
+            this.keys[entry] = key;
+            this.values[entry] = value;
+            this.slots[slotOf(key)] = entry + 1;
+            linkNewest(entry);
+        }
+
+        /**
+         * Finds the slot holding a key, or the empty slot where it would go.
+         *
+         * @param key   the key.
+         * @return      the slot.
+         */
+        private int slotOf(long key) {
+            int slot = hash(key) & this.mask;
+
+            while (true) {
+                int entry = this.slots[slot] - 1;
+                if (entry < 0 || this.keys[entry] == key) return slot;
+                slot = (slot + 1) & this.mask;
+            }
+        }
+
+        /**
+         * Empties a slot, moving back the entries probed past it so they can still be found.
+         *
+         * @param slot  the slot.
+         */
+        private void removeSlot(int slot) {
+            int mask = this.mask;
+            int hole = slot;
+            this.slots[hole] = 0;
+
+            for (int current = (slot + 1) & mask; this.slots[current] != 0; current = (current + 1) & mask) {
+                int home = hash(this.keys[this.slots[current] - 1]) & mask;
+
+                // the entry can move into the hole if the hole is between its home and where it is
+                if (((current - home) & mask) >= ((current - hole) & mask)) {
+                    this.slots[hole] = this.slots[current];
+                    this.slots[current] = 0;
+                    hole = current;
+                }
+            }
+        }
+
+        /**
+         * Removes an entry from the order of use.
+         *
+         * @param entry the entry.
+         */
+        private void unlink(int entry) {
+            int previous = this.previous[entry], next = this.next[entry];
+
+            if (previous >= 0) this.next[previous] = next;
+            else this.oldest = next;
+
+            if (next >= 0) this.previous[next] = previous;
+            else this.newest = previous;
+        }
+
+        /**
+         * Adds an entry to the order of use as the most recently used.
+         *
+         * @param entry the entry.
+         */
+        private void linkNewest(int entry) {
+            this.previous[entry] = this.newest;
+            this.next[entry] = -1;
+
+            if (this.newest >= 0) this.next[this.newest] = entry;
+            else this.oldest = entry;
+
+            this.newest = entry;
+        }
+
+        /**
+         * Spreads the bits of a key.
+         *
+         * @param key   the key.
+         * @return      the hash.
+         */
+        private static int hash(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32));
+        }
+    }
+}
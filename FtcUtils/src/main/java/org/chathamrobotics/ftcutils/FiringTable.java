@@ -0,0 +1,221 @@
+package org.chathamrobotics.ftcutils;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * A precomputed table of firing solutions over a grid of target distances and heights. The table is
+ * filled once with {@link Ballistics} and then queried with bilinear interpolation, so aiming every
+ * loop, eg. while the robot is moving, costs a few multiplications.
+ *
+ * <p>A table either has a fixed fire angle and solves for the velocity, or a fixed velocity and
+ * solves for the fire angle. Targets that cannot be hit give NaN, which
+ * {@link FiringTable#canHit(double, double)} checks for. Near the edge of what can be hit, and
+ * outside the grid, the solution is calculated exactly instead of interpolated.</p>
+ *
+ * <p>Here is an example of how one might use {@link FiringTable}:</p>
+ *
+ * <pre>
+ *     // a launcher fixed at 40 degrees that can fire at up to 8 m/s
+ *     FiringTable table = FiringTable.forAngle(Math.toRadians(40), 8, 0.5, 4, 0, 1.5, 64, 32);
+ *
+ *     // in the loop
+ *     double velocity = table.solve(distanceToGoal, goalHeight);
+ *     if (! Double.isNaN(velocity)) flywheel.setVelocity(velocity);
+ * </pre>
+ */
+public final class FiringTable {
+    /**
+     * The fire angle of a fixed angle table, or NaN.
+     */
+    private final double fireAngle;
+
+    /**
+     * The velocity of a fixed velocity table, or NaN.
+     */
+    private final double velocity;
+
+    /**
+     * For a fixed angle table, the max velocity. For a fixed velocity table, whether to use the lofted angle.
+     */
+    private final double maxVelocity;
+    private final boolean lofted;
+
+    /**
+     * The grid.
+     */
+    private final double minDistance, minHeight;
+    private final double distanceScale, heightScale;
+    private final int distanceCount, heightCount;
+
+    /**
+     * The solutions, indexed by distance * heightCount + height. A fixed angle table stores
+     * 1 / velocity^2 instead of the velocity, since it changes linearly with height and smoothly
+     * with distance, so it interpolates much more accurately.
+     */
+    private final double[] solutions;
+
+    /**
+     * Creates and fills a table.
+     *
+     * @param fireAngle     the fixed fire angle, or NaN.
+     * @param velocity      the fixed velocity, or NaN.
+     * @param maxVelocity   the max velocity of a fixed angle table.
+     * @param lofted        whether a fixed velocity table uses the lofted angle.
+     * @param minDistance   the shortest distance in the table.
+     * @param maxDistance   the longest distance in the table.
+     * @param minHeight     the lowest height in the table.
+     * @param maxHeight     the highest height in the table.
+     * @param distanceCount the number of distances in the table.
+     * @param heightCount   the number of heights in the table.
+     */
+    private FiringTable(double fireAngle, double velocity, double maxVelocity, boolean lofted,
+                        double minDistance, double maxDistance, double minHeight, double maxHeight,
+                        int distanceCount, int heightCount) {
+        if (distanceCount < 2 || heightCount < 2) throw new IllegalArgumentException("the table needs at least two distances and heights");
+        if (! (maxDistance > minDistance) || ! (maxHeight > minHeight)) throw new IllegalArgumentException("the table ranges must not be empty");
+
+        this.fireAngle = fireAngle;
+        this.velocity = velocity;
+        this.maxVelocity = maxVelocity;
+        this.lofted = lofted;
+        this.minDistance = minDistance;
+        this.minHeight = minHeight;
+        this.distanceScale = (distanceCount - 1) / (maxDistance - minDistance);
+        this.heightScale = (heightCount - 1) / (maxHeight - minHeight);
+        this.distanceCount = distanceCount;
+        this.heightCount = heightCount;
+        this.solutions = new double[distanceCount * heightCount];
+
+        for (int i = 0; i < distanceCount; i++) {
+            for (int j = 0; j < heightCount; j++) {
+                double solution = solveExactly(minDistance + i / this.distanceScale, minHeight + j / this.heightScale);
+                this.solutions[i * heightCount + j] = Double.isNaN(fireAngle) ? solution : 1 / (solution * solution);
+            }
+        }
+    }
+
+    /**
+     * Creates a table for a launcher with a fixed fire angle, which solves for the velocity.
+     *
+     * @param fireAngle     the fire angle in radians.
+     * @param maxVelocity   the fastest the launcher can fire. Targets needing more cannot be hit.
+     * @param minDistance   the shortest distance in the table.
+     * @param maxDistance   the longest distance in the table.
+     * @param minHeight     the lowest height in the table.
+     * @param maxHeight     the highest height in the table.
+     * @param distanceCount the number of distances in the table.
+     * @param heightCount   the number of heights in the table.
+     * @return              the table.
+     */
+    public static FiringTable forAngle(double fireAngle, double maxVelocity,
+                                       double minDistance, double maxDistance, double minHeight, double maxHeight,
+                                       int distanceCount, int heightCount) {
+        return new FiringTable(fireAngle, Double.NaN, maxVelocity, false,
+                minDistance, maxDistance, minHeight, maxHeight, distanceCount, heightCount);
+    }
+
+    /**
+     * Creates a table for a launcher with a fixed velocity, which solves for the fire angle.
+     *
+     * @param velocity      the velocity the launcher fires at.
+     * @param lofted        whether to use the higher of the two angles that hit.
+     * @param minDistance   the shortest distance in the table.
+     * @param maxDistance   the longest distance in the table.
+     * @param minHeight     the lowest height in the table.
+     * @param maxHeight     the highest height in the table.
+     * @param distanceCount the number of distances in the table.
+     * @param heightCount   the number of heights in the table.
+     * @return              the table.
+     */
+    public static FiringTable forVelocity(double velocity, boolean lofted,
+                                          double minDistance, double maxDistance, double minHeight, double maxHeight,
+                                          int distanceCount, int heightCount) {
+        return new FiringTable(Double.NaN, velocity, Double.NaN, lofted,
+                minDistance, maxDistance, minHeight, maxHeight, distanceCount, heightCount);
+    }
+
+    /**
+     * Finds the firing solution for a target.
+     *
+     * @param distance  the horizontal displacement to the target.
+     * @param height    the vertical displacement to the target.
+     * @return          the velocity of a fixed angle table or the fire angle of a fixed velocity
+     *                  table, or NaN if the target cannot be hit.
+     */
+    public double solve(double distance, double height) {
+        double u = (distance - this.minDistance) * this.distanceScale;
+        double w = (height - this.minHeight) * this.heightScale;
+
+        if (! (u >= 0 && w >= 0 && u <= this.distanceCount - 1 && w <= this.heightCount - 1)) {
+            return solveExactly(distance, height);
+        }
+
+        int i = Math.min((int) u, this.distanceCount - 2);
+        int j = Math.min((int) w, this.heightCount - 2);
+        double fu = u - i, fw = w - j;
+
+        int index = i * this.heightCount + j;
+        double near = this.solutions[index];
+        double nearUp = this.solutions[index + 1];
+        double far = this.solutions[index + this.heightCount];
+        double farUp = this.solutions[index + this.heightCount + 1];
+
+        // a cell with a corner that cannot be hit is on the edge, where interpolating is not accurate
+        if (Double.isNaN(near + nearUp + far + farUp)) return solveExactly(distance, height);
+
+        double low = near + (far - near) * fu;
+        double high = nearUp + (farUp - nearUp) * fu;
+        double solution = low + (high - low) * fw;
+
+        return Double.isNaN(this.fireAngle) ? solution : 1 / Math.sqrt(solution);
+    }
+
+    /**
+     * Checks whether a target can be hit.
+     *
+     * @param distance  the horizontal displacement to the target.
+     * @param height    the vertical displacement to the target.
+     * @return          whether the target can be hit.
+     */
+    public boolean canHit(double distance, double height) {
+        return ! Double.isNaN(solve(distance, height));
+    }
+
+    /**
+     * Gets the fixed fire angle.
+     *
+     * @return  the fire angle in radians, or NaN for a fixed velocity table.
+     */
+    public double getFireAngle() {
+        return this.fireAngle;
+    }
+
+    /**
+     * Gets the fixed velocity.
+     *
+     * @return  the velocity, or NaN for a fixed angle table.
+     */
+    public double getVelocity() {
+        return this.velocity;
+    }
+
+    /**
+     * Calculates the firing solution for a target with {@link Ballistics}.
+     *
+     * @param distance  the horizontal displacement to the target.
+     * @param height    the vertical displacement to the target.
+     * @return          the solution, or NaN if the target cannot be hit.
+     */
+    private double solveExactly(double distance, double height) {
+        if (Double.isNaN(this.fireAngle)) return Ballistics.solveAngle(distance, height, this.velocity, this.lofted);
+
+        double velocity = Ballistics.solveVelocity(distance, height, this.fireAngle);
+        return velocity <= this.maxVelocity ? velocity : Double.NaN;
+    }
+}
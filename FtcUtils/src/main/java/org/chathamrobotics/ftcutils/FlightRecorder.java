@@ -0,0 +1,493 @@
+package org.chathamrobotics.ftcutils;
+
+import com.qualcomm.robotcore.hardware.Gamepad;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Locale;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Records timestamped frames of values to binary files so that every loop can be analyzed after a
+ * match. The channels are fixed when the recorder is created. Frames are written into a memory
+ * mapped file, so recording a frame does not allocate or wait on the file system. When a file is
+ * full the recorder moves on to the next file, deleting the oldest files past the file limit.
+ *
+ * <p>File format (big endian):</p>
+ * <pre>
+ *     header: int magic, short version, short channel count, long start time (epoch millis),
+ *             channel count * (short length, utf-8 name)
+ *     frame:  int sequence (starts at 1, 0 marks the end), long nanos since start,
+ *             channel count * float value
+ * </pre>
+ *
+ * <p>Recordings can be converted to csv on a computer with:</p>
+ * <pre>
+ *     java -cp ftcutils.jar org.chathamrobotics.ftcutils.FlightRecorder out.csv rec-0000.rec rec-0001.rec
+ * </pre>
+ */
+public class FlightRecorder {
+    /**
+     * Identifies a recording file ("FTCR").
+     */
+    public static final int MAGIC = 0x46544352;
+
+    /**
+     * The version of the file format.
+     */
+    public static final short VERSION = 1;
+
+    /**
+     * The extension used for recording files.
+     */
+    public static final String EXTENSION = ".rec";
+
+    /**
+     * The default size of each recording file.
+     */
+    public static final int DEFAULT_FILE_SIZE = 4 * 1024 * 1024;
+
+    /**
+     * The default number of recording files to keep.
+     */
+    public static final int DEFAULT_MAX_FILES = 8;
+
+    /**
+     * The number of channels added for each gamepad.
+     * @see FlightRecorder#gamepadChannels(String)
+     */
+    public static final int GAMEPAD_CHANNEL_COUNT = 6;
+
+    /**
+     * The charset used for channel names.
+     */
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * The size of a frame's sequence and timestamp.
+     */
+    private static final int FRAME_HEADER_SIZE = 4 + 8;
+
+    /**
+     * The directory the files are written to.
+     */
+    private final File directory;
+
+    /**
+     * The name used to prefix the files.
+     */
+    private final String name;
+
+    /**
+     * The names of the channels.
+     */
+    private final String[] channels;
+
+    /**
+     * The values for the next frame.
+     */
+    private final float[] frame;
+
+    /**
+     * The encoded header.
+     */
+    private final byte[] header;
+
+    /**
+     * The size of each frame in bytes.
+     */
+    private final int frameSize;
+
+    /**
+     * The size of each file in bytes.
+     */
+    private final int fileSize;
+
+    /**
+     * The number of files to keep.
+     */
+    private final int maxFiles;
+
+    /**
+     * The time the recording was started.
+     */
+    private final long startNanos;
+
+    /**
+     * The current file.
+     */
+    private RandomAccessFile file;
+
+    /**
+     * The mapping of the current file.
+     */
+    private MappedByteBuffer buffer;
+
+    /**
+     * The index of the current file.
+     */
+    private int fileIndex = -1;
+
+    /**
+     * The sequence number of the next frame.
+     */
+    private int sequence = 1;
+
+    /**
+     * The error that stopped the recording, if any.
+     */
+    private IOException error;
+
+    /**
+     * Creates a new instance of FlightRecorder using the default file size and file limit.
+     *
+     * @param directory     the directory to write the files to.
+     * @param name          the name used to prefix the files.
+     * @param channels      the names of the channels to record.
+     * @throws IOException  Thrown if the first file could not be created.
+     */
+    public FlightRecorder(File directory, String name, String[] channels) throws IOException {
+        this(directory, name, channels, DEFAULT_FILE_SIZE, DEFAULT_MAX_FILES);
+    }
+
+    /**
+     * Creates a new instance of FlightRecorder.
+     *
+     * @param directory     the directory to write the files to.
+     * @param name          the name used to prefix the files.
+     * @param channels      the names of the channels to record.
+     * @param fileSize      the size of each file in bytes.
+     * @param maxFiles      the number of files to keep.
+     * @throws IOException  Thrown if the first file could not be created.
+     */
+    public FlightRecorder(File directory, String name, String[] channels, int fileSize, int maxFiles)
+            throws IOException {
+        if (channels.length > Short.MAX_VALUE) throw new IllegalArgumentException("too many channels");
+        if (maxFiles < 1) throw new IllegalArgumentException("maxFiles must be positive");
+
+        this.directory = directory;
+        this.name = name;
+        this.channels = channels.clone();
+        this.frame = new float[channels.length];
+        this.frameSize = FRAME_HEADER_SIZE + 4 * channels.length;
+        this.header = encodeHeader(this.channels);
+        this.fileSize = fileSize;
+        this.maxFiles = maxFiles;
+
+        if (fileSize < this.header.length + this.frameSize) {
+            throw new IllegalArgumentException("fileSize is too small for a single frame");
+        }
+
+        if (! directory.isDirectory() && ! directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+
+        this.startNanos = System.nanoTime();
+        nextFile();
+    }
+
+    /**
+     * Builds the names of the channels used for a gamepad.
+     * @see FlightRecorder#setGamepad(int, Gamepad)
+     *
+     * @param prefix    the prefix for the names (eg: "Gamepad1").
+     * @return          the names of the channels.
+     */
+    public static String[] gamepadChannels(String prefix) {
+        return new String[] {
+                prefix + " Left X",
+                prefix + " Left Y",
+                prefix + " Right X",
+                prefix + " Right Y",
+                prefix + " Left Trigger",
+                prefix + " Right Trigger"
+        };
+    }
+
+    /**
+     * Gets the names of the channels.
+     *
+     * @return  the names of the channels.
+     */
+    public String[] getChannels() {
+        return this.channels.clone();
+    }
+
+    /**
+     * Finds the index of a channel. This should be done once, not every loop.
+     *
+     * @param channel   the name of the channel.
+     * @return          the index of the channel, or -1 if there is no such channel.
+     */
+    public int indexOf(String channel) {
+        return Arrays.asList(this.channels).indexOf(channel);
+    }
+
+    /**
+     * Sets a value for the next frame.
+     *
+     * @param channel   the index of the channel.
+     * @param value     the value.
+     */
+    public void set(int channel, double value) {
+        this.frame[channel] = (float) value;
+    }
+
+    /**
+     * Sets the values of a gamepad for the next frame.
+     * @see FlightRecorder#gamepadChannels(String)
+     *
+     * @param firstChannel  the index of the gamepad's first channel.
+     * @param gp            the gamepad.
+     */
+    public void setGamepad(int firstChannel, Gamepad gp) {
+        this.frame[firstChannel] = gp.left_stick_x;
+        this.frame[firstChannel + 1] = gp.left_stick_y;
+        this.frame[firstChannel + 2] = gp.right_stick_x;
+        this.frame[firstChannel + 3] = gp.right_stick_y;
+        this.frame[firstChannel + 4] = gp.left_trigger;
+        this.frame[firstChannel + 5] = gp.right_trigger;
+    }
+
+    /**
+     * Writes the current values as a frame. Values that were not set keep their last value.
+     *
+     * @return  whether the frame was recorded. False if the recorder is closed or failed.
+     */
+    public boolean record() {
+        if (this.buffer == null) return false;
+
+        if (this.buffer.remaining() < this.frameSize) {
+            try {
+                nextFile();
+            } catch (IOException e) {
+                this.error = e;
+                close();
+                return false;
+            }
+        }
+
+        MappedByteBuffer buffer = this.buffer;
+        buffer.putInt(this.sequence++);
+        buffer.putLong(System.nanoTime() - this.startNanos);
+        for (float value : this.frame) buffer.putFloat(value);
+
+        return true;
+    }
+
+    /**
+     * Gets the error that stopped the recording.
+     *
+     * @return  the error, or null if there was none.
+     */
+    public IOException getError() {
+        return this.error;
+    }
+
+    /**
+     * Checks whether the recorder is still recording.
+     *
+     * @return  whether the recorder is open.
+     */
+    public boolean isOpen() {
+        return this.buffer != null;
+    }
+
+    /**
+     * Closes the current file. No more frames will be recorded.
+     */
+    public void close() {
+        try {
+            closeFile();
+        } catch (IOException e) {
+            if (this.error == null) this.error = e;
+        }
+    }
+
+    /**
+     * Closes the current file and opens the next one, deleting old files if needed.
+     *
+     * @throws IOException  Thrown if the file could not be opened.
+     */
+    private void nextFile() throws IOException {
+        closeFile();
+
+        this.fileIndex++;
+        File old = fileFor(this.fileIndex - this.maxFiles);
+        if (old.exists() && ! old.delete()) throw new IOException("Could not delete " + old);
+
+        this.file = new RandomAccessFile(fileFor(this.fileIndex), "rw");
+        this.file.setLength(0);
+        this.buffer = this.file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, this.fileSize);
+        this.buffer.put(this.header);
+    }
+
+    /**
+     * Closes the current file, trimming it to the frames that were written.
+     *
+     * @throws IOException  Thrown if the file could not be closed.
+     */
+    private void closeFile() throws IOException {
+        if (this.file == null) return;
+
+        MappedByteBuffer buffer = this.buffer;
+        RandomAccessFile file = this.file;
+        this.buffer = null;
+        this.file = null;
+
+        try {
+            buffer.force();
+            file.getChannel().truncate(buffer.position());
+        } finally {
+            file.close();
+        }
+    }
+
+    /**
+     * Gets the file for an index.
+     *
+     * @param index the index of the file.
+     * @return      the file.
+     */
+    private File fileFor(int index) {
+        return new File(this.directory, String.format(Locale.US, "%s-%04d%s", this.name, index, EXTENSION));
+    }
+
+    /**
+     * Encodes the header for a set of channels.
+     *
+     * @param channels  the names of the channels.
+     * @return          the encoded header.
+     */
+    private static byte[] encodeHeader(String[] channels) {
+        byte[][] names = new byte[channels.length][];
+        int size = 4 + 2 + 2 + 8;
+
+        for (int i = 0; i < channels.length; i++) {
+            names[i] = channels[i].getBytes(UTF_8);
+            size += 2 + names[i].length;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(size);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.putShort((short) channels.length);
+        header.putLong(System.currentTimeMillis());
+
+        for (byte[] name : names) {
+            header.putShort((short) name.length);
+            header.put(name);
+        }
+
+        return header.array();
+    }
+
+    /**
+     * Converts a recording file to csv. The first column is the time in seconds since the start of
+     * the recording, followed by a column for each channel.
+     *
+     * @param recording     the recording file.
+     * @param out           where to write the csv.
+     * @param writeHeader   whether to write the row of column names.
+     * @return              the number of frames converted.
+     * @throws IOException  Thrown if the file could not be read or is not a recording.
+     */
+    public static int toCsv(File recording, Writer out, boolean writeHeader) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(recording, "r");
+
+        try {
+            ByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+
+            if (buffer.remaining() < 16 || buffer.getInt() != MAGIC) {
+                throw new IOException(recording + " is not a recording");
+            }
+
+            short version = buffer.getShort();
+            if (version != VERSION) throw new IOException("Unsupported recording version " + version);
+
+            String[] channels = new String[buffer.getShort()];
+            buffer.getLong(); // start time
+
+            for (int i = 0; i < channels.length; i++) {
+                byte[] name = new byte[buffer.getShort()];
+                buffer.get(name);
+                channels[i] = new String(name, UTF_8);
+            }
+
+            if (writeHeader) {
+                out.write("time");
+                for (String channel : channels) out.write("," + escape(channel));
+                out.write("\n");
+            }
+
+            int frameSize = FRAME_HEADER_SIZE + 4 * channels.length;
+            int frames = 0;
+
+            while (buffer.remaining() >= frameSize) {
+                if (buffer.getInt() == 0) break;
+
+                out.write(Double.toString(buffer.getLong() / 1e9));
+                for (int i = 0; i < channels.length; i++) out.write("," + buffer.getFloat());
+                out.write("\n");
+
+                frames++;
+            }
+
+            return frames;
+        } finally {
+            file.close();
+        }
+    }
+
+    /**
+     * Escapes a csv field.
+     *
+     * @param field the field.
+     * @return      the escaped field.
+     */
+    private static String escape(String field) {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0) return field;
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Converts recording files into a single csv file.
+     * Usage: FlightRecorder {output csv} {recording files...}
+     *
+     * @param args          the output file followed by the recording files in order.
+     * @throws IOException  Thrown if a file could not be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: FlightRecorder <output.csv> <recording.rec>...");
+            System.exit(1);
+        }
+
+        Writer out = new OutputStreamWriter(new FileOutputStream(args[0]), UTF_8);
+
+        try {
+            for (int i = 1; i < args.length; i++) {
+                int frames = toCsv(new File(args[i]), out, i == 1);
+                System.out.println(args[i] + ": " + frames + " frames");
+            }
+        } finally {
+            out.close();
+        }
+    }
+}
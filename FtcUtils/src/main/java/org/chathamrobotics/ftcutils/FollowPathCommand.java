@@ -0,0 +1,56 @@
+package org.chathamrobotics.ftcutils;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * A command that follows a path with a {@link PathFollower}. It requires the driver.
+ */
+public class FollowPathCommand extends Command {
+    /**
+     * The follower of the path.
+     */
+    private final PathFollower follower;
+
+    /**
+     * The driver to drive.
+     */
+    private final OmniWheelDriver driver;
+
+    /**
+     * Creates a new instance of FollowPathCommand.
+     *
+     * @param follower  the follower of the path.
+     * @param driver    the driver to drive.
+     */
+    public FollowPathCommand(PathFollower follower, OmniWheelDriver driver) {
+        this.follower = follower;
+        this.driver = driver;
+        requires(driver);
+    }
+
+    @Override
+    public void initialize() {
+        this.follower.start();
+    }
+
+    @Override
+    public void execute() {
+        this.follower.update(this.driver);
+    }
+
+    @Override
+    public boolean isFinished() {
+        return this.follower.isFinished();
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        if (interrupted) this.follower.stop();
+    }
+}
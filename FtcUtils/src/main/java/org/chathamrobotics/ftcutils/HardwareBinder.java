@@ -0,0 +1,267 @@
+package org.chathamrobotics.ftcutils;
+
+import com.qualcomm.robotcore.hardware.HardwareDevice;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Looks up a robot's hardware devices all at once. Devices are declared once with their type and
+ * name, and then {@link HardwareBinder#bind(HardwareMap)} goes through the hardware map a single
+ * time and hands each device to its declaration. If any required device is missing, every missing
+ * device is reported together, so a misconfigured robot can be fixed in one go instead of one
+ * crash at a time.
+ *
+ * <p>The declarations do not change between opmodes, so they can be kept in static fields and bound
+ * again every init. Here is an example of how one might use {@link HardwareBinder}:</p>
+ *
+ * <pre>
+ *     public class Robot9853 extends Robot {
+ *         private static final HardwareBinder HARDWARE = new HardwareBinder();
+ *         private static final HardwareBinder.Device{@code<DcMotor>} LIFT = HARDWARE.require(DcMotor.class, "Lift");
+ *         private static final HardwareBinder.Device{@code<Servo>} CLAW = HARDWARE.require(Servo.class, "Claw");
+ *         private static final HardwareBinder.Device{@code<ColorSensor>} COLOR = HARDWARE.optional(ColorSensor.class, "Color");
+ *
+ *         {@code @Override}
+ *         public void initHardware() {
+ *             HARDWARE.bind(this.hardwareMap);
+ *             LIFT.get().setPower(0);
+ *         }
+ *     }
+ * </pre>
+ */
+public class HardwareBinder {
+    /**
+     * A declared device.
+     *
+     * @param <T>   The type of the device.
+     */
+    public static final class Device<T extends HardwareDevice> {
+        /**
+         * The type of the device.
+         */
+        private final Class<T> type;
+
+        /**
+         * The name of the device in the hardware map.
+         */
+        private final String name;
+
+        /**
+         * Whether the device may be missing.
+         */
+        private final boolean optional;
+
+        /**
+         * The device. Null until bound, or if missing.
+         */
+        private T device;
+
+        /**
+         * The type of a device found with the name but of the wrong type. Null if none.
+         */
+        private String foundType;
+
+        /**
+         * Creates a new instance of Device.
+         *
+         * @param type      the type of the device.
+         * @param name      the name of the device in the hardware map.
+         * @param optional  whether the device may be missing.
+         */
+        private Device(Class<T> type, String name, boolean optional) {
+            this.type = type;
+            this.name = name;
+            this.optional = optional;
+        }
+
+        /**
+         * Gets the device.
+         *
+         * @return  the device, or null if it is optional and missing.
+         */
+        public T get() {
+            return this.device;
+        }
+
+        /**
+         * Checks whether the device was found.
+         *
+         * @return  whether the device is bound.
+         */
+        public boolean isBound() {
+            return this.device != null;
+        }
+
+        /**
+         * Gets the type of the device.
+         *
+         * @return  the type.
+         */
+        public Class<T> getType() {
+            return this.type;
+        }
+
+        /**
+         * Gets the name of the device in the hardware map.
+         *
+         * @return  the name.
+         */
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * Describes the device for the missing device report.
+         *
+         * @return  the description.
+         */
+        private String describe() {
+            String description = this.type.getSimpleName() + " \"" + this.name + "\"";
+            return this.foundType == null ? description : description + " (found a " + this.foundType + ")";
+        }
+
+        /**
+         * Binds the device if it is the right type.
+         *
+         * @param device    the device with the declared name.
+         */
+        private void offer(HardwareDevice device) {
+            if (this.device != null) return;
+
+            if (this.type.isInstance(device)) {
+                this.device = this.type.cast(device);
+                this.foundType = null;
+            } else {
+                this.foundType = device.getClass().getSimpleName();
+            }
+        }
+    }
+
+    /**
+     * The declared devices, in order of declaration.
+     */
+    private final List<Device<?>> devices = new ArrayList<>();
+
+    /**
+     * The declared devices by name.
+     */
+    private final Map<String, List<Device<?>>> devicesByName = new HashMap<>();
+
+    /**
+     * The devices missing at the last bind.
+     */
+    private final List<String> missing = new ArrayList<>();
+
+    /**
+     * Declares a device that must be in the hardware map.
+     *
+     * @param type  the type of the device.
+     * @param name  the name of the device in the hardware map.
+     * @param <T>   the type of the device.
+     * @return      the declared device, which holds the device once bound.
+     */
+    public <T extends HardwareDevice> Device<T> require(Class<T> type, String name) {
+        return declare(new Device<>(type, name, false));
+    }
+
+    /**
+     * Declares a device that may be missing from the hardware map.
+     *
+     * @param type  the type of the device.
+     * @param name  the name of the device in the hardware map.
+     * @param <T>   the type of the device.
+     * @return      the declared device, which holds the device once bound, or null if missing.
+     */
+    public <T extends HardwareDevice> Device<T> optional(Class<T> type, String name) {
+        return declare(new Device<>(type, name, true));
+    }
+
+    /**
+     * Binds every declared device to the device in the hardware map with its name and type.
+     *
+     * @param hardwareMap                   the hardware map.
+     * @throws MissingHardwareException     Thrown if any required devices are missing.
+     */
+    public synchronized void bind(HardwareMap hardwareMap) {
+        for (Device<?> device : this.devices) {
+            device.device = null;
+            device.foundType = null;
+        }
+
+        // one pass over the hardware map, matching each of its names to the declarations
+        for (HardwareDevice hardwareDevice : hardwareMap) {
+            for (String name : hardwareMap.getNamesOf(hardwareDevice)) {
+                List<Device<?>> declared = this.devicesByName.get(name);
+                if (declared == null) continue;
+
+                for (Device<?> device : declared) device.offer(hardwareDevice);
+            }
+        }
+
+        this.missing.clear();
+        for (Device<?> device : this.devices) {
+            if (! device.optional && device.device == null) this.missing.add(device.describe());
+        }
+
+        if (! this.missing.isEmpty()) {
+            throw new MissingHardwareException(report(), new ArrayList<>(this.missing));
+        }
+    }
+
+    /**
+     * Describes the devices missing at the last bind.
+     *
+     * @return  the report.
+     */
+    public synchronized String report() {
+        if (this.missing.isEmpty()) return "All " + this.devices.size() + " hardware devices found";
+
+        StringBuilder report = new StringBuilder()
+                .append("Missing ").append(this.missing.size())
+                .append(" of ").append(this.devices.size()).append(" hardware devices:");
+        for (String device : this.missing) report.append("\n  ").append(device);
+
+        return report.toString();
+    }
+
+    /**
+     * Gets the declared devices.
+     *
+     * @return  the devices, in order of declaration.
+     */
+    public List<Device<?>> getDevices() {
+        return this.devices;
+    }
+
+    /**
+     * Adds a declaration.
+     *
+     * @param device    the declared device.
+     * @param <T>       the type of the device.
+     * @return          the declared device.
+     */
+    private synchronized <T extends HardwareDevice> Device<T> declare(Device<T> device) {
+        this.devices.add(device);
+
+        List<Device<?>> declared = this.devicesByName.get(device.name);
+        if (declared == null) {
+            declared = new ArrayList<>();
+            this.devicesByName.put(device.name, declared);
+        }
+        declared.add(device);
+
+        return device;
+    }
+}
@@ -0,0 +1,542 @@
+package org.chathamrobotics.ftcutils;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Schedules the hardware reads and writes for each loop. Readers and writers are grouped by the
+ * controller they talk to. Each cycle, all of the reads are done (each controller's group on its
+ * own thread) and then all of the writes are done. Because the control code only runs between
+ * cycles, it always sees a complete set of readings from the same cycle. If a group takes longer
+ * than the timeout, or the calling thread is interrupted while it waits, the cycle is abandoned with
+ * an exception instead of waiting forever.
+ *
+ * <p>Here is an example of how one might use {@link HardwareScheduler} in a robot:</p>
+ *
+ * <pre>
+ *     {@code @Override}
+ *     public void initHardware() {
+ *         this.lift = this.hardwareMap.dcMotor.get("Lift");
+ *         this.liftReading = this.scheduler.readMotor(this.lift);
+ *     }
+ *
+ *     public void doSomething() {
+ *         updateHardware();
+ *         if (this.liftReading.position > 1000) ...
+ *     }
+ * </pre>
+ */
+public class HardwareScheduler {
+    /**
+     * The tag used for the worker threads.
+     */
+    public static final String TAG = "HardwareScheduler";
+
+    /**
+     * The default time a phase can take before the cycle is abandoned in milliseconds.
+     */
+    public static final long DEFAULT_TIMEOUT = 1000;
+
+    /**
+     * Reads values from the hardware.
+     */
+    public interface Reader {
+        /**
+         * Reads values from the hardware. Called once per cycle.
+         */
+        void read();
+    }
+
+    /**
+     * Writes values to the hardware.
+     */
+    public interface Writer {
+        /**
+         * Writes values to the hardware. Called once per cycle after all of the reads.
+         */
+        void write();
+    }
+
+    /**
+     * The latest values read from a motor.
+     */
+    public static class MotorReading {
+        /**
+         * The motor being read.
+         */
+        public final DcMotor motor;
+
+        /**
+         * The motor's power.
+         */
+        public double power;
+
+        /**
+         * The motor's encoder position.
+         */
+        public int position;
+
+        /**
+         * The time the motor was read as given by {@link System#nanoTime()}.
+         */
+        public long time;
+
+        /**
+         * Creates a new instance of MotorReading.
+         *
+         * @param motor the motor to read.
+         */
+        public MotorReading(DcMotor motor) {
+            this.motor = motor;
+        }
+    }
+
+    /**
+     * The readers and writers for a single controller.
+     */
+    private static class Group {
+        private final Object controller;
+        private final List<Reader> readers = new ArrayList<>();
+        private final List<Writer> writers = new ArrayList<>();
+        private Worker worker;
+        private volatile long time;
+
+        private Group(Object controller) {
+            this.controller = controller;
+        }
+    }
+
+    /**
+     * The thread running a group's phases.
+     */
+    private class Worker implements Runnable {
+        private final Group group;
+        private final Thread thread;
+
+        /**
+         * The last cycle the worker has seen. Only used by the worker's thread.
+         */
+        private long seen;
+
+        /**
+         * The last cycle the worker runs. Set when the worker is stopped.
+         */
+        private volatile long last = Long.MAX_VALUE;
+
+        /**
+         * The last cycle the worker finished.
+         */
+        private volatile long done;
+
+        /**
+         * The error thrown by the group during the last cycle the worker finished.
+         */
+        private volatile Throwable failure;
+
+        private Worker(Group group, long seen, String name) {
+            this.group = group;
+            this.seen = seen;
+            this.done = seen;
+            this.thread = new Thread(this, name);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                long cycle = HardwareScheduler.this.cycle;
+                long last = this.last;
+
+                // a stopped worker still finishes the cycle it was signalled for, but never runs one
+                // signalled after it was stopped, since that belongs to the worker that replaced it
+                if (this.seen >= last || cycle > last) return;
+
+                if (cycle == this.seen) {
+                    LockSupport.park(this);
+                    continue;
+                }
+
+                this.seen = cycle;
+                this.failure = HardwareScheduler.this.run(this.group, HardwareScheduler.this.phase);
+                this.done = cycle;
+
+                LockSupport.unpark(HardwareScheduler.this.caller);
+            }
+        }
+    }
+
+    /**
+     * The phases of a cycle.
+     */
+    private static final int READ = 0;
+    private static final int WRITE = 1;
+
+    /**
+     * The groups of readers and writers.
+     */
+    private final List<Group> groups = new ArrayList<>();
+
+    /**
+     * The current cycle. Changing this signals the workers to run the current phase. Only changed
+     * while holding the scheduler's lock, so that {@link HardwareScheduler#stop()} sees either the
+     * cycle before or after.
+     */
+    private volatile long cycle;
+
+    /**
+     * The current phase.
+     */
+    private volatile int phase;
+
+    /**
+     * The thread waiting on the workers.
+     */
+    private volatile Thread caller;
+
+    /**
+     * Whether the worker threads have been started.
+     */
+    private volatile boolean running;
+
+    /**
+     * Whether to run the groups on separate threads.
+     */
+    private boolean parallel = true;
+
+    /**
+     * The time a phase can take before the cycle is abandoned in nanoseconds.
+     */
+    private long timeout = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TIMEOUT);
+
+    /**
+     * The number of cycles run.
+     */
+    private long cycleCount;
+
+    /**
+     * The time taken by the last read and write phases.
+     */
+    private long lastReadTime, lastWriteTime;
+
+    /**
+     * The time the last cycle would have taken if every group was run one after another.
+     */
+    private long lastSerialTime;
+
+    /**
+     * The total time saved by running groups in parallel.
+     */
+    private long savedTime;
+
+    /**
+     * Sets whether to run each controller's group on its own thread. If false everything is run on the calling thread.
+     *
+     * @param parallel  whether to run in parallel.
+     */
+    public void setParallel(boolean parallel) {
+        if (! parallel) stop();
+        this.parallel = parallel;
+    }
+
+    /**
+     * Sets the time a phase can take before the cycle is abandoned. A group that is still running
+     * when the time is up is left to finish on its own and its worker is replaced.
+     *
+     * @param milliseconds  the timeout in milliseconds.
+     */
+    public void setTimeout(long milliseconds) {
+        if (milliseconds <= 0) throw new IllegalArgumentException("timeout must be positive");
+
+        this.timeout = TimeUnit.MILLISECONDS.toNanos(milliseconds);
+    }
+
+    /**
+     * Adds a reader for a controller.
+     *
+     * @param controller    the controller the reader talks to.
+     * @param reader        the reader.
+     */
+    public void addReader(Object controller, Reader reader) {
+        groupFor(controller).readers.add(reader);
+    }
+
+    /**
+     * Adds a writer for a controller.
+     *
+     * @param controller    the controller the writer talks to.
+     * @param writer        the writer.
+     */
+    public void addWriter(Object controller, Writer writer) {
+        groupFor(controller).writers.add(writer);
+    }
+
+    /**
+     * Adds a reader that reads a motor's power and encoder position every cycle.
+     *
+     * @param motor the motor to read.
+     * @return      the reading that is updated every cycle.
+     */
+    public MotorReading readMotor(DcMotor motor) {
+        final MotorReading reading = new MotorReading(motor);
+
+        addReader(motor.getController(), new Reader() {
+            @Override
+            public void read() {
+                reading.power = reading.motor.getPower();
+                reading.position = reading.motor.getCurrentPosition();
+                reading.time = System.nanoTime();
+            }
+        });
+
+        return reading;
+    }
+
+    /**
+     * Runs a cycle. Does all of the reads, then all of the writes.
+     *
+     * @throws RuntimeException Thrown if a reader or writer threw, a phase timed out, or the thread
+     *                          was interrupted while waiting. The thread's interrupt status is kept.
+     */
+    public void cycle() {
+        long serial = 0;
+
+        this.lastReadTime = runPhase(READ);
+        for (int i = 0; i < this.groups.size(); i++) serial += this.groups.get(i).time;
+
+        this.lastWriteTime = runPhase(WRITE);
+        for (int i = 0; i < this.groups.size(); i++) serial += this.groups.get(i).time;
+
+        this.lastSerialTime = serial;
+        this.savedTime += serial - this.lastReadTime - this.lastWriteTime;
+        this.cycleCount++;
+    }
+
+    /**
+     * Stops the worker threads. It can be called from any thread: a worker that has already been
+     * signalled for a phase finishes it first, so a cycle running on another thread still completes.
+     * They are started again by the next cycle.
+     */
+    public synchronized void stop() {
+        if (! this.running) return;
+
+        this.running = false;
+
+        for (int i = 1; i < this.groups.size(); i++) {
+            Worker worker = this.groups.get(i).worker;
+
+            worker.last = this.cycle;
+            LockSupport.unpark(worker.thread);
+        }
+    }
+
+    /**
+     * Gets the number of controller groups.
+     *
+     * @return  the number of groups.
+     */
+    public int getGroupCount() {
+        return this.groups.size();
+    }
+
+    /**
+     * Gets the number of cycles run.
+     *
+     * @return  the number of cycles.
+     */
+    public long getCycleCount() {
+        return this.cycleCount;
+    }
+
+    /**
+     * Gets the time the last cycle's reads took in nanoseconds.
+     *
+     * @return  the read time.
+     */
+    public long getLastReadTime() {
+        return this.lastReadTime;
+    }
+
+    /**
+     * Gets the time the last cycle's writes took in nanoseconds.
+     *
+     * @return  the write time.
+     */
+    public long getLastWriteTime() {
+        return this.lastWriteTime;
+    }
+
+    /**
+     * Gets the time the last cycle would have taken if every group was run one after another in nanoseconds.
+     *
+     * @return  the serial time.
+     */
+    public long getLastSerialTime() {
+        return this.lastSerialTime;
+    }
+
+    /**
+     * Gets the total loop time saved by running the groups in parallel in nanoseconds.
+     *
+     * @return  the time saved.
+     */
+    public long getSavedTime() {
+        return this.savedTime;
+    }
+
+    /**
+     * Gets the average loop time saved per cycle in nanoseconds.
+     *
+     * @return  the average time saved.
+     */
+    public double getAverageSavedTime() {
+        return this.cycleCount == 0 ? 0 : (double) this.savedTime / this.cycleCount;
+    }
+
+    /**
+     * Gets the group for a controller, creating it if needed.
+     *
+     * @param controller    the controller.
+     * @return              the group.
+     */
+    private synchronized Group groupFor(Object controller) {
+        if (this.running) throw new IllegalStateException("Cannot add to a running scheduler");
+
+        for (int i = 0; i < this.groups.size(); i++) {
+            if (this.groups.get(i).controller == controller) return this.groups.get(i);
+        }
+
+        Group group = new Group(controller);
+        this.groups.add(group);
+        return group;
+    }
+
+    /**
+     * Runs a phase for every group.
+     *
+     * @param phase the phase to run.
+     * @return      the time the phase took.
+     */
+    private long runPhase(int phase) {
+        long start = System.nanoTime();
+        Throwable failure = null;
+
+        if (! this.parallel || this.groups.size() <= 1) {
+            for (int i = 0; i < this.groups.size(); i++) {
+                Throwable e = run(this.groups.get(i), phase);
+                if (failure == null) failure = e;
+            }
+        }
+        else {
+            long cycle;
+
+            synchronized (this) {
+                startWorkers();
+
+                this.phase = phase;
+                this.caller = Thread.currentThread();
+                cycle = ++this.cycle;
+            }
+
+            for (int i = 1; i < this.groups.size(); i++) LockSupport.unpark(this.groups.get(i).worker.thread);
+
+            // the calling thread does the first group itself
+            failure = run(this.groups.get(0), phase);
+
+            long deadline = start + this.timeout;
+
+            for (int i = 1; i < this.groups.size(); i++) {
+                Worker worker = this.groups.get(i).worker;
+
+                while (worker.done < cycle) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        // the workers that have not finished are left to finish on their own
+                        stop();
+                        throw new RuntimeException("Interrupted during hardware " + phaseName(phase));
+                    }
+
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        stop();
+                        throw new RuntimeException("Hardware " + phaseName(phase) + " timed out after "
+                                + TimeUnit.NANOSECONDS.toMillis(this.timeout) + " ms");
+                    }
+
+                    LockSupport.parkNanos(this, remaining);
+                }
+
+                if (failure == null) failure = worker.failure;
+            }
+        }
+
+        if (failure != null) throw new RuntimeException("Hardware " + phaseName(phase) + " failed", failure);
+
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Gets the name of a phase for errors.
+     *
+     * @param phase the phase.
+     * @return      the name.
+     */
+    private static String phaseName(int phase) {
+        return phase == READ ? "read" : "write";
+    }
+
+    /**
+     * Runs a phase for a group.
+     *
+     * @param group the group.
+     * @param phase the phase to run.
+     * @return      the error thrown by a reader or writer, or null if there was none.
+     */
+    private Throwable run(Group group, int phase) {
+        long start = System.nanoTime();
+        Throwable failure = null;
+
+        try {
+            if (phase == READ) {
+                for (int i = 0; i < group.readers.size(); i++) group.readers.get(i).read();
+            }
+            else {
+                for (int i = 0; i < group.writers.size(); i++) group.writers.get(i).write();
+            }
+        } catch (Throwable e) {
+            failure = e;
+        }
+
+        group.time = System.nanoTime() - start;
+        return failure;
+    }
+
+    /**
+     * Starts a worker thread for every group but the first if they are not running. Must be called
+     * while holding the scheduler's lock.
+     */
+    private void startWorkers() {
+        if (this.running) return;
+
+        this.running = true;
+
+        for (int i = 1; i < this.groups.size(); i++) {
+            Group group = this.groups.get(i);
+
+            // a worker that was left running a timed out phase keeps its own cycle counts, so it
+            // can finish without being mistaken for this one
+            group.worker = new Worker(group, this.cycle, TAG + "-" + i);
+            group.worker.thread.start();
+        }
+    }
+}
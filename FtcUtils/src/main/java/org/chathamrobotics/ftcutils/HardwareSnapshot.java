@@ -0,0 +1,267 @@
+package org.chathamrobotics.ftcutils;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+import com.qualcomm.robotcore.hardware.OpticalDistanceSensor;
+import com.qualcomm.robotcore.hardware.Servo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * A snapshot of the values of the robot's motors, servos and optical distance sensors. The devices
+ * and their captions are looked up once when the snapshot is created, and the values are read into
+ * preallocated arrays, so sampling does not walk the hardware map or allocate.
+ */
+public class HardwareSnapshot {
+    /**
+     * The devices in the snapshot.
+     */
+    private final DcMotor[] motors;
+    private final Servo[] servos;
+    private final OpticalDistanceSensor[] sensors;
+
+    /**
+     * The captions for the devices' values.
+     */
+    private final String[] motorCaptions;
+    private final String[] servoCaptions;
+    private final String[] sensorCaptions;
+
+    /**
+     * The sampled values.
+     */
+    private final double[] motorPowers;
+    private final double[] servoPositions;
+    private final double[] sensorLights;
+
+    /**
+     * The channel the values are debugged to, and the key of the first value on it.
+     */
+    private TelemetryChannel channel;
+    private int firstKey;
+
+    /**
+     * The minimum time between samples in nanoseconds.
+     */
+    private long samplePeriod;
+
+    /**
+     * The time of the last sample.
+     */
+    private long sampleTime;
+
+    /**
+     * Whether a sample has been taken.
+     */
+    private boolean sampled;
+
+    /**
+     * Creates a new instance of HardwareSnapshot with all of the devices in the hardware map.
+     *
+     * @param hardwareMap   the hardware map to get the devices from.
+     */
+    public HardwareSnapshot(HardwareMap hardwareMap) {
+        List<DcMotor> motors = new ArrayList<>();
+        List<String> motorCaptions = new ArrayList<>();
+        List<Servo> servos = new ArrayList<>();
+        List<String> servoCaptions = new ArrayList<>();
+        List<OpticalDistanceSensor> sensors = new ArrayList<>();
+        List<String> sensorCaptions = new ArrayList<>();
+
+        for (Map.Entry<String, DcMotor> entry : hardwareMap.dcMotor.entrySet()) {
+            motors.add(entry.getValue());
+            motorCaptions.add(("Motor " + entry.getKey() + " Power").intern());
+        }
+
+        for (Map.Entry<String, Servo> entry : hardwareMap.servo.entrySet()) {
+            servos.add(entry.getValue());
+            servoCaptions.add(("Servo " + entry.getKey() + " Position").intern());
+        }
+
+        for (Map.Entry<String, OpticalDistanceSensor> entry : hardwareMap.opticalDistanceSensor.entrySet()) {
+            sensors.add(entry.getValue());
+            sensorCaptions.add(("ODS " + entry.getKey() + " Light").intern());
+        }
+
+        this.motors = motors.toArray(new DcMotor[motors.size()]);
+        this.motorCaptions = motorCaptions.toArray(new String[motorCaptions.size()]);
+        this.servos = servos.toArray(new Servo[servos.size()]);
+        this.servoCaptions = servoCaptions.toArray(new String[servoCaptions.size()]);
+        this.sensors = sensors.toArray(new OpticalDistanceSensor[sensors.size()]);
+        this.sensorCaptions = sensorCaptions.toArray(new String[sensorCaptions.size()]);
+
+        this.motorPowers = new double[this.motors.length];
+        this.servoPositions = new double[this.servos.length];
+        this.sensorLights = new double[this.sensors.length];
+    }
+
+    /**
+     * Sets the maximum rate to sample at. Calls to {@link HardwareSnapshot#sample()} faster than this
+     * keep the last values.
+     *
+     * @param hertz the sample rate, or 0 to sample on every call.
+     */
+    public void setSampleRate(double hertz) {
+        this.samplePeriod = hertz <= 0 ? 0 : (long) (1e9 / hertz);
+    }
+
+    /**
+     * Reads the values of all the devices if the sample period has passed.
+     *
+     * @return  whether the values were read.
+     */
+    public boolean sample() {
+        long now = System.nanoTime();
+        if (this.sampled && now - this.sampleTime < this.samplePeriod) return false;
+
+        for (int i = 0; i < this.motors.length; i++) this.motorPowers[i] = this.motors[i].getPower();
+        for (int i = 0; i < this.servos.length; i++) this.servoPositions[i] = this.servos[i].getPosition();
+        for (int i = 0; i < this.sensors.length; i++) this.sensorLights[i] = this.sensors[i].getLightDetected();
+
+        this.sampleTime = now;
+        this.sampled = true;
+
+        return true;
+    }
+
+    /**
+     * Logs the sampled values at the debug level by setting them on the logger's channel and
+     * publishing it. The values are registered on the channel the first time.
+     * @see TelemetryChannel
+     *
+     * @param logger    the logger to log to.
+     * @param looping   whether this is contained in a loop.
+     */
+    public void debug(RobotLogger logger, boolean looping) {
+        TelemetryChannel channel = logger.getChannel();
+        if (channel != this.channel) register(channel);
+
+        int key = this.firstKey;
+        for (int i = 0; i < this.motors.length; i++) channel.set(key++, this.motorPowers[i]);
+        for (int i = 0; i < this.servos.length; i++) channel.set(key++, this.servoPositions[i]);
+        for (int i = 0; i < this.sensors.length; i++) channel.set(key++, this.sensorLights[i]);
+
+        channel.publish(looping);
+    }
+
+    /**
+     * Registers the values on a channel. The keys are given out in order so only the first is kept.
+     *
+     * @param channel   the channel to register on.
+     */
+    private void register(TelemetryChannel channel) {
+        this.firstKey = channel.getKeyCount();
+
+        for (String caption : this.motorCaptions) channel.register(RobotLogger.Level.DEBUG, caption);
+        for (String caption : this.servoCaptions) channel.register(RobotLogger.Level.DEBUG, caption);
+        for (String caption : this.sensorCaptions) channel.register(RobotLogger.Level.DEBUG, caption);
+
+        this.channel = channel;
+    }
+
+    /**
+     * Gets the time of the last sample as given by {@link System#nanoTime()}.
+     *
+     * @return  the time of the last sample.
+     */
+    public long getSampleTime() {
+        return this.sampleTime;
+    }
+
+    /**
+     * Gets the number of motors in the snapshot.
+     *
+     * @return  the number of motors.
+     */
+    public int getMotorCount() {
+        return this.motors.length;
+    }
+
+    /**
+     * Gets the number of servos in the snapshot.
+     *
+     * @return  the number of servos.
+     */
+    public int getServoCount() {
+        return this.servos.length;
+    }
+
+    /**
+     * Gets the number of optical distance sensors in the snapshot.
+     *
+     * @return  the number of sensors.
+     */
+    public int getSensorCount() {
+        return this.sensors.length;
+    }
+
+    /**
+     * Gets the caption for a motor's power.
+     *
+     * @param index the index of the motor.
+     * @return      the caption.
+     */
+    public String getMotorCaption(int index) {
+        return this.motorCaptions[index];
+    }
+
+    /**
+     * Gets the caption for a servo's position.
+     *
+     * @param index the index of the servo.
+     * @return      the caption.
+     */
+    public String getServoCaption(int index) {
+        return this.servoCaptions[index];
+    }
+
+    /**
+     * Gets the caption for an optical distance sensor's light.
+     *
+     * @param index the index of the sensor.
+     * @return      the caption.
+     */
+    public String getSensorCaption(int index) {
+        return this.sensorCaptions[index];
+    }
+
+    /**
+     * Gets the sampled power of a motor.
+     *
+     * @param index the index of the motor.
+     * @return      the power.
+     */
+    public double getMotorPower(int index) {
+        return this.motorPowers[index];
+    }
+
+    /**
+     * Gets the sampled position of a servo.
+     *
+     * @param index the index of the servo.
+     * @return      the position.
+     */
+    public double getServoPosition(int index) {
+        return this.servoPositions[index];
+    }
+
+    /**
+     * Gets the sampled light detected by an optical distance sensor.
+     *
+     * @param index the index of the sensor.
+     * @return      the light detected.
+     */
+    public double getSensorLight(int index) {
+        return this.sensorLights[index];
+    }
+}
@@ -0,0 +1,427 @@
+package org.chathamrobotics.ftcutils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Runs setup tasks, such as calibrating sensors or precomputing tables, on background threads
+ * during init so they are done by the time start is pressed. Tasks run as soon as the tasks they
+ * depend on are done, with independent tasks running at the same time.
+ *
+ * <p>Every task has a timeout, counted from when it gets a thread. A task that fails, times out or
+ * is cancelled is reported, and the tasks that depend on it are skipped instead of run on a half
+ * set up robot. A task can only depend on tasks added before it, so there can be no cycles.</p>
+ *
+ * <p>Timeouts are checked by {@link InitPipeline#update()} and {@link InitPipeline#await(long)}, so
+ * no extra thread is needed to watch the tasks.</p>
+ */
+public class InitPipeline {
+    /**
+     * A setup task.
+     */
+    public interface Task {
+        /**
+         * Does the setup. Should return promptly when the thread is interrupted.
+         *
+         * @throws Exception    Thrown if the setup failed.
+         */
+        void run() throws Exception;
+    }
+
+    /**
+     * The state of a task. A task that has been handed to the executor is RUNNING, even while it
+     * waits for a thread. CANCELLED tasks were stopped by {@link InitPipeline#cancel()} after they
+     * started, and SKIPPED tasks never started.
+     */
+    public enum State {
+        WAITING, RUNNING, DONE, FAILED, TIMED_OUT, CANCELLED, SKIPPED;
+
+        /**
+         * Checks whether the task will not change state again.
+         *
+         * @return  whether the task is finished.
+         */
+        public boolean isFinished() {
+            return this != WAITING && this != RUNNING;
+        }
+    }
+
+    /**
+     * The tag used for logging.
+     */
+    public static final String TAG = "InitPipeline";
+
+    /**
+     * A task and its progress.
+     */
+    private final class Entry implements Runnable {
+        /**
+         * The name of the task.
+         */
+        private final String name;
+
+        /**
+         * The task.
+         */
+        private final Task task;
+
+        /**
+         * The timeout in nanoseconds.
+         */
+        private final long timeout;
+
+        /**
+         * The tasks this depends on.
+         */
+        private final List<Entry> dependencies = new ArrayList<>();
+
+        /**
+         * The tasks that depend on this.
+         */
+        private final List<Entry> dependents = new ArrayList<>();
+
+        /**
+         * The state of the task. Guarded by the pipeline.
+         */
+        private State state = State.WAITING;
+
+        /**
+         * When the task got a thread and finished from {@link System#nanoTime()}. The start time
+         * is 0 until the task gets a thread.
+         */
+        private long startTime, endTime;
+
+        /**
+         * What made the task fail. Null if it did not.
+         */
+        private Throwable error;
+
+        /**
+         * The running task. Null if not submitted.
+         */
+        private Future<?> future;
+
+        /**
+         * Creates a new instance of Entry.
+         *
+         * @param name      the name of the task.
+         * @param task      the task.
+         * @param timeout   the timeout in nanoseconds.
+         */
+        private Entry(String name, Task task, long timeout) {
+            this.name = name;
+            this.task = task;
+            this.timeout = timeout;
+        }
+
+        @Override
+        public void run() {
+            synchronized (InitPipeline.this) {
+                // the task may have been cancelled before it got a thread
+                if (this.state != State.RUNNING) return;
+
+                // the timeout does not count the time spent waiting for a thread
+                this.startTime = System.nanoTime();
+            }
+
+            Throwable error = null;
+            try {
+                this.task.run();
+            } catch (Throwable e) {
+                error = e;
+            }
+
+            finish(this, error == null ? State.DONE : State.FAILED, error);
+        }
+    }
+
+    /**
+     * The tasks in the order they were added.
+     */
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * The tasks by name.
+     */
+    private final Map<String, Entry> entriesByName = new HashMap<>();
+
+    /**
+     * The number of threads to run tasks on.
+     */
+    private final int threadCount;
+
+    /**
+     * Runs the tasks. Null until started.
+     */
+    private ExecutorService executor;
+
+    /**
+     * The number of tasks that have finished.
+     */
+    private int finishedCount;
+
+    /**
+     * Creates a new instance of InitPipeline that runs up to as many tasks at once as there are processors.
+     */
+    public InitPipeline() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new instance of InitPipeline.
+     *
+     * @param threadCount   the most tasks to run at once.
+     */
+    public InitPipeline(int threadCount) {
+        if (threadCount < 1) throw new IllegalArgumentException("threadCount must be positive");
+
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Adds a task. Tasks must be added before the pipeline is started.
+     *
+     * @param name          the name of the task, shown in the progress.
+     * @param timeout       the longest the task may take in milliseconds.
+     * @param task          the task.
+     * @param dependsOn     the names of tasks that must be done before this one starts.
+     */
+    public synchronized void add(String name, long timeout, Task task, String... dependsOn) {
+        if (this.executor != null) throw new IllegalStateException("tasks must be added before the pipeline is started");
+        if (this.entriesByName.containsKey(name)) throw new IllegalArgumentException("there is already a task named " + name);
+
+        Entry entry = new Entry(name, task, TimeUnit.MILLISECONDS.toNanos(timeout));
+        for (String dependency : dependsOn) {
+            Entry dependencyEntry = this.entriesByName.get(dependency);
+            if (dependencyEntry == null) throw new IllegalArgumentException("no task named " + dependency + " was added before " + name);
+
+            entry.dependencies.add(dependencyEntry);
+            dependencyEntry.dependents.add(entry);
+        }
+
+        this.entries.add(entry);
+        this.entriesByName.put(name, entry);
+    }
+
+    /**
+     * Starts every task that does not depend on another.
+     */
+    public synchronized void start() {
+        if (this.executor != null) return;
+
+        this.executor = Executors.newFixedThreadPool(this.threadCount, new ThreadFactory() {
+            private int count;
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, TAG + "-" + ++this.count);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+        for (Entry entry : this.entries) {
+            if (entry.dependencies.isEmpty()) submit(entry);
+        }
+
+        shutdownIfFinished();
+    }
+
+    /**
+     * Times out any tasks that have taken too long. This should be called every loop while waiting.
+     *
+     * @return  whether every task has finished.
+     */
+    public synchronized boolean update() {
+        long now = System.nanoTime();
+
+        for (Entry entry : this.entries) {
+            if (entry.state == State.RUNNING && entry.startTime != 0 && now - entry.startTime > entry.timeout) {
+                entry.future.cancel(true);
+                finish(entry, State.TIMED_OUT, null);
+            }
+        }
+
+        return isFinished();
+    }
+
+    /**
+     * Waits for every task to finish, timing out tasks as needed.
+     *
+     * @param milliseconds          the longest time to wait.
+     * @return                      whether every task has finished.
+     * @throws InterruptedException Thrown if the thread is interrupted while waiting.
+     */
+    public synchronized boolean await(long milliseconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(milliseconds);
+
+        while (! update()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) return false;
+
+            // wake up in time for the next timeout
+            long wait = remaining;
+            for (Entry entry : this.entries) {
+                if (entry.state == State.RUNNING && entry.startTime != 0) wait = Math.min(wait, entry.startTime + entry.timeout - System.nanoTime() + 1);
+            }
+
+            TimeUnit.NANOSECONDS.timedWait(this, Math.max(1, wait));
+        }
+
+        return true;
+    }
+
+    /**
+     * Cancels every task that has not finished. Tasks that have a thread are interrupted and marked
+     * CANCELLED, and tasks that have not started are SKIPPED.
+     */
+    public synchronized void cancel() {
+        for (Entry entry : this.entries) {
+            if (entry.state == State.RUNNING) entry.future.cancel(true);
+            if (! entry.state.isFinished()) finish(entry, entry.startTime != 0 ? State.CANCELLED : State.SKIPPED, null);
+        }
+    }
+
+    /**
+     * Checks whether every task has finished.
+     *
+     * @return  whether the pipeline is finished.
+     */
+    public synchronized boolean isFinished() {
+        return this.finishedCount == this.entries.size();
+    }
+
+    /**
+     * Checks whether every task is done without failing.
+     *
+     * @return  whether every task succeeded.
+     */
+    public synchronized boolean isSucceeded() {
+        for (Entry entry : this.entries) {
+            if (entry.state != State.DONE) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the state of a task.
+     *
+     * @param name  the name of the task.
+     * @return      the state.
+     */
+    public synchronized State getState(String name) {
+        Entry entry = this.entriesByName.get(name);
+        if (entry == null) throw new IllegalArgumentException("no task named " + name);
+
+        return entry.state;
+    }
+
+    /**
+     * Gets the number of tasks.
+     *
+     * @return  the number of tasks.
+     */
+    public synchronized int getTaskCount() {
+        return this.entries.size();
+    }
+
+    /**
+     * Gets the number of finished tasks.
+     *
+     * @return  the number of finished tasks.
+     */
+    public synchronized int getFinishedCount() {
+        return this.finishedCount;
+    }
+
+    /**
+     * Shows the progress of every task.
+     *
+     * @param logger    the logger to show it with.
+     * @param looping   whether this is called in a loop.
+     */
+    public synchronized void report(RobotLogger logger, boolean looping) {
+        long now = System.nanoTime();
+
+        logger.info("Init", this.finishedCount + " of " + this.entries.size() + " tasks finished", looping);
+
+        for (Entry entry : this.entries) {
+            long end = entry.state.isFinished() ? entry.endTime : now;
+            String time = entry.startTime == 0 ? "" : " " + TimeUnit.NANOSECONDS.toMillis(end - entry.startTime) + " ms";
+
+            if (entry.state == State.FAILED) {
+                logger.error(entry.name, entry.state + time + ": " + entry.error, looping);
+            } else if (entry.state == State.TIMED_OUT || entry.state == State.CANCELLED || entry.state == State.SKIPPED) {
+                logger.warn(entry.name, entry.state + time, looping);
+            } else {
+                logger.info(entry.name, entry.state + time, looping);
+            }
+        }
+    }
+
+    /**
+     * Starts a task on the executor. Must hold the lock.
+     *
+     * @param entry the task.
+     */
+    private void submit(Entry entry) {
+        entry.state = State.RUNNING;
+        entry.future = this.executor.submit(entry);
+    }
+
+    /**
+     * Records that a task finished, and starts or skips the tasks that depend on it.
+     *
+     * @param entry the task.
+     * @param state the state it finished in.
+     * @param error what made it fail, or null.
+     */
+    private synchronized void finish(Entry entry, State state, Throwable error) {
+        // a task that already timed out may still finish later
+        if (entry.state.isFinished()) return;
+
+        entry.state = state;
+        entry.error = error;
+        entry.endTime = System.nanoTime();
+        this.finishedCount++;
+
+        for (Entry dependent : entry.dependents) {
+            if (dependent.state != State.WAITING) continue;
+
+            if (state != State.DONE) {
+                finish(dependent, State.SKIPPED, null);
+                continue;
+            }
+
+            boolean ready = true;
+            for (Entry dependency : dependent.dependencies) ready &= dependency.state == State.DONE;
+            if (ready) submit(dependent);
+        }
+
+        shutdownIfFinished();
+        notifyAll();
+    }
+
+    /**
+     * Lets the executor's threads end once every task has finished. Must hold the lock.
+     */
+    private void shutdownIfFinished() {
+        if (this.executor != null && isFinished()) this.executor.shutdown();
+    }
+}
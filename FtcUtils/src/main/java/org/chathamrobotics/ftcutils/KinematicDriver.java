@@ -0,0 +1,139 @@
+package org.chathamrobotics.ftcutils;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Driver for any drivetrain with fixed wheels, such as a tank, mecanum or X-drive. The drivetrain
+ * is described by its {@link DriveKinematics}, so the same driver works for all of them.
+ *
+ * <p>Here is an example of how one might build a mecanum driver:</p>
+ *
+ * <pre>
+ *     Driver driver = KinematicDriver.build(hardwareMap, DriveKinematics.mecanum());
+ * </pre>
+ */
+public class KinematicDriver implements Driver {
+    /**
+     * Calculates the wheel powers.
+     */
+    private final DriveKinematics kinematics;
+
+    /**
+     * Used to skip sending powers that have not changed.
+     */
+    private final MotorPowerCache powerCache;
+
+    /**
+     * The wheel powers calculated each drive.
+     */
+    private final double[] powers;
+
+    /**
+     * Whether to scale the powers down together instead of clipping each one.
+     */
+    private boolean normalize = true;
+
+    /**
+     * Builds a new KinematicDriver using the default motor names (FrontLeft, FrontRight, BackLeft and BackRight).
+     *
+     * @param hardwareMap   used to get the motors.
+     * @param kinematics    the kinematics of the drivetrain. Must have four wheels.
+     * @return              the built driver.
+     */
+    public static KinematicDriver build(HardwareMap hardwareMap, DriveKinematics kinematics) {
+        return new KinematicDriver(kinematics,
+                hardwareMap.dcMotor.get("FrontLeft"),
+                hardwareMap.dcMotor.get("FrontRight"),
+                hardwareMap.dcMotor.get("BackLeft"),
+                hardwareMap.dcMotor.get("BackRight")
+        );
+    }
+
+    /**
+     * Creates a new instance of KinematicDriver.
+     *
+     * @param kinematics    the kinematics of the drivetrain.
+     * @param motors        the motors, in the order of the kinematics' wheels.
+     */
+    public KinematicDriver(DriveKinematics kinematics, DcMotor... motors) {
+        if (motors.length != kinematics.getWheelCount()) {
+            throw new IllegalArgumentException("expected " + kinematics.getWheelCount() + " motors but got " + motors.length);
+        }
+
+        this.kinematics = kinematics;
+        this.powerCache = new MotorPowerCache(motors);
+        this.powers = new double[motors.length];
+    }
+
+    /**
+     * Sets whether powers over full power are scaled down together, keeping the direction of
+     * travel, or clipped one by one like {@link OmniWheelDriver}. Defaults to true.
+     *
+     * @param normalize whether to scale the powers down together.
+     */
+    public void setNormalize(boolean normalize) {
+        this.normalize = normalize;
+    }
+
+    /**
+     * Sets the smallest change in motor power that will be sent to the motors.
+     *
+     * @see MotorPowerCache#setDeadband(double)
+     * @param deadband  the deadband to use.
+     */
+    public void setPowerDeadband(double deadband) {
+        this.powerCache.setDeadband(deadband);
+    }
+
+    /**
+     * Gets the kinematics of the drivetrain.
+     *
+     * @return  the kinematics.
+     */
+    public DriveKinematics getKinematics() {
+        return this.kinematics;
+    }
+
+    /**
+     * Gets the cache used to skip sending motor powers that have not changed.
+     *
+     * @return  the power cache.
+     */
+    public MotorPowerCache getPowerCache() {
+        return this.powerCache;
+    }
+
+    /**
+     * Drives at the given speeds.
+     *
+     * @param y         the forward speed.
+     * @param x         the right speed.
+     * @param rotation  the rotation. Positive for right and negative for left.
+     */
+    public void drive(double y, double x, double rotation) {
+        double[] powers = this.powers;
+        this.kinematics.solve(y, x, rotation, powers);
+
+        if (this.normalize) DriveKinematics.normalize(powers, powers.length, 1);
+
+        for (int i = 0; i < powers.length; i++) {
+            this.powerCache.setPower(i, Math.max(-1, Math.min(1, powers[i])));
+        }
+    }
+
+    /**
+     * Stops the motors controlled by the driver.
+     */
+    public void stop() {
+        for (int i = 0; i < this.powers.length; i++) this.powerCache.setPower(i, 0);
+    }
+}
@@ -0,0 +1,106 @@
+package org.chathamrobotics.ftcutils;
+
+import com.qualcomm.robotcore.hardware.Gamepad;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Changes the telemetry log levels from a gamepad while the robot is running. Holding back and
+ * pressing the dpad changes the levels:
+ *
+ * <ul>
+ *     <li>back + dpad left/right selects the tag to change, or every tag.</li>
+ *     <li>back + dpad up makes the selected tag quieter (more severe lines only).</li>
+ *     <li>back + dpad down makes the selected tag noisier.</li>
+ * </ul>
+ *
+ * <p>Call {@link LogLevelControl#update()} once every loop. The chords can share a gamepad with
+ * {@link OmniWheelDriver#driveWithControls(Gamepad)}, which ignores the dpad while back is held.</p>
+ * @see LogLevels
+ */
+public class LogLevelControl {
+    /**
+     * The levels, from most to least severe.
+     */
+    private static final RobotLogger.Level[] LEVELS = RobotLogger.Level.values();
+
+    /**
+     * The gamepad to read the chords from.
+     */
+    private final Gamepad gamepad;
+
+    /**
+     * The index of the selected tag, or -1 if every tag is selected.
+     */
+    private int selected = -1;
+
+    /**
+     * Whether any chord was pressed on the last update.
+     */
+    private boolean wasPressed;
+
+    /**
+     * Creates a new instance of LogLevelControl.
+     *
+     * @param gamepad   the gamepad to read the chords from.
+     */
+    public LogLevelControl(Gamepad gamepad) {
+        this.gamepad = gamepad;
+    }
+
+    /**
+     * Checks the gamepad for chords and changes the levels. Each press of a chord is only acted on once.
+     *
+     * @return  whether the selection or a level changed.
+     */
+    public boolean update() {
+        Gamepad gamepad = this.gamepad;
+        boolean pressed = gamepad.back
+                && (gamepad.dpad_up || gamepad.dpad_down || gamepad.dpad_left || gamepad.dpad_right);
+
+        boolean isNewPress = pressed && ! this.wasPressed;
+        this.wasPressed = pressed;
+        if (! isNewPress) return false;
+
+        int tagCount = LogLevels.getTagCount();
+
+        if (gamepad.dpad_left || gamepad.dpad_right) {
+            // cycle through every tag, then all of them
+            int step = gamepad.dpad_right ? 1 : -1;
+            this.selected = (this.selected + 1 + step + tagCount + 1) % (tagCount + 1) - 1;
+            return true;
+        }
+
+        int step = gamepad.dpad_up ? -1 : 1;
+        RobotLogger.Level level = LEVELS[Math.max(0, Math.min(LEVELS.length - 1, getSelectedLevel().ordinal() + step))];
+
+        if (this.selected < 0) LogLevels.setAllLevels(level);
+        else LogLevels.setLevel(this.selected, level);
+
+        return true;
+    }
+
+    /**
+     * Gets the selected tag.
+     *
+     * @return  the tag, or null if every tag is selected.
+     */
+    public String getSelectedTag() {
+        return this.selected < 0 ? null : LogLevels.getTag(this.selected);
+    }
+
+    /**
+     * Gets the level of the selected tag.
+     *
+     * @return  the level, or the level of new tags if every tag is selected.
+     */
+    public RobotLogger.Level getSelectedLevel() {
+        return this.selected < 0 ? LogLevels.getDefaultLevel() : LogLevels.getLevel(this.selected);
+    }
+}
@@ -0,0 +1,172 @@
+package org.chathamrobotics.ftcutils;
+
+import java.util.Arrays;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * The telemetry log levels of every logger, by tag. Loggers with the same tag share a level, so a
+ * whole subsystem can be quieted at once. Each tag is given an index when it is registered, and the
+ * level for an index can be read from any thread without locking. Changing a level replaces the
+ * whole table, which is fine since levels are changed rarely.
+ *
+ * <p>A line is logged to the telemetry if its level is at least as severe as the level of its tag.</p>
+ */
+public final class LogLevels {
+    /**
+     * The level given to tags that do not have one set.
+     */
+    public static final RobotLogger.Level DEFAULT_LEVEL = RobotLogger.Level.DEBUG;
+
+    /**
+     * Guards changes to the tables.
+     */
+    private static final Object lock = new Object();
+
+    /**
+     * The registered tags, by index.
+     */
+    private static volatile String[] tags = new String[0];
+
+    /**
+     * The level of each tag, by index.
+     */
+    private static volatile RobotLogger.Level[] levels = new RobotLogger.Level[0];
+
+    /**
+     * The level given to newly registered tags.
+     */
+    private static volatile RobotLogger.Level defaultLevel = DEFAULT_LEVEL;
+
+    private LogLevels() {}
+
+    /**
+     * Registers a tag if it is not registered yet.
+     *
+     * @param tag   the tag.
+     * @return      the index of the tag.
+     */
+    public static int register(String tag) {
+        synchronized (lock) {
+            String[] tags = LogLevels.tags;
+            for (int i = 0; i < tags.length; i++) {
+                if (tags[i].equals(tag)) return i;
+            }
+
+            RobotLogger.Level[] levels = Arrays.copyOf(LogLevels.levels, tags.length + 1);
+            levels[tags.length] = defaultLevel;
+            tags = Arrays.copyOf(tags, tags.length + 1);
+            tags[tags.length - 1] = tag;
+
+            // publish the levels first so that an index is never read past the end of the levels
+            LogLevels.levels = levels;
+            LogLevels.tags = tags;
+
+            return tags.length - 1;
+        }
+    }
+
+    /**
+     * Gets the level of a tag. This does not lock and can be used in loops.
+     *
+     * @param index the index of the tag.
+     * @return      the level.
+     */
+    public static RobotLogger.Level getLevel(int index) {
+        return levels[index];
+    }
+
+    /**
+     * Checks whether a line would be logged to the telemetry. This does not lock and can be used in loops.
+     *
+     * @param index the index of the tag.
+     * @param level the level of the line.
+     * @return      whether the line would be logged.
+     */
+    public static boolean isLoggable(int index, RobotLogger.Level level) {
+        return level.priority <= levels[index].priority;
+    }
+
+    /**
+     * Sets the level of a tag.
+     *
+     * @param index the index of the tag.
+     * @param level the level.
+     */
+    public static void setLevel(int index, RobotLogger.Level level) {
+        synchronized (lock) {
+            RobotLogger.Level[] levels = LogLevels.levels.clone();
+            levels[index] = level;
+            LogLevels.levels = levels;
+        }
+    }
+
+    /**
+     * Sets the level of a tag, registering it if needed.
+     *
+     * @param tag   the tag.
+     * @param level the level.
+     */
+    public static void setLevel(String tag, RobotLogger.Level level) {
+        setLevel(register(tag), level);
+    }
+
+    /**
+     * Gets the level of a tag, registering it if needed.
+     *
+     * @param tag   the tag.
+     * @return      the level.
+     */
+    public static RobotLogger.Level getLevel(String tag) {
+        return getLevel(register(tag));
+    }
+
+    /**
+     * Sets the level of every tag, including tags registered later.
+     *
+     * @param level the level.
+     */
+    public static void setAllLevels(RobotLogger.Level level) {
+        synchronized (lock) {
+            RobotLogger.Level[] levels = new RobotLogger.Level[LogLevels.levels.length];
+            Arrays.fill(levels, level);
+
+            defaultLevel = level;
+            LogLevels.levels = levels;
+        }
+    }
+
+    /**
+     * Gets the level given to newly registered tags.
+     *
+     * @return  the level.
+     */
+    public static RobotLogger.Level getDefaultLevel() {
+        return defaultLevel;
+    }
+
+    /**
+     * Gets the number of registered tags.
+     *
+     * @return  the number of tags.
+     */
+    public static int getTagCount() {
+        return tags.length;
+    }
+
+    /**
+     * Gets a registered tag.
+     *
+     * @param index the index of the tag.
+     * @return      the tag.
+     */
+    public static String getTag(int index) {
+        return tags[index];
+    }
+}
@@ -0,0 +1,46 @@
+package org.chathamrobotics.ftcutils;
+
+import android.util.Log;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Writes lines to a logging facility. This lets the log cat be swapped out (eg: for {@link System#out}
+ * when running off of the robot).
+ */
+public interface LogWriter {
+    /**
+     * Writes to androids logging facilities.
+     */
+    LogWriter ANDROID = new LogWriter() {
+        @Override
+        public void println(int priority, String tag, String line) {
+            Log.println(priority, tag, line);
+        }
+    };
+
+    /**
+     * Writes to the standard output. Useful when {@link android.util.Log} is not available.
+     */
+    LogWriter STANDARD_OUT = new LogWriter() {
+        @Override
+        public void println(int priority, String tag, String line) {
+            System.out.println(priority + " " + tag + ": " + line);
+        }
+    };
+
+    /**
+     * Writes a line.
+     *
+     * @param priority  the priority of the line.
+     * @param tag       the tag for the line.
+     * @param line      the line to write.
+     */
+    void println(int priority, String tag, String line);
+}
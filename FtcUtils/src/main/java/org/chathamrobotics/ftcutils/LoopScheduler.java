@@ -0,0 +1,356 @@
+package org.chathamrobotics.ftcutils;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Runs periodic tasks at fixed rates. Tasks with the same rate are put in a rate group which is run
+ * on deadlines from {@link System#nanoTime()}, so the period does not drift with the time the tasks
+ * take. Faster groups are run first. If a group falls behind, the missed periods are skipped instead
+ * of being run back to back.
+ *
+ * <p>Each group keeps track of its jitter (how late it was started), how long it ran, how many runs
+ * took longer than the period (overruns) and how many periods were missed.</p>
+ *
+ * <p>Here is an example of how one might use {@link LoopScheduler}:</p>
+ *
+ * <pre>
+ *     LoopScheduler scheduler = new LoopScheduler();
+ *
+ *     scheduler.addTask(200, new LoopScheduler.Task() {
+ *         {@code @Override}
+ *         public void run() {
+ *             // control code
+ *         }
+ *     });
+ *
+ *     scheduler.addTask(10, new LoopScheduler.Task() {
+ *         {@code @Override}
+ *         public void run() {
+ *             robot.debug();
+ *         }
+ *     });
+ *
+ *     scheduler.start();
+ *     while (scheduler.isRunning()) {
+ *         scheduler.runDue();
+ *         scheduler.waitForNextDeadline();
+ *     }
+ * </pre>
+ */
+public class LoopScheduler {
+    /**
+     * A periodic task.
+     */
+    public interface Task {
+        /**
+         * Runs the task.
+         *
+         * @throws StoppedException Thrown if the opmode has stopped.
+         */
+        void run() throws StoppedException;
+    }
+
+    /**
+     * How long before a deadline to stop sleeping and start yielding. Sleeping is not precise enough
+     * to wake up right at the deadline.
+     */
+    public static final long SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+
+    /**
+     * The tasks of each group. Groups are kept in the order they were added so their indexes never change.
+     */
+    private Task[][] tasks = new Task[0][];
+
+    /**
+     * The indexes of the groups in the order they are run, fastest first.
+     */
+    private int[] order = new int[0];
+
+    /**
+     * The period of each group in nanoseconds.
+     */
+    private long[] periods = new long[0];
+
+    /**
+     * The next deadline of each group.
+     */
+    private long[] deadlines = new long[0];
+
+    /**
+     * The statistics for each group.
+     */
+    private long[] runCounts = new long[0];
+    private long[] overrunCounts = new long[0];
+    private long[] missedCounts = new long[0];
+    private long[] totalJitters = new long[0];
+    private long[] maxJitters = new long[0];
+    private long[] maxRunTimes = new long[0];
+
+    /**
+     * Whether the scheduler is running.
+     */
+    private volatile boolean running;
+
+    /**
+     * Adds a task. Tasks should be added before the scheduler is started.
+     *
+     * @param hertz the rate to run the task at.
+     * @param task  the task.
+     * @return      the index of the rate group the task was added to. Adding more tasks does not change it.
+     */
+    public int addTask(double hertz, Task task) {
+        if (hertz <= 0) throw new IllegalArgumentException("hertz must be positive");
+
+        long period = Math.round(1e9 / hertz);
+
+        for (int i = 0; i < this.periods.length; i++) {
+            if (this.periods[i] == period) {
+                this.tasks[i] = Arrays.copyOf(this.tasks[i], this.tasks[i].length + 1);
+                this.tasks[i][this.tasks[i].length - 1] = task;
+                return i;
+            }
+        }
+
+        int group = this.periods.length;
+        int count = group + 1;
+
+        this.tasks = Arrays.copyOf(this.tasks, count);
+        this.tasks[group] = new Task[] {task};
+        this.periods = Arrays.copyOf(this.periods, count);
+        this.periods[group] = period;
+        this.deadlines = Arrays.copyOf(this.deadlines, count);
+        this.deadlines[group] = System.nanoTime();
+        this.runCounts = Arrays.copyOf(this.runCounts, count);
+        this.overrunCounts = Arrays.copyOf(this.overrunCounts, count);
+        this.missedCounts = Arrays.copyOf(this.missedCounts, count);
+        this.totalJitters = Arrays.copyOf(this.totalJitters, count);
+        this.maxJitters = Arrays.copyOf(this.maxJitters, count);
+        this.maxRunTimes = Arrays.copyOf(this.maxRunTimes, count);
+
+        // keep the run order sorted fastest first so that faster groups get priority
+        int position = 0;
+        while (position < group && this.periods[this.order[position]] <= period) position++;
+
+        int[] order = new int[count];
+        System.arraycopy(this.order, 0, order, 0, position);
+        System.arraycopy(this.order, position, order, position + 1, group - position);
+        order[position] = group;
+        this.order = order;
+
+        return group;
+    }
+
+    /**
+     * Starts the scheduler. Every group is due right away.
+     */
+    public void start() {
+        Arrays.fill(this.deadlines, System.nanoTime());
+        this.running = true;
+    }
+
+    /**
+     * Stops the scheduler. This can be called from a task.
+     */
+    public void stop() {
+        this.running = false;
+    }
+
+    /**
+     * Checks whether the scheduler is running.
+     *
+     * @return  whether the scheduler is running.
+     */
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * Runs every group that is due.
+     *
+     * @throws StoppedException Thrown if a task was stopped.
+     */
+    public void runDue() throws StoppedException {
+        for (int i = 0; i < this.order.length && this.running; i++) {
+            int group = this.order[i];
+            long start = System.nanoTime();
+            long deadline = this.deadlines[group];
+            if (start - deadline < 0) continue;
+
+            for (Task task : this.tasks[group]) task.run();
+
+            long end = System.nanoTime();
+            long period = this.periods[group];
+            long jitter = start - deadline;
+            long runTime = end - start;
+
+            this.runCounts[group]++;
+            this.totalJitters[group] += jitter;
+            if (jitter > this.maxJitters[group]) this.maxJitters[group] = jitter;
+            if (runTime > this.maxRunTimes[group]) this.maxRunTimes[group] = runTime;
+            if (runTime > period) this.overrunCounts[group]++;
+
+            deadline += period;
+
+            // skip the periods that have already passed instead of running them back to back
+            if (end - deadline >= 0) {
+                long missed = (end - deadline) / period + 1;
+                this.missedCounts[group] += missed;
+                deadline += missed * period;
+            }
+
+            this.deadlines[group] = deadline;
+        }
+    }
+
+    /**
+     * Gets the time until the next group is due.
+     *
+     * @return  the time in nanoseconds, or 0 if a group is already due.
+     */
+    public long getTimeUntilNextDeadline() {
+        if (this.deadlines.length == 0) return 0;
+
+        long next = this.deadlines[0];
+        for (long deadline : this.deadlines) {
+            if (deadline - next < 0) next = deadline;
+        }
+
+        return Math.max(0, next - System.nanoTime());
+    }
+
+    /**
+     * Waits until the next group is due. Sleeps for most of the wait and yields for the rest so that
+     * the deadline is not overslept. Returns early if the thread is interrupted or the scheduler is stopped.
+     */
+    public void waitForNextDeadline() {
+        long remaining;
+        while ((remaining = getTimeUntilNextDeadline()) > 0 && this.running && ! Thread.currentThread().isInterrupted()) {
+            if (remaining > SPIN_NANOS) LockSupport.parkNanos(remaining - SPIN_NANOS);
+            else Thread.yield();
+        }
+    }
+
+    /**
+     * Clears the statistics of every group.
+     */
+    public void resetStats() {
+        Arrays.fill(this.runCounts, 0);
+        Arrays.fill(this.overrunCounts, 0);
+        Arrays.fill(this.missedCounts, 0);
+        Arrays.fill(this.totalJitters, 0);
+        Arrays.fill(this.maxJitters, 0);
+        Arrays.fill(this.maxRunTimes, 0);
+    }
+
+    /**
+     * Gets the number of rate groups.
+     *
+     * @return  the number of groups.
+     */
+    public int getGroupCount() {
+        return this.periods.length;
+    }
+
+    /**
+     * Gets the rate of a group.
+     *
+     * @param group the index of the group.
+     * @return      the rate in hertz.
+     */
+    public double getRate(int group) {
+        return 1e9 / this.periods[group];
+    }
+
+    /**
+     * Gets the number of times a group was run.
+     *
+     * @param group the index of the group.
+     * @return      the count.
+     */
+    public long getRunCount(int group) {
+        return this.runCounts[group];
+    }
+
+    /**
+     * Gets the number of times a group took longer to run than its period.
+     *
+     * @param group the index of the group.
+     * @return      the count.
+     */
+    public long getOverrunCount(int group) {
+        return this.overrunCounts[group];
+    }
+
+    /**
+     * Gets the number of periods of a group that were skipped because it fell behind.
+     *
+     * @param group the index of the group.
+     * @return      the count.
+     */
+    public long getMissedCount(int group) {
+        return this.missedCounts[group];
+    }
+
+    /**
+     * Gets the average time a group was started after its deadline in nanoseconds.
+     *
+     * @param group the index of the group.
+     * @return      the average jitter, or 0 if it was never run.
+     */
+    public double getMeanJitter(int group) {
+        return this.runCounts[group] == 0 ? 0 : (double) this.totalJitters[group] / this.runCounts[group];
+    }
+
+    /**
+     * Gets the longest time a group was started after its deadline in nanoseconds.
+     *
+     * @param group the index of the group.
+     * @return      the longest jitter.
+     */
+    public long getMaxJitter(int group) {
+        return this.maxJitters[group];
+    }
+
+    /**
+     * Gets the longest time a group took to run in nanoseconds.
+     *
+     * @param group the index of the group.
+     * @return      the longest run time.
+     */
+    public long getMaxRunTime(int group) {
+        return this.maxRunTimes[group];
+    }
+
+    /**
+     * Formats the statistics of a group as
+     * "{rate} Hz: jitter {mean}/{max} us, max run {max} us, overruns {count}, missed {count}, n {count}".
+     *
+     * @param group the index of the group.
+     * @return      the formatted statistics.
+     */
+    public String format(int group) {
+        return String.format(Locale.US, "%.1f Hz: jitter %.0f/%d us, max run %d us, overruns %d, missed %d, n %d",
+                getRate(group), getMeanJitter(group) / 1000, getMaxJitter(group) / 1000,
+                getMaxRunTime(group) / 1000, getOverrunCount(group), getMissedCount(group), getRunCount(group));
+    }
+
+    /**
+     * Logs the statistics of every group at the info level.
+     *
+     * @param logger    the logger to log to.
+     */
+    public void report(RobotLogger logger) {
+        for (int i = 0; i < this.periods.length; i++) logger.info(format(i));
+    }
+}
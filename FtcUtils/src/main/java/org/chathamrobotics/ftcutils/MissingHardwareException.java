@@ -0,0 +1,45 @@
+package org.chathamrobotics.ftcutils;
+
+import java.util.Collections;
+import java.util.List;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Thrown when devices required by a {@link HardwareBinder} are not in the hardware map. The message
+ * lists every missing device, not just the first.
+ */
+public class MissingHardwareException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The missing devices, described as type and name.
+     */
+    private final List<String> missing;
+
+    /**
+     * Constructs a new {@code MissingHardwareException}.
+     *
+     * @param detailMessage the report of the missing devices.
+     * @param missing       the missing devices, described as type and name.
+     */
+    public MissingHardwareException(String detailMessage, List<String> missing) {
+        super(detailMessage);
+        this.missing = Collections.unmodifiableList(missing);
+    }
+
+    /**
+     * Gets the missing devices.
+     *
+     * @return  the missing devices, described as type and name.
+     */
+    public List<String> getMissing() {
+        return this.missing;
+    }
+}
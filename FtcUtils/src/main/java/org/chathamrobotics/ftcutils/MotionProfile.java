@@ -0,0 +1,313 @@
+package org.chathamrobotics.ftcutils;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * A precomputed motion profile from rest to rest over a distance. The position, velocity and
+ * acceleration are computed once at a fixed time step when the profile is created, so sampling the
+ * profile in a loop is a single array lookup and interpolation.
+ *
+ * <p>{@link MotionProfile#trapezoid(double, double, double)} limits velocity and acceleration.
+ * {@link MotionProfile#sCurve(double, double, double, double)} also limits jerk, which ramps the
+ * acceleration in and out so the wheels are less likely to slip. Both lower the top speed when the
+ * distance is too short to reach it.</p>
+ *
+ * <p>The units are up to the user, as long as they are consistent. eg. inches, inches per second
+ * and inches per second squared.</p>
+ */
+public final class MotionProfile {
+    /**
+     * The default time between samples in seconds.
+     */
+    public static final double DEFAULT_STEP = 0.005;
+
+    /**
+     * The number of bisections used to find the top speed of a short s-curve profile.
+     */
+    private static final int BISECTIONS = 60;
+
+    /**
+     * The time between samples in seconds.
+     */
+    private final double step;
+
+    /**
+     * The length of the profile in seconds.
+     */
+    private final double duration;
+
+    /**
+     * The signed distance covered by the profile.
+     */
+    private final double distance;
+
+    /**
+     * The samples.
+     */
+    private final double[] positions;
+    private final double[] velocities;
+    private final double[] accelerations;
+
+    /**
+     * Creates a profile by sampling a series of constant jerk segments.
+     *
+     * @param step          the time between samples.
+     * @param distance      the signed distance covered by the profile.
+     * @param durations     the duration of each segment.
+     * @param jerks         the jerk during each segment.
+     * @param starts        the acceleration at the start of each segment.
+     */
+    private MotionProfile(double step, double distance, double[] durations, double[] jerks, double[] starts) {
+        if (! (step > 0)) throw new IllegalArgumentException("step must be positive");
+
+        double duration = 0;
+        for (double segment : durations) duration += segment;
+
+        int count = (int) Math.ceil(duration / step) + 1;
+        double sign = Math.signum(distance);
+
+        this.step = step;
+        this.duration = duration;
+        this.distance = distance;
+        this.positions = new double[count];
+        this.velocities = new double[count];
+        this.accelerations = new double[count];
+
+        // walk through the segments, integrating exactly from the start of each one
+        int segment = 0;
+        double segmentStart = 0, position = 0, velocity = 0;
+
+        for (int i = 0; i < count; i++) {
+            double time = Math.min(i * step, duration);
+
+            while (segment < durations.length - 1 && time > segmentStart + durations[segment]) {
+                double length = durations[segment];
+                position += velocity * length + starts[segment] * length * length / 2 + jerks[segment] * length * length * length / 6;
+                velocity += starts[segment] * length + jerks[segment] * length * length / 2;
+                segmentStart += length;
+                segment++;
+            }
+
+            double t = time - segmentStart;
+            double jerk = jerks[segment], start = starts[segment];
+
+            this.positions[i] = sign * (position + velocity * t + start * t * t / 2 + jerk * t * t * t / 6);
+            this.velocities[i] = sign * (velocity + start * t + jerk * t * t / 2);
+            this.accelerations[i] = sign * (start + jerk * t);
+        }
+
+        // make sure the profile ends exactly where it should
+        this.positions[count - 1] = distance;
+        this.velocities[count - 1] = 0;
+        this.accelerations[count - 1] = 0;
+    }
+
+    /**
+     * Creates a trapezoidal profile, which accelerates at the max acceleration up to the max
+     * velocity, cruises, and then decelerates to a stop.
+     *
+     * @param distance          the signed distance to travel.
+     * @param maxVelocity       the max velocity.
+     * @param maxAcceleration   the max acceleration.
+     * @return                  the profile.
+     */
+    public static MotionProfile trapezoid(double distance, double maxVelocity, double maxAcceleration) {
+        return trapezoid(distance, maxVelocity, maxAcceleration, DEFAULT_STEP);
+    }
+
+    /**
+     * Creates a trapezoidal profile, which accelerates at the max acceleration up to the max
+     * velocity, cruises, and then decelerates to a stop.
+     *
+     * @param distance          the signed distance to travel.
+     * @param maxVelocity       the max velocity.
+     * @param maxAcceleration   the max acceleration.
+     * @param step              the time between samples in seconds.
+     * @return                  the profile.
+     */
+    public static MotionProfile trapezoid(double distance, double maxVelocity, double maxAcceleration, double step) {
+        checkLimit(maxVelocity, "maxVelocity");
+        checkLimit(maxAcceleration, "maxAcceleration");
+
+        double length = Math.abs(distance);
+
+        // lower the top speed if there is not room to reach it
+        double velocity = Math.min(maxVelocity, Math.sqrt(length * maxAcceleration));
+        double accelTime = velocity / maxAcceleration;
+        double cruiseTime = velocity > 0 ? (length - velocity * accelTime) / velocity : 0;
+
+        return new MotionProfile(step, distance,
+                new double[] {accelTime, Math.max(0, cruiseTime), accelTime},
+                new double[] {0, 0, 0},
+                new double[] {maxAcceleration, 0, -maxAcceleration});
+    }
+
+    /**
+     * Creates an s-curve profile, which is a trapezoidal profile where the acceleration is ramped
+     * up and down at the max jerk instead of changing all at once.
+     *
+     * @param distance          the signed distance to travel.
+     * @param maxVelocity       the max velocity.
+     * @param maxAcceleration   the max acceleration.
+     * @param maxJerk           the max jerk.
+     * @return                  the profile.
+     */
+    public static MotionProfile sCurve(double distance, double maxVelocity, double maxAcceleration, double maxJerk) {
+        return sCurve(distance, maxVelocity, maxAcceleration, maxJerk, DEFAULT_STEP);
+    }
+
+    /**
+     * Creates an s-curve profile, which is a trapezoidal profile where the acceleration is ramped
+     * up and down at the max jerk instead of changing all at once.
+     *
+     * @param distance          the signed distance to travel.
+     * @param maxVelocity       the max velocity.
+     * @param maxAcceleration   the max acceleration.
+     * @param maxJerk           the max jerk.
+     * @param step              the time between samples in seconds.
+     * @return                  the profile.
+     */
+    public static MotionProfile sCurve(double distance, double maxVelocity, double maxAcceleration, double maxJerk, double step) {
+        checkLimit(maxVelocity, "maxVelocity");
+        checkLimit(maxAcceleration, "maxAcceleration");
+        checkLimit(maxJerk, "maxJerk");
+
+        double length = Math.abs(distance);
+
+        // lower the top speed until speeding up and slowing down fit in the distance
+        double velocity = maxVelocity;
+        if (2 * sCurveRampDistance(velocity, maxAcceleration, maxJerk) > length) {
+            double low = 0, high = maxVelocity;
+            for (int i = 0; i < BISECTIONS; i++) {
+                velocity = (low + high) / 2;
+                if (2 * sCurveRampDistance(velocity, maxAcceleration, maxJerk) > length) high = velocity;
+                else low = velocity;
+            }
+            velocity = low;
+        }
+
+        // the acceleration may not reach its max if the velocity is low
+        double acceleration = Math.min(maxAcceleration, Math.sqrt(velocity * maxJerk));
+        double jerkTime = acceleration / maxJerk;
+        double accelTime = acceleration > 0 ? Math.max(0, velocity / acceleration - jerkTime) : 0;
+        double cruiseTime = velocity > 0 ? Math.max(0, (length - 2 * sCurveRampDistance(velocity, maxAcceleration, maxJerk)) / velocity) : 0;
+
+        return new MotionProfile(step, distance,
+                new double[] {jerkTime, accelTime, jerkTime, cruiseTime, jerkTime, accelTime, jerkTime},
+                new double[] {maxJerk, 0, -maxJerk, 0, -maxJerk, 0, maxJerk},
+                new double[] {0, acceleration, acceleration, 0, 0, -acceleration, -acceleration});
+    }
+
+    /**
+     * Gets the distance an s-curve covers while speeding up from rest to a velocity.
+     *
+     * @param velocity          the velocity to reach.
+     * @param maxAcceleration   the max acceleration.
+     * @param maxJerk           the max jerk.
+     * @return                  the distance.
+     */
+    private static double sCurveRampDistance(double velocity, double maxAcceleration, double maxJerk) {
+        double acceleration = Math.min(maxAcceleration, Math.sqrt(velocity * maxJerk));
+        if (acceleration == 0) return 0;
+
+        // the ramp is symmetric about half the velocity, so the average velocity is half of it
+        double rampTime = velocity / acceleration + acceleration / maxJerk;
+        return velocity * rampTime / 2;
+    }
+
+    /**
+     * Checks that a limit is positive.
+     *
+     * @param limit the limit.
+     * @param name  the name of the limit.
+     */
+    private static void checkLimit(double limit, String name) {
+        if (! (limit > 0)) throw new IllegalArgumentException(name + " must be positive");
+    }
+
+    /**
+     * Gets the length of the profile.
+     *
+     * @return  the duration in seconds.
+     */
+    public double getDuration() {
+        return this.duration;
+    }
+
+    /**
+     * Gets the distance covered by the profile.
+     *
+     * @return  the signed distance.
+     */
+    public double getDistance() {
+        return this.distance;
+    }
+
+    /**
+     * Checks whether the profile is done at a time.
+     *
+     * @param time  the time since the start of the profile in seconds.
+     * @return      whether the profile is done.
+     */
+    public boolean isFinished(double time) {
+        return time >= this.duration;
+    }
+
+    /**
+     * Gets the position at a time.
+     *
+     * @param time  the time since the start of the profile in seconds.
+     * @return      the position.
+     */
+    public double getPosition(double time) {
+        return sample(this.positions, time);
+    }
+
+    /**
+     * Gets the velocity at a time.
+     *
+     * @param time  the time since the start of the profile in seconds.
+     * @return      the velocity.
+     */
+    public double getVelocity(double time) {
+        return sample(this.velocities, time);
+    }
+
+    /**
+     * Gets the acceleration at a time.
+     *
+     * @param time  the time since the start of the profile in seconds.
+     * @return      the acceleration.
+     */
+    public double getAcceleration(double time) {
+        return sample(this.accelerations, time);
+    }
+
+    /**
+     * Interpolates between the samples around a time.
+     *
+     * @param samples   the samples.
+     * @param time      the time since the start of the profile in seconds.
+     * @return          the interpolated value.
+     */
+    private double sample(double[] samples, double time) {
+        if (time <= 0) return samples[0];
+
+        // the last sample is at the end of the profile, which may be less than a step after the one before it
+        int last = samples.length - 1;
+        if (time >= this.duration) return samples[last];
+
+        double index = time / this.step;
+
+        int i = (int) index;
+        double fraction = index - i;
+
+        return samples[i] + (samples[i + 1] - samples[i]) * fraction;
+    }
+}
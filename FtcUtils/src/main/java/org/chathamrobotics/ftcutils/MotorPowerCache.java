@@ -0,0 +1,161 @@
+package org.chathamrobotics.ftcutils;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Remembers the last power sent to each motor and only sends a new power when it has changed by more
+ * than the deadband. Every power sent is a transaction with the motor controller, so skipping the
+ * ones that would not change anything frees up time in the loop.
+ *
+ * <p>If something else sets the power of one of the motors, {@link MotorPowerCache#invalidate()}
+ * must be called, otherwise the cache will think the motor already has the power it last sent.</p>
+ */
+public class MotorPowerCache {
+    /**
+     * The default deadband. Half of the smallest power step of the Modern Robotics motor controller.
+     */
+    public static final double DEFAULT_DEADBAND = 0.005;
+
+    /**
+     * The motors.
+     */
+    private final DcMotor[] motors;
+
+    /**
+     * The last power sent to each motor. NaN if unknown.
+     */
+    private final double[] powers;
+
+    /**
+     * The smallest change in power that will be sent.
+     */
+    private double deadband = DEFAULT_DEADBAND;
+
+    /**
+     * The number of powers sent and skipped.
+     */
+    private long writeCount, suppressedCount;
+
+    /**
+     * Creates a new instance of MotorPowerCache.
+     *
+     * @param motors    the motors to cache the power of.
+     */
+    public MotorPowerCache(DcMotor... motors) {
+        this.motors = motors.clone();
+        this.powers = new double[motors.length];
+
+        invalidate();
+    }
+
+    /**
+     * Sets the smallest change in power that will be sent. Changes to exactly zero are always sent.
+     *
+     * @param deadband  the deadband.
+     */
+    public void setDeadband(double deadband) {
+        this.deadband = deadband;
+    }
+
+    /**
+     * Gets the smallest change in power that will be sent.
+     *
+     * @return  the deadband.
+     */
+    public double getDeadband() {
+        return this.deadband;
+    }
+
+    /**
+     * Sets the power of a motor if it has changed by more than the deadband.
+     *
+     * @param index the index of the motor.
+     * @param power the power to set.
+     * @return      whether the power was sent.
+     */
+    public boolean setPower(int index, double power) {
+        double last = this.powers[index];
+
+        // NaN compares false so unknown powers are always sent
+        if (Math.abs(power - last) <= this.deadband && (power != 0 || last == 0)) {
+            this.suppressedCount++;
+            return false;
+        }
+
+        forcePower(index, power);
+        return true;
+    }
+
+    /**
+     * Sets the power of a motor even if it has not changed. Use this for commands that must reach the motor.
+     *
+     * @param index the index of the motor.
+     * @param power the power to set.
+     */
+    public void forcePower(int index, double power) {
+        this.motors[index].setPower(power);
+        this.powers[index] = power;
+        this.writeCount++;
+    }
+
+    /**
+     * Sends the last power set to every motor again.
+     */
+    public void flush() {
+        for (int i = 0; i < this.motors.length; i++) {
+            if (! Double.isNaN(this.powers[i])) forcePower(i, this.powers[i]);
+        }
+    }
+
+    /**
+     * Forgets the last power sent to every motor so that the next power set is always sent.
+     */
+    public void invalidate() {
+        for (int i = 0; i < this.powers.length; i++) this.powers[i] = Double.NaN;
+    }
+
+    /**
+     * Gets the last power sent to a motor.
+     *
+     * @param index the index of the motor.
+     * @return      the power, or NaN if unknown.
+     */
+    public double getPower(int index) {
+        return this.powers[index];
+    }
+
+    /**
+     * Gets the number of motors.
+     *
+     * @return  the number of motors.
+     */
+    public int getMotorCount() {
+        return this.motors.length;
+    }
+
+    /**
+     * Gets the number of powers sent to the motors.
+     *
+     * @return  the number of writes.
+     */
+    public long getWriteCount() {
+        return this.writeCount;
+    }
+
+    /**
+     * Gets the number of powers that were not sent because they had not changed.
+     *
+     * @return  the number of suppressed writes.
+     */
+    public long getSuppressedCount() {
+        return this.suppressedCount;
+    }
+}
@@ -0,0 +1,216 @@
+package org.chathamrobotics.ftcutils;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Calculates the motor powers for an omniwheel (x-drive) setup. The sine and cosine of the direction
+ * are found once per call and turned into forward and right speeds, which are mixed into the four
+ * motor powers by {@link DriveKinematics#xDrive()}. The powers are written into a given array so no
+ * objects are created.
+ *
+ * <p>The powers are written in the order front left, front right, back left, back right.</p>
+ */
+public final class OmniKinematics {
+    /**
+     * How the sine and cosine of the direction are found.
+     */
+    public enum TrigMode {
+        /**
+         * Uses {@link Math#sin(double)} and {@link Math#cos(double)}.
+         */
+        EXACT,
+
+        /**
+         * Uses a lookup table with linear interpolation. The error is at most {@link OmniKinematics#MAX_LOOKUP_ERROR}.
+         */
+        LOOKUP
+    }
+
+    /**
+     * The indexes of the motors in the power array.
+     */
+    public static final int FRONT_LEFT = 0, FRONT_RIGHT = 1, BACK_LEFT = 2, BACK_RIGHT = 3;
+
+    /**
+     * The number of entries in the sine lookup table.
+     */
+    public static final int LOOKUP_SIZE = 4096;
+
+    /**
+     * The maximum error of a sine or cosine found with the lookup table. Linear interpolation of sine
+     * is off by at most step^2 / 8.
+     */
+    public static final double MAX_LOOKUP_ERROR = (2 * Math.PI / LOOKUP_SIZE) * (2 * Math.PI / LOOKUP_SIZE) / 8;
+
+    /**
+     * Mixes the forward and right speeds and the rotation into the motor powers. The rows include the
+     * plane transform ({@link OmniWheelDriver#OMNIWHEEL_PLANE_TRANSFORM_ANGLE}).
+     */
+    private static final DriveKinematics X_DRIVE = DriveKinematics.xDrive();
+
+    /**
+     * The sine lookup table over one turn. Has an extra entry so interpolation never wraps.
+     */
+    private static final double[] SINE_TABLE = new double[LOOKUP_SIZE + 1];
+
+    static {
+        for (int i = 0; i <= LOOKUP_SIZE; i++) {
+            SINE_TABLE[i] = Math.sin(2 * Math.PI * i / LOOKUP_SIZE);
+        }
+    }
+
+    /**
+     * The number of table entries per radian.
+     */
+    private static final double LOOKUP_SCALE = LOOKUP_SIZE / (2 * Math.PI);
+
+    /**
+     * How the sine and cosine are found.
+     */
+    private TrigMode trigMode = TrigMode.EXACT;
+
+    /**
+     * The angle added to every direction (the offset).
+     */
+    private double shift;
+
+    /**
+     * The sine and cosine of the shift.
+     */
+    private double shiftSin, shiftCos;
+
+    /**
+     * Creates a new instance of OmniKinematics.
+     */
+    public OmniKinematics() {
+        setOffsetAngle(0);
+    }
+
+    /**
+     * Sets the offset angle used to change what is referenced as the front.
+     *
+     * @param angle the offset angle in radians.
+     */
+    public void setOffsetAngle(double angle) {
+        this.shift = angle;
+        this.shiftSin = Math.sin(this.shift);
+        this.shiftCos = Math.cos(this.shift);
+    }
+
+    /**
+     * Sets how the sine and cosine of the direction are found.
+     *
+     * @param trigMode  the trig mode.
+     */
+    public void setTrigMode(TrigMode trigMode) {
+        this.trigMode = trigMode;
+    }
+
+    /**
+     * Gets how the sine and cosine of the direction are found.
+     *
+     * @return  the trig mode.
+     */
+    public TrigMode getTrigMode() {
+        return this.trigMode;
+    }
+
+    /**
+     * Calculates the motor powers for a direction.
+     *
+     * @param direction the direction(angle) for the robot to go measured radians.
+     * @param rotation  the rotation to perform. Positive for right and negative for left.
+     * @param magnitude the magnitude of the motor power.
+     * @param powers    the array to write the four powers to.
+     */
+    public void solve(double direction, double rotation, double magnitude, double[] powers) {
+        double angle = direction + this.shift;
+        double sin, cos;
+
+        if (this.trigMode == TrigMode.LOOKUP) {
+            sin = lookupSin(angle);
+            cos = lookupSin(angle + Math.PI / 2);
+        }
+        else {
+            sin = Math.sin(angle);
+            cos = Math.cos(angle);
+        }
+
+        write(sin * magnitude, cos * magnitude, rotation, powers);
+    }
+
+    /**
+     * Calculates the motor powers for a direction given as x and y portions. This is exact and does
+     * not use any trig functions, since the sine and cosine of the direction are just y and x over
+     * their length.
+     *
+     * @param y         the Y portion of the direction.
+     * @param x         the X portion of the direction.
+     * @param rotation  the rotation to perform. Positive for right and negative for left.
+     * @param magnitude the magnitude of the motor power.
+     * @param powers    the array to write the four powers to.
+     */
+    public void solveVector(double y, double x, double rotation, double magnitude, double[] powers) {
+        double length = Math.sqrt(x * x + y * y);
+        double sin = 0, cos = 1; // matches atan2(0, 0) == 0
+
+        if (length > 0) {
+            sin = y / length;
+            cos = x / length;
+        }
+
+        // angle sum identities for direction + shift
+        double shiftedSin = sin * this.shiftCos + cos * this.shiftSin;
+        double shiftedCos = cos * this.shiftCos - sin * this.shiftSin;
+
+        write(shiftedSin * magnitude, shiftedCos * magnitude, rotation, powers);
+    }
+
+    /**
+     * Writes the clipped powers for the motors.
+     *
+     * @param forward   the sine of the direction times the magnitude.
+     * @param right     the cosine of the direction times the magnitude.
+     * @param rotation  the rotation to perform.
+     * @param powers    the array to write the four powers to.
+     */
+    private static void write(double forward, double right, double rotation, double[] powers) {
+        X_DRIVE.solve(forward, right, rotation, powers);
+
+        powers[FRONT_LEFT] = clip(powers[FRONT_LEFT]);
+        powers[FRONT_RIGHT] = clip(powers[FRONT_RIGHT]);
+        powers[BACK_LEFT] = clip(powers[BACK_LEFT]);
+        powers[BACK_RIGHT] = clip(powers[BACK_RIGHT]);
+    }
+
+    /**
+     * Clips a power to between -1 and 1.
+     *
+     * @param power the power.
+     * @return      the clipped power.
+     */
+    private static double clip(double power) {
+        return power < -1 ? -1 : power > 1 ? 1 : power;
+    }
+
+    /**
+     * Finds the sine of an angle with the lookup table.
+     *
+     * @param angle the angle in radians.
+     * @return      the sine of the angle.
+     */
+    static double lookupSin(double angle) {
+        double position = angle * LOOKUP_SCALE;
+        double floor = Math.floor(position);
+        double fraction = position - floor;
+        int index = (int) ((long) floor & (LOOKUP_SIZE - 1));
+
+        return SINE_TABLE[index] + (SINE_TABLE[index + 1] - SINE_TABLE[index]) * fraction;
+    }
+}
@@ -0,0 +1,279 @@
+package org.chathamrobotics.ftcutils;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Tracks the robot's position on the field from the encoders of the four omniwheel motors. Each
+ * update reads how far every wheel turned since the last one, undoes the wheel mixing of
+ * {@link DriveKinematics#xDrive()} to get how far the robot moved and turned, and adds that to the
+ * pose. Each wheel rolls along the clockwise tangent of its corner, so a clockwise turn rolls every
+ * wheel forward by the turn times the wheel radius.
+ * If a heading source such as an IMU is given it is used for the heading instead of the wheels,
+ * which drift when turning.
+ *
+ * <p>The field's x axis points right and y axis points forward when the heading is 0. The heading
+ * is in radians and counter clockwise is positive. The pose can be read from any thread.</p>
+ *
+ * <p>Here is an example of how one might use {@link OmniOdometry} for field centric driving:</p>
+ *
+ * <pre>
+ *     OmniOdometry odometry = OmniOdometry.build(hardwareMap, TICKS_PER_INCH, WHEEL_RADIUS);
+ *
+ *     // in the loop
+ *     odometry.update();
+ *     driver.setFieldHeading(odometry.getHeading());
+ *     driver.driveWithControls(gamepad1);
+ * </pre>
+ */
+public class OmniOdometry {
+    /**
+     * Provides the robot's heading from another sensor.
+     */
+    public interface HeadingSource {
+        /**
+         * Gets the robot's heading.
+         *
+         * @return  the heading in radians, counter clockwise positive.
+         */
+        double getHeading();
+    }
+
+    /**
+     * The indexes of the values in a pose array.
+     */
+    public static final int X = 0;
+    public static final int Y = 1;
+    public static final int HEADING = 2;
+
+    /**
+     * Cosine and sine of the plane transform angle (pi / 4).
+     */
+    private static final double TRANSFORM = Math.sqrt(0.5);
+
+    /**
+     * The wheel motors.
+     */
+    private final DcMotor frontLeft, frontRight, backLeft, backRight;
+
+    /**
+     * The encoder ticks per unit of distance rolled by a wheel.
+     */
+    private final double ticksPerUnit;
+
+    /**
+     * The distance from the center of the robot to the wheels.
+     */
+    private final double wheelRadius;
+
+    /**
+     * The encoder positions at the last update.
+     */
+    private int lastFrontLeft, lastFrontRight, lastBackLeft, lastBackRight;
+
+    /**
+     * The heading source. Null to use the wheels.
+     */
+    private HeadingSource headingSource;
+
+    /**
+     * The heading source's reading when the heading was last set.
+     */
+    private double headingSourceOffset;
+
+    /**
+     * The pose. Written only by the updating thread, between increments of the version.
+     */
+    private volatile double x, y, heading;
+
+    /**
+     * Odd while the pose is being written.
+     */
+    private volatile int version;
+
+    /**
+     * Creates a new instance of OmniOdometry.
+     *
+     * @param frontLeft     the motor located in the front left corner of the robot.
+     * @param frontRight    the motor located in the front right corner of the robot.
+     * @param backLeft      the motor located in the back left corner of the robot.
+     * @param backRight     the motor located in the back right corner of the robot.
+     * @param ticksPerUnit  the encoder ticks per unit of distance rolled by a wheel.
+     * @param wheelRadius   the distance from the center of the robot to the wheels.
+     */
+    public OmniOdometry(DcMotor frontLeft, DcMotor frontRight, DcMotor backLeft, DcMotor backRight,
+                        double ticksPerUnit, double wheelRadius) {
+        this.frontLeft = frontLeft;
+        this.frontRight = frontRight;
+        this.backLeft = backLeft;
+        this.backRight = backRight;
+        this.ticksPerUnit = ticksPerUnit;
+        this.wheelRadius = wheelRadius;
+
+        resetEncoders();
+    }
+
+    /**
+     * Builds a new OmniOdometry using the default motor names (FrontLeft, FrontRight, BackLeft and BackRight).
+     *
+     * @param hardwareMap   the robot's hardware map.
+     * @param ticksPerUnit  the encoder ticks per unit of distance rolled by a wheel.
+     * @param wheelRadius   the distance from the center of the robot to the wheels.
+     * @return              the built OmniOdometry.
+     */
+    public static OmniOdometry build(HardwareMap hardwareMap, double ticksPerUnit, double wheelRadius) {
+        return new OmniOdometry(
+                hardwareMap.dcMotor.get("FrontLeft"),
+                hardwareMap.dcMotor.get("FrontRight"),
+                hardwareMap.dcMotor.get("BackLeft"),
+                hardwareMap.dcMotor.get("BackRight"),
+                ticksPerUnit, wheelRadius
+        );
+    }
+
+    /**
+     * Sets the heading source. Its current reading is taken as the current heading.
+     *
+     * @param headingSource the heading source, or null to use the wheels.
+     */
+    public void setHeadingSource(HeadingSource headingSource) {
+        this.headingSource = headingSource;
+        if (headingSource != null) this.headingSourceOffset = this.heading - headingSource.getHeading();
+    }
+
+    /**
+     * Sets the pose. Should be called from the same thread as {@link OmniOdometry#update()}.
+     *
+     * @param x         the x position.
+     * @param y         the y position.
+     * @param heading   the heading in radians.
+     */
+    public void setPose(double x, double y, double heading) {
+        resetEncoders();
+        if (this.headingSource != null) this.headingSourceOffset = heading - this.headingSource.getHeading();
+
+        write(x, y, heading);
+    }
+
+    /**
+     * Reads the encoders and updates the pose. This should be called once every loop.
+     */
+    public void update() {
+        int frontLeft = this.frontLeft.getCurrentPosition();
+        int frontRight = this.frontRight.getCurrentPosition();
+        int backLeft = this.backLeft.getCurrentPosition();
+        int backRight = this.backRight.getCurrentPosition();
+
+        double fl = (frontLeft - this.lastFrontLeft) / this.ticksPerUnit;
+        double fr = (frontRight - this.lastFrontRight) / this.ticksPerUnit;
+        double bl = (backLeft - this.lastBackLeft) / this.ticksPerUnit;
+        double br = (backRight - this.lastBackRight) / this.ticksPerUnit;
+
+        this.lastFrontLeft = frontLeft;
+        this.lastFrontRight = frontRight;
+        this.lastBackLeft = backLeft;
+        this.lastBackRight = backRight;
+
+        // undo the wheel mixing: fl = s + r, fr = c + r, bl = -c + r, br = -s + r
+        double sin = (fl - br) / 2;
+        double cos = (fr - bl) / 2;
+        double rotation = (fl + fr + bl + br) / 4;
+
+        // undo the plane transform to get the robot relative movement
+        double right = (cos + sin) * TRANSFORM;
+        double forward = (sin - cos) * TRANSFORM;
+
+        // positive rotation turns right (clockwise), which lowers the heading
+        double heading = this.heading;
+        double newHeading = this.headingSource != null
+                ? this.headingSource.getHeading() + this.headingSourceOffset
+                : heading - rotation / this.wheelRadius;
+
+        // use the heading half way through the move
+        double midHeading = heading + (newHeading - heading) / 2;
+        double headingCos = Math.cos(midHeading);
+        double headingSin = Math.sin(midHeading);
+
+        write(this.x + right * headingCos - forward * headingSin,
+                this.y + right * headingSin + forward * headingCos,
+                newHeading);
+    }
+
+    /**
+     * Gets the pose. The values are always from the same update.
+     *
+     * @param pose  the array to put the pose in, indexed by {@link OmniOdometry#X}, {@link OmniOdometry#Y} and {@link OmniOdometry#HEADING}.
+     * @return      the array.
+     */
+    public double[] getPose(double[] pose) {
+        int version;
+        do {
+            version = this.version;
+            pose[X] = this.x;
+            pose[Y] = this.y;
+            pose[HEADING] = this.heading;
+        } while ((version & 1) != 0 || version != this.version);
+
+        return pose;
+    }
+
+    /**
+     * Gets the x position.
+     *
+     * @return  the x position.
+     */
+    public double getX() {
+        return this.x;
+    }
+
+    /**
+     * Gets the y position.
+     *
+     * @return  the y position.
+     */
+    public double getY() {
+        return this.y;
+    }
+
+    /**
+     * Gets the heading.
+     *
+     * @return  the heading in radians, counter clockwise positive.
+     */
+    public double getHeading() {
+        return this.heading;
+    }
+
+    /**
+     * Writes the pose so that readers never see half of an update.
+     *
+     * @param x         the x position.
+     * @param y         the y position.
+     * @param heading   the heading.
+     */
+    private void write(double x, double y, double heading) {
+        this.version++;
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+        this.version++;
+    }
+
+    /**
+     * Takes the current encoder positions as the starting point for the next update.
+     */
+    private void resetEncoders() {
+        this.lastFrontLeft = this.frontLeft.getCurrentPosition();
+        this.lastFrontRight = this.frontRight.getCurrentPosition();
+        this.lastBackLeft = this.backLeft.getCurrentPosition();
+        this.lastBackRight = this.backRight.getCurrentPosition();
+    }
+}
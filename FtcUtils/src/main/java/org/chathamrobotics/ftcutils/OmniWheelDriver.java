@@ -50,11 +50,32 @@ public class OmniWheelDriver implements Driver {
      */
     public static final String TAG = "OmniWheelDriver";
 
+    /**
+     * The indexes of the motors in the power cache.
+     */
+    private static final int FRONT_LEFT = OmniKinematics.FRONT_LEFT, FRONT_RIGHT = OmniKinematics.FRONT_RIGHT,
+            BACK_LEFT = OmniKinematics.BACK_LEFT, BACK_RIGHT = OmniKinematics.BACK_RIGHT;
+
     /**
      * The logger used to debug values.
      */
     private RobotLogger logger;
 
+    /**
+     * Used to skip sending powers that have not changed.
+     */
+    private MotorPowerCache powerCache;
+
+    /**
+     * Calculates the motor powers.
+     */
+    private final OmniKinematics kinematics = new OmniKinematics();
+
+    /**
+     * The motor powers calculated each move.
+     */
+    private final double[] powers = new double[4];
+
     /**
      * The motors used for driving.
      */
@@ -132,6 +153,7 @@ public class OmniWheelDriver implements Driver {
         this.backLeft = backLeft;
         this.backRight = backRight;
         this.logger = logger;
+        this.powerCache = new MotorPowerCache(frontLeft, frontRight, backLeft, backRight);
     }
 
     /**
@@ -140,6 +162,58 @@ public class OmniWheelDriver implements Driver {
      */
     public void setOffsetAngle(double angle) {
         this.offsetAngle = angle;
+        this.kinematics.setOffsetAngle(angle);
+    }
+
+    /**
+     * Gets the offset angle.
+     * @return  The offset angle in radians.
+     */
+    public double getOffsetAngle() {
+        return this.offsetAngle;
+    }
+
+    /**
+     * Makes driving field centric by setting the offset angle from the robot's heading, so that
+     * directions are relative to the field instead of the robot. This should be called every loop.
+     * @see OmniOdometry
+     * @param heading   The robot's heading in radians, counter clockwise positive.
+     */
+    public void setFieldHeading(double heading) {
+        setOffsetAngle(-heading);
+    }
+
+    /**
+     * Sets how the sine and cosine of the direction are found in {@link OmniWheelDriver#move(double, double, double)}.
+     * {@link OmniKinematics.TrigMode#LOOKUP} is faster, but off by up to {@link OmniKinematics#MAX_LOOKUP_ERROR}.
+     * @param trigMode  The trig mode to use.
+     */
+    public void setTrigMode(OmniKinematics.TrigMode trigMode) {
+        this.kinematics.setTrigMode(trigMode);
+    }
+
+    /**
+     * Sets the smallest change in motor power that will be sent to the motors. Changes to exactly zero are always sent.
+     * @see MotorPowerCache#setDeadband(double)
+     * @param deadband  The deadband to use.
+     */
+    public void setPowerDeadband(double deadband) {
+        this.powerCache.setDeadband(deadband);
+    }
+
+    /**
+     * Gets the cache used to skip sending motor powers that have not changed. Useful for checking how many writes were skipped.
+     * @return  The power cache.
+     */
+    public MotorPowerCache getPowerCache() {
+        return this.powerCache;
+    }
+
+    /**
+     * Sends the last powers to the motors again, even if they have not changed.
+     */
+    public void flush() {
+        this.powerCache.flush();
     }
 
     /**
@@ -167,14 +241,17 @@ public class OmniWheelDriver implements Driver {
      * - The left joystick controls the movement. The robot will travel in the direction of the joystick.
      * - The right joystick x direction controls the rotation of the robot.
      * - The d-pad is used to change which side of the robot is referenced as the front. eg. Pressing the down direction on the d-pad makes the back of the robot the front.
+     *   The d-pad is ignored while back is held, since back + d-pad changes the log levels (see {@link LogLevelControl}).
      * @param gp    The game pad object.
      */
     public void driveWithControls(Gamepad gp) {
         // Any fancy driving controls should go here
-        if(gp.dpad_up){setOffsetAngle(FRONT_OFFSET);}
-        if(gp.dpad_left){setOffsetAngle(LEFT_OFFSET);}
-        if(gp.dpad_down){setOffsetAngle(BACK_OFFSET);}
-        if(gp.dpad_right){setOffsetAngle(RIGHT_OFFSET);}
+        if(! gp.back) {
+            if(gp.dpad_up){setOffsetAngle(FRONT_OFFSET);}
+            if(gp.dpad_left){setOffsetAngle(LEFT_OFFSET);}
+            if(gp.dpad_down){setOffsetAngle(BACK_OFFSET);}
+            if(gp.dpad_right){setOffsetAngle(RIGHT_OFFSET);}
+        }
 
         drive(-gp.left_stick_y, gp.left_stick_x, gp.right_stick_x);
     }
@@ -204,9 +281,12 @@ public class OmniWheelDriver implements Driver {
         if (! this.silent) {
             this.logger.debug("x direction", x, true);
             this.logger.debug("y direction", y, true);
+            debugMove(Math.atan2(y, x), rotation, magnitude);
         }
 
-        move(Math.atan2(y, x), rotation, magnitude);
+        // uses x and y directly so that the direction never has to be found
+        this.kinematics.solveVector(y, x, rotation, magnitude, this.powers);
+        setPowers();
     }
 
     /**
@@ -217,20 +297,36 @@ public class OmniWheelDriver implements Driver {
      */
     public void move(double direction, double rotation, double magnitude) {
         if (! this.silent) {
-            this.logger.debug("rotation", rotation, true);
-            this.logger.debug("direction", direction, true);
-            this.logger.debug("direction(transformed)", direction + OMNIWHEEL_PLANE_TRANSFORM_ANGLE, true);
-            this.logger.debug("direction(transformed) with offset", direction + OMNIWHEEL_PLANE_TRANSFORM_ANGLE + this.offsetAngle, true);
-            this.logger.debug("magnitude", magnitude, true);
-            this.logger.debug("offset angle", this.offsetAngle, true);
+            debugMove(direction, rotation, magnitude);
         }
 
-        direction += OMNIWHEEL_PLANE_TRANSFORM_ANGLE + this.offsetAngle;
+        this.kinematics.solve(direction, rotation, magnitude, this.powers);
+        setPowers();
+    }
 
-        this.frontLeft.setPower(calculateMotorPower(true, true, direction, rotation, magnitude));
-        this.frontRight.setPower(calculateMotorPower(true, false, direction, rotation, magnitude));
-        this.backLeft.setPower(calculateMotorPower(false, true, direction, rotation, magnitude));
-        this.backRight.setPower(calculateMotorPower(false, false, direction, rotation, magnitude));
+    /**
+     * Debugs the values used to move.
+     * @param direction     The direction(angle) for the robot to go measured radians.
+     * @param rotation      The rotation to perform. Positive for right and negative for left.
+     * @param magnitude     The magnitude of the motor power.
+     */
+    private void debugMove(double direction, double rotation, double magnitude) {
+        this.logger.debug("rotation", rotation, true);
+        this.logger.debug("direction", direction, true);
+        this.logger.debug("direction(transformed)", direction + OMNIWHEEL_PLANE_TRANSFORM_ANGLE, true);
+        this.logger.debug("direction(transformed) with offset", direction + OMNIWHEEL_PLANE_TRANSFORM_ANGLE + this.offsetAngle, true);
+        this.logger.debug("magnitude", magnitude, true);
+        this.logger.debug("offset angle", this.offsetAngle, true);
+    }
+
+    /**
+     * Sends the calculated powers to the motors.
+     */
+    private void setPowers() {
+        this.powerCache.setPower(FRONT_LEFT, this.powers[FRONT_LEFT]);
+        this.powerCache.setPower(FRONT_RIGHT, this.powers[FRONT_RIGHT]);
+        this.powerCache.setPower(BACK_LEFT, this.powers[BACK_LEFT]);
+        this.powerCache.setPower(BACK_RIGHT, this.powers[BACK_RIGHT]);
     }
 
     /**
@@ -241,32 +337,23 @@ public class OmniWheelDriver implements Driver {
             this.logger.info("Stopping");
         }
 
-        this.frontLeft.setPower(0);
-        this.frontRight.setPower(0);
-        this.backLeft.setPower(0);
-        this.backRight.setPower(0);
+        this.powerCache.setPower(FRONT_LEFT, 0);
+        this.powerCache.setPower(FRONT_RIGHT, 0);
+        this.powerCache.setPower(BACK_LEFT, 0);
+        this.powerCache.setPower(BACK_RIGHT, 0);
     }
 
     /**
-     * Calculates the power to set each of the motors based on the direction and their position.
-     * @param isFront       Whether or not the motor is in the front.
-     * @param isLeft        Whether or not the motor is on the left side.
-     * @param direction     The direction(angle) for the robot to go measured radians.
-     * @param rotation      The rotation to perform. Positive for right and negative for left.
-     * @param magnitude     The magnitude of the motor power.
-     * @return              The power to set.
+     * Stops the motors controlled by the driver, sending the zero power even to motors that are already stopped.
      */
-    private double calculateMotorPower(boolean isFront, boolean isLeft, double direction, double rotation, double magnitude) {
-        double power = (isFront == isLeft ? Math.sin(direction) : Math.cos(direction)) * magnitude;
-
-        if(isFront){
-            power -= rotation;
-        }
-        else {
-            power += rotation;
-            power *= -1;
+    public void forceStop() {
+        if (! this.silent) {
+            this.logger.info("Stopping");
         }
 
-        return Range.clip(power, -1, 1);
+        this.powerCache.forcePower(FRONT_LEFT, 0);
+        this.powerCache.forcePower(FRONT_RIGHT, 0);
+        this.powerCache.forcePower(BACK_LEFT, 0);
+        this.powerCache.forcePower(BACK_RIGHT, 0);
     }
 }
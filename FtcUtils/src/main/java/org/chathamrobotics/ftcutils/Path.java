@@ -0,0 +1,253 @@
+package org.chathamrobotics.ftcutils;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * A smooth path on the field through a series of waypoints. The path is a Catmull-Rom spline, which
+ * passes through every waypoint and has no corners, so a robot following it never has to stop
+ * between waypoints.
+ *
+ * <p>The spline is sampled once when the path is created into points spaced evenly along its arc
+ * length. The point at a distance along the path is then found by dividing by the spacing, and
+ * points a fixed distance apart are a fixed number of indexes apart.</p>
+ *
+ * <p>The coordinates use the same axes and units as {@link OmniOdometry}.</p>
+ */
+public final class Path {
+    /**
+     * The default distance between samples.
+     */
+    public static final double DEFAULT_SPACING = 0.25;
+
+    /**
+     * The number of pieces each spline segment is split into when measuring its length.
+     */
+    private static final int SUBDIVISIONS = 64;
+
+    /**
+     * The distance between samples.
+     */
+    private final double spacing;
+
+    /**
+     * The length of the path.
+     */
+    private final double length;
+
+    /**
+     * The samples.
+     */
+    private final double[] xs;
+    private final double[] ys;
+
+    /**
+     * Creates a path from its samples.
+     *
+     * @param spacing   the distance between samples.
+     * @param length    the length of the path.
+     * @param xs        the x position of each sample.
+     * @param ys        the y position of each sample.
+     */
+    private Path(double spacing, double length, double[] xs, double[] ys) {
+        this.spacing = spacing;
+        this.length = length;
+        this.xs = xs;
+        this.ys = ys;
+    }
+
+    /**
+     * Creates a path through waypoints.
+     *
+     * @param waypoints the waypoints as x and y pairs, eg. {@code 0, 0, 24, 24, 48, 24}.
+     * @return          the path.
+     */
+    public static Path through(double... waypoints) {
+        return through(waypoints, DEFAULT_SPACING);
+    }
+
+    /**
+     * Creates a path through waypoints.
+     *
+     * @param waypoints the waypoints as x and y pairs, eg. {@code 0, 0, 24, 24, 48, 24}.
+     * @param spacing   the distance between samples. The actual spacing is adjusted so that the path ends on a sample.
+     * @return          the path.
+     */
+    public static Path through(double[] waypoints, double spacing) {
+        if (! (spacing > 0)) throw new IllegalArgumentException("spacing must be positive");
+        if (waypoints.length < 4 || waypoints.length % 2 != 0) {
+            throw new IllegalArgumentException("waypoints must be at least two x and y pairs");
+        }
+
+        int segments = waypoints.length / 2 - 1;
+
+        // sample the spline finely and measure the length up to each sample
+        int fineCount = segments * SUBDIVISIONS + 1;
+        double[] fineXs = new double[fineCount];
+        double[] fineYs = new double[fineCount];
+        double[] fineLengths = new double[fineCount];
+        double[] point = new double[2];
+
+        for (int i = 0; i < fineCount; i++) {
+            int segment = Math.min(i / SUBDIVISIONS, segments - 1);
+            double t = (i - segment * SUBDIVISIONS) / (double) SUBDIVISIONS;
+
+            spline(waypoints, segment, t, point);
+            fineXs[i] = point[0];
+            fineYs[i] = point[1];
+
+            if (i > 0) {
+                fineLengths[i] = fineLengths[i - 1] + Math.hypot(fineXs[i] - fineXs[i - 1], fineYs[i] - fineYs[i - 1]);
+            }
+        }
+
+        double length = fineLengths[fineCount - 1];
+        if (! (length > 0)) throw new IllegalArgumentException("path must have a length");
+
+        // resample at even distances
+        int count = (int) Math.ceil(length / spacing) + 1;
+        double evenSpacing = length / (count - 1);
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+
+        int fine = 0;
+        for (int i = 0; i < count; i++) {
+            double distance = Math.min(i * evenSpacing, length);
+            while (fine < fineCount - 2 && fineLengths[fine + 1] < distance) fine++;
+
+            double pieceLength = fineLengths[fine + 1] - fineLengths[fine];
+            double fraction = pieceLength > 0 ? (distance - fineLengths[fine]) / pieceLength : 0;
+
+            xs[i] = fineXs[fine] + (fineXs[fine + 1] - fineXs[fine]) * fraction;
+            ys[i] = fineYs[fine] + (fineYs[fine + 1] - fineYs[fine]) * fraction;
+        }
+
+        return new Path(evenSpacing, length, xs, ys);
+    }
+
+    /**
+     * Finds a point on one segment of a Catmull-Rom spline. The ends are extended by mirroring the
+     * neighbouring waypoint so the path starts and ends heading at its neighbour.
+     *
+     * @param waypoints the waypoints as x and y pairs.
+     * @param segment   the index of the segment's first waypoint.
+     * @param t         how far along the segment, from 0 to 1.
+     * @param point     the array to put the x and y in.
+     */
+    private static void spline(double[] waypoints, int segment, double t, double[] point) {
+        int last = waypoints.length / 2 - 1;
+
+        for (int axis = 0; axis < 2; axis++) {
+            double p1 = waypoints[segment * 2 + axis];
+            double p2 = waypoints[(segment + 1) * 2 + axis];
+            double p0 = segment > 0 ? waypoints[(segment - 1) * 2 + axis] : 2 * p1 - p2;
+            double p3 = segment + 1 < last ? waypoints[(segment + 2) * 2 + axis] : 2 * p2 - p1;
+
+            point[axis] = 0.5 * (2 * p1
+                    + (p2 - p0) * t
+                    + (2 * p0 - 5 * p1 + 4 * p2 - p3) * t * t
+                    + (3 * p1 - p0 - 3 * p2 + p3) * t * t * t);
+        }
+    }
+
+    /**
+     * Gets the length of the path.
+     *
+     * @return  the length.
+     */
+    public double getLength() {
+        return this.length;
+    }
+
+    /**
+     * Gets the distance between samples.
+     *
+     * @return  the spacing.
+     */
+    public double getSpacing() {
+        return this.spacing;
+    }
+
+    /**
+     * Gets the number of samples.
+     *
+     * @return  the number of samples.
+     */
+    public int getPointCount() {
+        return this.xs.length;
+    }
+
+    /**
+     * Gets the x position of a sample.
+     *
+     * @param index the index of the sample.
+     * @return      the x position.
+     */
+    public double getX(int index) {
+        return this.xs[index];
+    }
+
+    /**
+     * Gets the y position of a sample.
+     *
+     * @param index the index of the sample.
+     * @return      the y position.
+     */
+    public double getY(int index) {
+        return this.ys[index];
+    }
+
+    /**
+     * Gets the index of the sample at a distance along the path.
+     *
+     * @param distance  the distance from the start of the path.
+     * @return          the index of the nearest sample, clamped to the path.
+     */
+    public int indexAt(double distance) {
+        int index = (int) Math.round(distance / this.spacing);
+        return Math.max(0, Math.min(this.xs.length - 1, index));
+    }
+
+    /**
+     * Gets the direction of the path at a sample.
+     *
+     * @param index the index of the sample.
+     * @return      the direction in radians, counter clockwise from the x axis.
+     */
+    public double getDirection(int index) {
+        int from = Math.min(index, this.xs.length - 2);
+        return Math.atan2(this.ys[from + 1] - this.ys[from], this.xs[from + 1] - this.xs[from]);
+    }
+
+    /**
+     * Finds the sample closest to a point, searching forward from a sample.
+     *
+     * @param x     the x position of the point.
+     * @param y     the y position of the point.
+     * @param from  the index to start searching from.
+     * @param count the most samples to search past the start.
+     * @return      the index of the closest sample found.
+     */
+    public int findClosest(double x, double y, int from, int count) {
+        int end = Math.min(this.xs.length - 1, from + count);
+        int closest = from;
+        double closestDistance = Double.POSITIVE_INFINITY;
+
+        for (int i = from; i <= end; i++) {
+            double dx = this.xs[i] - x, dy = this.ys[i] - y;
+            double distance = dx * dx + dy * dy;
+
+            if (distance < closestDistance) {
+                closest = i;
+                closestDistance = distance;
+            }
+        }
+
+        return closest;
+    }
+}
@@ -0,0 +1,336 @@
+package org.chathamrobotics.ftcutils;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Drives an {@link OmniWheelDriver} along a {@link Path} using pure pursuit. Every update the robot
+ * drives toward the point a fixed distance (the lookahead) further along the path than the point
+ * closest to it. Since that point slides smoothly along the path, the robot goes from one waypoint
+ * to the next without stopping, and slows down only when it nears the end.
+ *
+ * <p>Omniwheels can move in any direction while facing any way, so the heading is held separately
+ * by a {@link PidController}. The closest point is searched for only a short way ahead of where it
+ * was last time, so each update takes the same time however long the path is. The driver is used
+ * field centric, so its offset angle is set from the robot's heading on every update. The offset
+ * angle it had before is put back once the path is done or {@link PathFollower#stop()} is called.</p>
+ *
+ * <p>Here is an example of how one might use {@link PathFollower}:</p>
+ *
+ * <pre>
+ *     PathFollower follower = new PathFollower(Path.through(0, 0, 24, 24, 24, 60, 0, 72), odometry, 8);
+ *     follower.setMaxPower(0.8);
+ *
+ *     followPath(follower, driver);
+ * </pre>
+ */
+public class PathFollower {
+    /**
+     * The default distance over which the robot slows down before the end.
+     */
+    public static final double DEFAULT_SLOWDOWN_DISTANCE = 12;
+
+    /**
+     * The default distance from the end at which the path is done.
+     */
+    public static final double DEFAULT_TOLERANCE = 0.5;
+
+    /**
+     * The path to follow.
+     */
+    private final Path path;
+
+    /**
+     * Tracks the robot's pose.
+     */
+    private final OmniOdometry odometry;
+
+    /**
+     * The number of samples between the closest point and the point driven toward.
+     */
+    private final int lookaheadPoints;
+
+    /**
+     * Holds the heading.
+     */
+    private final PidController headingController = new PidController(1, 0, 0);
+
+    /**
+     * The robot's pose, reused every update.
+     */
+    private final double[] pose = new double[3];
+
+    /**
+     * The most and least power to drive with.
+     */
+    private double maxPower = 1, minPower = 0.1;
+
+    /**
+     * The distance over which the robot slows down before the end.
+     */
+    private double slowdownDistance = DEFAULT_SLOWDOWN_DISTANCE;
+
+    /**
+     * The distance from the end at which the path is done.
+     */
+    private double tolerance = DEFAULT_TOLERANCE;
+
+    /**
+     * The heading to hold in radians, or NaN to hold the heading the robot started with.
+     */
+    private double targetHeading = Double.NaN;
+
+    /**
+     * Whether to turn the front of the robot along the path instead of holding a heading.
+     */
+    private boolean faceAlongPath;
+
+    /**
+     * The heading held during the current run.
+     */
+    private double heldHeading;
+
+    /**
+     * The index of the sample closest to the robot.
+     */
+    private int cursor;
+
+    /**
+     * The time of the last update from {@link System#nanoTime()}, or -1 before the first one.
+     */
+    private long lastTime = -1;
+
+    /**
+     * Whether the end of the path has been reached.
+     */
+    private boolean finished;
+
+    /**
+     * The driver being driven, or null if not following the path.
+     */
+    private OmniWheelDriver driver;
+
+    /**
+     * The driver's offset angle from before it was driven.
+     */
+    private double savedOffsetAngle;
+
+    /**
+     * Creates a new instance of PathFollower.
+     *
+     * @param path      the path to follow.
+     * @param odometry  tracks the robot's pose. It is updated by the follower.
+     * @param lookahead the distance ahead along the path to drive toward. Longer is smoother but cuts corners more.
+     */
+    public PathFollower(Path path, OmniOdometry odometry, double lookahead) {
+        if (! (lookahead > 0)) throw new IllegalArgumentException("lookahead must be positive");
+
+        this.path = path;
+        this.odometry = odometry;
+        this.lookaheadPoints = Math.max(1, (int) Math.round(lookahead / path.getSpacing()));
+
+        this.headingController.setContinuousInput(2 * Math.PI);
+    }
+
+    /**
+     * Sets the most power to drive with. The default is 1.
+     *
+     * @param maxPower  the max power.
+     */
+    public void setMaxPower(double maxPower) {
+        this.maxPower = maxPower;
+    }
+
+    /**
+     * Sets the least power to drive with, so that the robot does not stall just before the end. The default is 0.1.
+     *
+     * @param minPower  the min power.
+     */
+    public void setMinPower(double minPower) {
+        this.minPower = minPower;
+    }
+
+    /**
+     * Sets the distance over which the robot slows down before the end.
+     *
+     * @param slowdownDistance  the distance.
+     */
+    public void setSlowdownDistance(double slowdownDistance) {
+        this.slowdownDistance = slowdownDistance;
+    }
+
+    /**
+     * Sets the distance from the end at which the path is done.
+     *
+     * @param tolerance the tolerance.
+     */
+    public void setTolerance(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Sets the heading to hold while following the path.
+     *
+     * @param heading   the heading in radians, or NaN to hold the heading the robot started with.
+     */
+    public void setTargetHeading(double heading) {
+        this.targetHeading = heading;
+        this.faceAlongPath = false;
+    }
+
+    /**
+     * Sets whether to turn the front of the robot along the path instead of holding a heading.
+     *
+     * @param faceAlongPath whether to face along the path.
+     */
+    public void setFaceAlongPath(boolean faceAlongPath) {
+        this.faceAlongPath = faceAlongPath;
+    }
+
+    /**
+     * Sets the gains of the controller that holds the heading. The error is in radians and the
+     * output is the rotation. The default is a proportional gain of 1.
+     *
+     * @param kP    the proportional gain.
+     * @param kI    the integral gain.
+     * @param kD    the derivative gain.
+     */
+    public void setHeadingGains(double kP, double kI, double kD) {
+        this.headingController.setGains(kP, kI, kD);
+    }
+
+    /**
+     * Starts following the path from the point closest to the robot.
+     */
+    public void start() {
+        restoreOffsetAngle();
+
+        this.odometry.update();
+        this.odometry.getPose(this.pose);
+
+        this.cursor = this.path.findClosest(this.pose[OmniOdometry.X], this.pose[OmniOdometry.Y], 0, this.path.getPointCount());
+        this.heldHeading = Double.isNaN(this.targetHeading) ? this.pose[OmniOdometry.HEADING] : this.targetHeading;
+        this.headingController.reset();
+        this.lastTime = -1;
+        this.finished = false;
+    }
+
+    /**
+     * Updates the odometry and drives toward the path. Stops the robot once the end is reached.
+     *
+     * @param driver    the driver to drive.
+     * @return          whether the path is still being followed.
+     */
+    public boolean update(OmniWheelDriver driver) {
+        return update(driver, System.nanoTime());
+    }
+
+    /**
+     * Updates the odometry and drives toward the path. Stops the robot once the end is reached.
+     *
+     * @param driver    the driver to drive.
+     * @param nanoTime  the current time in nanoseconds.
+     * @return          whether the path is still being followed.
+     */
+    public boolean update(OmniWheelDriver driver, long nanoTime) {
+        if (this.finished) return false;
+
+        if (this.driver == null) {
+            this.driver = driver;
+            this.savedOffsetAngle = driver.getOffsetAngle();
+        }
+
+        this.odometry.update();
+        this.odometry.getPose(this.pose);
+        double x = this.pose[OmniOdometry.X];
+        double y = this.pose[OmniOdometry.Y];
+        double heading = this.pose[OmniOdometry.HEADING];
+
+        // the robot cannot have gone further than the lookahead since the last update
+        this.cursor = this.path.findClosest(x, y, this.cursor, this.lookaheadPoints);
+
+        int last = this.path.getPointCount() - 1;
+        double remaining = Math.max((last - this.cursor) * this.path.getSpacing(),
+                Math.hypot(this.path.getX(last) - x, this.path.getY(last) - y));
+
+        if (remaining <= this.tolerance) {
+            this.finished = true;
+            driver.stop();
+            restoreOffsetAngle();
+            return false;
+        }
+
+        int target = Math.min(last, this.cursor + this.lookaheadPoints);
+        double direction = Math.atan2(this.path.getY(target) - y, this.path.getX(target) - x);
+
+        double power = this.maxPower * Math.min(1, remaining / this.slowdownDistance);
+        power = Math.max(Math.min(this.minPower, this.maxPower), power);
+
+        // the front of the robot points a quarter turn counter clockwise from its heading
+        double heldHeading = this.faceAlongPath ? this.path.getDirection(this.cursor) - Math.PI / 2 : this.heldHeading;
+        long dt = this.lastTime < 0 ? 0 : nanoTime - this.lastTime;
+        this.lastTime = nanoTime;
+
+        // a counter clockwise correction is a left (negative) rotation
+        double rotation = -this.headingController.update(heldHeading, heading, dt);
+
+        driver.setFieldHeading(heading);
+        driver.move(direction, rotation, power);
+        return true;
+    }
+
+    /**
+     * Stops following the path before its end, stopping the driver and putting back its offset
+     * angle. Does nothing if the path is not being followed.
+     */
+    public void stop() {
+        this.finished = true;
+
+        if (this.driver != null) {
+            this.driver.stop();
+            restoreOffsetAngle();
+        }
+    }
+
+    /**
+     * Puts back the offset angle the driver had before it was driven.
+     */
+    private void restoreOffsetAngle() {
+        if (this.driver == null) return;
+
+        this.driver.setOffsetAngle(this.savedOffsetAngle);
+        this.driver = null;
+    }
+
+    /**
+     * Gets the path being followed.
+     *
+     * @return  the path.
+     */
+    public Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * Gets the distance along the path of the point closest to the robot.
+     *
+     * @return  the distance from the start of the path.
+     */
+    public double getDistanceAlongPath() {
+        return this.cursor * this.path.getSpacing();
+    }
+
+    /**
+     * Checks whether the end of the path has been reached.
+     *
+     * @return  whether the path is done.
+     */
+    public boolean isFinished() {
+        return this.finished;
+    }
+}
@@ -0,0 +1,147 @@
+package org.chathamrobotics.ftcutils;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * A PID controller with feedforward, anti windup and a filtered derivative. Updating it does not
+ * create any objects, so it is safe to call every loop. See {@link PidControllerBatch} for how the
+ * output is computed and for updating many controllers at once.
+ *
+ * <p>Here is an example of how one might use {@link PidController} to hold a flywheel at the speed
+ * needed for a shot:</p>
+ *
+ * <pre>
+ *     PidController flywheel = new PidController(0.002, 0.0005, 0);
+ *     flywheel.setFeedforward(0.05, 1 / MAX_TICKS_PER_SECOND, 0);
+ *     flywheel.setOutputLimits(0, 1);
+ *
+ *     // in the loop
+ *     long now = System.nanoTime();
+ *     double power = flywheel.update(targetTicksPerSecond, measuredTicksPerSecond, now - lastTime);
+ *     lastTime = now;
+ * </pre>
+ */
+public class PidController {
+    /**
+     * The batch holding the controller.
+     */
+    private final PidControllerBatch batch = new PidControllerBatch();
+
+    /**
+     * The index of the controller in the batch.
+     */
+    private final int index;
+
+    /**
+     * Creates a new instance of PidController.
+     *
+     * @param kP    the proportional gain.
+     * @param kI    the integral gain.
+     * @param kD    the derivative gain.
+     */
+    public PidController(double kP, double kI, double kD) {
+        this.index = this.batch.add(kP, kI, kD);
+    }
+
+    /**
+     * Sets the PID gains.
+     *
+     * @param kP    the proportional gain.
+     * @param kI    the integral gain.
+     * @param kD    the derivative gain.
+     */
+    public void setGains(double kP, double kI, double kD) {
+        this.batch.setGains(this.index, kP, kI, kD);
+    }
+
+    /**
+     * Sets the feedforward gains.
+     *
+     * @param kS    the output needed to get moving, applied in the direction of the setpoint.
+     * @param kV    the output per unit of setpoint.
+     * @param kA    the output per unit of setpoint change per second.
+     */
+    public void setFeedforward(double kS, double kV, double kA) {
+        this.batch.setFeedforward(this.index, kS, kV, kA);
+    }
+
+    /**
+     * Sets the output limits. The default is -1 to 1.
+     *
+     * @param min   the minimum output.
+     * @param max   the maximum output.
+     */
+    public void setOutputLimits(double min, double max) {
+        this.batch.setOutputLimits(this.index, min, max);
+    }
+
+    /**
+     * Sets the time constant of the low pass filter on the derivative.
+     *
+     * @param timeConstant  the time constant in seconds, or 0 to not filter.
+     */
+    public void setDerivativeFilter(double timeConstant) {
+        this.batch.setDerivativeFilter(this.index, timeConstant);
+    }
+
+    /**
+     * Makes the input wrap around, eg. for a heading that goes from -pi to pi.
+     *
+     * @param range the size of the input range, eg. 2 pi, or 0 to not wrap.
+     */
+    public void setContinuousInput(double range) {
+        this.batch.setContinuousInput(this.index, range);
+    }
+
+    /**
+     * Clears the integral and derivative, eg. when the controller is started again after not being used.
+     */
+    public void reset() {
+        this.batch.reset(this.index);
+    }
+
+    /**
+     * Updates the controller.
+     *
+     * @param setpoint      the value the measurement should be at.
+     * @param measurement   the measured value.
+     * @param dtNanos       the time since the last update in nanoseconds.
+     * @return              the output.
+     */
+    public double update(double setpoint, double measurement, long dtNanos) {
+        return this.batch.update(this.index, setpoint, measurement, dtNanos);
+    }
+
+    /**
+     * Gets the error at the last update.
+     *
+     * @return  the error.
+     */
+    public double getError() {
+        return this.batch.getError(this.index);
+    }
+
+    /**
+     * Gets the output at the last update.
+     *
+     * @return  the output.
+     */
+    public double getOutput() {
+        return this.batch.getOutput(this.index);
+    }
+
+    /**
+     * Gets the accumulated error.
+     *
+     * @return  the integral of the error.
+     */
+    public double getIntegral() {
+        return this.batch.getIntegral(this.index);
+    }
+}
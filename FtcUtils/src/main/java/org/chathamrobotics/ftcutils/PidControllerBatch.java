@@ -0,0 +1,312 @@
+package org.chathamrobotics.ftcutils;
+
+import java.util.Arrays;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * A set of PID controllers with feedforward, stored in primitive arrays so that any number of them
+ * can be updated without creating any objects. Each controller is added once and then referred to
+ * by its index. {@link PidController} is a single controller backed by a batch of one.
+ *
+ * <p>The output of a controller is</p>
+ *
+ * <pre>
+ *     kS * sign(setpoint) + kV * setpoint + kA * d(setpoint)/dt + kP * error + kI * integral(error) + kD * filtered(-d(measurement)/dt)
+ * </pre>
+ *
+ * <p>clamped to the controller's output limits. The feedforward terms are meant for velocity loops
+ * and should be left at 0 otherwise. The derivative is taken on the measurement so that setpoint
+ * changes do not kick the output, and can be smoothed with a low pass filter. The integral stops
+ * growing while the output is saturated in the direction of the error so that it does not wind up.</p>
+ */
+public class PidControllerBatch {
+    /**
+     * The default output limits.
+     */
+    public static final double DEFAULT_MIN_OUTPUT = -1;
+    public static final double DEFAULT_MAX_OUTPUT = 1;
+
+    /**
+     * The number of controllers.
+     */
+    private int count;
+
+    /**
+     * The gains of each controller.
+     */
+    private double[] kP = new double[0];
+    private double[] kI = new double[0];
+    private double[] kD = new double[0];
+    private double[] kS = new double[0];
+    private double[] kV = new double[0];
+    private double[] kA = new double[0];
+
+    /**
+     * The settings of each controller.
+     */
+    private double[] minOutputs = new double[0];
+    private double[] maxOutputs = new double[0];
+    private double[] filterTimeConstants = new double[0];
+    private double[] continuousRanges = new double[0];
+
+    /**
+     * The state of each controller.
+     */
+    private double[] integrals = new double[0];
+    private double[] derivatives = new double[0];
+    private double[] lastSetpoints = new double[0];
+    private double[] lastMeasurements = new double[0];
+    private double[] errors = new double[0];
+    private double[] outputs = new double[0];
+    private boolean[] started = new boolean[0];
+
+    /**
+     * Adds a controller. This should be done once, not every loop.
+     *
+     * @param kP    the proportional gain.
+     * @param kI    the integral gain.
+     * @param kD    the derivative gain.
+     * @return      the index of the controller.
+     */
+    public int add(double kP, double kI, double kD) {
+        int index = this.count++;
+
+        this.kP = Arrays.copyOf(this.kP, this.count);
+        this.kI = Arrays.copyOf(this.kI, this.count);
+        this.kD = Arrays.copyOf(this.kD, this.count);
+        this.kS = Arrays.copyOf(this.kS, this.count);
+        this.kV = Arrays.copyOf(this.kV, this.count);
+        this.kA = Arrays.copyOf(this.kA, this.count);
+        this.minOutputs = Arrays.copyOf(this.minOutputs, this.count);
+        this.maxOutputs = Arrays.copyOf(this.maxOutputs, this.count);
+        this.filterTimeConstants = Arrays.copyOf(this.filterTimeConstants, this.count);
+        this.continuousRanges = Arrays.copyOf(this.continuousRanges, this.count);
+        this.integrals = Arrays.copyOf(this.integrals, this.count);
+        this.derivatives = Arrays.copyOf(this.derivatives, this.count);
+        this.lastSetpoints = Arrays.copyOf(this.lastSetpoints, this.count);
+        this.lastMeasurements = Arrays.copyOf(this.lastMeasurements, this.count);
+        this.errors = Arrays.copyOf(this.errors, this.count);
+        this.outputs = Arrays.copyOf(this.outputs, this.count);
+        this.started = Arrays.copyOf(this.started, this.count);
+
+        setGains(index, kP, kI, kD);
+        setOutputLimits(index, DEFAULT_MIN_OUTPUT, DEFAULT_MAX_OUTPUT);
+
+        return index;
+    }
+
+    /**
+     * Sets the PID gains of a controller.
+     *
+     * @param index the index of the controller.
+     * @param kP    the proportional gain.
+     * @param kI    the integral gain.
+     * @param kD    the derivative gain.
+     */
+    public void setGains(int index, double kP, double kI, double kD) {
+        this.kP[index] = kP;
+        this.kI[index] = kI;
+        this.kD[index] = kD;
+    }
+
+    /**
+     * Sets the feedforward gains of a controller.
+     *
+     * @param index the index of the controller.
+     * @param kS    the output needed to get moving, applied in the direction of the setpoint.
+     * @param kV    the output per unit of setpoint.
+     * @param kA    the output per unit of setpoint change per second.
+     */
+    public void setFeedforward(int index, double kS, double kV, double kA) {
+        this.kS[index] = kS;
+        this.kV[index] = kV;
+        this.kA[index] = kA;
+    }
+
+    /**
+     * Sets the output limits of a controller.
+     *
+     * @param index the index of the controller.
+     * @param min   the minimum output.
+     * @param max   the maximum output.
+     */
+    public void setOutputLimits(int index, double min, double max) {
+        if (min > max) throw new IllegalArgumentException("min must not be greater than max");
+
+        this.minOutputs[index] = min;
+        this.maxOutputs[index] = max;
+    }
+
+    /**
+     * Sets the time constant of the low pass filter on a controller's derivative.
+     *
+     * @param index         the index of the controller.
+     * @param timeConstant  the time constant in seconds, or 0 to not filter.
+     */
+    public void setDerivativeFilter(int index, double timeConstant) {
+        this.filterTimeConstants[index] = timeConstant;
+    }
+
+    /**
+     * Makes a controller's input wrap around, eg. for a heading that goes from -pi to pi. The error
+     * is then always the short way around.
+     *
+     * @param index the index of the controller.
+     * @param range the size of the input range, eg. 2 pi, or 0 to not wrap.
+     */
+    public void setContinuousInput(int index, double range) {
+        this.continuousRanges[index] = range;
+    }
+
+    /**
+     * Clears the state of a controller, eg. when it is started again after not being used.
+     *
+     * @param index the index of the controller.
+     */
+    public void reset(int index) {
+        this.integrals[index] = 0;
+        this.derivatives[index] = 0;
+        this.errors[index] = 0;
+        this.outputs[index] = 0;
+        this.started[index] = false;
+    }
+
+    /**
+     * Clears the state of every controller.
+     */
+    public void resetAll() {
+        for (int i = 0; i < this.count; i++) reset(i);
+    }
+
+    /**
+     * Updates a controller.
+     *
+     * @param index         the index of the controller.
+     * @param setpoint      the value the measurement should be at.
+     * @param measurement   the measured value.
+     * @param dtNanos       the time since the last update in nanoseconds.
+     * @return              the output.
+     */
+    public double update(int index, double setpoint, double measurement, long dtNanos) {
+        double dt = dtNanos / 1e9;
+        double range = this.continuousRanges[index];
+        double error = wrap(setpoint - measurement, range);
+
+        // the first update has nothing to take the derivative from
+        if (! this.started[index] || dt <= 0) {
+            this.lastSetpoints[index] = setpoint;
+            this.lastMeasurements[index] = measurement;
+            this.started[index] = true;
+            dt = 0;
+        }
+
+        double derivative = this.derivatives[index];
+        double setpointRate = 0;
+        if (dt > 0) {
+            double rate = -wrap(measurement - this.lastMeasurements[index], range) / dt;
+            double timeConstant = this.filterTimeConstants[index];
+            derivative += (rate - derivative) * (timeConstant > 0 ? dt / (timeConstant + dt) : 1);
+            setpointRate = wrap(setpoint - this.lastSetpoints[index], range) / dt;
+        }
+
+        double feedforward = this.kS[index] * Math.signum(setpoint) + this.kV[index] * setpoint + this.kA[index] * setpointRate;
+        double integral = this.integrals[index] + error * dt;
+        double output = feedforward + this.kP[index] * error + this.kI[index] * integral + this.kD[index] * derivative;
+
+        // only let the integral grow when it is not pushing further into a saturated output
+        double min = this.minOutputs[index], max = this.maxOutputs[index];
+        double push = this.kI[index] * error;
+        if (output > max) {
+            if (push <= 0) this.integrals[index] = integral;
+            output = max;
+        } else if (output < min) {
+            if (push >= 0) this.integrals[index] = integral;
+            output = min;
+        } else {
+            this.integrals[index] = integral;
+        }
+
+        this.derivatives[index] = derivative;
+        this.lastSetpoints[index] = setpoint;
+        this.lastMeasurements[index] = measurement;
+        this.errors[index] = error;
+        this.outputs[index] = output;
+
+        return output;
+    }
+
+    /**
+     * Updates every controller.
+     *
+     * @param setpoints     the setpoint of each controller.
+     * @param measurements  the measurement of each controller.
+     * @param dtNanos       the time since the last update in nanoseconds.
+     * @param outputs       the array to put the output of each controller in.
+     */
+    public void updateAll(double[] setpoints, double[] measurements, long dtNanos, double[] outputs) {
+        for (int i = 0; i < this.count; i++) outputs[i] = update(i, setpoints[i], measurements[i], dtNanos);
+    }
+
+    /**
+     * Gets the number of controllers.
+     *
+     * @return  the number of controllers.
+     */
+    public int getCount() {
+        return this.count;
+    }
+
+    /**
+     * Gets the error of a controller at its last update.
+     *
+     * @param index the index of the controller.
+     * @return      the error.
+     */
+    public double getError(int index) {
+        return this.errors[index];
+    }
+
+    /**
+     * Gets the output of a controller at its last update.
+     *
+     * @param index the index of the controller.
+     * @return      the output.
+     */
+    public double getOutput(int index) {
+        return this.outputs[index];
+    }
+
+    /**
+     * Gets the accumulated error of a controller.
+     *
+     * @param index the index of the controller.
+     * @return      the integral of the error.
+     */
+    public double getIntegral(int index) {
+        return this.integrals[index];
+    }
+
+    /**
+     * Wraps a difference into the half range on either side of 0.
+     *
+     * @param difference    the difference.
+     * @param range         the size of the input range, or 0 to not wrap.
+     * @return              the wrapped difference.
+     */
+    private static double wrap(double difference, double range) {
+        if (range <= 0) return difference;
+
+        double wrapped = difference % range;
+        if (wrapped > range / 2) wrapped -= range;
+        else if (wrapped < -range / 2) wrapped += range;
+
+        return wrapped;
+    }
+}
@@ -0,0 +1,161 @@
+package org.chathamrobotics.ftcutils;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Drives an {@link OmniWheelDriver} along a translation profile and a rotation profile at the same
+ * time. The motor powers come from the profiled velocities (and optionally accelerations) divided
+ * by what the robot does at full power, so no sensors are needed.
+ *
+ * <p>Here is an example of how one might use {@link ProfiledMove}:</p>
+ *
+ * <pre>
+ *     // 48 inches forward while turning a quarter turn to the right
+ *     ProfiledMove move = new ProfiledMove(Math.PI / 2,
+ *             MotionProfile.sCurve(48, 40, 60, 300),
+ *             MotionProfile.trapezoid(Math.PI / 2, Math.PI, 2 * Math.PI),
+ *             50, 2 * Math.PI);
+ *
+ *     move.start();
+ *     while (move.update(driver)) {
+ *         status();
+ *     }
+ * </pre>
+ */
+public class ProfiledMove {
+    /**
+     * The direction to move in radians.
+     */
+    private final double direction;
+
+    /**
+     * The profiles to follow. The rotation is positive for right and negative for left.
+     */
+    private final MotionProfile translation, rotation;
+
+    /**
+     * The speed and turning speed of the robot at full power.
+     */
+    private final double maxSpeed, maxTurnRate;
+
+    /**
+     * The fraction of power added per unit of acceleration.
+     */
+    private double accelerationGain;
+
+    /**
+     * The time the move was started from {@link System#nanoTime()}.
+     */
+    private long startTime;
+
+    /**
+     * Creates a new instance of ProfiledMove.
+     *
+     * @param direction     the direction to move in radians.
+     * @param translation   the profile for the distance moved, or null to not move.
+     * @param rotation      the profile for the angle turned, or null to not turn.
+     * @param maxSpeed      the speed of the robot at full power.
+     * @param maxTurnRate   the turning speed of the robot at full rotation.
+     */
+    public ProfiledMove(double direction, MotionProfile translation, MotionProfile rotation,
+                        double maxSpeed, double maxTurnRate) {
+        this.direction = direction;
+        this.translation = translation;
+        this.rotation = rotation;
+        this.maxSpeed = maxSpeed;
+        this.maxTurnRate = maxTurnRate;
+    }
+
+    /**
+     * Sets the fraction of power added per unit of acceleration. This makes up for the time the
+     * motors take to change speed.
+     *
+     * @param accelerationGain  the gain, or 0 to only use the velocity.
+     */
+    public void setAccelerationGain(double accelerationGain) {
+        this.accelerationGain = accelerationGain;
+    }
+
+    /**
+     * Starts the move.
+     */
+    public void start() {
+        this.startTime = System.nanoTime();
+    }
+
+    /**
+     * Gets the time since the move was started.
+     *
+     * @return  the time in seconds.
+     */
+    public double getTime() {
+        return (System.nanoTime() - this.startTime) / 1e9;
+    }
+
+    /**
+     * Gets the length of the move.
+     *
+     * @return  the duration in seconds.
+     */
+    public double getDuration() {
+        return Math.max(this.translation == null ? 0 : this.translation.getDuration(),
+                this.rotation == null ? 0 : this.rotation.getDuration());
+    }
+
+    /**
+     * Drives the robot for the current time since the move was started. Stops the robot once the move is done.
+     *
+     * @param driver    the driver to drive.
+     * @return          whether the move is still going.
+     */
+    public boolean update(OmniWheelDriver driver) {
+        return update(driver, getTime());
+    }
+
+    /**
+     * Drives the robot for a time since the move was started. Stops the robot once the move is done.
+     *
+     * @param driver    the driver to drive.
+     * @param time      the time since the move was started in seconds.
+     * @return          whether the move is still going.
+     */
+    public boolean update(OmniWheelDriver driver, double time) {
+        if (time >= getDuration()) {
+            driver.stop();
+            return false;
+        }
+
+        double magnitude = power(this.translation, time, this.maxSpeed);
+        double rotation = power(this.rotation, time, this.maxTurnRate);
+
+        // a negative distance moves backwards along the direction
+        double direction = this.direction;
+        if (magnitude < 0) {
+            magnitude = -magnitude;
+            direction += Math.PI;
+        }
+
+        driver.move(direction, Math.max(-1, Math.min(1, rotation)), Math.min(1, magnitude));
+        return true;
+    }
+
+    /**
+     * Gets the power for a profile at a time.
+     *
+     * @param profile   the profile, or null for none.
+     * @param time      the time since the move was started in seconds.
+     * @param maxRate   the rate at full power.
+     * @return          the power.
+     */
+    private double power(MotionProfile profile, double time, double maxRate) {
+        if (profile == null) return 0;
+
+        return profile.getVelocity(time) / maxRate + this.accelerationGain * profile.getAcceleration(time);
+    }
+}
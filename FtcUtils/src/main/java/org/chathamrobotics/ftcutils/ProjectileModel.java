@@ -0,0 +1,201 @@
+package org.chathamrobotics.ftcutils;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * A projectile that is slowed by air drag and lifted by its spin. Unlike {@link Ballistics}, which
+ * is exact in a vacuum, the trajectory has no closed form and is found by integrating it with the
+ * fourth order Runge-Kutta method, which takes tens of microseconds per shot. Use a
+ * {@link FiringSolutionCache} to query it every loop.
+ *
+ * <p>Drag slows the projectile by {@code dragConstant * speed^2} against its velocity. Backspin
+ * lifts it by {@code liftConstant * speed^2} at right angles to its velocity, and topspin (a
+ * negative lift constant) pushes it down. Units are meters and seconds.</p>
+ */
+public final class ProjectileModel {
+    /**
+     * The density of air at sea level in kilograms per cubic meter.
+     */
+    public static final double AIR_DENSITY = 1.225;
+
+    /**
+     * The default time step of the integration in seconds.
+     */
+    public static final double DEFAULT_STEP = 0.002;
+
+    /**
+     * The longest flight integrated in seconds.
+     */
+    private static final double MAX_FLIGHT_TIME = 10;
+
+    /**
+     * The most iterations used to find a velocity.
+     */
+    private static final int MAX_ITERATIONS = 60;
+
+    /**
+     * The velocity a solution is found to.
+     */
+    private static final double VELOCITY_TOLERANCE = 1e-6;
+
+    /**
+     * The deceleration per speed squared from drag.
+     */
+    private final double dragConstant;
+
+    /**
+     * The acceleration per speed squared from spin.
+     */
+    private final double liftConstant;
+
+    /**
+     * The time step of the integration in seconds.
+     */
+    private final double step;
+
+    /**
+     * Creates a new instance of ProjectileModel.
+     *
+     * @param dragConstant  the deceleration per speed squared from drag, in 1 / meters.
+     * @param liftConstant  the acceleration per speed squared from spin, in 1 / meters. Positive for backspin.
+     * @param step          the time step of the integration in seconds.
+     */
+    public ProjectileModel(double dragConstant, double liftConstant, double step) {
+        if (! (step > 0)) throw new IllegalArgumentException("step must be positive");
+
+        this.dragConstant = dragConstant;
+        this.liftConstant = liftConstant;
+        this.step = step;
+    }
+
+    /**
+     * Creates a model of a ball.
+     *
+     * @param mass              the mass of the ball in kilograms.
+     * @param diameter          the diameter of the ball in meters.
+     * @param dragCoefficient   the drag coefficient, about 0.47 for a smooth ball.
+     * @param liftCoefficient   the lift coefficient from spin, or 0 for no spin.
+     * @return                  the model.
+     */
+    public static ProjectileModel ball(double mass, double diameter, double dragCoefficient, double liftCoefficient) {
+        double perCoefficient = AIR_DENSITY * Math.PI * diameter * diameter / 4 / (2 * mass);
+        return new ProjectileModel(dragCoefficient * perCoefficient, liftCoefficient * perCoefficient, DEFAULT_STEP);
+    }
+
+    /**
+     * Finds the height of the projectile when it has gone a horizontal distance.
+     *
+     * @param velocity  the velocity the projectile is fired at.
+     * @param fireAngle the angle the projectile is fired at in radians.
+     * @param distance  the horizontal distance.
+     * @return          the height, or negative infinity if the projectile falls before getting there.
+     */
+    public double heightAt(double velocity, double fireAngle, double distance) {
+        double dt = this.step;
+        double x = 0, y = 0;
+        double vx = velocity * Math.cos(fireAngle), vy = velocity * Math.sin(fireAngle);
+
+        for (double time = 0; time < MAX_FLIGHT_TIME; time += dt) {
+            // the acceleration only depends on the velocity, so the position follows from the velocity stages
+            double ax1 = accelerationX(vx, vy), ay1 = accelerationY(vx, vy);
+            double vx2 = vx + ax1 * dt / 2, vy2 = vy + ay1 * dt / 2;
+            double ax2 = accelerationX(vx2, vy2), ay2 = accelerationY(vx2, vy2);
+            double vx3 = vx + ax2 * dt / 2, vy3 = vy + ay2 * dt / 2;
+            double ax3 = accelerationX(vx3, vy3), ay3 = accelerationY(vx3, vy3);
+            double vx4 = vx + ax3 * dt, vy4 = vy + ay3 * dt;
+            double ax4 = accelerationX(vx4, vy4), ay4 = accelerationY(vx4, vy4);
+
+            double nextX = x + (vx + 2 * vx2 + 2 * vx3 + vx4) * dt / 6;
+            double nextY = y + (vy + 2 * vy2 + 2 * vy3 + vy4) * dt / 6;
+
+            if (nextX >= distance) {
+                return y + (nextY - y) * (distance - x) / (nextX - x);
+            }
+
+            x = nextX;
+            y = nextY;
+            vx += (ax1 + 2 * ax2 + 2 * ax3 + ax4) * dt / 6;
+            vy += (ay1 + 2 * ay2 + 2 * ay3 + ay4) * dt / 6;
+
+            if (! (vx > 0)) break;
+        }
+
+        return Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Finds the velocity to fire at to hit a target. A faster shot is higher at the target, so the
+     * velocity is found by narrowing down a range with the false position method, which usually
+     * needs under ten integrations.
+     *
+     * @param distance      the horizontal displacement to the target.
+     * @param height        the vertical displacement to the target.
+     * @param fireAngle     the angle the projectile is fired at in radians.
+     * @param maxVelocity   the fastest the projectile can be fired.
+     * @return              the velocity, or NaN if the target cannot be hit.
+     */
+    public double solveVelocity(double distance, double height, double fireAngle, double maxVelocity) {
+        if (! (distance > 0)) return Double.NaN;
+
+        double high = maxVelocity, highMiss = heightAt(high, fireAngle, distance) - height;
+        if (! (highMiss >= 0)) return Double.NaN;
+
+        double low = 0, lowMiss = Double.NEGATIVE_INFINITY;
+        int side = 0;
+
+        for (int i = 0; i < MAX_ITERATIONS && high - low > VELOCITY_TOLERANCE; i++) {
+            // bisect until the low end reaches the target distance, then interpolate
+            double velocity = Double.isInfinite(lowMiss)
+                    ? (low + high) / 2
+                    : high - highMiss * (high - low) / (highMiss - lowMiss);
+            double miss = heightAt(velocity, fireAngle, distance) - height;
+
+            if (miss >= 0) {
+                high = velocity;
+                highMiss = miss;
+                // halve the other end if this end moved twice in a row (Illinois) so the range keeps shrinking
+                if (side == 1) lowMiss /= 2;
+                side = 1;
+            } else {
+                low = velocity;
+                lowMiss = miss;
+                if (side == -1) highMiss /= 2;
+                side = -1;
+            }
+
+            if (miss == 0) break;
+        }
+
+        return high;
+    }
+
+    /**
+     * Gets the horizontal acceleration.
+     *
+     * @param vx    the horizontal velocity.
+     * @param vy    the vertical velocity.
+     * @return      the horizontal acceleration.
+     */
+    private double accelerationX(double vx, double vy) {
+        double speed = Math.sqrt(vx * vx + vy * vy);
+        return -speed * (this.dragConstant * vx + this.liftConstant * vy);
+    }
+
+    /**
+     * Gets the vertical acceleration.
+     *
+     * @param vx    the horizontal velocity.
+     * @param vy    the vertical velocity.
+     * @return      the vertical acceleration.
+     */
+    private double accelerationY(double vx, double vy) {
+        double speed = Math.sqrt(vx * vx + vy * vy);
+        return speed * (this.liftConstant * vx - this.dragConstant * vy) - Ballistics.GRAVITY_ACCELERATION;
+    }
+}
@@ -2,12 +2,18 @@ package org.chathamrobotics.ftcutils;
 
 import com.qualcomm.robotcore.eventloop.opmode.OpMode;
 import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.Gamepad;
 import com.qualcomm.robotcore.hardware.HardwareMap;
-import com.qualcomm.robotcore.hardware.OpticalDistanceSensor;
-import com.qualcomm.robotcore.hardware.Servo;
 
 import org.firstinspires.ftc.robotcore.external.Telemetry;
 
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /*!
@@ -37,6 +43,12 @@ public abstract class Robot {
      */
     protected Telemetry telemetry;
 
+    /**
+     * The throttled telemetry that {@link Robot#telemetry} sends through. Null until
+     * {@link Robot#setTelemetryInterval(long)} is called.
+     */
+    protected ThrottledTelemetry throttledTelemetry;
+
     /**
      * The robot's driving system.
      */
@@ -47,6 +59,36 @@ public abstract class Robot {
      */
     public RobotLogger logger;
 
+    /**
+     * Schedules the hardware reads and writes. Readers and writers should be added in {@link Robot#initHardware()}.
+     */
+    protected final HardwareScheduler scheduler = new HardwareScheduler();
+
+    /**
+     * The snapshot of the hardware values used for debugging and recording.
+     */
+    protected HardwareSnapshot snapshot;
+
+    /**
+     * The recorder for hardware values. Null if not recording.
+     */
+    protected FlightRecorder recorder;
+
+    /**
+     * The gamepads being recorded.
+     */
+    private Gamepad[] recordedGamepads;
+
+    /**
+     * The dashboard server. Null if not started.
+     */
+    protected DashboardServer dashboard;
+
+    /**
+     * The log writer that was used before the dashboard was started.
+     */
+    private LogWriter previousLogWriter;
+
 //    private long timerEndTime;
 //    private boolean isTiming;
 
@@ -68,9 +110,12 @@ public abstract class Robot {
         this.telemetry = telemetry;
 
         // use the class name for the tag so that if this is extended it matches that name
-        this.logger = new RobotLogger(this.getClass().getSimpleName(), telemetry);
+        this.logger = new RobotLogger(this.getClass().getSimpleName(), this.telemetry);
 
         this.initHardware();
+
+        // look up the devices once instead of every time debug is called
+        this.snapshot = new HardwareSnapshot(hardwareMap);
     }
 
     /**
@@ -89,12 +134,149 @@ public abstract class Robot {
     public void stop() {
         this.logger.info("Stopping Robot...");
 
+        // stop the driver first so that it knows its motors are stopped
+        if (this.driver != null) this.driver.stop();
+
+        stopMotors();
+
+        this.scheduler.stop();
+        stopRecording();
+        stopDashboard();
+
+        // make sure the stop sequence makes it to the log cat
+        RobotLogger.flush();
+    }
+
+    /**
+     * Sets the power of every motor to zero. Unlike {@link Robot#stop()} this only touches the
+     * motors, so it is safe to call from another thread while the opmode is running.
+     */
+    public void stopMotors() {
         // Stops all the motors. All robots should have this in common
         for (Map.Entry<String, DcMotor> entry : this.hardwareMap.dcMotor.entrySet()) {
             entry.getValue().setPower(0);
         }
     }
 
+    /**
+     * Does all of the scheduled hardware reads and writes. This should be called once every loop before using any readings.
+     * @see HardwareScheduler
+     */
+    public void updateHardware() {
+        this.scheduler.cycle();
+    }
+
+    /**
+     * Starts recording the hardware values every time {@link Robot#debug(boolean, boolean)} is called.
+     * Records the power of all the motors, the position of all the servos, the light detected by all
+     * of the optical distance sensors and the given gamepads.
+     * @see FlightRecorder
+     *
+     * @param directory     the directory to write the recording to.
+     * @param gamepads      the gamepads to record.
+     * @throws IOException  Thrown if the recording could not be started.
+     */
+    public void startRecording(File directory, Gamepad... gamepads) throws IOException {
+        stopRecording();
+
+        List<String> channels = new ArrayList<>();
+
+        for (int i = 0; i < this.snapshot.getMotorCount(); i++) channels.add(this.snapshot.getMotorCaption(i));
+        for (int i = 0; i < this.snapshot.getServoCount(); i++) channels.add(this.snapshot.getServoCaption(i));
+        for (int i = 0; i < this.snapshot.getSensorCount(); i++) channels.add(this.snapshot.getSensorCaption(i));
+
+        for (int i = 0; i < gamepads.length; i++) {
+            for (String channel : FlightRecorder.gamepadChannels("Gamepad" + (i + 1))) {
+                channels.add(channel);
+            }
+        }
+
+        this.recordedGamepads = gamepads.clone();
+
+        // name the recording by the start time so that recordings from earlier matches are kept
+        String name = this.getClass().getSimpleName() + "-"
+                + new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.US).format(new Date());
+        this.recorder = new FlightRecorder(directory, name, channels.toArray(new String[channels.size()]));
+
+        this.logger.info("Recording to " + directory);
+    }
+
+    /**
+     * Stops recording the hardware values.
+     */
+    public void stopRecording() {
+        if (this.recorder == null) return;
+
+        this.recorder.close();
+        if (this.recorder.getError() != null) {
+            this.logger.error("Recording failed", this.recorder.getError());
+        }
+
+        this.recorder = null;
+    }
+
+    /**
+     * Starts streaming the logger's channel and log lines to a browser. The hardware values are
+     * sent every time {@link Robot#debug(boolean, boolean)} is called.
+     * @see DashboardServer
+     *
+     * @param port          the port to listen on.
+     * @return              the server.
+     * @throws IOException  Thrown if the server could not be started.
+     */
+    public DashboardServer startDashboard(int port) throws IOException {
+        stopDashboard();
+
+        DashboardServer dashboard = new DashboardServer(port);
+        dashboard.attach(this.logger.getChannel());
+        dashboard.start();
+
+        this.previousLogWriter = RobotLogger.getLogWriter();
+        RobotLogger.setLogWriter(dashboard.logWriter(this.previousLogWriter));
+        this.dashboard = dashboard;
+
+        this.logger.info("Dashboard on port " + dashboard.getLocalPort());
+        return dashboard;
+    }
+
+    /**
+     * Stops the dashboard server.
+     */
+    public void stopDashboard() {
+        if (this.dashboard == null) return;
+
+        RobotLogger.setLogWriter(this.previousLogWriter);
+        this.dashboard.detachAll();
+
+        try {
+            this.dashboard.stop();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        this.dashboard = null;
+    }
+
+    /**
+     * Records the sampled hardware values if recording.
+     */
+    protected void record() {
+        FlightRecorder recorder = this.recorder;
+        if (recorder == null) return;
+
+        HardwareSnapshot snapshot = this.snapshot;
+        int channel = 0;
+        for (int i = 0; i < snapshot.getMotorCount(); i++) recorder.set(channel++, snapshot.getMotorPower(i));
+        for (int i = 0; i < snapshot.getServoCount(); i++) recorder.set(channel++, snapshot.getServoPosition(i));
+        for (int i = 0; i < snapshot.getSensorCount(); i++) recorder.set(channel++, snapshot.getSensorLight(i));
+        for (Gamepad gamepad : this.recordedGamepads) {
+            recorder.setGamepad(channel, gamepad);
+            channel += FlightRecorder.GAMEPAD_CHANNEL_COUNT;
+        }
+
+        recorder.record();
+    }
+
     /**
      * This method is used to update the telemetry and robot log.
      *
@@ -102,27 +284,54 @@ public abstract class Robot {
      * @param looping   Whether or not this statement is contained in a loop.
      */
     public void debug(boolean update, boolean looping) {
-        // Debug motor values
-        for (Map.Entry<String, DcMotor> entry : this.hardwareMap.dcMotor.entrySet()) {
-            this.logger.debug("Motor " + entry.getKey() + " Power",
-                    entry.getValue().getController().getMotorPower(entry.getValue().getPortNumber()), looping);
-        }
+        // Debug motor, servo and optical distance sensor values
+        this.snapshot.sample();
+        this.snapshot.debug(this.logger, looping);
 
-        // Debug servo values
-        for (Map.Entry<String, Servo> entry: this.hardwareMap.servo.entrySet()) {
-            this.logger.debug("Servo" + entry.getKey() + " Position",
-                    entry.getValue().getController().getServoPosition(entry.getValue().getPortNumber()), looping);
-        }
+        record();
 
-        // Debug optical distance sensors
-        for (Map.Entry<String, OpticalDistanceSensor> entry: this.hardwareMap.opticalDistanceSensor.entrySet()) {
-            this.logger.debug("ODS " + entry.getKey() + " Light", entry.getValue().getLightDetected(), looping);
+        // update telemetry values if needed. Send right away if this is not in a loop since there may not be another update
+        if(update) {
+            if (! looping && this.throttledTelemetry != null) this.throttledTelemetry.flush();
+            else this.telemetry.update();
         }
+    }
 
-        // update telemetry values if needed
-        if(update) {
-            this.telemetry.update();
+    /**
+     * Sets the minimum time between telemetry updates. The first call wraps {@link Robot#telemetry}
+     * in a {@link ThrottledTelemetry}, so only changed values are sent and updates where nothing
+     * changed are skipped. Devices and drivers built before this keep sending to the opmode's telemetry.
+     * @see ThrottledTelemetry
+     *
+     * @param milliseconds  the interval in milliseconds, or 0 to only skip updates where nothing changed.
+     */
+    public void setTelemetryInterval(long milliseconds) {
+        if (this.throttledTelemetry == null) {
+            this.throttledTelemetry = new ThrottledTelemetry(this.telemetry);
+            this.telemetry = this.throttledTelemetry;
+            this.logger.setTelemetry(this.telemetry);
         }
+
+        this.throttledTelemetry.setInterval(milliseconds);
+    }
+
+    /**
+     * Gets the throttled telemetry.
+     *
+     * @return  the throttled telemetry, or null if {@link Robot#setTelemetryInterval(long)} has not been called.
+     */
+    public ThrottledTelemetry getThrottledTelemetry() {
+        return this.throttledTelemetry;
+    }
+
+    /**
+     * Sets the maximum rate hardware values are read at when debugging. Reading every device takes
+     * time so this can be lowered to keep debugging from slowing down the loop.
+     *
+     * @param hertz the sample rate, or 0 to read on every call to debug.
+     */
+    public void setDebugSampleRate(double hertz) {
+        this.snapshot.setSampleRate(hertz);
     }
 
     /**
@@ -0,0 +1,27 @@
+package org.chathamrobotics.ftcutils;
+
+import com.qualcomm.robotcore.eventloop.opmode.OpMode;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Creates a robot for an opmode. Passing one to {@link AutonomousOpMode} creates the robot directly
+ * instead of looking up its constructor by reflection.
+ *
+ * @param <ROBOT_TYPE>  The type of robot created.
+ */
+public interface RobotFactory<ROBOT_TYPE extends Robot> {
+    /**
+     * Creates the robot.
+     *
+     * @param opMode    the opmode the robot is for.
+     * @return          the robot.
+     */
+    ROBOT_TYPE create(OpMode opMode);
+}
@@ -2,8 +2,12 @@ package org.chathamrobotics.ftcutils;
 
 import android.util.Log;
 
+import org.firstinspires.ftc.robotcore.external.Func;
 import org.firstinspires.ftc.robotcore.external.Telemetry;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
 /*!
  * ftc-utils
  * Copyright (c) 2017 Chatham Robotics
@@ -16,6 +20,21 @@ import org.firstinspires.ftc.robotcore.external.Telemetry;
  * Handles logging for the robot
  */
 public class RobotLogger {
+    /**
+     * The maximum time to wait for the async sink when flushing.
+     */
+    public static final long FLUSH_TIMEOUT = 100;
+
+    /**
+     * The sink used to write to the log cat in the background. If null lines are written directly.
+     */
+    private static volatile AsyncLogSink asyncSink;
+
+    /**
+     * The writer used to write to the log cat.
+     */
+    private static volatile LogWriter logWriter = LogWriter.ANDROID;
+
     /**
      * The tag the logger is using.
      */
@@ -27,9 +46,24 @@ public class RobotLogger {
     private Telemetry telemetry;
 
     /**
-     * The current log level of the telemetry.
+     * The channel for numeric values.
      */
-    private Level teleLevel = Level.DEBUG;
+    private final TelemetryChannel channel = new TelemetryChannel(this);
+
+    /**
+     * The tag the level index and captions were made for.
+     */
+    private String registeredTag;
+
+    /**
+     * The index of the tag in {@link LogLevels}.
+     */
+    private int levelIndex;
+
+    /**
+     * The telemetry captions for each level.
+     */
+    private String[] captions;
 
     /**
      * Creates a new instance of RobotLogger
@@ -40,6 +74,8 @@ public class RobotLogger {
     public RobotLogger(String tag, Telemetry telemetry) {
         this.tag = tag;
         this.telemetry = telemetry;
+
+        register();
     }
 
     /**
@@ -61,18 +97,83 @@ public class RobotLogger {
     }
 
     /**
-     * Sets the telemetry's log level.
+     * Builds a line to log. Used to defer building expensive lines until they are known to be logged.
+     * Keep the supplier in a field when using it in a loop so that it is not created every time.
+     */
+    public interface LineSupplier {
+        /**
+         * Builds the line to log.
+         *
+         * @return  the line to log.
+         */
+        String get();
+    }
+
+    /**
+     * Sets the sink used by all loggers to write to androids logging facilities in the background.
+     *
+     * @param sink  the sink to use, or null to write directly.
+     */
+    public static void setAsyncSink(AsyncLogSink sink) {asyncSink = sink;}
+
+    /**
+     * Gets the sink used by all loggers to write to androids logging facilities.
+     *
+     * @return  the sink, or null if lines are written directly.
+     */
+    public static AsyncLogSink getAsyncSink() {return asyncSink;}
+
+    /**
+     * Sets the writer used by all loggers in place of androids logging facilities. Useful when
+     * running off of the robot, where {@link android.util.Log} is not available.
+     *
+     * @param writer    the writer to use.
+     */
+    public static void setLogWriter(LogWriter writer) {logWriter = writer;}
+
+    /**
+     * Gets the writer used by all loggers in place of androids logging facilities.
+     *
+     * @return  the writer.
+     */
+    public static LogWriter getLogWriter() {return logWriter;}
+
+    /**
+     * Waits for any lines buffered in the async sink to be written.
+     */
+    public static void flush() {
+        AsyncLogSink sink = asyncSink;
+        if (sink != null) sink.flush(FLUSH_TIMEOUT);
+    }
+
+    /**
+     * Gets the channel for logging numeric values by key without building strings.
+     *
+     * @return  the channel.
+     */
+    public TelemetryChannel getChannel() {return this.channel;}
+
+    /**
+     * Sets the telemetry the lines are logged to.
+     *
+     * @param telemetry the telemetry.
+     */
+    public void setTelemetry(Telemetry telemetry) {this.telemetry = telemetry;}
+
+    /**
+     * Sets the telemetry's log level. This changes the level of every logger with the same tag.
+     * @see LogLevels
      *
      * @param level the level to set.
      */
-    public void setTelemetryLevel(Level level) {this.teleLevel = level;}
+    public void setTelemetryLevel(Level level) {LogLevels.setLevel(levelIndex(), level);}
 
     /**
      * Gets the telemetry's level.
      *
      * @return  the telemetry's level.
      */
-    public Level getTelemetryLevel() {return this.teleLevel;}
+    public Level getTelemetryLevel() {return LogLevels.getLevel(levelIndex());}
 
     /**
      * Logs at the fatal level. This should be information that shows an error that the robot
@@ -104,7 +205,7 @@ public class RobotLogger {
      * @param tr    the exception to log.
      */
     public void fatal(String line, Throwable tr) {
-        Log.wtf(this.tag, line, tr);
+        logAndroid(Level.FATAL, line, tr);
         logTele(Level.FATAL, tr.getLocalizedMessage());
     }
 
@@ -117,7 +218,7 @@ public class RobotLogger {
      * @param looping   whether this is contained in a loop. If it is, the line will not be logged to the log cat facilities.
      */
     public void fatal(String caption, Object value, boolean looping) {
-        fatal(format(caption, value), looping);
+        log(Level.FATAL, caption, value, looping);
     }
 
     /**
@@ -129,7 +230,74 @@ public class RobotLogger {
      * @param value     the value to log.
      */
     public void fatal(String caption, Object value) {
-        fatal(format(caption, value), false);
+        log(Level.FATAL, caption, value, false);
+    }
+
+    /**
+     * Formats the line as "{caption}: {value}" and logs at the fatal level. Nothing is formatted if the line would be filtered out.
+     * @see RobotLogger#fatal(String, boolean)
+     *
+     * @param caption   the caption for the value.
+     * @param value     the value to log.
+     * @param looping   whether this is contained in a loop. If it is, the line will not be logged to the log cat facilities.
+     */
+    public void fatal(String caption, double value, boolean looping) {
+        log(Level.FATAL, caption, value, looping);
+    }
+
+    /**
+     * Formats the line as "{caption}: {value}" and logs at the fatal level. Assumes not in loop.
+     * @see RobotLogger#fatal(String, double, boolean)
+     *
+     * @param caption   the caption for the value.
+     * @param value     the value to log.
+     */
+    public void fatal(String caption, double value) {
+        log(Level.FATAL, caption, value, false);
+    }
+
+    /**
+     * Formats the line as "{caption}: {value}" and logs at the fatal level. Nothing is formatted if the line would be filtered out.
+     * @see RobotLogger#fatal(String, boolean)
+     *
+     * @param caption   the caption for the value.
+     * @param value     the value to log.
+     * @param looping   whether this is contained in a loop. If it is, the line will not be logged to the log cat facilities.
+     */
+    public void fatal(String caption, long value, boolean looping) {
+        log(Level.FATAL, caption, value, looping);
+    }
+
+    /**
+     * Formats the line as "{caption}: {value}" and logs at the fatal level. Assumes not in loop.
+     * @see RobotLogger#fatal(String, long, boolean)
+     *
+     * @param caption   the caption for the value.
+     * @param value     the value to log.
+     */
+    public void fatal(String caption, long value) {
+        log(Level.FATAL, caption, value, false);
+    }
+
+    /**
+     * Logs the line built by the supplier at the fatal level. The supplier is only called if the line would not be filtered out.
+     * @see RobotLogger#fatal(String, boolean)
+     *
+     * @param supplier  the supplier for the line to log.
+     * @param looping   whether this is contained in a loop. If it is, the line will not be logged to the log cat facilities.
+     */
+    public void fatal(LineSupplier supplier, boolean looping) {
+        log(Level.FATAL, supplier, looping);
+    }
+
+    /**
+     * Logs the line built by the supplier at the fatal level. Assumes not in loop.
+     * @see RobotLogger#fatal(LineSupplier, boolean)
+     *
+     * @param supplier  the supplier for the line to log.
+     */
+    public void fatal(LineSupplier supplier) {
+        log(Level.FATAL, supplier, false);
     }
 
     /**
@@ -162,7 +330,7 @@ public class RobotLogger {
      * @param tr    the exception to log.
      */
     public void error(String line, Throwable tr) {
-        Log.e(this.tag, line, tr);
+        logAndroid(Level.ERROR, line, tr);
         logTele(Level.ERROR, tr.getLocalizedMessage());
     }
 
@@ -175,7 +343,7 @@ public class RobotLogger {
      * @param looping   whether this is contained in a loop. If it is, the line will not be logged to the log cat facilities.
      */
     public void error(String caption, Object value, boolean looping) {
-        error(format(caption, value), looping);
+        log(Level.ERROR, caption, value, looping);
     }
 
     /**
@@ -187,7 +355,74 @@ public class RobotLogger {
      * @param value     the value to log.
      */
     public void error(String caption, Object value) {
-        error(format(caption, value), false);
+        log(Level.ERROR, caption, value, false);
+    }
+
+    /**
+     * Formats the line as "{caption}: {value}" and logs at the error level. Nothing is formatted if the line would be filtered out.
+     * @see RobotLogger#error(String, boolean)
+     *
+     * @param caption   the caption for the value.
+     * @param value     the value to log.
+     * @param looping   whether this is contained in a loop. If it is, the line will not be logged to the log cat facilities.
+     */
+    public void error(String caption, double value, boolean looping) {
+        log(Level.ERROR, caption, value, looping);
+    }
+
+    /**
+     * Formats the line as "{caption}: {value}" and logs at the error level. Assumes not in loop.
+     * @see RobotLogger#error(String, double, boolean)
+     *
+     * @param caption   the caption for the value.
+     * @param value     the value to log.
+     */
+    public void error(String caption, double value) {
+        log(Level.ERROR, caption, value, false);
+    }
+
+    /**
+     * Formats the line as "{caption}: {value}" and logs at the error level. Nothing is formatted if the line would be filtered out.
+     * @see RobotLogger#error(String, boolean)
+     *
+     * @param caption   the caption for the value.
+     * @param value     the value to log.
+     * @param looping   whether this is contained in a loop. If it is, the line will not be logged to the log cat facilities.
+     */
+    public void error(String caption, long value, boolean looping) {
+        log(Level.ERROR, caption, value, looping);
+    }
+
+    /**
+     * Formats the line as "{caption}: {value}" and logs at the error level. Assumes not in loop.
+     * @see RobotLogger#error(String, long, boolean)
+     *
+     * @param caption   the caption for the value.
+     * @param value     the value to log.
+     */
+    public void error(String caption, long value) {
+        log(Level.ERROR, caption, value, false);
+    }
+
+    /**
+     * Logs the line built by the supplier at the error level. The supplier is only called if the line would not be filtered out.
+     * @see RobotLogger#error(String, boolean)
+     *
+     * @param supplier  the supplier for the line to log.
+     * @param looping   whether this is contained in a loop. If it is, the line will not be logged to the log cat facilities.
+     */
+    public void error(LineSupplier supplier, boolean looping) {
+        log(Level.ERROR, supplier, looping);
+    }
+
+    /**
+     * Logs the line built by the supplier at the error level. Assumes not in loop.
+     * @see RobotLogger#error(LineSupplier, boolean)
+     *
+     * @param supplier  the supplier for the line to log.
+     */
+    public void error(LineSupplier supplier) {
+        log(Level.ERROR, supplier, false);
     }
 
     /**
@@ -220,7 +455,7 @@ public class RobotLogger {
      * @param tr    the exception to log.
      */
     public void warn(String line, Throwable tr) {
-        Log.w(this.tag, line, tr);
+        logAndroid(Level.WARN, line, tr);
         logTele(Level.WARN, tr.getLocalizedMessage());
     }
 
@@ -233,7 +468,7 @@ public class RobotLogger {
      * @param looping   whether this is contained in a loop. If it is, the line will not be logged to the log cat facilities.
      */
     public void warn(String caption, Object value, boolean looping) {
-        warn(format(caption, value), looping);
+        log(Level.WARN, caption, value, looping);
     }
 
     /**
@@ -245,7 +480,74 @@ public class RobotLogger {
      * @param value     the value to log.
      */
     public void warn(String caption, Object value) {
-        warn(format(caption, value), false);
+        log(Level.WARN, caption, value, false);
+    }
+
+    /**
+     * Formats the line as "{caption}: {value}" and logs at the warning level. Nothing is formatted if the line would be filtered out.
+     * @see RobotLogger#warn(String, boolean)
+     *
+     * @param caption   the caption for the value.
+     * @param value     the value to log.
+     * @param looping   whether this is contained in a loop. If it is, the line will not be logged to the log cat facilities.
+     */
+    public void warn(String caption, double value, boolean looping) {
+        log(Level.WARN, caption, value, looping);
+    }
+
+    /**
+     * Formats the line as "{caption}: {value}" and logs at the warning level. Assumes not in loop.
+     * @see RobotLogger#warn(String, double, boolean)
+     *
+     * @param caption   the caption for the value.
+     * @param value     the value to log.
+     */
+    public void warn(String caption, double value) {
+        log(Level.WARN, caption, value, false);
+    }
+
+    /**
+     * Formats the line as "{caption}: {value}" and logs at the warning level. Nothing is formatted if the line would be filtered out.
+     * @see RobotLogger#warn(String, boolean)
+     *
+     * @param caption   the caption for the value.
+     * @param value     the value to log.
+     * @param looping   whether this is contained in a loop. If it is, the line will not be logged to the log cat facilities.
+     */
+    public void warn(String caption, long value, boolean looping) {
+        log(Level.WARN, caption, value, looping);
+    }
+
+    /**
+     * Formats the line as "{caption}: {value}" and logs at the warning level. Assumes not in loop.
+     * @see RobotLogger#warn(String, long, boolean)
+     *
+     * @param caption   the caption for the value.
+     * @param value     the value to log.
+     */
+    public void warn(String caption, long value) {
+        log(Level.WARN, caption, value, false);
+    }
+
+    /**
+     * Logs the line built by the supplier at the warning level. The supplier is only called if the line would not be filtered out.
+     * @see RobotLogger#warn(String, boolean)
+     *
+     * @param supplier  the supplier for the line to log.
+     * @param looping   whether this is contained in a loop. If it is, the line will not be logged to the log cat facilities.
+     */
+    public void warn(LineSupplier supplier, boolean looping) {
+        log(Level.WARN, supplier, looping);
+    }
+
+    /**
+     * Logs the line built by the supplier at the warning level. Assumes not in loop.
+     * @see RobotLogger#warn(LineSupplier, boolean)
+     *
+     * @param supplier  the supplier for the line to log.
+     */
+    public void warn(LineSupplier supplier) {
+        log(Level.WARN, supplier, false);
     }
 
     /**
@@ -278,7 +580,7 @@ public class RobotLogger {
      * @param looping   whether this is contained in a loop. If it is, the line will not be logged to the log cat facilities.
      */
     public void info(String caption, Object value, boolean looping) {
-        info(format(caption, value), looping);
+        log(Level.INFO, caption, value, looping);
     }
 
     /**
@@ -290,7 +592,74 @@ public class RobotLogger {
      * @param value     the value to log.
      */
     public void info(String caption, Object value) {
-        info(format(caption, value), false);
+        log(Level.INFO, caption, value, false);
+    }
+
+    /**
+     * Formats the line as "{caption}: {value}" and logs at the info level. Nothing is formatted if the line would be filtered out.
+     * @see RobotLogger#info(String, boolean)
+     *
+     * @param caption   the caption for the value.
+     * @param value     the value to log.
+     * @param looping   whether this is contained in a loop. If it is, the line will not be logged to the log cat facilities.
+     */
+    public void info(String caption, double value, boolean looping) {
+        log(Level.INFO, caption, value, looping);
+    }
+
+    /**
+     * Formats the line as "{caption}: {value}" and logs at the info level. Assumes not in loop.
+     * @see RobotLogger#info(String, double, boolean)
+     *
+     * @param caption   the caption for the value.
+     * @param value     the value to log.
+     */
+    public void info(String caption, double value) {
+        log(Level.INFO, caption, value, false);
+    }
+
+    /**
+     * Formats the line as "{caption}: {value}" and logs at the info level. Nothing is formatted if the line would be filtered out.
+     * @see RobotLogger#info(String, boolean)
+     *
+     * @param caption   the caption for the value.
+     * @param value     the value to log.
+     * @param looping   whether this is contained in a loop. If it is, the line will not be logged to the log cat facilities.
+     */
+    public void info(String caption, long value, boolean looping) {
+        log(Level.INFO, caption, value, looping);
+    }
+
+    /**
+     * Formats the line as "{caption}: {value}" and logs at the info level. Assumes not in loop.
+     * @see RobotLogger#info(String, long, boolean)
+     *
+     * @param caption   the caption for the value.
+     * @param value     the value to log.
+     */
+    public void info(String caption, long value) {
+        log(Level.INFO, caption, value, false);
+    }
+
+    /**
+     * Logs the line built by the supplier at the info level. The supplier is only called if the line would not be filtered out.
+     * @see RobotLogger#info(String, boolean)
+     *
+     * @param supplier  the supplier for the line to log.
+     * @param looping   whether this is contained in a loop. If it is, the line will not be logged to the log cat facilities.
+     */
+    public void info(LineSupplier supplier, boolean looping) {
+        log(Level.INFO, supplier, looping);
+    }
+
+    /**
+     * Logs the line built by the supplier at the info level. Assumes not in loop.
+     * @see RobotLogger#info(LineSupplier, boolean)
+     *
+     * @param supplier  the supplier for the line to log.
+     */
+    public void info(LineSupplier supplier) {
+        log(Level.INFO, supplier, false);
     }
 
     /**
@@ -324,7 +693,7 @@ public class RobotLogger {
      * @param looping   whether this is contained in a loop. If it is, the line will not be logged to the log cat facilities.
      */
     public void debug(String caption, Object value, boolean looping) {
-        debug(format(caption, value), looping);
+        log(Level.DEBUG, caption, value, looping);
     }
 
     /**
@@ -336,7 +705,74 @@ public class RobotLogger {
      * @param value     the value to log.
      */
     public void debug(String caption, Object value) {
-        debug(format(caption, value), false);
+        log(Level.DEBUG, caption, value, false);
+    }
+
+    /**
+     * Formats the line as "{caption}: {value}" and logs at the debug level. Nothing is formatted if the line would be filtered out.
+     * @see RobotLogger#debug(String, boolean)
+     *
+     * @param caption   the caption for the value.
+     * @param value     the value to log.
+     * @param looping   whether this is contained in a loop. If it is, the line will not be logged to the log cat facilities.
+     */
+    public void debug(String caption, double value, boolean looping) {
+        log(Level.DEBUG, caption, value, looping);
+    }
+
+    /**
+     * Formats the line as "{caption}: {value}" and logs at the debug level. Assumes not in loop.
+     * @see RobotLogger#debug(String, double, boolean)
+     *
+     * @param caption   the caption for the value.
+     * @param value     the value to log.
+     */
+    public void debug(String caption, double value) {
+        log(Level.DEBUG, caption, value, false);
+    }
+
+    /**
+     * Formats the line as "{caption}: {value}" and logs at the debug level. Nothing is formatted if the line would be filtered out.
+     * @see RobotLogger#debug(String, boolean)
+     *
+     * @param caption   the caption for the value.
+     * @param value     the value to log.
+     * @param looping   whether this is contained in a loop. If it is, the line will not be logged to the log cat facilities.
+     */
+    public void debug(String caption, long value, boolean looping) {
+        log(Level.DEBUG, caption, value, looping);
+    }
+
+    /**
+     * Formats the line as "{caption}: {value}" and logs at the debug level. Assumes not in loop.
+     * @see RobotLogger#debug(String, long, boolean)
+     *
+     * @param caption   the caption for the value.
+     * @param value     the value to log.
+     */
+    public void debug(String caption, long value) {
+        log(Level.DEBUG, caption, value, false);
+    }
+
+    /**
+     * Logs the line built by the supplier at the debug level. The supplier is only called if the line would not be filtered out.
+     * @see RobotLogger#debug(String, boolean)
+     *
+     * @param supplier  the supplier for the line to log.
+     * @param looping   whether this is contained in a loop. If it is, the line will not be logged to the log cat facilities.
+     */
+    public void debug(LineSupplier supplier, boolean looping) {
+        log(Level.DEBUG, supplier, looping);
+    }
+
+    /**
+     * Logs the line built by the supplier at the debug level. Assumes not in loop.
+     * @see RobotLogger#debug(LineSupplier, boolean)
+     *
+     * @param supplier  the supplier for the line to log.
+     */
+    public void debug(LineSupplier supplier) {
+        log(Level.DEBUG, supplier, false);
     }
 
     /**
@@ -370,7 +806,7 @@ public class RobotLogger {
      * @param looping   whether this is contained in a loop. If it is, the line will not be logged to the log cat facilities.
      */
     public void verbose(String caption, Object value, boolean looping) {
-        verbose(format(caption, value), looping);
+        log(Level.VERBOSE, caption, value, looping);
     }
 
     /**
@@ -382,7 +818,181 @@ public class RobotLogger {
      * @param value     the value to log.
      */
     public void verbose(String caption, Object value) {
-        verbose(format(caption, value), false);
+        log(Level.VERBOSE, caption, value, false);
+    }
+
+    /**
+     * Formats the line as "{caption}: {value}" and logs at the verbose level. Nothing is formatted if the line would be filtered out.
+     * @see RobotLogger#verbose(String, boolean)
+     *
+     * @param caption   the caption for the value.
+     * @param value     the value to log.
+     * @param looping   whether this is contained in a loop. If it is, the line will not be logged to the log cat facilities.
+     */
+    public void verbose(String caption, double value, boolean looping) {
+        log(Level.VERBOSE, caption, value, looping);
+    }
+
+    /**
+     * Formats the line as "{caption}: {value}" and logs at the verbose level. Assumes not in loop.
+     * @see RobotLogger#verbose(String, double, boolean)
+     *
+     * @param caption   the caption for the value.
+     * @param value     the value to log.
+     */
+    public void verbose(String caption, double value) {
+        log(Level.VERBOSE, caption, value, false);
+    }
+
+    /**
+     * Formats the line as "{caption}: {value}" and logs at the verbose level. Nothing is formatted if the line would be filtered out.
+     * @see RobotLogger#verbose(String, boolean)
+     *
+     * @param caption   the caption for the value.
+     * @param value     the value to log.
+     * @param looping   whether this is contained in a loop. If it is, the line will not be logged to the log cat facilities.
+     */
+    public void verbose(String caption, long value, boolean looping) {
+        log(Level.VERBOSE, caption, value, looping);
+    }
+
+    /**
+     * Formats the line as "{caption}: {value}" and logs at the verbose level. Assumes not in loop.
+     * @see RobotLogger#verbose(String, long, boolean)
+     *
+     * @param caption   the caption for the value.
+     * @param value     the value to log.
+     */
+    public void verbose(String caption, long value) {
+        log(Level.VERBOSE, caption, value, false);
+    }
+
+    /**
+     * Logs the line built by the supplier at the verbose level. The supplier is only called if the line would not be filtered out.
+     * @see RobotLogger#verbose(String, boolean)
+     *
+     * @param supplier  the supplier for the line to log.
+     * @param looping   whether this is contained in a loop. If it is, the line will not be logged to the log cat facilities.
+     */
+    public void verbose(LineSupplier supplier, boolean looping) {
+        log(Level.VERBOSE, supplier, looping);
+    }
+
+    /**
+     * Logs the line built by the supplier at the verbose level. Assumes not in loop.
+     * @see RobotLogger#verbose(LineSupplier, boolean)
+     *
+     * @param supplier  the supplier for the line to log.
+     */
+    public void verbose(LineSupplier supplier) {
+        log(Level.VERBOSE, supplier, false);
+    }
+
+    /**
+     * Checks whether a line at the given level would be logged anywhere.
+     *
+     * @param level     the level to check
+     * @param looping   whether logging in a loop
+     * @return          whether the line would be logged
+     */
+    public boolean isLoggable(Level level, boolean looping) {
+        return ! looping || isTeleLoggable(level);
+    }
+
+    /**
+     * logs a formatted value if it would not be filtered out
+     *
+     * @param level     the level to log at
+     * @param caption   the caption for the value
+     * @param value     the value
+     * @param looping   whether logging in a loop
+     */
+    private void log(Level level, String caption, Object value, boolean looping) {
+        if (! isLoggable(level, looping)) return;
+
+        String line = format(caption, value);
+        logAndroid(level, line, looping);
+        logTele(level, line);
+    }
+
+    /**
+     * logs a formatted value if it would not be filtered out
+     *
+     * @param level     the level to log at
+     * @param caption   the caption for the value
+     * @param value     the value
+     * @param looping   whether logging in a loop
+     */
+    void log(Level level, String caption, double value, boolean looping) {
+        if (! isLoggable(level, looping)) return;
+
+        String line = format(caption, value);
+        logAndroid(level, line, looping);
+        logTele(level, line);
+    }
+
+    /**
+     * logs a formatted value if it would not be filtered out
+     *
+     * @param level     the level to log at
+     * @param caption   the caption for the value
+     * @param value     the value
+     * @param looping   whether logging in a loop
+     */
+    private void log(Level level, String caption, long value, boolean looping) {
+        if (! isLoggable(level, looping)) return;
+
+        String line = format(caption, value);
+        logAndroid(level, line, looping);
+        logTele(level, line);
+    }
+
+    /**
+     * logs a supplied line if it would not be filtered out
+     *
+     * @param level     the level to log at
+     * @param supplier  the supplier for the line
+     * @param looping   whether logging in a loop
+     */
+    private void log(Level level, LineSupplier supplier, boolean looping) {
+        if (! isLoggable(level, looping)) return;
+
+        String line = supplier.get();
+        logAndroid(level, line, looping);
+        logTele(level, line);
+    }
+
+    /**
+     * checks whether a line at the given level would be logged to the telemetry
+     *
+     * @param level the level to check
+     * @return      whether the line would be logged
+     */
+    private boolean isTeleLoggable(Level level) {
+        return LogLevels.isLoggable(levelIndex(), level);
+    }
+
+    /**
+     * gets the index of the tag in {@link LogLevels}, registering it again if the tag was changed
+     *
+     * @return  the index of the tag
+     */
+    private int levelIndex() {
+        if (this.tag != this.registeredTag) register();
+        return this.levelIndex;
+    }
+
+    /**
+     * registers the tag in {@link LogLevels} and builds the telemetry captions for it
+     */
+    private void register() {
+        String tag = this.tag;
+        String[] captions = new String[Level.values().length];
+        for (Level level : Level.values()) captions[level.ordinal()] = "[" + tag + "/" + level.name() + "]";
+
+        this.levelIndex = LogLevels.register(tag);
+        this.captions = captions;
+        this.registeredTag = tag;
     }
 
     /**
@@ -392,8 +1002,21 @@ public class RobotLogger {
      * @param line  the line to log
      */
     private void logTele(Level level, String line) {
-        if (level.priority >= this.teleLevel.priority) {
-            telemetry.addData("[" + this.tag + "/" + level.name().toUpperCase() + "]", line);
+        if (isTeleLoggable(level)) {
+            telemetry.addData(this.captions[level.ordinal()], line);
+        }
+    }
+
+    /**
+     * logs a value producer to the telemetry. The line is only built when the telemetry is sent
+     *
+     * @param level     the level to log at
+     * @param producer  the producer for the line
+     */
+    void logTele(Level level, Func<String> producer) {
+        if (isTeleLoggable(level)) {
+            // producers are retained by default, which would keep them past the next clear
+            telemetry.addData(this.captions[level.ordinal()], producer).setRetained(false);
         }
     }
 
@@ -407,9 +1030,42 @@ public class RobotLogger {
     private void logAndroid(Level level, String line, boolean looping) {
         // the log files flood fast when looping
         if(! looping) {
+            AsyncLogSink sink = asyncSink;
+
             // logs at the desired level
-            Log.println(level.priority, this.tag, line);
+            if (sink != null) sink.offer(level.priority, this.tag, line);
+            else logWriter.println(level.priority, this.tag, line);
+        }
+    }
+
+    /**
+     * Logs an exception to androids logging facilities.
+     *
+     * @param level the level to log at
+     * @param line  the line to log
+     * @param tr    the exception to log
+     */
+    private void logAndroid(Level level, String line, Throwable tr) {
+        LogWriter writer = logWriter;
+
+        if (writer != LogWriter.ANDROID) {
+            writer.println(level.priority, this.tag, line + "\n" + stackTrace(tr));
         }
+        else if (level == Level.FATAL) Log.wtf(this.tag, line, tr);
+        else if (level == Level.ERROR) Log.e(this.tag, line, tr);
+        else Log.w(this.tag, line, tr);
+    }
+
+    /**
+     * gets the stack trace of an exception without using {@link Log}
+     *
+     * @param tr    the exception
+     * @return      the stack trace
+     */
+    private static String stackTrace(Throwable tr) {
+        StringWriter writer = new StringWriter();
+        tr.printStackTrace(new PrintWriter(writer));
+        return writer.toString();
     }
 
     /**
@@ -422,4 +1078,26 @@ public class RobotLogger {
     private String format(String caption, Object value) {
         return caption + ": " + value.toString();
     }
+
+    /**
+     * formats a line using a value and it's caption without boxing the value
+     *
+     * @param caption   the caption for the value
+     * @param value     the value
+     * @return          the formatted line
+     */
+    private String format(String caption, double value) {
+        return caption + ": " + value;
+    }
+
+    /**
+     * formats a line using a value and it's caption without boxing the value
+     *
+     * @param caption   the caption for the value
+     * @param value     the value
+     * @return          the formatted line
+     */
+    private String format(String caption, long value) {
+        return caption + ": " + value;
+    }
 }
@@ -0,0 +1,87 @@
+package org.chathamrobotics.ftcutils;
+
+import java.util.concurrent.TimeUnit;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * A flag shared between threads that says the opmode is stopping. Checking it is a single volatile
+ * read, and anything waiting with {@link StopToken#sleep(long)} wakes up as soon as it is stopped
+ * instead of finishing its wait.
+ */
+public final class StopToken {
+    /**
+     * Whether the token has been stopped.
+     */
+    private volatile boolean stopped;
+
+    /**
+     * Stops the token, waking up anything sleeping on it.
+     */
+    public void stop() {
+        if (this.stopped) return;
+
+        synchronized (this) {
+            this.stopped = true;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Clears the token so it can be used again.
+     */
+    public void reset() {
+        this.stopped = false;
+    }
+
+    /**
+     * Checks whether the token has been stopped.
+     *
+     * @return  whether the token has been stopped.
+     */
+    public boolean isStopped() {
+        return this.stopped;
+    }
+
+    /**
+     * Checks that the token has not been stopped.
+     *
+     * @throws StoppedException Thrown if the token has been stopped.
+     */
+    public void check() throws StoppedException {
+        if (this.stopped) throw StoppedException.STOPPED;
+    }
+
+    /**
+     * Sleeps, waking up early if the token is stopped or the thread is interrupted.
+     *
+     * @param milliseconds      the time to sleep.
+     * @throws StoppedException Thrown if the token is stopped or the thread is interrupted.
+     */
+    public void sleep(long milliseconds) throws StoppedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(milliseconds);
+
+        synchronized (this) {
+            while (! this.stopped) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) return;
+
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                } catch (InterruptedException e) {
+                    // the opmode's thread is interrupted when it is stopped
+                    Thread.currentThread().interrupt();
+                    throw StoppedException.STOPPED;
+                }
+            }
+        }
+
+        throw StoppedException.STOPPED;
+    }
+}
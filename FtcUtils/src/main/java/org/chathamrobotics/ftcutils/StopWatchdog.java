@@ -0,0 +1,159 @@
+package org.chathamrobotics.ftcutils;
+
+import android.util.Log;
+
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Watches for the opmode being stopped on its own thread, and stops the motors right away. Normally
+ * the robot is stopped when the opmode's code next checks its status, but code that is stuck in a
+ * long calculation or a wait that ignores the stop would leave the motors running until it returns.
+ * With the watchdog the motors are stopped within about one period of the stop button.
+ *
+ * <p>The watchdog only zeroes the motors with {@link Robot#stopMotors()}, since the rest of
+ * {@link Robot#stop()} is not safe to run while the opmode's thread may still be using the robot.
+ * The opmode's thread should still call {@link Robot#stop()} once it has unwound. The watchdog also
+ * stops its {@link StopToken} so that the opmode's code stops at its next check.</p>
+ */
+public class StopWatchdog implements Runnable {
+    /**
+     * The default time between checks in milliseconds.
+     */
+    public static final long DEFAULT_PERIOD = 20;
+
+    /**
+     * The tag used for logging and the thread's name.
+     */
+    public static final String TAG = "StopWatchdog";
+
+    /**
+     * The opmode to watch.
+     */
+    private final LinearOpMode opMode;
+
+    /**
+     * The robot whose motors are stopped.
+     */
+    private final Robot robot;
+
+    /**
+     * The token to stop.
+     */
+    private final StopToken token;
+
+    /**
+     * The time between checks in milliseconds.
+     */
+    private final long period;
+
+    /**
+     * The watching thread. Null if not started.
+     */
+    private Thread thread;
+
+    /**
+     * Whether the watchdog should keep watching.
+     */
+    private volatile boolean running;
+
+    /**
+     * Whether the watchdog stopped the motors.
+     */
+    private volatile boolean tripped;
+
+    /**
+     * Creates a new instance of StopWatchdog.
+     *
+     * @param opMode    the opmode to watch.
+     * @param robot     the robot whose motors are stopped.
+     * @param token     the token to stop.
+     * @param period    the time between checks in milliseconds.
+     */
+    public StopWatchdog(LinearOpMode opMode, Robot robot, StopToken token, long period) {
+        if (period < 1) throw new IllegalArgumentException("period must be positive");
+
+        this.opMode = opMode;
+        this.robot = robot;
+        this.token = token;
+        this.period = period;
+    }
+
+    /**
+     * Starts watching.
+     */
+    public synchronized void start() {
+        if (this.running) return;
+
+        this.running = true;
+        this.tripped = false;
+        this.thread = new Thread(this, TAG);
+        this.thread.setDaemon(true);
+        this.thread.setPriority(Thread.MAX_PRIORITY);
+        this.thread.start();
+    }
+
+    /**
+     * Stops watching. If the watchdog is stopping the motors, this waits for it to finish so the
+     * motors are not set from two threads at once.
+     */
+    public void close() {
+        Thread thread;
+        synchronized (this) {
+            this.running = false;
+            notifyAll();
+
+            thread = this.thread;
+            this.thread = null;
+        }
+
+        if (thread == null || thread == Thread.currentThread()) return;
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Checks whether the watchdog stopped the motors.
+     *
+     * @return  whether the watchdog tripped.
+     */
+    public boolean isTripped() {
+        return this.tripped;
+    }
+
+    @Override
+    public void run() {
+        while (this.running) {
+            if (this.opMode.isStopRequested() || this.token.isStopped()) {
+                this.token.stop();
+                this.tripped = true;
+
+                // logs straight to the log cat since the logger's telemetry belongs to the opmode's thread
+                Log.w(TAG, "Stopping the motors from the watchdog");
+                this.robot.stopMotors();
+                return;
+            }
+
+            synchronized (this) {
+                if (! this.running) return;
+
+                try {
+                    wait(this.period);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+}
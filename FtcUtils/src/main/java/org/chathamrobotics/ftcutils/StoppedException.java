@@ -9,23 +9,42 @@ package org.chathamrobotics.ftcutils;
  */
 
 /**
- * t=Thrown when the stop button is called and the robot needs to be interrupted.
+ * Thrown when the stop button is called and the robot needs to be interrupted.
+ *
+ * <p>It has no stack trace, since it is only ever used to unwind out of the opmode, so throwing it
+ * is cheap. {@link StoppedException#STOPPED} can be thrown instead of creating a new one.</p>
  */
 public class StoppedException extends Exception {
+    private static final long serialVersionUID = 1L;
 
     /**
-     * Constructs a new {@code StoppedException} that includes the current stack trace.
+     * A shared instance to throw on stop.
+     */
+    public static final StoppedException STOPPED = new StoppedException("Stopped");
+
+    /**
+     * Constructs a new {@code StoppedException}.
      */
     public StoppedException() {
+        super();
     }
 
     /**
-     * Constructs a new {@code StoppedException} with the current stack
-     * trace and the specified detail message.
+     * Constructs a new {@code StoppedException} with the specified detail message.
      *
      * @param detailMessage the detail message for this exception.
      */
     public StoppedException(String detailMessage) {
         super(detailMessage);
     }
+
+    /**
+     * Skips filling in the stack trace, since it is never used.
+     *
+     * @return  this exception.
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
 }
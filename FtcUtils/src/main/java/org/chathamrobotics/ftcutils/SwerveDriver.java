@@ -0,0 +1,104 @@
+package org.chathamrobotics.ftcutils;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.Servo;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Driver for a swerve drive with a module in each corner, each with a drive motor and a steering
+ * servo. A servo position of 0 points its module right and a position of 1 points it left, through
+ * forward. Since a wheel can drive backwards, half a turn of steering is enough to go any direction.
+ *
+ * <p>The drive motors should be set up so that a positive power drives the way the module points.</p>
+ */
+public class SwerveDriver implements Driver {
+    /**
+     * Calculates the module speeds and angles.
+     */
+    private final SwerveKinematics kinematics;
+
+    /**
+     * Used to skip sending powers that have not changed.
+     */
+    private final MotorPowerCache powerCache;
+
+    /**
+     * The steering servos.
+     */
+    private final Servo[] steering;
+
+    /**
+     * The module speeds and angles calculated each drive. The angles are kept while stopped.
+     */
+    private final double[] speeds = new double[SwerveKinematics.MODULE_COUNT],
+            angles = new double[SwerveKinematics.MODULE_COUNT];
+
+    /**
+     * Creates a new instance of SwerveDriver.
+     *
+     * @param kinematics    the kinematics of the drivetrain.
+     * @param motors        the drive motors, front left, front right, back left and back right.
+     * @param steering      the steering servos, in the same order.
+     */
+    public SwerveDriver(SwerveKinematics kinematics, DcMotor[] motors, Servo[] steering) {
+        if (motors.length != SwerveKinematics.MODULE_COUNT || steering.length != SwerveKinematics.MODULE_COUNT) {
+            throw new IllegalArgumentException("expected " + SwerveKinematics.MODULE_COUNT + " motors and servos");
+        }
+
+        this.kinematics = kinematics;
+        this.powerCache = new MotorPowerCache(motors);
+        this.steering = steering.clone();
+
+        for (int i = 0; i < this.angles.length; i++) this.angles[i] = Math.PI / 2;
+    }
+
+    /**
+     * Gets the cache used to skip sending motor powers that have not changed.
+     *
+     * @return  the power cache.
+     */
+    public MotorPowerCache getPowerCache() {
+        return this.powerCache;
+    }
+
+    /**
+     * Drives at the given speeds. Speeds over full power are scaled down together.
+     *
+     * @param y         the forward speed.
+     * @param x         the right speed.
+     * @param rotation  the rotation. Positive for right and negative for left.
+     */
+    public void drive(double y, double x, double rotation) {
+        double[] speeds = this.speeds, angles = this.angles;
+        this.kinematics.solve(y, x, rotation, speeds, angles);
+        DriveKinematics.normalize(speeds, speeds.length, 1);
+
+        for (int i = 0; i < speeds.length; i++) {
+            double speed = speeds[i], angle = angles[i];
+
+            // points the other way and drives backwards to keep the angle in the servo's range
+            if (angle < 0) {
+                angle += Math.PI;
+                speed = -speed;
+            }
+
+            angles[i] = angle;
+            this.steering[i].setPosition(angle / Math.PI);
+            this.powerCache.setPower(i, speed);
+        }
+    }
+
+    /**
+     * Stops the drive motors, leaving the modules where they point.
+     */
+    public void stop() {
+        for (int i = 0; i < this.speeds.length; i++) this.powerCache.setPower(i, 0);
+    }
+}
@@ -0,0 +1,86 @@
+package org.chathamrobotics.ftcutils;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Turns chassis speeds into wheel speeds and angles for a swerve drive with a module in each
+ * corner. Each module's velocity is found with the same weight table as {@link DriveKinematics},
+ * with a row for its x and a row for its y velocity, and then turned into a speed and an angle.
+ *
+ * <p>Angles are in radians like the driving direction of {@link OmniWheelDriver}: 0 is right and
+ * pi / 2 is forward. Modules are in the order front left, front right, back left, back right.</p>
+ */
+public class SwerveKinematics {
+    /**
+     * The number of modules.
+     */
+    public static final int MODULE_COUNT = 4;
+
+    /**
+     * The x and y velocity weights of each module.
+     */
+    private final double[] weights;
+
+    /**
+     * The x and y velocity of each module, reused every solve.
+     */
+    private final double[] velocities = new double[MODULE_COUNT * 2];
+
+    /**
+     * Creates a new instance of SwerveKinematics. The rotation is scaled so that a rotation of 1
+     * moves the modules at full speed.
+     *
+     * @param trackWidth    the distance between the left and right modules.
+     * @param wheelBase     the distance between the front and back modules.
+     */
+    public SwerveKinematics(double trackWidth, double wheelBase) {
+        if (! (trackWidth > 0) || ! (wheelBase > 0)) throw new IllegalArgumentException("trackWidth and wheelBase must be positive");
+
+        double radius = Math.hypot(trackWidth, wheelBase) / 2;
+        double right = trackWidth / 2 / radius, front = wheelBase / 2 / radius;
+
+        // a clockwise turn moves a module at (px, py) by (py, -px)
+        double[] xs = {-right, right, -right, right};
+        double[] ys = {front, front, -front, -front};
+
+        this.weights = new double[MODULE_COUNT * 2 * DriveKinematics.ROW_SIZE];
+        for (int module = 0; module < MODULE_COUNT; module++) {
+            int xRow = module * 2 * DriveKinematics.ROW_SIZE;
+            int yRow = xRow + DriveKinematics.ROW_SIZE;
+
+            this.weights[xRow + DriveKinematics.X] = 1;
+            this.weights[xRow + DriveKinematics.ROTATION] = ys[module];
+            this.weights[yRow + DriveKinematics.Y] = 1;
+            this.weights[yRow + DriveKinematics.ROTATION] = -xs[module];
+        }
+    }
+
+    /**
+     * Calculates the module speeds and angles. The speeds may be over 1, see
+     * {@link DriveKinematics#normalize(double[], int, double)}. A module that is not moving keeps
+     * the angle already in the array.
+     *
+     * @param y         the forward speed.
+     * @param x         the right speed.
+     * @param rotation  the rotation. Positive for right and negative for left.
+     * @param speeds    the array to write the module speeds to.
+     * @param angles    the array to write the module angles to.
+     */
+    public void solve(double y, double x, double rotation, double[] speeds, double[] angles) {
+        double[] velocities = this.velocities;
+        DriveKinematics.multiply(this.weights, MODULE_COUNT * 2, y, x, rotation, velocities);
+
+        for (int module = 0; module < MODULE_COUNT; module++) {
+            double vx = velocities[module * 2], vy = velocities[module * 2 + 1];
+
+            speeds[module] = Math.sqrt(vx * vx + vy * vy);
+            if (speeds[module] > 0) angles[module] = Math.atan2(vy, vx);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package org.chathamrobotics.ftcutils;
+
+import org.firstinspires.ftc.robotcore.external.Func;
+
+import java.util.Arrays;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Records numeric values by key for a {@link RobotLogger}. Keys are registered once with a caption
+ * and a level, and values are then set by key into a primitive array without building any strings.
+ * When the channel is published the values are given to the subscribers as they are, and are added
+ * to the telemetry as value producers so that they are only turned into text when the telemetry is sent.
+ *
+ * <p>Here is an example of how one might use {@link TelemetryChannel}:</p>
+ *
+ * <pre>
+ *     TelemetryChannel channel = logger.getChannel();
+ *     int headingKey = channel.register(RobotLogger.Level.DEBUG, "Heading");
+ *
+ *     // in the loop
+ *     channel.set(headingKey, heading);
+ *     channel.publish(true);
+ * </pre>
+ */
+public class TelemetryChannel {
+    /**
+     * Receives the values every time the channel is published.
+     */
+    public interface Subscriber {
+        /**
+         * Called when the channel is published, on the thread that published it. The values array
+         * belongs to the channel and should not be changed or kept.
+         *
+         * @param channel   the channel that was published.
+         * @param time      the time it was published from {@link System#nanoTime()}.
+         * @param values    the values, indexed by key.
+         */
+        void onSample(TelemetryChannel channel, long time, double[] values);
+    }
+
+    /**
+     * Turns a value into a line when the telemetry is sent.
+     */
+    private class Renderer implements Func<String> {
+        private final int key;
+
+        private Renderer(int key) {
+            this.key = key;
+        }
+
+        @Override
+        public String value() {
+            return captions[this.key] + ": " + values[this.key];
+        }
+    }
+
+    /**
+     * The logger to log to.
+     */
+    private final RobotLogger logger;
+
+    /**
+     * The caption, level, value and renderer of each key.
+     */
+    private String[] captions = new String[0];
+    private RobotLogger.Level[] levels = new RobotLogger.Level[0];
+    private double[] values = new double[0];
+    private Renderer[] renderers = new Renderer[0];
+
+    /**
+     * The subscribers. Replaced when changed so that it can be read without locking.
+     */
+    private volatile Subscriber[] subscribers = new Subscriber[0];
+
+    /**
+     * Creates a new instance of TelemetryChannel.
+     *
+     * @param logger    the logger to log to.
+     */
+    public TelemetryChannel(RobotLogger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Registers a key. This should be done once, not every loop.
+     *
+     * @param level     the level to log the value at.
+     * @param caption   the caption of the value.
+     * @return          the key.
+     */
+    public int register(RobotLogger.Level level, String caption) {
+        int key = this.captions.length;
+
+        this.captions = Arrays.copyOf(this.captions, key + 1);
+        this.levels = Arrays.copyOf(this.levels, key + 1);
+        this.values = Arrays.copyOf(this.values, key + 1);
+        this.renderers = Arrays.copyOf(this.renderers, key + 1);
+
+        this.captions[key] = caption;
+        this.levels[key] = level;
+        this.renderers[key] = new Renderer(key);
+
+        return key;
+    }
+
+    /**
+     * Sets the value of a key.
+     *
+     * @param key   the key.
+     * @param value the value.
+     */
+    public void set(int key, double value) {
+        this.values[key] = value;
+    }
+
+    /**
+     * Gets the value of a key.
+     *
+     * @param key   the key.
+     * @return      the value.
+     */
+    public double get(int key) {
+        return this.values[key];
+    }
+
+    /**
+     * Publishes the values. The subscribers are given the values, and the values are added to the
+     * telemetry if their levels allow it. This should be done once per loop.
+     *
+     * @param looping   whether this is contained in a loop. If it is, the values will not be logged to the log cat facilities.
+     */
+    public void publish(boolean looping) {
+        Subscriber[] subscribers = this.subscribers;
+        if (subscribers.length > 0) {
+            long time = System.nanoTime();
+            for (Subscriber subscriber : subscribers) subscriber.onSample(this, time, this.values);
+        }
+
+        for (int key = 0; key < this.captions.length; key++) {
+            if (looping) this.logger.logTele(this.levels[key], this.renderers[key]);
+            else this.logger.log(this.levels[key], this.captions[key], this.values[key], false);
+        }
+    }
+
+    /**
+     * Adds a subscriber.
+     *
+     * @param subscriber    the subscriber.
+     */
+    public synchronized void addSubscriber(Subscriber subscriber) {
+        Subscriber[] subscribers = Arrays.copyOf(this.subscribers, this.subscribers.length + 1);
+        subscribers[subscribers.length - 1] = subscriber;
+        this.subscribers = subscribers;
+    }
+
+    /**
+     * Removes a subscriber.
+     *
+     * @param subscriber    the subscriber.
+     * @return              whether the subscriber was removed.
+     */
+    public synchronized boolean removeSubscriber(Subscriber subscriber) {
+        Subscriber[] subscribers = this.subscribers;
+
+        for (int i = 0; i < subscribers.length; i++) {
+            if (subscribers[i] == subscriber) {
+                Subscriber[] result = new Subscriber[subscribers.length - 1];
+                System.arraycopy(subscribers, 0, result, 0, i);
+                System.arraycopy(subscribers, i + 1, result, i, result.length - i);
+                this.subscribers = result;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the number of keys.
+     *
+     * @return  the number of keys.
+     */
+    public int getKeyCount() {
+        return this.captions.length;
+    }
+
+    /**
+     * Gets the caption of a key.
+     *
+     * @param key   the key.
+     * @return      the caption.
+     */
+    public String getCaption(int key) {
+        return this.captions[key];
+    }
+
+    /**
+     * Gets the level of a key.
+     *
+     * @param key   the key.
+     * @return      the level.
+     */
+    public RobotLogger.Level getLevel(int key) {
+        return this.levels[key];
+    }
+}
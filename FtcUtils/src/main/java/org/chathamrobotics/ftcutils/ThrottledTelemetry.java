@@ -0,0 +1,533 @@
+package org.chathamrobotics.ftcutils;
+
+import org.firstinspires.ftc.robotcore.external.Func;
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * A telemetry that only sends changed values, and no faster than a set interval. The lines added
+ * between updates are matched to the lines of the last update by their position and caption, so a
+ * loop that adds the same lines every time keeps a stable set of items on the real telemetry. Only
+ * the items whose values changed are updated, and updates where nothing changed are skipped.
+ *
+ * <p>Like the SDK's telemetry, retained items (including value producers, unless they are set not
+ * to be retained) are kept until they are removed, and the other lines are removed by
+ * {@link ThrottledTelemetry#clear()} and after every update when auto clear is on.</p>
+ *
+ * <p>Skipped updates are counted and can be checked with {@link ThrottledTelemetry#getSkippedCount()}.
+ * {@link ThrottledTelemetry#flush()} sends any changes right away.</p>
+ */
+public class ThrottledTelemetry implements Telemetry {
+    /**
+     * A line of telemetry. The line is kept between updates and the item on the real telemetry is
+     * only changed when its value changes.
+     */
+    private class Slot implements Item {
+        private String caption;
+        private String value = "";
+        private Func<?> func;
+        private String format;
+        private Boolean retained;
+        private boolean changed;
+
+        /**
+         * The item on the real telemetry. Null if it has not been sent yet.
+         */
+        private Item item;
+
+        private Slot(String caption) {
+            this.caption = caption;
+        }
+
+        /**
+         * Sets the value of the line, marking it changed if it is different.
+         *
+         * @param value the value.
+         */
+        private void set(String value) {
+            if (! value.equals(this.value)) {
+                this.value = value;
+                this.changed = true;
+                ThrottledTelemetry.this.dirty = true;
+            }
+        }
+
+        /**
+         * Evaluates the value producer if there is one.
+         */
+        private void refresh() {
+            if (this.func == null) return;
+
+            Object value = this.func.value();
+            set(this.format != null ? String.format(Locale.US, this.format, value) : String.valueOf(value));
+        }
+
+        @Override
+        public String getCaption() {
+            return this.caption;
+        }
+
+        @Override
+        public Item setCaption(String caption) {
+            if (! caption.equals(this.caption)) {
+                this.caption = caption;
+                this.changed = true;
+                ThrottledTelemetry.this.dirty = true;
+            }
+            return this;
+        }
+
+        @Override
+        public Item setValue(String format, Object... args) {
+            this.func = null;
+            set(String.format(Locale.US, format, args));
+            return this;
+        }
+
+        @Override
+        public Item setValue(Object value) {
+            this.func = null;
+            set(String.valueOf(value));
+            return this;
+        }
+
+        @Override
+        public <T> Item setValue(Func<T> func) {
+            this.func = func;
+            this.format = null;
+            return this;
+        }
+
+        @Override
+        public <T> Item setValue(String format, Func<T> func) {
+            this.func = func;
+            this.format = format;
+            return this;
+        }
+
+        @Override
+        public Item setRetained(Boolean retained) {
+            this.retained = retained;
+            return this;
+        }
+
+        @Override
+        public boolean isRetained() {
+            return this.retained != null ? this.retained : this.func != null;
+        }
+
+        @Override
+        public Item addData(String caption, String format, Object... args) {
+            return ThrottledTelemetry.this.addData(caption, format, args);
+        }
+
+        @Override
+        public Item addData(String caption, Object value) {
+            return ThrottledTelemetry.this.addData(caption, value);
+        }
+
+        @Override
+        public <T> Item addData(String caption, Func<T> valueProducer) {
+            return ThrottledTelemetry.this.addData(caption, valueProducer);
+        }
+
+        @Override
+        public <T> Item addData(String caption, String format, Func<T> valueProducer) {
+            return ThrottledTelemetry.this.addData(caption, format, valueProducer);
+        }
+    }
+
+    /**
+     * A telemetry line. Its items are added to the telemetry as they are added to the line, and are
+     * removed with it by {@link ThrottledTelemetry#removeLine(Line)}.
+     */
+    private class ThrottledLine implements Line {
+        /**
+         * The lines added through this line, including its caption.
+         */
+        private final List<Slot> slots = new ArrayList<>();
+
+        private Item add(Item item) {
+            this.slots.add((Slot) item);
+            return item;
+        }
+
+        @Override
+        public Item addData(String caption, String format, Object... args) {
+            return add(ThrottledTelemetry.this.addData(caption, format, args));
+        }
+
+        @Override
+        public Item addData(String caption, Object value) {
+            return add(ThrottledTelemetry.this.addData(caption, value));
+        }
+
+        @Override
+        public <T> Item addData(String caption, Func<T> valueProducer) {
+            return add(ThrottledTelemetry.this.addData(caption, valueProducer));
+        }
+
+        @Override
+        public <T> Item addData(String caption, String format, Func<T> valueProducer) {
+            return add(ThrottledTelemetry.this.addData(caption, format, valueProducer));
+        }
+    }
+
+    /**
+     * The telemetry to send to.
+     */
+    private final Telemetry target;
+
+    /**
+     * The lines, in the order they were added.
+     */
+    private final List<Slot> slots = new ArrayList<>();
+
+    /**
+     * The position in the lines of the last line added since the last update. The lines after it
+     * that are not retained are removed by the next update.
+     */
+    private int frameSize;
+
+    /**
+     * Whether anything has changed since the last update that was sent.
+     */
+    private boolean dirty;
+
+    /**
+     * Whether the lines are cleared after every update.
+     */
+    private boolean autoClear = true;
+
+    /**
+     * The minimum time between updates in nanoseconds.
+     */
+    private long interval;
+
+    /**
+     * The time of the last update that was sent.
+     */
+    private long lastSendTime;
+
+    /**
+     * The statistics of the updates.
+     */
+    private long sentCount;
+    private long skippedCount;
+    private long unchangedCount;
+
+    /**
+     * Creates a new instance of ThrottledTelemetry. The interval starts as the target's transmission
+     * interval, so updates are not sent any faster than they could be transmitted.
+     *
+     * @param target    the telemetry to send to.
+     */
+    public ThrottledTelemetry(Telemetry target) {
+        this.target = target;
+        this.interval = TimeUnit.MILLISECONDS.toNanos(target.getMsTransmissionInterval());
+    }
+
+    /**
+     * Sets the minimum time between updates.
+     *
+     * @param milliseconds  the interval in milliseconds, or 0 to only skip updates where nothing changed.
+     */
+    public void setInterval(long milliseconds) {
+        this.interval = TimeUnit.MILLISECONDS.toNanos(milliseconds);
+    }
+
+    /**
+     * Gets the minimum time between updates.
+     *
+     * @return  the interval in milliseconds.
+     */
+    public long getInterval() {
+        return TimeUnit.NANOSECONDS.toMillis(this.interval);
+    }
+
+    /**
+     * Gets the number of updates that were sent.
+     *
+     * @return  the count.
+     */
+    public long getSentCount() {
+        return this.sentCount;
+    }
+
+    /**
+     * Gets the number of updates that were skipped, either because the interval had not passed or
+     * because nothing changed.
+     *
+     * @return  the count.
+     */
+    public long getSkippedCount() {
+        return this.skippedCount;
+    }
+
+    /**
+     * Gets the number of updates that were skipped because nothing changed.
+     *
+     * @return  the count.
+     */
+    public long getUnchangedCount() {
+        return this.unchangedCount;
+    }
+
+    /**
+     * Gets the telemetry being sent to.
+     *
+     * @return  the target telemetry.
+     */
+    public Telemetry getTarget() {
+        return this.target;
+    }
+
+    /**
+     * Sends any changes right away, ignoring the interval.
+     *
+     * @return  whether an update was sent.
+     */
+    public boolean flush() {
+        return update(true);
+    }
+
+    @Override
+    public boolean update() {
+        return update(false);
+    }
+
+    /**
+     * Sends the changes if there are any and the interval has passed.
+     *
+     * @param force whether to ignore the interval.
+     * @return      whether an update was sent.
+     */
+    private boolean update(boolean force) {
+        // lines that were not added again have been removed
+        if (this.autoClear) removeSlots(this.frameSize);
+
+        long now = System.nanoTime();
+        boolean sent = false;
+
+        // the first update is never held back
+        if (! force && this.sentCount > 0 && now - this.lastSendTime < this.interval) {
+            this.skippedCount++;
+        } else {
+            for (int i = 0; i < this.slots.size(); i++) this.slots.get(i).refresh();
+
+            if (this.dirty) {
+                send();
+                this.lastSendTime = now;
+                this.sentCount++;
+                sent = true;
+            } else {
+                this.skippedCount++;
+                this.unchangedCount++;
+            }
+        }
+
+        if (this.autoClear) this.frameSize = 0;
+
+        return sent;
+    }
+
+    /**
+     * Sends the changed lines to the target.
+     */
+    private void send() {
+        for (int i = 0; i < this.slots.size(); i++) {
+            Slot slot = this.slots.get(i);
+
+            if (slot.item == null) {
+                // retain the item so that it is kept until its line is removed
+                slot.item = this.target.addData(slot.caption, slot.value).setRetained(true);
+            } else if (slot.changed) {
+                slot.item.setCaption(slot.caption);
+                slot.item.setValue(slot.value);
+            }
+
+            slot.changed = false;
+        }
+
+        this.target.update();
+        this.dirty = false;
+    }
+
+    /**
+     * Gets the line for the next caption added. Retained lines keep their place and are skipped. The
+     * next line from the last update is used if it has the same caption, otherwise the lines that
+     * are not retained from that position on are replaced.
+     *
+     * @param caption   the caption of the line.
+     * @return          the line.
+     */
+    private Slot slot(String caption) {
+        while (this.frameSize < this.slots.size() && this.slots.get(this.frameSize).isRetained()) this.frameSize++;
+
+        Slot slot = this.frameSize < this.slots.size() ? this.slots.get(this.frameSize) : null;
+
+        if (slot == null || ! slot.caption.equals(caption)) {
+            removeSlots(this.frameSize);
+
+            slot = new Slot(caption);
+            this.slots.add(slot);
+            this.frameSize = this.slots.size() - 1;
+            this.dirty = true;
+        }
+
+        this.frameSize++;
+        return slot;
+    }
+
+    /**
+     * Removes the lines that are not retained from a position on.
+     *
+     * @param from  the position of the first line to remove.
+     */
+    private void removeSlots(int from) {
+        for (int i = this.slots.size() - 1; i >= from; i--) {
+            if (this.slots.get(i).isRetained()) continue;
+
+            Slot slot = this.slots.remove(i);
+            if (slot.item != null) this.target.removeItem(slot.item);
+            this.dirty = true;
+        }
+    }
+
+    @Override
+    public Item addData(String caption, String format, Object... args) {
+        return slot(caption).setValue(format, args);
+    }
+
+    @Override
+    public Item addData(String caption, Object value) {
+        return slot(caption).setValue(value);
+    }
+
+    @Override
+    public <T> Item addData(String caption, Func<T> valueProducer) {
+        return slot(caption).setValue(valueProducer);
+    }
+
+    @Override
+    public <T> Item addData(String caption, String format, Func<T> valueProducer) {
+        return slot(caption).setValue(format, valueProducer);
+    }
+
+    @Override
+    public boolean removeItem(Item item) {
+        int index = this.slots.indexOf(item);
+        if (index < 0) return false;
+
+        Slot slot = this.slots.remove(index);
+        if (slot.item != null) this.target.removeItem(slot.item);
+        if (index < this.frameSize) this.frameSize--;
+        this.dirty = true;
+
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        removeSlots(0);
+        this.frameSize = 0;
+    }
+
+    @Override
+    public void clearAll() {
+        this.slots.clear();
+        this.frameSize = 0;
+        this.dirty = true;
+        this.target.clearAll();
+    }
+
+    @Override
+    public Object addAction(Runnable action) {
+        return this.target.addAction(action);
+    }
+
+    @Override
+    public boolean removeAction(Object token) {
+        return this.target.removeAction(token);
+    }
+
+    @Override
+    public Line addLine() {
+        return new ThrottledLine();
+    }
+
+    @Override
+    public Line addLine(String lineCaption) {
+        ThrottledLine line = new ThrottledLine();
+        line.add(slot(lineCaption).setValue(""));
+        return line;
+    }
+
+    @Override
+    public boolean removeLine(Line line) {
+        if (! (line instanceof ThrottledLine)) return false;
+
+        boolean removed = false;
+        for (Slot slot : ((ThrottledLine) line).slots) removed |= removeItem(slot);
+        ((ThrottledLine) line).slots.clear();
+
+        return removed;
+    }
+
+    @Override
+    public boolean isAutoClear() {
+        return this.autoClear;
+    }
+
+    @Override
+    public void setAutoClear(boolean autoClear) {
+        this.autoClear = autoClear;
+    }
+
+    @Override
+    public int getMsTransmissionInterval() {
+        return this.target.getMsTransmissionInterval();
+    }
+
+    @Override
+    public void setMsTransmissionInterval(int msTransmissionInterval) {
+        this.target.setMsTransmissionInterval(msTransmissionInterval);
+    }
+
+    @Override
+    public String getItemSeparator() {
+        return this.target.getItemSeparator();
+    }
+
+    @Override
+    public void setItemSeparator(String itemSeparator) {
+        this.target.setItemSeparator(itemSeparator);
+    }
+
+    @Override
+    public String getCaptionValueSeparator() {
+        return this.target.getCaptionValueSeparator();
+    }
+
+    @Override
+    public void setCaptionValueSeparator(String captionValueSeparator) {
+        this.target.setCaptionValueSeparator(captionValueSeparator);
+    }
+
+    @Override
+    public Log log() {
+        return this.target.log();
+    }
+}
@@ -0,0 +1,43 @@
+package org.chathamrobotics.ftcutils;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * A command that does nothing for a time. Useful in a sequence to pause, or in a race as a timeout.
+ */
+public class WaitCommand extends Command {
+    /**
+     * The time to wait in nanoseconds.
+     */
+    private final long duration;
+
+    /**
+     * The time the command started from {@link System#nanoTime()}.
+     */
+    private long startTime;
+
+    /**
+     * Creates a new instance of WaitCommand.
+     *
+     * @param milliseconds  the time to wait.
+     */
+    public WaitCommand(long milliseconds) {
+        this.duration = milliseconds * 1000000;
+    }
+
+    @Override
+    public void initialize() {
+        this.startTime = System.nanoTime();
+    }
+
+    @Override
+    public boolean isFinished() {
+        return System.nanoTime() - this.startTime >= this.duration;
+    }
+}
@@ -0,0 +1,272 @@
+package org.chathamrobotics.ftcutils.sim;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.DcMotorController;
+import com.qualcomm.robotcore.util.Range;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * A simulated motor with an encoder. The motor's speed follows its power with a first order lag,
+ * and the encoder counts the distance it has turned. The simulation is advanced by {@link SimMotor#step(double)}.
+ */
+public class SimMotor implements DcMotor {
+    /**
+     * The default encoder ticks per second at full power (AndyMark NeveRest 40 at about 160 rpm).
+     */
+    public static final int DEFAULT_MAX_SPEED = 2987;
+
+    /**
+     * The default time it takes the motor to get most of the way (63%) to a new speed.
+     */
+    public static final double DEFAULT_TIME_CONSTANT = 0.05;
+
+    /**
+     * How close to the target position the motor has to be to not be busy.
+     */
+    public static final int POSITION_TOLERANCE = 10;
+
+    /**
+     * The controller of the motor.
+     */
+    private final DcMotorController controller;
+
+    /**
+     * The port of the motor on its controller.
+     */
+    private final int port;
+
+    /**
+     * The settings of the motor.
+     */
+    private Direction direction = Direction.FORWARD;
+    private RunMode mode = RunMode.RUN_WITHOUT_ENCODER;
+    private ZeroPowerBehavior zeroPowerBehavior = ZeroPowerBehavior.BRAKE;
+    private int maxSpeed = DEFAULT_MAX_SPEED;
+    private double timeConstant = DEFAULT_TIME_CONSTANT;
+
+    /**
+     * The commanded power.
+     */
+    private double power;
+
+    /**
+     * The target position for {@link RunMode#RUN_TO_POSITION}.
+     */
+    private int targetPosition;
+
+    /**
+     * The speed of the motor in ticks per second, in the motor's physical direction.
+     */
+    private double speed;
+
+    /**
+     * The position of the motor in ticks, in the motor's physical direction.
+     */
+    private double position;
+
+    /**
+     * Creates a new instance of SimMotor.
+     *
+     * @param controller    the controller of the motor.
+     * @param port          the port of the motor on its controller.
+     */
+    public SimMotor(DcMotorController controller, int port) {
+        this.controller = controller;
+        this.port = port;
+    }
+
+    /**
+     * Sets the time it takes the motor to get most of the way (63%) to a new speed.
+     *
+     * @param timeConstant  the time constant in seconds.
+     */
+    public void setTimeConstant(double timeConstant) {
+        this.timeConstant = timeConstant;
+    }
+
+    /**
+     * Advances the motor's simulation.
+     *
+     * @param dt    the time step in seconds.
+     */
+    public void step(double dt) {
+        double targetSpeed = appliedPower() * this.maxSpeed;
+
+        // brake stops the motor much quicker than letting it coast
+        double timeConstant = this.timeConstant;
+        if (targetSpeed == 0 && this.zeroPowerBehavior == ZeroPowerBehavior.FLOAT) timeConstant *= 4;
+
+        this.speed += (targetSpeed - this.speed) * (1 - Math.exp(-dt / timeConstant));
+        this.position += this.speed * dt;
+    }
+
+    /**
+     * Gets the speed of the motor as a fraction of its max speed, in the motor's physical direction.
+     *
+     * @return  the speed between -1 and 1.
+     */
+    public double getSpeedFraction() {
+        return this.speed / this.maxSpeed;
+    }
+
+    /**
+     * Gets the power actually applied to the motor, in the motor's physical direction.
+     *
+     * @return  the applied power.
+     */
+    private double appliedPower() {
+        double sign = this.direction == Direction.FORWARD ? 1 : -1;
+
+        if (this.mode == RunMode.STOP_AND_RESET_ENCODER) {
+            return 0;
+        }
+
+        if (this.mode == RunMode.RUN_TO_POSITION) {
+            int error = this.targetPosition - getCurrentPosition();
+            if (Math.abs(error) <= POSITION_TOLERANCE) return 0;
+
+            // slow down near the target like the controller's PID would
+            double scale = Math.min(1, Math.abs(error) / (this.maxSpeed * 0.1));
+            return sign * Math.signum(error) * Math.abs(this.power) * scale;
+        }
+
+        return sign * this.power;
+    }
+
+    @Override
+    public void setMaxSpeed(int encoderTicksPerSecond) {
+        this.maxSpeed = encoderTicksPerSecond;
+    }
+
+    @Override
+    public int getMaxSpeed() {
+        return this.maxSpeed;
+    }
+
+    @Override
+    public DcMotorController getController() {
+        return this.controller;
+    }
+
+    @Override
+    public int getPortNumber() {
+        return this.port;
+    }
+
+    @Override
+    public void setZeroPowerBehavior(ZeroPowerBehavior zeroPowerBehavior) {
+        this.zeroPowerBehavior = zeroPowerBehavior;
+    }
+
+    @Override
+    public ZeroPowerBehavior getZeroPowerBehavior() {
+        return this.zeroPowerBehavior;
+    }
+
+    @Deprecated
+    @Override
+    public void setPowerFloat() {
+        this.zeroPowerBehavior = ZeroPowerBehavior.FLOAT;
+        this.power = 0;
+    }
+
+    @Override
+    public boolean getPowerFloat() {
+        return this.zeroPowerBehavior == ZeroPowerBehavior.FLOAT && this.power == 0;
+    }
+
+    @Override
+    public void setTargetPosition(int position) {
+        this.targetPosition = position;
+    }
+
+    @Override
+    public int getTargetPosition() {
+        return this.targetPosition;
+    }
+
+    @Override
+    public boolean isBusy() {
+        return this.mode == RunMode.RUN_TO_POSITION
+                && Math.abs(this.targetPosition - getCurrentPosition()) > POSITION_TOLERANCE;
+    }
+
+    @Override
+    public int getCurrentPosition() {
+        int position = (int) Math.round(this.position);
+        return this.direction == Direction.FORWARD ? position : -position;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void setMode(RunMode mode) {
+        // older code may still use the legacy run modes
+        mode = mode.migrate();
+        if (mode == RunMode.STOP_AND_RESET_ENCODER) this.position = 0;
+        this.mode = mode;
+    }
+
+    @Override
+    public RunMode getMode() {
+        return this.mode;
+    }
+
+    @Override
+    public void setDirection(Direction direction) {
+        this.direction = direction;
+    }
+
+    @Override
+    public Direction getDirection() {
+        return this.direction;
+    }
+
+    @Override
+    public void setPower(double power) {
+        this.power = Range.clip(power, -1, 1);
+    }
+
+    @Override
+    public double getPower() {
+        return this.power;
+    }
+
+    @Override
+    public Manufacturer getManufacturer() {
+        return Manufacturer.Other;
+    }
+
+    @Override
+    public String getDeviceName() {
+        return "Simulated Motor";
+    }
+
+    @Override
+    public String getConnectionInfo() {
+        return this.controller.getConnectionInfo() + "; port " + this.port;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public void resetDeviceConfigurationForOpMode() {
+        this.direction = Direction.FORWARD;
+        this.mode = RunMode.RUN_WITHOUT_ENCODER;
+        this.power = 0;
+    }
+
+    @Override
+    public void close() {
+        this.power = 0;
+    }
+}
@@ -0,0 +1,176 @@
+package org.chathamrobotics.ftcutils.sim;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.DcMotorController;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * A simulated two port motor controller. Every call is passed on to the {@link SimMotor} on the port.
+ */
+public class SimMotorController implements DcMotorController {
+    /**
+     * The number of ports on the controller.
+     */
+    public static final int PORT_COUNT = 2;
+
+    /**
+     * The name of the controller.
+     */
+    private final String name;
+
+    /**
+     * The motors on the controller, indexed by port - 1.
+     */
+    private final SimMotor[] motors = new SimMotor[PORT_COUNT];
+
+    /**
+     * Creates a new instance of SimMotorController.
+     *
+     * @param name  the name of the controller.
+     */
+    public SimMotorController(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Creates a motor on a port.
+     *
+     * @param port  the port, starting at 1.
+     * @return      the motor.
+     */
+    public SimMotor addMotor(int port) {
+        if (port < 1 || port > PORT_COUNT) throw new IllegalArgumentException("Invalid port " + port);
+        if (this.motors[port - 1] != null) throw new IllegalStateException("Port " + port + " is in use");
+
+        this.motors[port - 1] = new SimMotor(this, port);
+        return this.motors[port - 1];
+    }
+
+    /**
+     * Checks whether a port has no motor.
+     *
+     * @param port  the port, starting at 1.
+     * @return      whether the port is free.
+     */
+    public boolean isPortFree(int port) {
+        return this.motors[port - 1] == null;
+    }
+
+    /**
+     * Gets the motor on a port.
+     *
+     * @param port  the port, starting at 1.
+     * @return      the motor.
+     */
+    private SimMotor motor(int port) {
+        SimMotor motor = port < 1 || port > PORT_COUNT ? null : this.motors[port - 1];
+        if (motor == null) throw new IllegalArgumentException("No motor on port " + port);
+        return motor;
+    }
+
+    @Override
+    public void setMotorMode(int motor, DcMotor.RunMode mode) {
+        motor(motor).setMode(mode);
+    }
+
+    @Override
+    public DcMotor.RunMode getMotorMode(int motor) {
+        return motor(motor).getMode();
+    }
+
+    @Override
+    public void setMotorPower(int motor, double power) {
+        motor(motor).setPower(power);
+    }
+
+    @Override
+    public double getMotorPower(int motor) {
+        return motor(motor).getPower();
+    }
+
+    @Override
+    public void setMotorMaxSpeed(int motor, int encoderTicksPerSecond) {
+        motor(motor).setMaxSpeed(encoderTicksPerSecond);
+    }
+
+    @Override
+    public int getMotorMaxSpeed(int motor) {
+        return motor(motor).getMaxSpeed();
+    }
+
+    @Override
+    public boolean isBusy(int motor) {
+        return motor(motor).isBusy();
+    }
+
+    @Override
+    public void setMotorZeroPowerBehavior(int motor, DcMotor.ZeroPowerBehavior zeroPowerBehavior) {
+        motor(motor).setZeroPowerBehavior(zeroPowerBehavior);
+    }
+
+    @Override
+    public DcMotor.ZeroPowerBehavior getMotorZeroPowerBehavior(int motor) {
+        return motor(motor).getZeroPowerBehavior();
+    }
+
+    @Override
+    public boolean getMotorPowerFloat(int motor) {
+        return motor(motor).getPowerFloat();
+    }
+
+    @Override
+    public void setMotorTargetPosition(int motor, int position) {
+        motor(motor).setTargetPosition(position);
+    }
+
+    @Override
+    public int getMotorTargetPosition(int motor) {
+        return motor(motor).getTargetPosition();
+    }
+
+    @Override
+    public int getMotorCurrentPosition(int motor) {
+        return motor(motor).getCurrentPosition();
+    }
+
+    @Override
+    public Manufacturer getManufacturer() {
+        return Manufacturer.Other;
+    }
+
+    @Override
+    public String getDeviceName() {
+        return "Simulated Motor Controller";
+    }
+
+    @Override
+    public String getConnectionInfo() {
+        return "sim " + this.name;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public void resetDeviceConfigurationForOpMode() {
+        for (SimMotor motor : this.motors) {
+            if (motor != null) motor.resetDeviceConfigurationForOpMode();
+        }
+    }
+
+    @Override
+    public void close() {
+        for (SimMotor motor : this.motors) {
+            if (motor != null) motor.close();
+        }
+    }
+}
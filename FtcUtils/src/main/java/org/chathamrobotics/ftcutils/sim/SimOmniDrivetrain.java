@@ -0,0 +1,159 @@
+package org.chathamrobotics.ftcutils.sim;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * A simulated omniwheel (x-drive) drivetrain. The speeds of the four wheel motors are turned into the
+ * robot's speed using the inverse of {@link org.chathamrobotics.ftcutils.DriveKinematics#xDrive()},
+ * which is then used to move the robot around the field.
+ *
+ * <p>The field's x axis points right and y axis points forward when the heading is 0. The heading
+ * is in radians and counter clockwise is positive.</p>
+ */
+public class SimOmniDrivetrain {
+    /**
+     * The default speed of the robot at full power in meters per second.
+     */
+    public static final double DEFAULT_MAX_SPEED = 1.5;
+
+    /**
+     * The default turning speed of the robot at full rotation in radians per second.
+     */
+    public static final double DEFAULT_MAX_TURN_RATE = 2 * Math.PI;
+
+    /**
+     * Cosine and sine of the plane transform angle (pi / 4).
+     */
+    private static final double TRANSFORM = Math.sqrt(0.5);
+
+    /**
+     * The wheel motors.
+     */
+    private final SimMotor frontLeft, frontRight, backLeft, backRight;
+
+    /**
+     * The speed of the robot at full power in meters per second.
+     */
+    private double maxSpeed = DEFAULT_MAX_SPEED;
+
+    /**
+     * The turning speed of the robot at full rotation in radians per second.
+     */
+    private double maxTurnRate = DEFAULT_MAX_TURN_RATE;
+
+    /**
+     * The robot's position on the field.
+     */
+    private double x, y, heading;
+
+    /**
+     * Creates a new instance of SimOmniDrivetrain.
+     *
+     * @param frontLeft     the motor located in the front left corner of the robot.
+     * @param frontRight    the motor located in the front right corner of the robot.
+     * @param backLeft      the motor located in the back left corner of the robot.
+     * @param backRight     the motor located in the back right corner of the robot.
+     */
+    public SimOmniDrivetrain(SimMotor frontLeft, SimMotor frontRight, SimMotor backLeft, SimMotor backRight) {
+        this.frontLeft = frontLeft;
+        this.frontRight = frontRight;
+        this.backLeft = backLeft;
+        this.backRight = backRight;
+    }
+
+    /**
+     * Sets the speed of the robot at full power.
+     *
+     * @param maxSpeed  the speed in meters per second.
+     */
+    public void setMaxSpeed(double maxSpeed) {
+        this.maxSpeed = maxSpeed;
+    }
+
+    /**
+     * Sets the turning speed of the robot at full rotation.
+     *
+     * @param maxTurnRate   the turning speed in radians per second.
+     */
+    public void setMaxTurnRate(double maxTurnRate) {
+        this.maxTurnRate = maxTurnRate;
+    }
+
+    /**
+     * Moves the robot to a position on the field.
+     *
+     * @param x         the x position in meters.
+     * @param y         the y position in meters.
+     * @param heading   the heading in radians.
+     */
+    public void setPose(double x, double y, double heading) {
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+    }
+
+    /**
+     * Advances the robot's position. The motors should already have been stepped.
+     *
+     * @param dt    the time step in seconds.
+     */
+    public void step(double dt) {
+        double fl = this.frontLeft.getSpeedFraction();
+        double fr = this.frontRight.getSpeedFraction();
+        double bl = this.backLeft.getSpeedFraction();
+        double br = this.backRight.getSpeedFraction();
+
+        // undo the wheel mixing: fl = s + r, fr = c + r, bl = -c + r, br = -s + r
+        double sin = (fl - br) / 2;
+        double cos = (fr - bl) / 2;
+        double rotation = (fl + fr + bl + br) / 4;
+
+        // undo the plane transform to get the robot relative speed
+        double right = (cos * TRANSFORM + sin * TRANSFORM) * this.maxSpeed;
+        double forward = (sin * TRANSFORM - cos * TRANSFORM) * this.maxSpeed;
+
+        // positive rotation turns right (clockwise)
+        double turn = -rotation * this.maxTurnRate;
+
+        double midHeading = this.heading + turn * dt / 2;
+        double headingCos = Math.cos(midHeading);
+        double headingSin = Math.sin(midHeading);
+
+        this.x += (right * headingCos - forward * headingSin) * dt;
+        this.y += (right * headingSin + forward * headingCos) * dt;
+        this.heading += turn * dt;
+    }
+
+    /**
+     * Gets the robot's x position on the field.
+     *
+     * @return  the x position in meters.
+     */
+    public double getX() {
+        return this.x;
+    }
+
+    /**
+     * Gets the robot's y position on the field.
+     *
+     * @return  the y position in meters.
+     */
+    public double getY() {
+        return this.y;
+    }
+
+    /**
+     * Gets the robot's heading on the field.
+     *
+     * @return  the heading in radians, counter clockwise positive.
+     */
+    public double getHeading() {
+        return this.heading;
+    }
+}
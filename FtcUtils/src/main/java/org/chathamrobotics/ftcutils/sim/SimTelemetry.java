@@ -0,0 +1,429 @@
+package org.chathamrobotics.ftcutils.sim;
+
+import org.firstinspires.ftc.robotcore.external.Func;
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * A telemetry that keeps the lines of the last update instead of sending them to the driver station.
+ * The lines can also be printed on every update.
+ */
+public class SimTelemetry implements Telemetry {
+    /**
+     * Called on every update.
+     */
+    public interface UpdateListener {
+        /**
+         * Called after the telemetry has been updated.
+         *
+         * @param lines the lines that were sent.
+         */
+        void onUpdate(List<String> lines);
+    }
+
+    /**
+     * A telemetry item.
+     */
+    private class SimItem implements Item {
+        private String caption;
+        private Object value;
+        private Func<?> func;
+        private String format;
+        private Object[] args;
+        private Boolean retained;
+
+        private SimItem(String caption) {
+            this.caption = caption;
+        }
+
+        private String render() {
+            Object value = this.func != null ? this.func.value() : this.value;
+
+            if (this.format != null) {
+                return this.func != null
+                        ? String.format(Locale.US, this.format, value)
+                        : String.format(Locale.US, this.format, this.args);
+            }
+
+            return String.valueOf(value);
+        }
+
+        @Override
+        public String getCaption() {
+            return this.caption;
+        }
+
+        @Override
+        public Item setCaption(String caption) {
+            this.caption = caption;
+            return this;
+        }
+
+        @Override
+        public Item setValue(String format, Object... args) {
+            this.format = format;
+            this.args = args;
+            this.func = null;
+            return this;
+        }
+
+        @Override
+        public Item setValue(Object value) {
+            this.value = value;
+            this.format = null;
+            this.func = null;
+            return this;
+        }
+
+        @Override
+        public <T> Item setValue(Func<T> func) {
+            this.func = func;
+            this.format = null;
+            return this;
+        }
+
+        @Override
+        public <T> Item setValue(String format, Func<T> func) {
+            this.func = func;
+            this.format = format;
+            return this;
+        }
+
+        @Override
+        public Item setRetained(Boolean retained) {
+            this.retained = retained;
+            return this;
+        }
+
+        @Override
+        public boolean isRetained() {
+            return this.retained != null ? this.retained : this.func != null;
+        }
+
+        @Override
+        public Item addData(String caption, String format, Object... args) {
+            return SimTelemetry.this.addData(caption, format, args);
+        }
+
+        @Override
+        public Item addData(String caption, Object value) {
+            return SimTelemetry.this.addData(caption, value);
+        }
+
+        @Override
+        public <T> Item addData(String caption, Func<T> valueProducer) {
+            return SimTelemetry.this.addData(caption, valueProducer);
+        }
+
+        @Override
+        public <T> Item addData(String caption, String format, Func<T> valueProducer) {
+            return SimTelemetry.this.addData(caption, format, valueProducer);
+        }
+    }
+
+    /**
+     * A telemetry line. Its items are added to the telemetry as they are added to the line.
+     */
+    private class SimLine implements Line {
+        @Override
+        public Item addData(String caption, String format, Object... args) {
+            return SimTelemetry.this.addData(caption, format, args);
+        }
+
+        @Override
+        public Item addData(String caption, Object value) {
+            return SimTelemetry.this.addData(caption, value);
+        }
+
+        @Override
+        public <T> Item addData(String caption, Func<T> valueProducer) {
+            return SimTelemetry.this.addData(caption, valueProducer);
+        }
+
+        @Override
+        public <T> Item addData(String caption, String format, Func<T> valueProducer) {
+            return SimTelemetry.this.addData(caption, format, valueProducer);
+        }
+    }
+
+    /**
+     * The telemetry log.
+     */
+    private class SimLog implements Log {
+        private final List<String> entries = new ArrayList<>();
+        private int capacity = 9;
+        private DisplayOrder displayOrder = DisplayOrder.OLDEST_FIRST;
+
+        @Override
+        public int getCapacity() {
+            return this.capacity;
+        }
+
+        @Override
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public DisplayOrder getDisplayOrder() {
+            return this.displayOrder;
+        }
+
+        @Override
+        public void setDisplayOrder(DisplayOrder displayOrder) {
+            this.displayOrder = displayOrder;
+        }
+
+        @Override
+        public void add(String entry) {
+            this.entries.add(entry);
+            while (this.entries.size() > this.capacity) this.entries.remove(0);
+        }
+
+        @Override
+        public void add(String format, Object... args) {
+            add(String.format(Locale.US, format, args));
+        }
+
+        @Override
+        public void clear() {
+            this.entries.clear();
+        }
+    }
+
+    /**
+     * The items to send on the next update.
+     */
+    private final List<SimItem> items = new ArrayList<>();
+
+    /**
+     * The actions run before every update.
+     */
+    private final List<Runnable> actions = new ArrayList<>();
+
+    /**
+     * The telemetry log.
+     */
+    private final SimLog log = new SimLog();
+
+    /**
+     * The lines sent by the last update.
+     */
+    private List<String> lines = Collections.emptyList();
+
+    /**
+     * The settings of the telemetry. Nothing is transmitted so there is no transmission interval.
+     */
+    private boolean autoClear = true;
+    private int msTransmissionInterval = 0;
+    private String itemSeparator = " | ";
+    private String captionValueSeparator = " : ";
+
+    /**
+     * Where to print the lines on every update. Null to not print.
+     */
+    private PrintStream out;
+
+    /**
+     * Called on every update. Null if there is no listener.
+     */
+    private UpdateListener listener;
+
+    /**
+     * The number of updates.
+     */
+    private long updateCount;
+
+    /**
+     * Sets where to print the lines on every update.
+     *
+     * @param out   the stream to print to, or null to not print.
+     */
+    public void setOutput(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Sets the listener called on every update.
+     *
+     * @param listener  the listener, or null for none.
+     */
+    public void setUpdateListener(UpdateListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Gets the lines sent by the last update.
+     *
+     * @return  the lines.
+     */
+    public List<String> getLines() {
+        return this.lines;
+    }
+
+    /**
+     * Gets the number of times the telemetry was updated.
+     *
+     * @return  the number of updates.
+     */
+    public long getUpdateCount() {
+        return this.updateCount;
+    }
+
+    @Override
+    public Item addData(String caption, String format, Object... args) {
+        return add(caption).setValue(format, args);
+    }
+
+    @Override
+    public Item addData(String caption, Object value) {
+        return add(caption).setValue(value);
+    }
+
+    @Override
+    public <T> Item addData(String caption, Func<T> valueProducer) {
+        return add(caption).setValue(valueProducer);
+    }
+
+    @Override
+    public <T> Item addData(String caption, String format, Func<T> valueProducer) {
+        return add(caption).setValue(format, valueProducer);
+    }
+
+    /**
+     * Adds an item.
+     *
+     * @param caption   the caption of the item.
+     * @return          the item.
+     */
+    private SimItem add(String caption) {
+        SimItem item = new SimItem(caption);
+        this.items.add(item);
+        return item;
+    }
+
+    @Override
+    public boolean removeItem(Item item) {
+        return this.items.remove(item);
+    }
+
+    @Override
+    public void clear() {
+        for (int i = this.items.size() - 1; i >= 0; i--) {
+            if (! this.items.get(i).isRetained()) this.items.remove(i);
+        }
+    }
+
+    @Override
+    public void clearAll() {
+        this.items.clear();
+        this.log.clear();
+    }
+
+    @Override
+    public Object addAction(Runnable action) {
+        this.actions.add(action);
+        return action;
+    }
+
+    @Override
+    public boolean removeAction(Object token) {
+        return this.actions.remove(token);
+    }
+
+    @Override
+    public boolean update() {
+        for (Runnable action : this.actions) action.run();
+
+        List<String> lines = new ArrayList<>();
+        for (SimItem item : this.items) lines.add(item.caption + this.captionValueSeparator + item.render());
+        lines.addAll(this.log.entries);
+
+        this.lines = Collections.unmodifiableList(lines);
+        this.updateCount++;
+
+        if (this.autoClear) clear();
+
+        if (this.out != null) {
+            for (String line : lines) this.out.println(line);
+        }
+
+        if (this.listener != null) this.listener.onUpdate(this.lines);
+
+        return true;
+    }
+
+    @Override
+    public Line addLine() {
+        return new SimLine();
+    }
+
+    @Override
+    public Line addLine(String lineCaption) {
+        add(lineCaption).setValue("");
+        return new SimLine();
+    }
+
+    @Override
+    public boolean removeLine(Line line) {
+        return false;
+    }
+
+    @Override
+    public boolean isAutoClear() {
+        return this.autoClear;
+    }
+
+    @Override
+    public void setAutoClear(boolean autoClear) {
+        this.autoClear = autoClear;
+    }
+
+    @Override
+    public int getMsTransmissionInterval() {
+        return this.msTransmissionInterval;
+    }
+
+    @Override
+    public void setMsTransmissionInterval(int msTransmissionInterval) {
+        this.msTransmissionInterval = msTransmissionInterval;
+    }
+
+    @Override
+    public String getItemSeparator() {
+        return this.itemSeparator;
+    }
+
+    @Override
+    public void setItemSeparator(String itemSeparator) {
+        this.itemSeparator = itemSeparator;
+    }
+
+    @Override
+    public String getCaptionValueSeparator() {
+        return this.captionValueSeparator;
+    }
+
+    @Override
+    public void setCaptionValueSeparator(String captionValueSeparator) {
+        this.captionValueSeparator = captionValueSeparator;
+    }
+
+    @Override
+    public Log log() {
+        return this.log;
+    }
+}
@@ -0,0 +1,246 @@
+package org.chathamrobotics.ftcutils.sim;
+
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import com.qualcomm.robotcore.hardware.Gamepad;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.chathamrobotics.ftcutils.LogWriter;
+import org.chathamrobotics.ftcutils.RobotLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Runs opmodes on a desktop JVM against simulated hardware. The simulator fills a {@link HardwareMap}
+ * with {@link SimMotor}s and gives the opmode a {@link SimTelemetry}.
+ *
+ * <p>Simulated time is advanced by a fixed step every time the telemetry is updated, which
+ * {@link org.chathamrobotics.ftcutils.AutonomousOpMode#status()} does through
+ * {@link org.chathamrobotics.ftcutils.Robot#debug()}. This means a run does not depend on how fast the
+ * computer is, and runs as fast as the opmode's code allows. {@link LinearOpMode#sleep(long)} and
+ * other waits on the wall clock still take real time.</p>
+ *
+ * <p>The SDK's opmode classes still load a few Android classes, so stand-ins for those have to be on
+ * the classpath when running off the robot. The FtcUtilsJvm build provides them, and runs an example
+ * opmode with {@code ./gradlew run}.</p>
+ *
+ * <p>Here is an example of how one might use {@link Simulator}:</p>
+ *
+ * <pre>
+ *     Simulator simulator = new Simulator(0.01);
+ *     SimOmniDrivetrain drivetrain = simulator.addOmniDrivetrain();
+ *
+ *     simulator.run(new AutoOpMode(true), 30);
+ *
+ *     System.out.println(drivetrain.getX() + ", " + drivetrain.getY());
+ * </pre>
+ */
+public class Simulator {
+    /**
+     * The names of the motors added by {@link Simulator#addOmniDrivetrain()}.
+     */
+    public static final String FRONT_LEFT = "FrontLeft";
+    public static final String FRONT_RIGHT = "FrontRight";
+    public static final String BACK_LEFT = "BackLeft";
+    public static final String BACK_RIGHT = "BackRight";
+
+    /**
+     * The time advanced by each step in seconds.
+     */
+    private final double stepSeconds;
+
+    /**
+     * The simulated hardware map.
+     */
+    private final HardwareMap hardwareMap = new HardwareMap(null);
+
+    /**
+     * The simulated telemetry.
+     */
+    private final SimTelemetry telemetry = new SimTelemetry();
+
+    /**
+     * The simulated motors.
+     */
+    private final List<SimMotor> motors = new ArrayList<>();
+
+    /**
+     * The simulated drivetrains.
+     */
+    private final List<SimOmniDrivetrain> drivetrains = new ArrayList<>();
+
+    /**
+     * The controller new motors are added to. Null if a new controller is needed.
+     */
+    private SimMotorController controller;
+
+    /**
+     * Where the robot loggers write to while running.
+     */
+    private LogWriter logWriter = LogWriter.STANDARD_OUT;
+
+    /**
+     * The opmode being run. Null if not running.
+     */
+    private LinearOpMode opMode;
+
+    /**
+     * The number of steps taken.
+     */
+    private long steps;
+
+    /**
+     * The number of steps after which the opmode is stopped.
+     */
+    private long stepLimit = Long.MAX_VALUE;
+
+    /**
+     * Creates a new instance of Simulator.
+     *
+     * @param stepSeconds   the time advanced by each step in seconds.
+     */
+    public Simulator(double stepSeconds) {
+        if (stepSeconds <= 0) throw new IllegalArgumentException("stepSeconds must be positive");
+
+        this.stepSeconds = stepSeconds;
+
+        // step the hardware every time the opmode sends its telemetry
+        this.telemetry.setUpdateListener(new SimTelemetry.UpdateListener() {
+            @Override
+            public void onUpdate(List<String> lines) {
+                step();
+            }
+        });
+    }
+
+    /**
+     * Adds a motor to the hardware map. Motors are put on two port controllers in the order they are added.
+     *
+     * @param name  the name of the motor in the hardware map.
+     * @return      the motor.
+     */
+    public SimMotor addMotor(String name) {
+        if (this.controller == null || ! this.controller.isPortFree(SimMotorController.PORT_COUNT)) {
+            String controllerName = "Motor Controller " + (this.hardwareMap.dcMotorController.size() + 1);
+            this.controller = new SimMotorController(controllerName);
+            this.hardwareMap.dcMotorController.put(controllerName, this.controller);
+        }
+
+        int port = this.controller.isPortFree(1) ? 1 : 2;
+        SimMotor motor = this.controller.addMotor(port);
+
+        this.hardwareMap.dcMotor.put(name, motor);
+        this.motors.add(motor);
+
+        return motor;
+    }
+
+    /**
+     * Adds an omniwheel drivetrain with the motors FrontLeft, FrontRight, BackLeft and BackRight.
+     *
+     * @return  the drivetrain.
+     */
+    public SimOmniDrivetrain addOmniDrivetrain() {
+        SimOmniDrivetrain drivetrain = new SimOmniDrivetrain(addMotor(FRONT_LEFT), addMotor(FRONT_RIGHT),
+                addMotor(BACK_LEFT), addMotor(BACK_RIGHT));
+        this.drivetrains.add(drivetrain);
+
+        return drivetrain;
+    }
+
+    /**
+     * Sets where the robot loggers write to while running.
+     *
+     * @param logWriter the writer.
+     */
+    public void setLogWriter(LogWriter logWriter) {
+        this.logWriter = logWriter;
+    }
+
+    /**
+     * Gets the simulated hardware map.
+     *
+     * @return  the hardware map.
+     */
+    public HardwareMap getHardwareMap() {
+        return this.hardwareMap;
+    }
+
+    /**
+     * Gets the simulated telemetry.
+     *
+     * @return  the telemetry.
+     */
+    public SimTelemetry getTelemetry() {
+        return this.telemetry;
+    }
+
+    /**
+     * Advances the simulation by one step. The opmode being run is stopped once its time is up.
+     */
+    public void step() {
+        for (SimMotor motor : this.motors) motor.step(this.stepSeconds);
+        for (SimOmniDrivetrain drivetrain : this.drivetrains) drivetrain.step(this.stepSeconds);
+
+        this.steps++;
+
+        if (this.opMode != null && this.steps >= this.stepLimit) this.opMode.stop();
+    }
+
+    /**
+     * Gets the simulated time.
+     *
+     * @return  the time in seconds.
+     */
+    public double getTime() {
+        return this.steps * this.stepSeconds;
+    }
+
+    /**
+     * Gets the simulated time in nanoseconds. This can be used in place of {@link System#nanoTime()}.
+     *
+     * @return  the time in nanoseconds.
+     */
+    public long nanoTime() {
+        return Math.round(getTime() * 1e9);
+    }
+
+    /**
+     * Runs an opmode on the current thread until it returns. The opmode is started right away and
+     * stopped once the given simulated time has passed.
+     *
+     * @param opMode                the opmode to run.
+     * @param seconds               the simulated time to run the opmode for.
+     * @throws InterruptedException Thrown if the thread is interrupted.
+     */
+    public void run(LinearOpMode opMode, double seconds) throws InterruptedException {
+        opMode.hardwareMap = this.hardwareMap;
+        opMode.telemetry = this.telemetry;
+        if (opMode.gamepad1 == null) opMode.gamepad1 = new Gamepad();
+        if (opMode.gamepad2 == null) opMode.gamepad2 = new Gamepad();
+
+        this.stepLimit = this.steps + (long) Math.ceil(seconds / this.stepSeconds);
+        this.opMode = opMode;
+
+        LogWriter previousWriter = RobotLogger.getLogWriter();
+        RobotLogger.setLogWriter(this.logWriter);
+
+        try {
+            // start before running so that waitForStart returns immediately
+            opMode.start();
+            opMode.runOpMode();
+        } finally {
+            this.opMode = null;
+            this.stepLimit = Long.MAX_VALUE;
+            RobotLogger.setLogWriter(previousWriter);
+        }
+    }
+}
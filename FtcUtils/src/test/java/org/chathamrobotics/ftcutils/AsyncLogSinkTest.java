@@ -0,0 +1,268 @@
+package org.chathamrobotics.ftcutils;
+
+import org.chathamrobotics.ftcutils.sim.SimTelemetry;
+import org.chathamrobotics.ftcutils.sim.Simulator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Tests {@link AsyncLogSink} writing to a recording writer and to the stand-in for the log cat.
+ */
+public class AsyncLogSinkTest {
+    /**
+     * A writer that keeps the lines it was given and can be made to wait on a latch.
+     */
+    private static class RecordingWriter implements LogWriter {
+        private final List<String> lines = new ArrayList<>();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        private RecordingWriter(boolean block) {
+            this.release = new CountDownLatch(block ? 1 : 0);
+        }
+
+        @Override
+        public void println(int priority, String tag, String line) {
+            this.entered.countDown();
+
+            try {
+                this.release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            synchronized (this.lines) {
+                this.lines.add(tag + ": " + line);
+            }
+        }
+
+        private List<String> getLines() {
+            synchronized (this.lines) {
+                return new ArrayList<>(this.lines);
+            }
+        }
+    }
+
+    /**
+     * A robot without any hardware.
+     */
+    private static class EmptyRobot extends Robot {
+        private EmptyRobot() {
+            super(new Simulator(0.01).getHardwareMap(), new SimTelemetry());
+        }
+
+        @Override
+        public void initHardware() {}
+
+        @Override
+        public void start() {}
+    }
+
+    private PrintStream previousErr;
+    private ByteArrayOutputStream err;
+
+    @Before
+    public void setUp() throws Exception {
+        // the log cat stand-in prints to standard error
+        this.previousErr = System.err;
+        this.err = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(this.err, true, "UTF-8"));
+    }
+
+    @After
+    public void tearDown() {
+        System.setErr(this.previousErr);
+        RobotLogger.setAsyncSink(null);
+    }
+
+    @Test
+    public void countsTheLinesDroppedWhenFull() {
+        RecordingWriter writer = new RecordingWriter(false);
+        AsyncLogSink sink = new AsyncLogSink(3, writer);
+        assertEquals(4, sink.getCapacity());
+
+        for (int i = 0; i < 4; i++) assertTrue(sink.offer(4, "Test", "line " + i));
+        assertFalse(sink.offer(4, "Test", "line 4"));
+        assertFalse(sink.offer(4, "Test", "line 5"));
+
+        assertEquals(2, sink.getDroppedCount());
+        assertEquals(4, sink.getPendingCount());
+
+        // without a writer thread the lines are written on the calling thread
+        assertTrue(sink.flush(100));
+        assertEquals(Arrays.asList("Test: line 0", "Test: line 1", "Test: line 2", "Test: line 3",
+                AsyncLogSink.TAG + ": Dropped 2 lines"), writer.getLines());
+        assertEquals(0, sink.getPendingCount());
+
+        // the freed slots take lines again, and the drops are only reported once
+        assertTrue(sink.offer(4, "Test", "line 6"));
+        assertTrue(sink.flush(100));
+        assertEquals("Test: line 6", writer.getLines().get(5));
+        assertEquals(6, writer.getLines().size());
+    }
+
+    @Test
+    public void writesInBatches() {
+        RecordingWriter writer = new RecordingWriter(false);
+        AsyncLogSink sink = new AsyncLogSink(8, writer);
+        sink.setBatchSize(3);
+
+        for (int i = 0; i < 9; i++) sink.offer(4, "Test", "line " + i);
+        assertTrue(sink.flush(100));
+
+        // the drop is reported at the end of the first batch
+        assertEquals(Arrays.asList("Test: line 0", "Test: line 1", "Test: line 2",
+                AsyncLogSink.TAG + ": Dropped 1 lines",
+                "Test: line 3", "Test: line 4", "Test: line 5", "Test: line 6", "Test: line 7"), writer.getLines());
+    }
+
+    @Test(timeout = 10000)
+    public void keepsTheOrderOfEachProducer() throws InterruptedException {
+        final int producerCount = 4, lineCount = 20000;
+        RecordingWriter writer = new RecordingWriter(false);
+        final AsyncLogSink sink = new AsyncLogSink(64, writer);
+        sink.setBatchSize(8);
+        sink.setIdleNanos(100000);
+        sink.start();
+
+        final CountDownLatch go = new CountDownLatch(1);
+        final long[] refused = new long[producerCount];
+        Thread[] producers = new Thread[producerCount];
+
+        for (int p = 0; p < producerCount; p++) {
+            final int producer = p;
+            producers[p] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        go.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+
+                    for (int i = 0; i < lineCount; i++) {
+                        // retries until the line fits, so that every line is written once
+                        while (! sink.offer(4, "P" + producer, Integer.toString(i))) {
+                            refused[producer]++;
+                            Thread.yield();
+                        }
+                    }
+                }
+            });
+            producers[p].start();
+        }
+
+        go.countDown();
+        for (Thread producer : producers) producer.join();
+        assertTrue(sink.stop(5000));
+
+        int[] next = new int[producerCount];
+        long reportedDropped = 0, totalRefused = 0;
+
+        for (String line : writer.getLines()) {
+            if (line.startsWith(AsyncLogSink.TAG)) {
+                reportedDropped += Long.parseLong(line.split(" ")[2]);
+                continue;
+            }
+
+            int producer = line.charAt(1) - '0';
+            assertEquals(line, Integer.toString(next[producer]), line.substring(line.indexOf(": ") + 2));
+            next[producer]++;
+        }
+
+        for (int p = 0; p < producerCount; p++) {
+            assertEquals(lineCount, next[p]);
+            totalRefused += refused[p];
+        }
+
+        assertEquals(totalRefused, sink.getDroppedCount());
+        assertEquals(totalRefused, reportedDropped);
+    }
+
+    @Test(timeout = 5000)
+    public void givesUpOnAWriterThatDoesNotFinish() throws InterruptedException {
+        RecordingWriter writer = new RecordingWriter(true);
+        AsyncLogSink sink = new AsyncLogSink(8, writer);
+        sink.start();
+
+        sink.offer(4, "Test", "line 0");
+        assertTrue(writer.entered.await(1, TimeUnit.SECONDS));
+        sink.offer(4, "Test", "line 1");
+
+        long start = System.nanoTime();
+        assertFalse(sink.flush(50));
+        assertFalse(sink.stop(50));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+
+        // the old writer thread is still writing, so no other thread may write yet
+        try {
+            sink.start();
+            fail("Started while the previous writer thread was running");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        writer.release.countDown();
+        assertTrue(sink.stop(1000));
+        assertEquals(Arrays.asList("Test: line 0", "Test: line 1"), writer.getLines());
+
+        // a stopped sink can be started again
+        sink.start();
+        sink.offer(4, "Test", "line 2");
+        assertTrue(sink.flush(1000));
+        assertTrue(sink.stop(1000));
+        assertEquals(3, writer.getLines().size());
+    }
+
+    @Test(timeout = 5000)
+    public void robotStopFlushesToTheLogCat() throws Exception {
+        AsyncLogSink sink = new AsyncLogSink(64);
+        sink.start();
+        RobotLogger.setAsyncSink(sink);
+
+        new EmptyRobot().stop();
+
+        // the line went through the sink's thread and android.util.Log, and was written before stop returned
+        assertTrue(this.err.toString("UTF-8").contains("I/EmptyRobot: Stopping Robot..."));
+        assertTrue(sink.stop(1000));
+    }
+
+    @Test(timeout = 5000)
+    public void robotStopDoesNotWaitForAStuckWriter() throws InterruptedException {
+        RecordingWriter writer = new RecordingWriter(true);
+        AsyncLogSink sink = new AsyncLogSink(64, writer);
+        sink.start();
+        RobotLogger.setAsyncSink(sink);
+
+        long start = System.nanoTime();
+        new EmptyRobot().stop();
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < RobotLogger.FLUSH_TIMEOUT + 1000);
+
+        writer.release.countDown();
+        assertTrue(sink.stop(1000));
+        assertTrue(writer.getLines().contains("EmptyRobot: Stopping Robot..."));
+    }
+}
@@ -0,0 +1,150 @@
+package org.chathamrobotics.ftcutils;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Tests {@link CommandGroup} run by a {@link CommandScheduler}.
+ */
+public class CommandGroupTest {
+    private static final Object DRIVE = "drive", LIFT = "lift";
+
+    private final List<String> events = new ArrayList<>();
+    private CommandScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        this.scheduler = new CommandScheduler();
+    }
+
+    @Test
+    public void runsASequenceOneAfterAnother() {
+        CommandGroup group = CommandGroup.sequence(command("a", 1, DRIVE), command("b", 2, DRIVE));
+        assertEquals(Arrays.asList(DRIVE), group.getRequirements());
+
+        assertTrue(this.scheduler.schedule(group));
+        runUntilDone(group);
+
+        assertEquals(Arrays.asList("a init", "a exec", "a end", "b init", "b exec", "b exec", "b end"), this.events);
+    }
+
+    @Test
+    public void runsAParallelGroupUntilEveryCommandIsDone() {
+        CommandGroup group = CommandGroup.parallel(command("a", 1, DRIVE), command("b", 2, LIFT));
+        assertEquals(Arrays.asList(DRIVE, LIFT), group.getRequirements());
+
+        this.scheduler.schedule(group);
+        runUntilDone(group);
+
+        assertEquals(Arrays.asList("a init", "b init", "a exec", "a end", "b exec", "b exec", "b end"), this.events);
+    }
+
+    @Test
+    public void interruptsTheRestOfARaceWhenOneIsDone() {
+        CommandGroup group = CommandGroup.race(command("a", 1), command("b", -1), command("c", -1));
+
+        this.scheduler.schedule(group);
+        runUntilDone(group);
+
+        // the winner ends before the others are interrupted
+        assertEquals(Arrays.asList("a init", "b init", "c init", "a exec", "a end", "b exec", "c exec",
+                "b interrupted", "c interrupted"), this.events);
+    }
+
+    @Test
+    public void interruptsTheRunningCommandWhenInterrupted() {
+        CommandGroup group = CommandGroup.sequence(command("a", -1, DRIVE), command("b", 1));
+        this.scheduler.schedule(group);
+        this.scheduler.run();
+
+        assertTrue(this.scheduler.schedule(command("x", -1, DRIVE)));
+
+        // the group ends its command before the one taking the resource starts, and never starts b
+        assertEquals(Arrays.asList("a init", "a exec", "a interrupted", "x init"), this.events);
+        assertFalse(group.isScheduled());
+    }
+
+    @Test
+    public void nestsGroups() {
+        CommandGroup group = CommandGroup.sequence(
+                CommandGroup.parallel(command("a", 1, DRIVE), command("b", 2, LIFT)),
+                CommandGroup.race(command("c", 1, DRIVE), command("d", -1, LIFT)));
+
+        this.scheduler.schedule(group);
+        runUntilDone(group);
+
+        assertEquals(Arrays.asList("a init", "b init", "a exec", "a end", "b exec", "b exec", "b end",
+                "c init", "d init", "c exec", "c end", "d exec", "d interrupted"), this.events);
+    }
+
+    @Test
+    public void rejectsCommandsThatWouldShareAResourceAtOnce() {
+        try {
+            CommandGroup.parallel(command("a", 1, DRIVE), command("b", 1, LIFT, DRIVE));
+            fail("A parallel group shared a resource");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        try {
+            CommandGroup.race(command("a", 1, LIFT), command("b", 1, LIFT));
+            fail("A race shared a resource");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        RecordingCommand twice = command("a", 1);
+        try {
+            CommandGroup.parallel(twice, twice);
+            fail("A parallel group ran a command twice");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        // a sequence only runs one at a time
+        CommandGroup.sequence(command("a", 1, DRIVE), command("b", 1, DRIVE));
+        CommandGroup.sequence(twice, twice);
+    }
+
+    @Test
+    public void cannotBeInterruptedIfACommandCannot() {
+        CommandGroup group = CommandGroup.parallel(command("a", -1, DRIVE), command("b", -1, LIFT).uninterruptible());
+        assertFalse(group.isInterruptible());
+
+        this.scheduler.schedule(group);
+        assertFalse(this.scheduler.schedule(command("x", -1, DRIVE)));
+        assertTrue(group.isScheduled());
+    }
+
+    /**
+     * Creates a command that adds its events to the test's events.
+     */
+    private RecordingCommand command(String name, int loops, Object... resources) {
+        return new RecordingCommand(this.events, name, loops, resources);
+    }
+
+    /**
+     * Runs the scheduler until the group is done.
+     */
+    private void runUntilDone(CommandGroup group) {
+        for (int i = 0; i < 10 && group.isScheduled(); i++) this.scheduler.run();
+        assertFalse("The group did not finish", group.isScheduled());
+    }
+}
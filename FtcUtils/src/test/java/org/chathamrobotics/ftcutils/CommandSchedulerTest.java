@@ -0,0 +1,193 @@
+package org.chathamrobotics.ftcutils;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Tests how {@link CommandScheduler} shares resources between commands.
+ */
+public class CommandSchedulerTest {
+    private static final Object DRIVE = "drive", LIFT = "lift";
+
+    private final List<String> events = new ArrayList<>();
+    private CommandScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        this.scheduler = new CommandScheduler();
+    }
+
+    @Test
+    public void endsCommandsThatAreDone() {
+        RecordingCommand command = command("a", 2, DRIVE);
+        assertTrue(this.scheduler.schedule(command));
+        assertSame(command, this.scheduler.getOwner(DRIVE));
+
+        this.scheduler.run();
+        this.scheduler.run();
+
+        assertEquals(Arrays.asList("a init", "a exec", "a exec", "a end"), this.events);
+        assertFalse(command.isScheduled());
+        assertNull(this.scheduler.getOwner(DRIVE));
+    }
+
+    @Test
+    public void interruptsTheCommandUsingAResource() {
+        RecordingCommand first = command("a", -1, DRIVE, LIFT);
+        RecordingCommand second = command("b", -1, LIFT);
+
+        this.scheduler.schedule(first);
+        assertTrue(this.scheduler.schedule(second));
+
+        // the old command ends before the new one starts, and frees every resource
+        assertEquals(Arrays.asList("a init", "a interrupted", "b init"), this.events);
+        assertNull(this.scheduler.getOwner(DRIVE));
+        assertSame(second, this.scheduler.getOwner(LIFT));
+    }
+
+    @Test
+    public void keepsACommandThatCannotBeInterrupted() {
+        RecordingCommand first = command("a", -1, DRIVE).uninterruptible();
+        this.scheduler.schedule(first);
+
+        assertFalse(this.scheduler.schedule(command("b", -1, DRIVE)));
+        assertSame(first, this.scheduler.getOwner(DRIVE));
+        assertEquals(Arrays.asList("a init"), this.events);
+
+        // it can still be cancelled
+        this.scheduler.cancel(first);
+        assertEquals(Arrays.asList("a init", "a interrupted"), this.events);
+    }
+
+    @Test
+    public void decidesOnCommandsScheduledWhileRunning() {
+        this.scheduler.schedule(command("holder", -1, DRIVE).uninterruptible());
+
+        final RecordingCommand blocked = command("blocked", -1, DRIVE);
+        final RecordingCommand first = command("first", -1, LIFT);
+        final RecordingCommand second = command("second", -1, LIFT);
+        final List<Boolean> results = new ArrayList<>();
+
+        this.scheduler.schedule(new Command() {
+            @Override
+            public void execute() {
+                results.add(scheduler.schedule(blocked));
+                results.add(scheduler.schedule(first));
+                results.add(scheduler.schedule(first));
+
+                // takes the resource from the first, which never starts
+                results.add(scheduler.schedule(second));
+            }
+
+            @Override
+            public boolean isFinished() {
+                return true;
+            }
+        });
+        this.events.clear();
+        this.scheduler.run();
+
+        assertEquals(Arrays.asList(false, true, true, true), results);
+        assertEquals(Arrays.asList("holder exec", "second init"), this.events);
+        assertSame(second, this.scheduler.getOwner(LIFT));
+        assertFalse(first.isScheduled());
+    }
+
+    @Test
+    public void refusesCommandsBehindAnUninterruptibleOneScheduledWhileRunning() {
+        final RecordingCommand stubborn = command("stubborn", -1, LIFT).uninterruptible();
+        final RecordingCommand later = command("later", -1, LIFT);
+        final List<Boolean> results = new ArrayList<>();
+
+        this.scheduler.schedule(new Command() {
+            @Override
+            public void execute() {
+                results.add(scheduler.schedule(stubborn));
+                results.add(scheduler.schedule(later));
+            }
+
+            @Override
+            public boolean isFinished() {
+                return true;
+            }
+        });
+        this.scheduler.run();
+
+        assertEquals(Arrays.asList(true, false), results);
+        assertSame(stubborn, this.scheduler.getOwner(LIFT));
+    }
+
+    @Test
+    public void interruptsARunningOwnerOnceEveryCommandHasRun() {
+        final RecordingCommand owner = command("owner", -1, DRIVE);
+        final RecordingCommand taker = command("taker", -1, DRIVE);
+
+        this.scheduler.schedule(new Command() {
+            @Override
+            public void execute() {
+                events.add("trigger exec");
+                scheduler.schedule(taker);
+            }
+
+            @Override
+            public boolean isFinished() {
+                return true;
+            }
+        });
+        this.scheduler.schedule(owner);
+        this.events.clear();
+        this.scheduler.run();
+
+        // the owner is cancelled right away, so it is skipped this loop and ended before the taker starts
+        assertEquals(Arrays.asList("trigger exec", "owner interrupted", "taker init"), this.events);
+        assertSame(taker, this.scheduler.getOwner(DRIVE));
+    }
+
+    @Test
+    public void doesNotStartACommandCancelledBeforeItStarted() {
+        final RecordingCommand command = command("a", -1, DRIVE);
+
+        this.scheduler.schedule(new Command() {
+            @Override
+            public void execute() {
+                scheduler.schedule(command);
+                scheduler.cancel(command);
+            }
+
+            @Override
+            public boolean isFinished() {
+                return true;
+            }
+        });
+        this.scheduler.run();
+
+        assertEquals(0, this.events.size());
+        assertEquals(0, this.scheduler.getScheduledCount());
+        assertNull(this.scheduler.getOwner(DRIVE));
+    }
+
+    /**
+     * Creates a command that adds its events to the test's events.
+     */
+    private RecordingCommand command(String name, int loops, Object... resources) {
+        return new RecordingCommand(this.events, name, loops, resources);
+    }
+}
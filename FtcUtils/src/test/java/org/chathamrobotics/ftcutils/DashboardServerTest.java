@@ -0,0 +1,214 @@
+package org.chathamrobotics.ftcutils;
+
+import org.chathamrobotics.ftcutils.sim.SimTelemetry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Tests {@link DashboardServer} with a WebSocket client on a socket.
+ */
+public class DashboardServerTest {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private DashboardServer server;
+
+    @Before
+    public void setUp() {
+        this.server = new DashboardServer(0);
+        this.server.setSendInterval(10);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        this.server.stop();
+    }
+
+    @Test(timeout = 10000)
+    public void streamsAChannelOverAWebSocket() throws IOException, InterruptedException {
+        TelemetryChannel channel = new TelemetryChannel(new RobotLogger("Test", new SimTelemetry()));
+        int heading = channel.register(RobotLogger.Level.DEBUG, "Heading");
+        int speed = channel.register(RobotLogger.Level.DEBUG, "Speed");
+
+        this.server.attach(channel);
+        this.server.start();
+
+        try (Socket socket = connect(this.server.getLocalPort())) {
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+
+            channel.set(heading, 1.5);
+            channel.set(speed, -0.25);
+            channel.publish(true);
+            this.server.log(4, "Tag", "hello");
+
+            // a schema, a sample and a log line, which may be split over more than one frame
+            ByteBuffer messages = readMessages(in, 20 + 20 + 14);
+
+            assertEquals(DashboardServer.SCHEMA, messages.get());
+            assertEquals(0, messages.get());
+            assertEquals(2, messages.getShort());
+            assertEquals("Heading", getString(messages));
+            assertEquals("Speed", getString(messages));
+
+            assertEquals(DashboardServer.SAMPLE, messages.get());
+            assertEquals(0, messages.get());
+            assertTrue(messages.getLong() > 0);
+            assertEquals(2, messages.getShort());
+            assertEquals(1.5, messages.getFloat(), 0);
+            assertEquals(-0.25, messages.getFloat(), 0);
+
+            assertEquals(DashboardServer.LOG, messages.get());
+            assertEquals(4, messages.get());
+            assertEquals("Tag", getString(messages));
+            assertEquals("hello", getString(messages));
+            assertFalse(messages.hasRemaining());
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void failedStartLeavesTheServerStopped() throws IOException, InterruptedException {
+        int port;
+
+        try (ServerSocket taken = new ServerSocket(0)) {
+            port = taken.getLocalPort();
+            this.server = new DashboardServer(port);
+
+            try {
+                this.server.start();
+                fail("Started on a port that was taken");
+            } catch (IOException e) {
+                // expected
+            }
+
+            assertFalse(this.server.isRunning());
+            assertEquals(-1, this.server.getLocalPort());
+        }
+
+        // the failed start did not hold on to anything, so it can start once the port is free
+        this.server.start();
+        assertEquals(port, this.server.getLocalPort());
+        connect(port).close();
+    }
+
+    @Test(timeout = 10000)
+    public void restartsAfterAStop() throws IOException, InterruptedException {
+        this.server.start();
+        connect(this.server.getLocalPort()).close();
+        this.server.stop();
+
+        assertFalse(this.server.isRunning());
+        assertEquals(-1, this.server.getLocalPort());
+
+        this.server.start();
+        try (Socket socket = connect(this.server.getLocalPort())) {
+            this.server.log(4, "Tag", "again");
+
+            ByteBuffer messages = readMessages(new DataInputStream(socket.getInputStream()), 14);
+            assertEquals(DashboardServer.LOG, messages.get());
+            messages.get();
+            assertEquals("Tag", getString(messages));
+            assertEquals("again", getString(messages));
+        }
+    }
+
+    /**
+     * Connects to the server and completes a WebSocket handshake.
+     *
+     * @param port  the server's port.
+     * @return      the connected socket.
+     */
+    private Socket connect(int port) throws IOException, InterruptedException {
+        Socket socket = new Socket("127.0.0.1", port);
+        socket.setSoTimeout(5000);
+
+        // the key and accept key from the example in RFC 6455
+        OutputStream out = socket.getOutputStream();
+        out.write(("GET /ws HTTP/1.1\r\nHost: localhost\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+                + "Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\r\nSec-WebSocket-Version: 13\r\n\r\n").getBytes(UTF_8));
+        out.flush();
+
+        String response = readHeader(new DataInputStream(socket.getInputStream()));
+        assertTrue(response, response.startsWith("HTTP/1.1 101 "));
+        assertTrue(response, response.contains("Sec-WebSocket-Accept: s3pPLMBiTxaQ9kYGzzhZRbK+xOo=\r\n"));
+
+        while (this.server.getClientCount() == 0) Thread.sleep(1);
+
+        return socket;
+    }
+
+    /**
+     * Reads an HTTP response header.
+     *
+     * @param in    the stream to read from.
+     * @return      the header, including the blank line at its end.
+     */
+    private static String readHeader(DataInputStream in) throws IOException {
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+
+        while (true) {
+            header.write(in.readUnsignedByte());
+
+            String text = new String(header.toByteArray(), UTF_8);
+            if (text.endsWith("\r\n\r\n")) return text;
+        }
+    }
+
+    /**
+     * Reads binary WebSocket frames from the server until enough messages have been sent.
+     *
+     * @param in        the stream to read from.
+     * @param length    the length of the messages expected.
+     * @return          the payloads of the frames.
+     */
+    private static ByteBuffer readMessages(DataInputStream in, int length) throws IOException {
+        ByteArrayOutputStream messages = new ByteArrayOutputStream();
+
+        while (messages.size() < length) {
+            assertEquals(0x82, in.readUnsignedByte());
+
+            int frameLength = in.readUnsignedByte();
+            if (frameLength == 126) frameLength = in.readUnsignedShort();
+            else if (frameLength == 127) frameLength = (int) in.readLong();
+
+            byte[] payload = new byte[frameLength];
+            in.readFully(payload);
+            messages.write(payload);
+        }
+
+        return ByteBuffer.wrap(messages.toByteArray());
+    }
+
+    /**
+     * Reads a string written as a u16 length followed by its bytes.
+     *
+     * @param buffer    the buffer to read from.
+     * @return          the string.
+     */
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+}
@@ -0,0 +1,128 @@
+package org.chathamrobotics.ftcutils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Tests the rows of {@link DriveKinematics} against the positions of the wheels, and checks that
+ * {@link OmniKinematics} gives the powers of the original omniwheel driver with the rotation turned around.
+ */
+public class DriveKinematicsTest {
+    /**
+     * The x and y of each wheel's corner, in the order of the wheel speeds.
+     */
+    private static final double[][] CORNERS = {
+            {-1, 1}, {1, 1}, {-1, -1}, {1, -1}
+    };
+
+    private static final double TOLERANCE = 1e-9;
+
+    /**
+     * Checks that a right rotation drives every wheel the way its corner moves when the robot spins
+     * clockwise. A wheel's x and y weights are how its speed follows the robot's movement, so the
+     * rotation weight has to have the sign of those weights applied to the clockwise tangent.
+     *
+     * @param name          the name of the drivetrain.
+     * @param kinematics    the kinematics.
+     */
+    private static void assertRotationFollowsCorners(String name, DriveKinematics kinematics) {
+        double[] forward = new double[4], right = new double[4], rotation = new double[4];
+        kinematics.solve(1, 0, 0, forward);
+        kinematics.solve(0, 1, 0, right);
+        kinematics.solve(0, 0, 1, rotation);
+
+        for (int wheel = 0; wheel < 4; wheel++) {
+            // a point at (x, y) moves along (y, -x) when the robot spins clockwise
+            double tangentX = CORNERS[wheel][1];
+            double tangentY = -CORNERS[wheel][0];
+            double expected = Math.signum(right[wheel] * tangentX + forward[wheel] * tangentY);
+
+            assertEquals(name + " wheel " + wheel, expected, Math.signum(rotation[wheel]), 0);
+        }
+    }
+
+    @Test
+    public void rotationFollowsTheCorners() {
+        assertRotationFollowsCorners("tank", DriveKinematics.tank());
+        assertRotationFollowsCorners("mecanum", DriveKinematics.mecanum());
+        assertRotationFollowsCorners("x-drive", DriveKinematics.xDrive());
+    }
+
+    @Test
+    public void xDriveWheelsRollAlongTheClockwiseTangent() {
+        double[] forward = new double[4], right = new double[4], rotation = new double[4];
+        DriveKinematics kinematics = DriveKinematics.xDrive();
+        kinematics.solve(1, 0, 0, forward);
+        kinematics.solve(0, 1, 0, right);
+        kinematics.solve(0, 0, 1, rotation);
+
+        for (int wheel = 0; wheel < 4; wheel++) {
+            double length = Math.hypot(CORNERS[wheel][0], CORNERS[wheel][1]);
+
+            // each wheel's x and y weights are the unit clockwise tangent of its corner
+            assertEquals("wheel " + wheel + " x", CORNERS[wheel][1] / length, right[wheel], TOLERANCE);
+            assertEquals("wheel " + wheel + " y", -CORNERS[wheel][0] / length, forward[wheel], TOLERANCE);
+            assertEquals("wheel " + wheel + " rotation", 1, rotation[wheel], TOLERANCE);
+        }
+    }
+
+    /**
+     * The power the original omniwheel driver gave a motor.
+     *
+     * @param isFront   whether the motor is in the front.
+     * @param isLeft    whether the motor is on the left side.
+     * @param direction the direction in radians.
+     * @param rotation  the rotation.
+     * @param magnitude the magnitude.
+     * @return          the power.
+     */
+    private static double originalPower(boolean isFront, boolean isLeft, double direction, double rotation, double magnitude) {
+        direction += OmniWheelDriver.OMNIWHEEL_PLANE_TRANSFORM_ANGLE;
+        double power = (isFront == isLeft ? Math.sin(direction) : Math.cos(direction)) * magnitude;
+
+        if (isFront) {
+            power -= rotation;
+        }
+        else {
+            power += rotation;
+            power *= -1;
+        }
+
+        return Math.max(-1, Math.min(1, power));
+    }
+
+    @Test
+    public void omniKinematicsOnlyReversesTheOriginalRotation() {
+        OmniKinematics omni = new OmniKinematics();
+        double[] expected = new double[4], vector = new double[4], angle = new double[4];
+
+        for (double direction = -Math.PI; direction < Math.PI; direction += 0.1) {
+            for (double rotation = -0.5; rotation <= 0.5; rotation += 0.25) {
+                double y = Math.sin(direction) * 0.5, x = Math.cos(direction) * 0.5;
+
+                // the original driver turned left for a positive rotation
+                expected[OmniKinematics.FRONT_LEFT] = originalPower(true, true, direction, -rotation, 0.5);
+                expected[OmniKinematics.FRONT_RIGHT] = originalPower(true, false, direction, -rotation, 0.5);
+                expected[OmniKinematics.BACK_LEFT] = originalPower(false, true, direction, -rotation, 0.5);
+                expected[OmniKinematics.BACK_RIGHT] = originalPower(false, false, direction, -rotation, 0.5);
+
+                omni.solveVector(y, x, rotation, 0.5, vector);
+                omni.solve(direction, rotation, 0.5, angle);
+
+                for (int wheel = 0; wheel < 4; wheel++) {
+                    assertEquals(expected[wheel], vector[wheel], TOLERANCE);
+                    assertEquals(expected[wheel], angle[wheel], TOLERANCE);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package org.chathamrobotics.ftcutils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Tests {@link FiringSolutionCache} with a drag free model, a grid of 0.1 m and a 45 degree launcher.
+ * The hits and misses show which solutions the cache remembered.
+ */
+public class FiringSolutionCacheTest {
+    private static final ProjectileModel MODEL = new ProjectileModel(0, 0, 0.01);
+    private static final double FIRE_ANGLE = Math.PI / 4;
+    private static final double MAX_VELOCITY = 20;
+    private static final double RESOLUTION = 0.1;
+
+    @Test
+    public void remembersSolutionsAtTheNearestGridPoint() {
+        FiringSolutionCache cache = newCache(8);
+
+        double solution = cache.solve(1.04, 0.26);
+        assertEquals(exact(10, 3), solution, 0);
+        assertEquals(1, cache.getMissCount());
+
+        assertEquals(solution, cache.solve(0.96, 0.34), 0);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.size());
+
+        // targets that cannot be hit are remembered too
+        assertTrue(Double.isNaN(cache.solve(0, 0)));
+        assertTrue(Double.isNaN(cache.solve(0, 0)));
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void forgetsTheLeastRecentlyUsed() {
+        FiringSolutionCache cache = newCache(3);
+
+        cache.solve(1, 0);
+        cache.solve(2, 0);
+        cache.solve(3, 0);
+        cache.solve(1, 0);
+        cache.solve(4, 0);
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getHitCount());
+
+        // 2 was used longest ago, so it was the one forgotten
+        cache.solve(1, 0);
+        cache.solve(3, 0);
+        cache.solve(4, 0);
+        assertEquals(4, cache.getHitCount());
+
+        cache.solve(2, 0);
+        assertEquals(5, cache.getMissCount());
+    }
+
+    @Test
+    public void findsTheKeysProbedPastAForgottenOne() {
+        FiringSolutionCache cache = newCache(4);
+
+        // four rows whose keys all hash to the same slot of the table, which has 8 slots for 4 entries
+        List<Long> rows = new ArrayList<>();
+        int home = hash(key(1, 0)) & 7;
+        for (long row = 1; rows.size() < 4; row++) {
+            if ((hash(key(row, 0)) & 7) == home) rows.add(row);
+        }
+
+        for (long row : rows) cache.solve(row * RESOLUTION, 0);
+        assertEquals(4, cache.getMissCount());
+
+        // forgetting the first empties the start of the probe run, so the rest have to be moved back
+        cache.solve((rows.get(3) + 1) * RESOLUTION, 0);
+        for (int i = 1; i < 4; i++) assertEquals(exact(rows.get(i), 0), cache.solve(rows.get(i) * RESOLUTION, 0), 0);
+
+        assertEquals(3, cache.getHitCount());
+        assertEquals(4, cache.size());
+    }
+
+    @Test
+    public void behavesLikeAnLruMap() {
+        final int capacity = 8;
+        FiringSolutionCache cache = newCache(capacity);
+        Map<Long, Double> reference = new LinkedHashMap<Long, Double>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Double> eldest) {
+                return size() > capacity;
+            }
+        };
+
+        Random random = new Random(17);
+        long hits = 0;
+
+        for (int i = 0; i < 3000; i++) {
+            long row = 1 + random.nextInt(6), column = random.nextInt(4);
+            long key = key(row, column);
+
+            Double expected = reference.get(key);
+            if (expected != null) hits++;
+            else reference.put(key, exact(row, column));
+
+            assertEquals(reference.get(key), cache.solve(row * RESOLUTION, column * RESOLUTION), 0);
+            assertEquals("query " + i, hits, cache.getHitCount());
+            assertEquals(reference.size(), cache.size());
+        }
+
+        assertTrue(hits > 0 && cache.getMissCount() > capacity);
+    }
+
+    @Test(timeout = 10000)
+    public void warmsARangeInTheBackground() throws InterruptedException {
+        FiringSolutionCache cache = newCache(100);
+
+        cache.startWarming(0.5, 1.4, 0, 0.4);
+        assertTrue(cache.awaitWarm(5000));
+        assertEquals(50, cache.size());
+
+        for (int row = 5; row <= 14; row++) {
+            for (int column = 0; column <= 4; column++) {
+                assertEquals(exact(row, column), cache.solve(row * RESOLUTION, column * RESOLUTION), 0);
+            }
+        }
+
+        assertEquals(50, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void rejectsARangeLargerThanTheCapacity() {
+        FiringSolutionCache cache = newCache(49);
+
+        try {
+            cache.startWarming(0.5, 1.4, 0, 0.4);
+            fail("Warmed more grid points than it can hold");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param capacity  the most solutions remembered.
+     * @return          the cache.
+     */
+    private static FiringSolutionCache newCache(int capacity) {
+        return new FiringSolutionCache(MODEL, FIRE_ANGLE, MAX_VELOCITY, RESOLUTION, capacity);
+    }
+
+    /**
+     * Calculates the solution at a grid point without the cache.
+     *
+     * @param row       the distance in resolutions.
+     * @param column    the height in resolutions.
+     * @return          the solution.
+     */
+    private static double exact(long row, long column) {
+        return MODEL.solveVelocity(row * RESOLUTION, column * RESOLUTION, FIRE_ANGLE, MAX_VELOCITY);
+    }
+
+    /**
+     * The cache's key for a grid point, copied from {@link FiringSolutionCache}.
+     *
+     * @param row       the distance in resolutions.
+     * @param column    the height in resolutions.
+     * @return          the key.
+     */
+    private static long key(long row, long column) {
+        return (row << 32) ^ (column & 0xffffffffL);
+    }
+
+    /**
+     * The cache's hash of a key, copied from {@link FiringSolutionCache}.
+     *
+     * @param key   the key.
+     * @return      the hash.
+     */
+    private static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -0,0 +1,135 @@
+package org.chathamrobotics.ftcutils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Tests {@link FiringTable} against the exact solutions from {@link Ballistics}, over the table in
+ * the class's example: 0.5 to 4 m away and 0 to 1.5 m up.
+ */
+public class FiringTableTest {
+    private static final double FIRE_ANGLE = Math.toRadians(40);
+    private static final double MAX_VELOCITY = 8;
+
+    @Test
+    public void fixedAngleIsCloseToBallistics() {
+        double coarse = maxError(FiringTable.forAngle(FIRE_ANGLE, MAX_VELOCITY, 0.5, 4, 0, 1.5, 64, 32), false);
+        double fine = maxError(FiringTable.forAngle(FIRE_ANGLE, MAX_VELOCITY, 0.5, 4, 0, 1.5, 128, 64), false);
+
+        // the error is largest in the cells next to the edge of what can be hit, and shrinks with a finer grid
+        assertTrue("relative error " + coarse, coarse < 0.01);
+        assertTrue("relative error " + fine, fine < coarse * 0.75);
+    }
+
+    @Test
+    public void fixedVelocityIsCloseToBallistics() {
+        for (boolean lofted : new boolean[] {false, true}) {
+            double coarse = maxError(FiringTable.forVelocity(6, lofted, 0.5, 4, 0, 1.5, 64, 32), lofted);
+            double fine = maxError(FiringTable.forVelocity(6, lofted, 0.5, 4, 0, 1.5, 128, 64), lofted);
+
+            assertTrue("angle error " + coarse, coarse < Math.toRadians(1));
+            assertTrue("angle error " + fine, fine < coarse * 0.75);
+        }
+    }
+
+    @Test
+    public void solvesExactlyOnTheEdgeAndOutsideTheGrid() {
+        FiringTable table = FiringTable.forAngle(FIRE_ANGLE, MAX_VELOCITY, 0.5, 4, 0, 1.5, 64, 32);
+
+        // outside the grid, including targets it cannot hit
+        assertEquals(Ballistics.solveVelocity(5, 0.5, FIRE_ANGLE), table.solve(5, 0.5), 0);
+        assertEquals(Ballistics.solveVelocity(2, -0.5, FIRE_ANGLE), table.solve(2, -0.5), 0);
+        assertFalse(table.canHit(0, 0));
+        assertFalse(table.canHit(-1, 0.5));
+        assertFalse(table.canHit(Double.NaN, 0.5));
+        assertFalse(table.canHit(2, Double.NaN));
+
+        // the upper corners of this target's cell need more than the max velocity
+        assertEquals(Ballistics.solveVelocity(3.99, 1.26, FIRE_ANGLE), table.solve(3.99, 1.26), 0);
+        assertTrue(table.solve(3.99, 1.26) < MAX_VELOCITY);
+        assertFalse(table.canHit(3.99, 1.3));
+        assertFalse(table.canHit(4, 1.5));
+    }
+
+    @Test
+    public void keepsItsSettings() {
+        FiringTable angle = FiringTable.forAngle(FIRE_ANGLE, MAX_VELOCITY, 0.5, 4, 0, 1.5, 2, 2);
+        assertEquals(FIRE_ANGLE, angle.getFireAngle(), 0);
+        assertTrue(Double.isNaN(angle.getVelocity()));
+
+        FiringTable velocity = FiringTable.forVelocity(6, true, 0.5, 4, 0, 1.5, 2, 2);
+        assertEquals(6, velocity.getVelocity(), 0);
+        assertTrue(Double.isNaN(velocity.getFireAngle()));
+    }
+
+    @Test
+    public void rejectsAnEmptyGrid() {
+        try {
+            FiringTable.forAngle(FIRE_ANGLE, MAX_VELOCITY, 0.5, 4, 0, 1.5, 1, 32);
+            fail("Made a table with one distance");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        try {
+            FiringTable.forVelocity(6, false, 0.5, 4, 1.5, 1.5, 64, 32);
+            fail("Made a table with no heights");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Sweeps a table between its grid points and compares it with {@link Ballistics}. Checks that
+     * the table gives NaN exactly where the target cannot be hit, and that the sweep covers
+     * targets that can and cannot be hit.
+     *
+     * @param table     the table, over 0.5 to 4 m away and 0 to 1.5 m up.
+     * @param lofted    whether a fixed velocity table uses the lofted angle.
+     * @return          the largest relative error of a fixed angle table's velocity, or the largest
+     *                  error of a fixed velocity table's angle in radians.
+     */
+    private static double maxError(FiringTable table, boolean lofted) {
+        boolean fixedAngle = ! Double.isNaN(table.getFireAngle());
+        double maxError = 0;
+        int hits = 0, misses = 0;
+
+        for (double distance = 0.5; distance <= 4; distance += 0.0137) {
+            for (double height = 0; height <= 1.5; height += 0.0123) {
+                double exact;
+                if (fixedAngle) {
+                    exact = Ballistics.solveVelocity(distance, height, FIRE_ANGLE);
+                    if (exact > MAX_VELOCITY) exact = Double.NaN;
+                } else {
+                    exact = Ballistics.solveAngle(distance, height, table.getVelocity(), lofted);
+                }
+
+                double solution = table.solve(distance, height);
+                assertEquals(distance + ", " + height, Double.isNaN(exact), Double.isNaN(solution));
+
+                if (Double.isNaN(exact)) {
+                    misses++;
+                } else {
+                    hits++;
+                    double error = Math.abs(solution - exact);
+                    maxError = Math.max(maxError, fixedAngle ? error / exact : error);
+                }
+            }
+        }
+
+        assertTrue(hits > 0 && misses > 0);
+        return maxError;
+    }
+}
@@ -0,0 +1,141 @@
+package org.chathamrobotics.ftcutils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Tests {@link FlightRecorder} writing to a temporary directory and reading back with
+ * {@link FlightRecorder#toCsv(File, java.io.Writer, boolean)}.
+ */
+public class FlightRecorderTest {
+    private static final String[] CHANNELS = {"a", "b,c"};
+
+    /**
+     * The size of the header for {@link #CHANNELS}.
+     */
+    private static final int HEADER_SIZE = 4 + 2 + 2 + 8 + (2 + 1) + (2 + 3);
+
+    /**
+     * The size of a frame for {@link #CHANNELS}.
+     */
+    private static final int FRAME_SIZE = 4 + 8 + 4 * 2;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void rotatesAndReadsBack() throws IOException {
+        File directory = this.folder.getRoot();
+        FlightRecorder recorder = new FlightRecorder(directory, "rec", CHANNELS, HEADER_SIZE + 3 * FRAME_SIZE, 2);
+
+        for (int i = 0; i < 7; i++) {
+            recorder.set(0, i);
+            recorder.set(1, -i / 2.0);
+            assertTrue(recorder.record());
+        }
+        recorder.close();
+        assertFalse(recorder.isOpen());
+        assertFalse(recorder.record());
+
+        // three frames fit in each file, and only the last two files are kept
+        File first = new File(directory, "rec-0000.rec"), second = new File(directory, "rec-0001.rec"),
+                third = new File(directory, "rec-0002.rec");
+        assertFalse(first.exists());
+        assertEquals(HEADER_SIZE + 3 * FRAME_SIZE, second.length());
+        assertEquals(HEADER_SIZE + FRAME_SIZE, third.length());
+
+        StringWriter csv = new StringWriter();
+        assertEquals(3, FlightRecorder.toCsv(second, csv, true));
+        assertEquals(1, FlightRecorder.toCsv(third, csv, false));
+
+        List<String> rows = Arrays.asList(csv.toString().split("\n"));
+        assertEquals("time,a,\"b,c\"", rows.get(0));
+        assertEquals(5, rows.size());
+
+        double lastTime = 0;
+        for (int row = 1; row < rows.size(); row++) {
+            String[] fields = rows.get(row).split(",");
+            int i = row + 2;
+
+            double time = Double.parseDouble(fields[0]);
+            assertTrue(time >= lastTime);
+            lastTime = time;
+
+            assertEquals(i, Float.parseFloat(fields[1]), 0);
+            assertEquals(-i / 2.0, Float.parseFloat(fields[2]), 0);
+        }
+
+        assertNull(recorder.getError());
+    }
+
+    @Test
+    public void readsAFileThatWasNotClosed() throws IOException {
+        FlightRecorder recorder = new FlightRecorder(this.folder.getRoot(), "rec", CHANNELS, 4096, 2);
+        recorder.set(recorder.indexOf("b,c"), 2.5);
+        recorder.record();
+        recorder.record();
+
+        // the rest of the mapped file is zeros, which ends the frames
+        StringWriter csv = new StringWriter();
+        assertEquals(2, FlightRecorder.toCsv(new File(this.folder.getRoot(), "rec-0000.rec"), csv, false));
+        assertTrue(csv.toString().endsWith(",0.0,2.5\n"));
+
+        recorder.close();
+    }
+
+    @Test
+    public void keepsValuesThatWereNotSet() throws IOException {
+        FlightRecorder recorder = new FlightRecorder(this.folder.getRoot(), "rec", CHANNELS, 4096, 2);
+        assertArrayEquals(CHANNELS, recorder.getChannels());
+
+        recorder.set(0, 1);
+        recorder.record();
+        recorder.set(1, 2);
+        recorder.record();
+        recorder.close();
+
+        StringWriter csv = new StringWriter();
+        FlightRecorder.toCsv(new File(this.folder.getRoot(), "rec-0000.rec"), csv, false);
+        String[] rows = csv.toString().split("\n");
+        assertTrue(rows[0].endsWith(",1.0,0.0"));
+        assertTrue(rows[1].endsWith(",1.0,2.0"));
+    }
+
+    @Test
+    public void rejectsAFileThatIsNotARecording() throws IOException {
+        File file = this.folder.newFile("other.rec");
+        FileOutputStream out = new FileOutputStream(file);
+        out.write(new byte[32]);
+        out.close();
+
+        try {
+            FlightRecorder.toCsv(file, new StringWriter(), true);
+            fail("Read a file that is not a recording");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+}
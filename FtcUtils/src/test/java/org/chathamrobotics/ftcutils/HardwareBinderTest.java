@@ -0,0 +1,130 @@
+package org.chathamrobotics.ftcutils;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.DcMotorController;
+import com.qualcomm.robotcore.hardware.Servo;
+import com.qualcomm.robotcore.hardware.ServoImpl;
+
+import org.chathamrobotics.ftcutils.sim.SimMotor;
+import org.chathamrobotics.ftcutils.sim.Simulator;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Tests {@link HardwareBinder} against a simulator's hardware map with a lift motor, a drive motor
+ * and an arm servo.
+ */
+public class HardwareBinderTest {
+    private Simulator simulator;
+    private SimMotor lift;
+    private Servo arm;
+
+    @Before
+    public void setUp() {
+        this.simulator = new Simulator(0.01);
+        this.lift = this.simulator.addMotor("Lift");
+        this.simulator.addMotor("Drive");
+
+        this.arm = new ServoImpl(null, 1);
+        this.simulator.getHardwareMap().servo.put("Arm", this.arm);
+    }
+
+    @Test
+    public void bindsEveryDevice() {
+        HardwareBinder binder = new HardwareBinder();
+        HardwareBinder.Device<DcMotor> lift = binder.require(DcMotor.class, "Lift");
+        HardwareBinder.Device<Servo> arm = binder.require(Servo.class, "Arm");
+        HardwareBinder.Device<DcMotorController> controller = binder.require(DcMotorController.class, "Motor Controller 1");
+        HardwareBinder.Device<Servo> claw = binder.optional(Servo.class, "Claw");
+
+        binder.bind(this.simulator.getHardwareMap());
+
+        assertSame(this.lift, lift.get());
+        assertSame(this.arm, arm.get());
+        assertSame(this.lift.getController(), controller.get());
+        assertFalse(claw.isBound());
+        assertNull(claw.get());
+        assertEquals("All 4 hardware devices found", binder.report());
+    }
+
+    @Test
+    public void reportsEveryMissingDeviceAtOnce() {
+        HardwareBinder binder = new HardwareBinder();
+        HardwareBinder.Device<DcMotor> lift = binder.require(DcMotor.class, "Lift");
+        binder.require(DcMotor.class, "Intake");
+        binder.require(Servo.class, "Drive");
+        binder.require(DcMotor.class, "Arm");
+        binder.optional(Servo.class, "Claw");
+
+        try {
+            binder.bind(this.simulator.getHardwareMap());
+            fail("Bound with missing devices");
+        } catch (MissingHardwareException e) {
+            // a missing name and both wrong types, in the order they were declared
+            assertEquals(Arrays.asList("DcMotor \"Intake\"", "Servo \"Drive\" (found a SimMotor)",
+                    "DcMotor \"Arm\" (found a ServoImpl)"), e.getMissing());
+            assertEquals("Missing 3 of 5 hardware devices:\n  DcMotor \"Intake\"\n  Servo \"Drive\" (found a SimMotor)"
+                    + "\n  DcMotor \"Arm\" (found a ServoImpl)", e.getMessage());
+            assertEquals(e.getMessage(), binder.report());
+        }
+
+        // the devices that were there are still bound
+        assertTrue(lift.isBound());
+    }
+
+    @Test
+    public void bindsAgainAfterTheHardwareIsFixed() {
+        HardwareBinder binder = new HardwareBinder();
+        HardwareBinder.Device<DcMotor> intake = binder.require(DcMotor.class, "Intake");
+
+        try {
+            binder.bind(this.simulator.getHardwareMap());
+            fail("Bound with a missing device");
+        } catch (MissingHardwareException e) {
+            assertEquals(1, e.getMissing().size());
+        }
+
+        SimMotor motor = this.simulator.addMotor("Intake");
+        binder.bind(this.simulator.getHardwareMap());
+        assertSame(motor, intake.get());
+        assertEquals("All 1 hardware devices found", binder.report());
+
+        // a fresh hardware map, as in the next opmode, unbinds what is no longer there
+        try {
+            binder.bind(new Simulator(0.01).getHardwareMap());
+            fail("Bound with a missing device");
+        } catch (MissingHardwareException e) {
+            assertFalse(intake.isBound());
+        }
+    }
+
+    @Test
+    public void bindsOneNameToMoreThanOneDeclaration() {
+        HardwareBinder binder = new HardwareBinder();
+        HardwareBinder.Device<DcMotor> motor = binder.require(DcMotor.class, "Lift");
+        HardwareBinder.Device<SimMotor> simMotor = binder.require(SimMotor.class, "Lift");
+
+        binder.bind(this.simulator.getHardwareMap());
+
+        assertSame(this.lift, motor.get());
+        assertSame(this.lift, simMotor.get());
+        assertEquals(2, binder.getDevices().size());
+    }
+}
@@ -0,0 +1,244 @@
+package org.chathamrobotics.ftcutils;
+
+import org.chathamrobotics.ftcutils.sim.SimMotor;
+import org.chathamrobotics.ftcutils.sim.SimMotorController;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Tests {@link HardwareScheduler} against simulated motors and controllers.
+ */
+public class HardwareSchedulerTest {
+    /**
+     * A reader that counts its reads and can be made to wait on a latch.
+     */
+    private static class BlockingReader implements HardwareScheduler.Reader {
+        private final AtomicInteger reads = new AtomicInteger();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        private BlockingReader(boolean block) {
+            this.release = new CountDownLatch(block ? 1 : 0);
+        }
+
+        @Override
+        public void read() {
+            this.reads.incrementAndGet();
+            this.entered.countDown();
+
+            try {
+                this.release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void readsEveryControllerBeforeWriting() {
+        SimMotorController left = new SimMotorController("Left");
+        SimMotorController right = new SimMotorController("Right");
+        final SimMotor leftMotor = left.addMotor(1);
+        final SimMotor rightMotor = right.addMotor(1);
+
+        leftMotor.setPower(1);
+        rightMotor.setPower(-1);
+        leftMotor.step(0.1);
+        rightMotor.step(0.1);
+
+        HardwareScheduler scheduler = new HardwareScheduler();
+        final HardwareScheduler.MotorReading leftReading = scheduler.readMotor(leftMotor);
+        final HardwareScheduler.MotorReading rightReading = scheduler.readMotor(rightMotor);
+        final AtomicInteger badWrites = new AtomicInteger();
+
+        HardwareScheduler.Writer writer = new HardwareScheduler.Writer() {
+            @Override
+            public void write() {
+                // every reading has to be in before anything is written
+                if (leftReading.position != leftMotor.getCurrentPosition()
+                        || rightReading.position != rightMotor.getCurrentPosition()) {
+                    badWrites.incrementAndGet();
+                }
+            }
+        };
+        scheduler.addWriter(left, writer);
+        scheduler.addWriter(right, writer);
+
+        try {
+            for (int i = 0; i < 100; i++) {
+                leftMotor.step(0.01);
+                rightMotor.step(0.01);
+                scheduler.cycle();
+            }
+        } finally {
+            scheduler.stop();
+        }
+
+        assertEquals(2, scheduler.getGroupCount());
+        assertEquals(100, scheduler.getCycleCount());
+        assertEquals(0, badWrites.get());
+        assertEquals(leftMotor.getCurrentPosition(), leftReading.position);
+        assertEquals(rightMotor.getCurrentPosition(), rightReading.position);
+        assertEquals(1, leftReading.power, 0);
+        assertEquals(-1, rightReading.power, 0);
+    }
+
+    @Test(timeout = 5000)
+    public void reportsFailures() {
+        SimMotorController left = new SimMotorController("Left");
+        SimMotorController right = new SimMotorController("Right");
+        final IllegalStateException error = new IllegalStateException("Unplugged");
+
+        HardwareScheduler scheduler = new HardwareScheduler();
+        scheduler.readMotor(left.addMotor(1));
+        scheduler.addReader(right, new HardwareScheduler.Reader() {
+            @Override
+            public void read() {
+                throw error;
+            }
+        });
+
+        for (boolean parallel : new boolean[] {true, false}) {
+            scheduler.setParallel(parallel);
+
+            try {
+                scheduler.cycle();
+                fail("The failed read was not reported");
+            } catch (RuntimeException e) {
+                assertSame(error, e.getCause());
+            }
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void stopDuringACycleLetsItFinish() throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            SimMotorController first = new SimMotorController("First");
+            SimMotorController second = new SimMotorController("Second");
+
+            final HardwareScheduler scheduler = new HardwareScheduler();
+
+            // the first group is run by the calling thread, so it holds the cycle open while it is stopped
+            BlockingReader blocking = new BlockingReader(true);
+            BlockingReader other = new BlockingReader(false);
+            scheduler.addReader(first, blocking);
+            scheduler.addReader(second, other);
+
+            final AtomicReference<Throwable> failure = new AtomicReference<>();
+            Thread cycler = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        scheduler.cycle();
+                    } catch (Throwable e) {
+                        failure.set(e);
+                    }
+                }
+            });
+            cycler.start();
+
+            assertTrue(blocking.entered.await(1, TimeUnit.SECONDS));
+            scheduler.stop();
+            blocking.release.countDown();
+            cycler.join(2000);
+
+            assertFalse("The cycle did not finish after a stop", cycler.isAlive());
+            assertEquals(null, failure.get());
+            assertEquals(1, scheduler.getCycleCount());
+            assertEquals(1, other.reads.get());
+
+            // the next cycle starts the workers again
+            scheduler.cycle();
+            scheduler.stop();
+            assertEquals(2, other.reads.get());
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void abandonsACycleThatTimesOut() throws InterruptedException {
+        SimMotorController first = new SimMotorController("First");
+        SimMotorController second = new SimMotorController("Second");
+
+        HardwareScheduler scheduler = new HardwareScheduler();
+        scheduler.setTimeout(100);
+
+        BlockingReader hung = new BlockingReader(true);
+        scheduler.readMotor(first.addMotor(1));
+        scheduler.addReader(second, hung);
+
+        try {
+            scheduler.cycle();
+            fail("The hung read did not time out");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("timed out"));
+        }
+
+        assertEquals(0, scheduler.getCycleCount());
+
+        // the hung worker is replaced, and when it finishes it does not run any later cycles
+        hung.release.countDown();
+        for (int i = 0; i < 10; i++) scheduler.cycle();
+        scheduler.stop();
+
+        assertEquals(10, scheduler.getCycleCount());
+        assertEquals(11, hung.reads.get());
+    }
+
+    @Test(timeout = 5000)
+    public void stopsWaitingWhenInterrupted() throws InterruptedException {
+        SimMotorController first = new SimMotorController("First");
+        SimMotorController second = new SimMotorController("Second");
+
+        final HardwareScheduler scheduler = new HardwareScheduler();
+        scheduler.setTimeout(60000);
+
+        BlockingReader hung = new BlockingReader(true);
+        scheduler.readMotor(first.addMotor(1));
+        scheduler.addReader(second, hung);
+
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final AtomicReference<Boolean> interrupted = new AtomicReference<>();
+        Thread cycler = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    scheduler.cycle();
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+
+                interrupted.set(Thread.currentThread().isInterrupted());
+            }
+        });
+        cycler.start();
+
+        assertTrue(hung.entered.await(1, TimeUnit.SECONDS));
+        cycler.interrupt();
+        cycler.join(2000);
+
+        assertFalse("The cycle kept waiting after an interrupt", cycler.isAlive());
+        assertTrue(failure.get() instanceof RuntimeException);
+        assertTrue(failure.get().getMessage(), failure.get().getMessage().contains("Interrupted"));
+        assertEquals(Boolean.TRUE, interrupted.get());
+
+        hung.release.countDown();
+    }
+}
@@ -0,0 +1,172 @@
+package org.chathamrobotics.ftcutils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Tests how {@link InitPipeline} orders, skips, times out and cancels tasks.
+ */
+public class InitPipelineTest {
+    /**
+     * A task that adds its name to a list when it runs.
+     */
+    private static class NamedTask implements InitPipeline.Task {
+        private final List<String> ran;
+        private final String name;
+        private final long millis;
+
+        private NamedTask(List<String> ran, String name, long millis) {
+            this.ran = ran;
+            this.name = name;
+            this.millis = millis;
+        }
+
+        @Override
+        public void run() throws Exception {
+            if (this.millis > 0) Thread.sleep(this.millis);
+            this.ran.add(this.name);
+        }
+    }
+
+    /**
+     * A task that waits until it is released or interrupted.
+     */
+    private static class BlockingTask implements InitPipeline.Task {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+
+        @Override
+        public void run() throws Exception {
+            this.entered.countDown();
+
+            try {
+                this.release.await();
+            } catch (InterruptedException e) {
+                this.interrupted.countDown();
+                throw e;
+            }
+        }
+    }
+
+    private final List<String> ran = Collections.synchronizedList(new ArrayList<String>());
+
+    @Test(timeout = 5000)
+    public void runsTasksAfterTheirDependencies() throws InterruptedException {
+        InitPipeline pipeline = new InitPipeline(4);
+        pipeline.add("a", 1000, task("a", 20));
+        pipeline.add("b", 1000, task("b", 0), "a");
+        pipeline.add("c", 1000, task("c", 0), "a", "b");
+
+        pipeline.start();
+        assertTrue(pipeline.await(2000));
+
+        assertEquals(Arrays.asList("a", "b", "c"), this.ran);
+        assertTrue(pipeline.isSucceeded());
+        assertEquals(3, pipeline.getFinishedCount());
+    }
+
+    @Test(timeout = 5000)
+    public void skipsTheTasksThatDependOnAFailedTask() throws InterruptedException {
+        InitPipeline pipeline = new InitPipeline(2);
+        pipeline.add("broken", 1000, new InitPipeline.Task() {
+            @Override
+            public void run() throws Exception {
+                throw new IllegalStateException("Unplugged");
+            }
+        });
+        pipeline.add("b", 1000, task("b", 0), "broken");
+        pipeline.add("c", 1000, task("c", 0), "b");
+        pipeline.add("other", 1000, task("other", 0));
+
+        pipeline.start();
+        assertTrue(pipeline.await(2000));
+
+        assertEquals(InitPipeline.State.FAILED, pipeline.getState("broken"));
+        assertEquals(InitPipeline.State.SKIPPED, pipeline.getState("b"));
+        assertEquals(InitPipeline.State.SKIPPED, pipeline.getState("c"));
+        assertEquals(InitPipeline.State.DONE, pipeline.getState("other"));
+        assertEquals(Arrays.asList("other"), this.ran);
+        assertFalse(pipeline.isSucceeded());
+    }
+
+    @Test(timeout = 5000)
+    public void timesOutATaskThatTakesTooLong() throws InterruptedException {
+        BlockingTask hung = new BlockingTask();
+
+        InitPipeline pipeline = new InitPipeline(2);
+        pipeline.add("hung", 50, hung);
+        pipeline.add("after", 1000, task("after", 0), "hung");
+
+        pipeline.start();
+        assertTrue(pipeline.await(2000));
+
+        assertEquals(InitPipeline.State.TIMED_OUT, pipeline.getState("hung"));
+        assertEquals(InitPipeline.State.SKIPPED, pipeline.getState("after"));
+        assertTrue("The timed out task was not interrupted", hung.interrupted.await(1, TimeUnit.SECONDS));
+        assertEquals(0, this.ran.size());
+    }
+
+    @Test(timeout = 5000)
+    public void doesNotCountTheWaitForAThread() throws InterruptedException {
+        // with one thread the second task waits for the first, longer than its own timeout
+        InitPipeline pipeline = new InitPipeline(1);
+        pipeline.add("slow", 2000, task("slow", 300));
+        pipeline.add("quick", 100, task("quick", 0));
+
+        pipeline.start();
+        assertTrue(pipeline.await(3000));
+
+        assertEquals(InitPipeline.State.DONE, pipeline.getState("quick"));
+        assertEquals(Arrays.asList("slow", "quick"), this.ran);
+    }
+
+    @Test(timeout = 5000)
+    public void cancelsTheRunningTasksAndSkipsTheRest() throws InterruptedException {
+        BlockingTask running = new BlockingTask();
+
+        InitPipeline pipeline = new InitPipeline(1);
+        pipeline.add("running", 1000, running);
+        pipeline.add("queued", 1000, task("queued", 0));
+        pipeline.add("waiting", 1000, task("waiting", 0), "running");
+
+        pipeline.start();
+        assertTrue(running.entered.await(1, TimeUnit.SECONDS));
+        pipeline.cancel();
+
+        assertTrue(pipeline.isFinished());
+        assertEquals(InitPipeline.State.CANCELLED, pipeline.getState("running"));
+        assertEquals(InitPipeline.State.SKIPPED, pipeline.getState("queued"));
+        assertEquals(InitPipeline.State.SKIPPED, pipeline.getState("waiting"));
+        assertTrue("The cancelled task was not interrupted", running.interrupted.await(1, TimeUnit.SECONDS));
+
+        // the queued task does not run once it gets the thread
+        Thread.sleep(50);
+        assertEquals(0, this.ran.size());
+    }
+
+    /**
+     * Creates a task that adds its name to the tasks that ran.
+     */
+    private NamedTask task(String name, long millis) {
+        return new NamedTask(this.ran, name, millis);
+    }
+}
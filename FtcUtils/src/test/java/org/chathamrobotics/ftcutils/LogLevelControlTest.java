@@ -0,0 +1,90 @@
+package org.chathamrobotics.ftcutils;
+
+import com.qualcomm.robotcore.hardware.Gamepad;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.chathamrobotics.ftcutils.sim.SimTelemetry;
+import org.chathamrobotics.ftcutils.sim.Simulator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Tests {@link LogLevelControl} sharing a gamepad with {@link OmniWheelDriver#driveWithControls(Gamepad)}.
+ */
+public class LogLevelControlTest {
+    private RobotLogger.Level previousDefault;
+    private Gamepad gamepad;
+    private LogLevelControl control;
+    private OmniWheelDriver driver;
+
+    @Before
+    public void setUp() {
+        this.previousDefault = LogLevels.getDefaultLevel();
+
+        Simulator simulator = new Simulator(0.01);
+        simulator.addOmniDrivetrain();
+        HardwareMap hardwareMap = simulator.getHardwareMap();
+
+        this.gamepad = new Gamepad();
+        this.control = new LogLevelControl(this.gamepad);
+        this.driver = new OmniWheelDriver(hardwareMap.dcMotor.get(Simulator.FRONT_LEFT),
+                hardwareMap.dcMotor.get(Simulator.FRONT_RIGHT), hardwareMap.dcMotor.get(Simulator.BACK_LEFT),
+                hardwareMap.dcMotor.get(Simulator.BACK_RIGHT), new RobotLogger("Test", new SimTelemetry()));
+        this.driver.setSilent(true);
+    }
+
+    @After
+    public void tearDown() {
+        LogLevels.setAllLevels(this.previousDefault);
+    }
+
+    @Test
+    public void chordsDoNotChangeTheFront() {
+        LogLevels.setAllLevels(RobotLogger.Level.DEBUG);
+
+        this.gamepad.back = true;
+        this.gamepad.dpad_up = true;
+        assertTrue(this.control.update());
+        this.driver.driveWithControls(this.gamepad);
+
+        assertEquals(RobotLogger.Level.INFO, LogLevels.getDefaultLevel());
+        assertEquals(OmniWheelDriver.FRONT_OFFSET, this.driver.getOffsetAngle(), 0);
+
+        // holding the chord only acts on it once
+        assertFalse(this.control.update());
+
+        this.gamepad.dpad_up = false;
+        assertFalse(this.control.update());
+        this.gamepad.dpad_down = true;
+        assertTrue(this.control.update());
+        this.driver.driveWithControls(this.gamepad);
+
+        assertEquals(RobotLogger.Level.DEBUG, LogLevels.getDefaultLevel());
+        assertEquals(OmniWheelDriver.FRONT_OFFSET, this.driver.getOffsetAngle(), 0);
+    }
+
+    @Test
+    public void dpadWithoutBackChangesTheFront() {
+        LogLevels.setAllLevels(RobotLogger.Level.DEBUG);
+
+        this.gamepad.dpad_down = true;
+        assertFalse(this.control.update());
+        this.driver.driveWithControls(this.gamepad);
+
+        assertEquals(RobotLogger.Level.DEBUG, LogLevels.getDefaultLevel());
+        assertEquals(OmniWheelDriver.BACK_OFFSET, this.driver.getOffsetAngle(), 0);
+    }
+}
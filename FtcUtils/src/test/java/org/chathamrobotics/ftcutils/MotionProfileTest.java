@@ -0,0 +1,147 @@
+package org.chathamrobotics.ftcutils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Tests {@link MotionProfile} by stepping through its samples and checking the limits between them.
+ */
+public class MotionProfileTest {
+    private static final double STEP = MotionProfile.DEFAULT_STEP;
+    private static final double EPSILON = 1e-6;
+
+    @Test
+    public void trapezoidEndsAtRest() {
+        MotionProfile profile = MotionProfile.trapezoid(100, 20, 40);
+
+        // half a second to speed up, 4.5 seconds of cruising and half a second to slow down
+        assertEquals(5.5, profile.getDuration(), EPSILON);
+        assertEquals(50, profile.getPosition(2.75), EPSILON);
+        assertEquals(20, profile.getVelocity(2.75), EPSILON);
+
+        assertTrue(profile.isFinished(5.5));
+        assertFalse(profile.isFinished(5.4));
+        assertEquals(100, profile.getPosition(5.5), 0);
+        assertEquals(0, profile.getVelocity(5.5), 0);
+        assertEquals(100, profile.getPosition(10), 0);
+
+        checkLimits(profile, 20, 40, Double.POSITIVE_INFINITY);
+    }
+
+    @Test
+    public void trapezoidLowersTheTopSpeedOfAShortMove() {
+        MotionProfile profile = MotionProfile.trapezoid(1, 20, 40);
+
+        double topSpeed = Math.sqrt(40);
+        assertEquals(2 * topSpeed / 40, profile.getDuration(), EPSILON);
+        // the peak falls between samples, so it is cut off by up to a step of acceleration
+        assertEquals(topSpeed, profile.getVelocity(profile.getDuration() / 2), 40 * STEP);
+        assertEquals(1, profile.getPosition(profile.getDuration()), 0);
+
+        checkLimits(profile, topSpeed, 40, Double.POSITIVE_INFINITY);
+    }
+
+    @Test
+    public void trapezoidMovesBackwards() {
+        MotionProfile forward = MotionProfile.trapezoid(30, 20, 40);
+        MotionProfile backward = MotionProfile.trapezoid(-30, 20, 40);
+
+        assertEquals(-30, backward.getDistance(), 0);
+        assertEquals(forward.getDuration(), backward.getDuration(), 0);
+
+        for (double time = 0; time < forward.getDuration(); time += 0.0123) {
+            assertEquals(-forward.getPosition(time), backward.getPosition(time), EPSILON);
+            assertEquals(-forward.getVelocity(time), backward.getVelocity(time), EPSILON);
+            assertEquals(-forward.getAcceleration(time), backward.getAcceleration(time), EPSILON);
+        }
+    }
+
+    @Test
+    public void sCurveLimitsJerk() {
+        MotionProfile profile = MotionProfile.sCurve(100, 20, 40, 200);
+
+        assertEquals(100, profile.getPosition(profile.getDuration()), 0);
+        assertEquals(0, profile.getVelocity(profile.getDuration()), 0);
+        assertEquals(50, profile.getPosition(profile.getDuration() / 2), EPSILON);
+        assertEquals(20, profile.getVelocity(profile.getDuration() / 2), EPSILON);
+
+        // the acceleration ramps in over a fifth of a second instead of starting at its max
+        assertEquals(0, profile.getAcceleration(0), 0);
+        assertEquals(20, profile.getAcceleration(0.1), EPSILON);
+        assertEquals(40, profile.getAcceleration(0.2), EPSILON);
+
+        checkLimits(profile, 20, 40, 200);
+    }
+
+    @Test
+    public void sCurveLowersTheTopSpeedOfAShortMove() {
+        MotionProfile profile = MotionProfile.sCurve(2, 20, 40, 200);
+
+        assertEquals(2, profile.getPosition(profile.getDuration()), 0);
+        assertEquals(0, profile.getVelocity(profile.getDuration()), 0);
+        assertTrue(profile.getVelocity(profile.getDuration() / 2) < 20);
+
+        checkLimits(profile, 20, 40, 200);
+    }
+
+    @Test
+    public void rejectsLimitsThatAreNotPositive() {
+        try {
+            MotionProfile.trapezoid(1, 0, 40);
+            fail("Made a profile with no max velocity");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        try {
+            MotionProfile.sCurve(1, 20, 40, Double.NaN);
+            fail("Made a profile with a max jerk that is not a number");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Checks that the samples of a profile stay within its limits and that each sample follows on
+     * from the one before it.
+     *
+     * @param profile           the profile.
+     * @param maxVelocity       the max velocity.
+     * @param maxAcceleration   the max acceleration.
+     * @param maxJerk           the max jerk, or infinity if it is not limited.
+     */
+    private static void checkLimits(MotionProfile profile, double maxVelocity, double maxAcceleration, double maxJerk) {
+        double lastPosition = 0, lastVelocity = 0, lastAcceleration = 0;
+
+        for (int i = 0; i * STEP < profile.getDuration() + STEP; i++) {
+            double time = i * STEP;
+            double position = profile.getPosition(time);
+            double velocity = profile.getVelocity(time);
+            double acceleration = profile.getAcceleration(time);
+
+            assertTrue("velocity at " + time, Math.abs(velocity) <= maxVelocity + EPSILON);
+            assertTrue("acceleration at " + time, Math.abs(acceleration) <= maxAcceleration + EPSILON);
+            assertTrue("jerk at " + time, Math.abs(acceleration - lastAcceleration) <= maxJerk * STEP + EPSILON);
+
+            // the position and velocity do not jump, even where the last sample is pinned to the end
+            assertTrue("position at " + time, Math.abs(position - lastPosition) <= maxVelocity * STEP + EPSILON);
+            assertTrue("velocity change at " + time, Math.abs(velocity - lastVelocity) <= maxAcceleration * STEP + EPSILON);
+
+            lastPosition = position;
+            lastVelocity = velocity;
+            lastAcceleration = acceleration;
+        }
+    }
+}
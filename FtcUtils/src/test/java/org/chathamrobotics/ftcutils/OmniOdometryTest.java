@@ -0,0 +1,136 @@
+package org.chathamrobotics.ftcutils;
+
+import org.chathamrobotics.ftcutils.sim.SimMotor;
+import org.chathamrobotics.ftcutils.sim.SimMotorController;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Tests {@link OmniOdometry} against encoder counts worked out from the wheel geometry: the wheels
+ * sit in the corners and each rolls along the clockwise tangent of its corner.
+ */
+public class OmniOdometryTest {
+    /**
+     * A motor whose encoder position is set by the test.
+     */
+    private static class EncoderMotor extends SimMotor {
+        private int position;
+
+        private EncoderMotor(SimMotorController controller, int port) {
+            super(controller, port);
+        }
+
+        @Override
+        public int getCurrentPosition() {
+            return this.position;
+        }
+    }
+
+    private static final double TICKS_PER_UNIT = 100;
+    private static final double WHEEL_RADIUS = 8;
+    private static final double TOLERANCE = 0.05;
+
+    /**
+     * The x and y of each wheel's corner, in the order front left, front right, back left, back right.
+     */
+    private static final double[][] CORNERS = {
+            {-1, 1}, {1, 1}, {-1, -1}, {1, -1}
+    };
+
+    private EncoderMotor[] motors;
+    private OmniOdometry odometry;
+
+    @Before
+    public void setUp() {
+        SimMotorController front = new SimMotorController("Front");
+        SimMotorController back = new SimMotorController("Back");
+
+        this.motors = new EncoderMotor[] {
+                new EncoderMotor(front, 1), new EncoderMotor(front, 2),
+                new EncoderMotor(back, 1), new EncoderMotor(back, 2)
+        };
+        this.odometry = new OmniOdometry(this.motors[0], this.motors[1], this.motors[2], this.motors[3],
+                TICKS_PER_UNIT, WHEEL_RADIUS);
+    }
+
+    /**
+     * Turns the encoders for a move relative to the robot and updates the odometry. The move is
+     * split into small steps, since the odometry assumes each update is short.
+     *
+     * @param right     the distance moved to the right.
+     * @param forward   the distance moved forward.
+     * @param clockwise the angle turned clockwise in radians.
+     */
+    private void move(double right, double forward, double clockwise) {
+        int steps = 200;
+        int[] start = new int[4];
+        double[] distances = new double[4];
+
+        for (int wheel = 0; wheel < 4; wheel++) {
+            double length = Math.hypot(CORNERS[wheel][0], CORNERS[wheel][1]);
+            double rollX = CORNERS[wheel][1] / length;
+            double rollY = -CORNERS[wheel][0] / length;
+
+            // the wheel's part of the robot's movement plus the arc its corner sweeps
+            distances[wheel] = rollX * right + rollY * forward + clockwise * WHEEL_RADIUS;
+            start[wheel] = this.motors[wheel].position;
+        }
+
+        for (int step = 1; step <= steps; step++) {
+            for (int wheel = 0; wheel < 4; wheel++) {
+                this.motors[wheel].position = start[wheel]
+                        + (int) Math.round(distances[wheel] * step / steps * TICKS_PER_UNIT);
+            }
+
+            this.odometry.update();
+        }
+    }
+
+    @Test
+    public void turningClockwiseLowersTheHeading() {
+        move(0, 0, Math.PI / 2);
+
+        assertEquals(-Math.PI / 2, this.odometry.getHeading(), TOLERANCE);
+        assertEquals(0, this.odometry.getX(), TOLERANCE);
+        assertEquals(0, this.odometry.getY(), TOLERANCE);
+    }
+
+    @Test
+    public void turningCounterClockwiseRaisesTheHeading() {
+        move(0, 0, -Math.PI / 4);
+
+        assertEquals(Math.PI / 4, this.odometry.getHeading(), TOLERANCE);
+    }
+
+    @Test
+    public void movesAlongTheRobotsAxes() {
+        move(0, 20, 0);
+        assertEquals(0, this.odometry.getX(), TOLERANCE);
+        assertEquals(20, this.odometry.getY(), TOLERANCE);
+
+        move(10, 0, 0);
+        assertEquals(10, this.odometry.getX(), TOLERANCE);
+        assertEquals(20, this.odometry.getY(), TOLERANCE);
+        assertEquals(0, this.odometry.getHeading(), TOLERANCE);
+    }
+
+    @Test
+    public void movesRelativeToTheHeading() {
+        // facing left, forward is -x on the field
+        this.odometry.setPose(0, 0, Math.PI / 2);
+        move(0, 20, 0);
+
+        assertEquals(-20, this.odometry.getX(), TOLERANCE);
+        assertEquals(0, this.odometry.getY(), TOLERANCE);
+    }
+}
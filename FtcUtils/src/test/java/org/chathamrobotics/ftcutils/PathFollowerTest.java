@@ -0,0 +1,164 @@
+package org.chathamrobotics.ftcutils;
+
+import org.chathamrobotics.ftcutils.sim.SimMotor;
+import org.chathamrobotics.ftcutils.sim.SimOmniDrivetrain;
+import org.chathamrobotics.ftcutils.sim.SimTelemetry;
+import org.chathamrobotics.ftcutils.sim.Simulator;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Tests {@link PathFollower} driving a simulated omniwheel drivetrain, with distances in meters
+ * like the simulator's.
+ */
+public class PathFollowerTest {
+    /**
+     * The longest a path may take in simulated seconds.
+     */
+    private static final double TIME_LIMIT = 20;
+
+    private Simulator simulator;
+    private SimOmniDrivetrain drivetrain;
+    private OmniWheelDriver driver;
+    private OmniOdometry odometry;
+
+    /**
+     * The furthest the robot got from the path and its heading, over the last {@link #follow(PathFollower)}.
+     */
+    private double maxPathError, maxHeadingError;
+
+    @Before
+    public void setUp() {
+        this.simulator = new Simulator(0.01);
+        this.drivetrain = this.simulator.addOmniDrivetrain();
+
+        this.driver = OmniWheelDriver.build(this.simulator.getHardwareMap(), new SimTelemetry());
+        this.driver.setSilent(true);
+        this.odometry = OmniOdometry.build(this.simulator.getHardwareMap(),
+                SimMotor.DEFAULT_MAX_SPEED / SimOmniDrivetrain.DEFAULT_MAX_SPEED,
+                SimOmniDrivetrain.DEFAULT_MAX_SPEED / SimOmniDrivetrain.DEFAULT_MAX_TURN_RATE);
+    }
+
+    @Test
+    public void followsAPathToItsEnd() {
+        PathFollower follower = newFollower(Path.through(new double[] {0, 0, 0.6, 0.6, 0.6, 1.5, 0, 1.8}, 0.02));
+
+        assertTrue(follow(follower) < TIME_LIMIT);
+        assertTrue(follower.isFinished());
+        assertFalse(follower.update(this.driver, this.simulator.nanoTime()));
+
+        assertEquals(0, this.drivetrain.getX(), 0.05);
+        assertEquals(1.8, this.drivetrain.getY(), 0.05);
+        assertEquals(follower.getPath().getLength(), follower.getDistanceAlongPath(), 0.05);
+
+        // the odometry kept up with where the robot really went
+        assertEquals(this.drivetrain.getX(), this.odometry.getX(), 0.02);
+        assertEquals(this.drivetrain.getY(), this.odometry.getY(), 0.02);
+        assertEquals(this.drivetrain.getHeading(), this.odometry.getHeading(), 0.02);
+
+        assertTrue("path error " + this.maxPathError, this.maxPathError < 0.05);
+        assertTrue("heading error " + this.maxHeadingError, this.maxHeadingError < 0.01);
+    }
+
+    @Test
+    public void stopsTheRobotAndPutsBackTheOffsetAngle() {
+        this.driver.setOffsetAngle(OmniWheelDriver.LEFT_OFFSET);
+        PathFollower follower = newFollower(Path.through(new double[] {0, 0, 0, 1}, 0.02));
+
+        follow(follower);
+
+        assertEquals(OmniWheelDriver.LEFT_OFFSET, this.driver.getOffsetAngle(), 0);
+        for (int i = 0; i < 50; i++) this.simulator.step();
+        assertEquals(1, this.drivetrain.getY(), 0.05);
+    }
+
+    @Test
+    public void stopEndsThePathEarly() {
+        this.driver.setOffsetAngle(OmniWheelDriver.BACK_OFFSET);
+        PathFollower follower = newFollower(Path.through(new double[] {0, 0, 0, 2}, 0.02));
+        follower.start();
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(follower.update(this.driver, this.simulator.nanoTime()));
+            this.simulator.step();
+        }
+
+        follower.stop();
+        assertTrue(follower.isFinished());
+        assertFalse(follower.update(this.driver, this.simulator.nanoTime()));
+        assertEquals(OmniWheelDriver.BACK_OFFSET, this.driver.getOffsetAngle(), 0);
+
+        // the robot coasts to a stop part of the way along
+        for (int i = 0; i < 50; i++) this.simulator.step();
+        double y = this.drivetrain.getY();
+        for (int i = 0; i < 50; i++) this.simulator.step();
+        assertEquals(y, this.drivetrain.getY(), 0.001);
+        assertTrue(y > 0.2 && y < 1.5);
+    }
+
+    @Test
+    public void turnsAlongThePath() {
+        PathFollower follower = newFollower(Path.through(new double[] {0, 0, 0, 0.5, 1, 0.5}, 0.02));
+        follower.setFaceAlongPath(true);
+
+        assertTrue(follow(follower) < TIME_LIMIT);
+
+        // the last leg heads along x, so the front faces that way, a quarter turn clockwise
+        assertEquals(-Math.PI / 2, this.drivetrain.getHeading(), 0.15);
+        assertEquals(1, this.drivetrain.getX(), 0.05);
+        assertEquals(0.5, this.drivetrain.getY(), 0.05);
+    }
+
+    /**
+     * Creates a follower with settings that suit the simulator.
+     *
+     * @param path  the path to follow.
+     * @return      the follower.
+     */
+    private PathFollower newFollower(Path path) {
+        PathFollower follower = new PathFollower(path, this.odometry, 0.2);
+        follower.setSlowdownDistance(0.3);
+        follower.setTolerance(0.02);
+        follower.setHeadingGains(2, 0, 0);
+
+        return follower;
+    }
+
+    /**
+     * Follows a path until it is done or the time limit is reached, tracking how far the robot got
+     * from the path and from its starting heading.
+     *
+     * @param follower  the follower.
+     * @return          the simulated time taken in seconds.
+     */
+    private double follow(PathFollower follower) {
+        Path path = follower.getPath();
+        double start = this.simulator.getTime(), heading = this.drivetrain.getHeading();
+        this.maxPathError = 0;
+        this.maxHeadingError = 0;
+
+        follower.start();
+        while (follower.update(this.driver, this.simulator.nanoTime()) && this.simulator.getTime() - start < TIME_LIMIT) {
+            this.simulator.step();
+
+            double x = this.drivetrain.getX(), y = this.drivetrain.getY();
+            int closest = path.findClosest(x, y, 0, path.getPointCount());
+            this.maxPathError = Math.max(this.maxPathError, Math.hypot(path.getX(closest) - x, path.getY(closest) - y));
+            this.maxHeadingError = Math.max(this.maxHeadingError, Math.abs(this.drivetrain.getHeading() - heading));
+        }
+
+        return this.simulator.getTime() - start;
+    }
+}
@@ -0,0 +1,89 @@
+package org.chathamrobotics.ftcutils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Tests {@link Path} sampling and searching.
+ */
+public class PathTest {
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    public void samplesAStraightLineEvenly() {
+        Path path = Path.through(new double[] {0, 0, 0, 10}, 3);
+
+        // the spacing is shrunk so that the last sample is on the end
+        assertEquals(10, path.getLength(), 1e-6);
+        assertEquals(5, path.getPointCount());
+        assertEquals(2.5, path.getSpacing(), 1e-6);
+
+        for (int i = 0; i < path.getPointCount(); i++) {
+            assertEquals(0, path.getX(i), EPSILON);
+            assertEquals(i * 2.5, path.getY(i), 1e-6);
+            assertEquals(Math.PI / 2, path.getDirection(i), EPSILON);
+        }
+
+        assertEquals(0, path.indexAt(-5));
+        assertEquals(2, path.indexAt(5.1));
+        assertEquals(4, path.indexAt(50));
+    }
+
+    @Test
+    public void passesThroughEveryWaypointWithEvenSpacing() {
+        double[] waypoints = {0, 0, 24, 24, 24, 60, 0, 72};
+        Path path = Path.through(waypoints, 0.5);
+
+        for (int w = 0; w < waypoints.length; w += 2) {
+            int closest = path.findClosest(waypoints[w], waypoints[w + 1], 0, path.getPointCount());
+            double distance = Math.hypot(path.getX(closest) - waypoints[w], path.getY(closest) - waypoints[w + 1]);
+            assertTrue("waypoint " + w / 2 + " is " + distance + " away", distance <= path.getSpacing() / 2 + 1e-6);
+        }
+
+        assertEquals(0, path.getX(0), EPSILON);
+        assertEquals(72, path.getY(path.getPointCount() - 1), 1e-6);
+
+        for (int i = 1; i < path.getPointCount(); i++) {
+            double step = Math.hypot(path.getX(i) - path.getX(i - 1), path.getY(i) - path.getY(i - 1));
+            assertEquals(path.getSpacing(), step, 0.01);
+        }
+    }
+
+    @Test
+    public void searchesOnlyAheadOfWhereItStarts() {
+        // the path comes back near its start
+        Path path = Path.through(new double[] {0, 0, 10, 0, 10, 1, 0, 1}, 0.1);
+        int last = path.getPointCount() - 1;
+
+        assertEquals(0, path.findClosest(0, 0.4, 0, path.getPointCount()));
+        assertEquals(last, path.findClosest(0, 0.4, last - 20, 40));
+
+        // a short search stops at its end even when closer samples are further on
+        assertEquals(30, path.findClosest(10, 0, 20, 10));
+    }
+
+    @Test
+    public void rejectsBadWaypoints() {
+        double[][] bad = {{0, 0}, {0, 0, 1}, {1, 1, 1, 1}};
+
+        for (double[] waypoints : bad) {
+            try {
+                Path.through(waypoints, 1);
+                fail("Made a path through " + waypoints.length + " coordinates");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.chathamrobotics.ftcutils;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Tests {@link PidControllerBatch} with one controller at a time and a tenth of a second between updates.
+ */
+public class PidControllerBatchTest {
+    private static final long DT = 100000000L;
+    private static final double EPSILON = 1e-9;
+
+    private PidControllerBatch batch;
+
+    @Before
+    public void setUp() {
+        this.batch = new PidControllerBatch();
+    }
+
+    @Test
+    public void wrapsTheSetpointRateOfAContinuousInput() {
+        int controller = this.batch.add(0, 0, 0);
+        this.batch.setFeedforward(controller, 0, 0, 1);
+        this.batch.setOutputLimits(controller, -100, 100);
+        this.batch.setContinuousInput(controller, 2 * Math.PI);
+
+        this.batch.update(controller, Math.PI - 0.01, Math.PI - 0.01, DT);
+
+        // crossing from pi to -pi is a small step forward, not a turn the whole way back
+        double output = this.batch.update(controller, -Math.PI + 0.01, -Math.PI + 0.01, DT);
+        assertEquals(0.2, output, EPSILON);
+        assertEquals(0, this.batch.getError(controller), EPSILON);
+    }
+
+    @Test
+    public void wrapsTheDerivativeOfAContinuousInput() {
+        int controller = this.batch.add(0, 0, 1);
+        this.batch.setOutputLimits(controller, -100, 100);
+        this.batch.setContinuousInput(controller, 2 * Math.PI);
+
+        this.batch.update(controller, 0, Math.PI - 0.01, DT);
+        double output = this.batch.update(controller, 0, -Math.PI + 0.01, DT);
+
+        assertEquals(-0.2, output, EPSILON);
+    }
+
+    @Test
+    public void doesNotWindUpWhileSaturated() {
+        int controller = this.batch.add(0, 1, 0);
+
+        assertEquals(0, this.batch.update(controller, 100, 0, DT), EPSILON);
+        for (int i = 0; i < 100; i++) assertEquals(1, this.batch.update(controller, 100, 0, DT), EPSILON);
+
+        // the integral did not grow while the output was held at the limit
+        assertEquals(0, this.batch.getIntegral(controller), EPSILON);
+
+        // so the output follows the error as soon as it changes sign
+        assertEquals(-0.05, this.batch.update(controller, -0.5, 0, DT), EPSILON);
+        assertEquals(-0.05, this.batch.getIntegral(controller), EPSILON);
+    }
+
+    @Test
+    public void letsTheIntegralUnwindWhileSaturated() {
+        int controller = this.batch.add(0, 1, 0);
+        this.batch.setFeedforward(controller, 0, 1, 0);
+
+        this.batch.update(controller, 0.5, 0, DT);
+        assertEquals(0.55, this.batch.update(controller, 0.5, 0, DT), EPSILON);
+        assertEquals(0.05, this.batch.getIntegral(controller), EPSILON);
+
+        // the feedforward holds the output at the maximum, and the error pulling it back down still counts
+        assertEquals(1, this.batch.update(controller, 2, 2.5, DT), EPSILON);
+        assertEquals(0, this.batch.getIntegral(controller), EPSILON);
+
+        // but an error pushing further into the maximum does not
+        assertEquals(1, this.batch.update(controller, 2, 1.5, DT), EPSILON);
+        assertEquals(0, this.batch.getIntegral(controller), EPSILON);
+    }
+
+    @Test
+    public void filtersTheDerivative() {
+        int unfiltered = this.batch.add(0, 0, 1);
+        int filtered = this.batch.add(0, 0, 1);
+        this.batch.setOutputLimits(unfiltered, -100, 100);
+        this.batch.setOutputLimits(filtered, -100, 100);
+        this.batch.setDerivativeFilter(filtered, 0.1);
+
+        double[] setpoints = new double[2], outputs = new double[2];
+
+        this.batch.updateAll(setpoints, new double[] {0, 0}, DT, outputs);
+        this.batch.updateAll(setpoints, new double[] {1, 1}, DT, outputs);
+        assertEquals(-10, outputs[unfiltered], EPSILON);
+        assertEquals(-5, outputs[filtered], EPSILON);
+
+        this.batch.updateAll(setpoints, new double[] {1, 1}, DT, outputs);
+        assertEquals(0, outputs[unfiltered], EPSILON);
+        assertEquals(-2.5, outputs[filtered], EPSILON);
+
+        this.batch.resetAll();
+        this.batch.updateAll(setpoints, new double[] {5, 5}, DT, outputs);
+        assertEquals(0, outputs[filtered], EPSILON);
+    }
+
+    @Test
+    public void doesNotKickOnASetpointChange() {
+        int controller = this.batch.add(0, 0, 1);
+        this.batch.setOutputLimits(controller, -100, 100);
+
+        this.batch.update(controller, 0, 0, DT);
+        assertEquals(0, this.batch.update(controller, 50, 0, DT), EPSILON);
+    }
+}
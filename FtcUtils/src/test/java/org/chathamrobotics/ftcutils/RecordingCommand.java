@@ -0,0 +1,94 @@
+package org.chathamrobotics.ftcutils;
+
+import java.util.List;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * A command for tests that adds every call it gets to a shared list of events, and finishes after
+ * a number of loops.
+ */
+class RecordingCommand extends Command {
+    /**
+     * The events of every command, eg "a init", "a exec", "a end" or "a interrupted".
+     */
+    private final List<String> events;
+
+    /**
+     * The name used in the events.
+     */
+    private final String name;
+
+    /**
+     * The number of loops to run for, or -1 to run until interrupted.
+     */
+    private final int loops;
+
+    /**
+     * Whether the command can be interrupted.
+     */
+    private boolean interruptible = true;
+
+    /**
+     * The number of loops run since it was started.
+     */
+    private int executed;
+
+    /**
+     * Creates a new instance of RecordingCommand.
+     *
+     * @param events    the list to add the events to.
+     * @param name      the name used in the events.
+     * @param loops     the number of loops to run for, or -1 to run until interrupted.
+     * @param resources the resources used by the command.
+     */
+    RecordingCommand(List<String> events, String name, int loops, Object... resources) {
+        this.events = events;
+        this.name = name;
+        this.loops = loops;
+        requires(resources);
+    }
+
+    /**
+     * Makes the command unable to be interrupted.
+     *
+     * @return  the command.
+     */
+    RecordingCommand uninterruptible() {
+        this.interruptible = false;
+        return this;
+    }
+
+    @Override
+    public boolean isInterruptible() {
+        return this.interruptible;
+    }
+
+    @Override
+    public void initialize() {
+        this.executed = 0;
+        this.events.add(this.name + " init");
+    }
+
+    @Override
+    public void execute() {
+        this.executed++;
+        this.events.add(this.name + " exec");
+    }
+
+    @Override
+    public boolean isFinished() {
+        return this.loops >= 0 && this.executed >= this.loops;
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        this.events.add(this.name + (interrupted ? " interrupted" : " end"));
+    }
+}
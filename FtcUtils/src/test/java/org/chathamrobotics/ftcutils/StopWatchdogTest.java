@@ -0,0 +1,140 @@
+package org.chathamrobotics.ftcutils;
+
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+
+import org.chathamrobotics.ftcutils.sim.SimMotor;
+import org.chathamrobotics.ftcutils.sim.SimTelemetry;
+import org.chathamrobotics.ftcutils.sim.Simulator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Tests {@link StopWatchdog} stopping a simulated motor while the test's thread stands in for opmode
+ * code that is stuck and never checks for the stop.
+ */
+public class StopWatchdogTest {
+    /**
+     * The most the watchdog may take past its period, to allow for a busy machine.
+     */
+    private static final long SLACK = 250;
+
+    /**
+     * An opmode that is never run, only stopped.
+     */
+    private static class IdleOpMode extends LinearOpMode {
+        @Override
+        public void runOpMode() {}
+    }
+
+    /**
+     * A robot with the simulator's hardware.
+     */
+    private static class SimRobot extends Robot {
+        private SimRobot(Simulator simulator) {
+            super(simulator.getHardwareMap(), new SimTelemetry());
+        }
+
+        @Override
+        public void initHardware() {}
+
+        @Override
+        public void start() {}
+    }
+
+    private IdleOpMode opMode;
+    private SimMotor motor;
+    private StopToken token;
+    private StopWatchdog watchdog;
+
+    @Before
+    public void setUp() {
+        Simulator simulator = new Simulator(0.01);
+        this.motor = simulator.addMotor("Lift");
+        this.motor.setPower(1);
+
+        this.opMode = new IdleOpMode();
+        this.token = new StopToken();
+        this.watchdog = new StopWatchdog(this.opMode, new SimRobot(simulator), this.token, 20);
+    }
+
+    @After
+    public void tearDown() {
+        this.watchdog.close();
+    }
+
+    @Test(timeout = 5000)
+    public void stopsTheMotorsSoonAfterTheStopButton() throws InterruptedException {
+        this.watchdog.start();
+        Thread.sleep(50);
+        assertEquals(1, this.motor.getPower(), 0);
+
+        this.opMode.stop();
+        long latency = awaitMotorStop();
+
+        assertTrue("stopped after " + latency + " ms", latency <= 20 + SLACK);
+        assertTrue(this.watchdog.isTripped());
+        assertTrue(this.token.isStopped());
+    }
+
+    @Test(timeout = 5000)
+    public void stopsTheMotorsWhenTheTokenIsStopped() throws InterruptedException {
+        this.watchdog.start();
+
+        this.token.stop();
+        long latency = awaitMotorStop();
+
+        assertTrue("stopped after " + latency + " ms", latency <= 20 + SLACK);
+        assertTrue(this.watchdog.isTripped());
+    }
+
+    @Test(timeout = 5000)
+    public void closeDoesNotWaitOutThePeriod() {
+        StopWatchdog watchdog = new StopWatchdog(this.opMode, new SimRobot(new Simulator(0.01)), this.token, 60000);
+        watchdog.start();
+
+        long start = System.nanoTime();
+        watchdog.close();
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        assertFalse(watchdog.isTripped());
+    }
+
+    @Test(timeout = 5000)
+    public void leavesTheMotorsAloneOnceClosed() throws InterruptedException {
+        this.watchdog.start();
+        this.watchdog.close();
+
+        this.opMode.stop();
+        Thread.sleep(100);
+
+        assertEquals(1, this.motor.getPower(), 0);
+        assertFalse(this.watchdog.isTripped());
+    }
+
+    /**
+     * Waits on the test's thread, without checking for the stop, until the motor is stopped.
+     *
+     * @return  the time since this was called in milliseconds.
+     */
+    private long awaitMotorStop() {
+        long start = System.nanoTime();
+        while (this.motor.getPower() != 0) Thread.yield();
+
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
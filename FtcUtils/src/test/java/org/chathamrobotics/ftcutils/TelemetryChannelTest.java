@@ -0,0 +1,158 @@
+package org.chathamrobotics.ftcutils;
+
+import org.chathamrobotics.ftcutils.sim.SimTelemetry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Tests {@link TelemetryChannel} publishing to a {@link SimTelemetry} and the log, with a heading
+ * key at DEBUG and a voltage key at INFO.
+ */
+public class TelemetryChannelTest {
+    private static final String TAG = "TelemetryChannelTest";
+
+    /**
+     * A log writer that keeps the lines it was given.
+     */
+    private static class RecordingWriter implements LogWriter {
+        private final List<String> lines = new ArrayList<>();
+
+        @Override
+        public void println(int priority, String tag, String line) {
+            this.lines.add(priority + " " + tag + ": " + line);
+        }
+    }
+
+    private LogWriter previousWriter;
+    private RecordingWriter writer;
+    private SimTelemetry telemetry;
+    private RobotLogger logger;
+    private TelemetryChannel channel;
+    private int heading, voltage;
+
+    @Before
+    public void setUp() {
+        this.previousWriter = RobotLogger.getLogWriter();
+        this.writer = new RecordingWriter();
+        RobotLogger.setLogWriter(this.writer);
+
+        this.telemetry = new SimTelemetry();
+        this.logger = new RobotLogger(TAG, this.telemetry);
+        this.logger.setTelemetryLevel(RobotLogger.Level.DEBUG);
+
+        this.channel = this.logger.getChannel();
+        this.heading = this.channel.register(RobotLogger.Level.DEBUG, "Heading");
+        this.voltage = this.channel.register(RobotLogger.Level.INFO, "Voltage");
+    }
+
+    @After
+    public void tearDown() {
+        RobotLogger.setLogWriter(this.previousWriter);
+        this.logger.setTelemetryLevel(LogLevels.DEFAULT_LEVEL);
+    }
+
+    @Test
+    public void registersKeysInOrder() {
+        assertEquals(0, this.heading);
+        assertEquals(1, this.voltage);
+        assertEquals(2, this.channel.getKeyCount());
+        assertEquals("Voltage", this.channel.getCaption(this.voltage));
+        assertEquals(RobotLogger.Level.DEBUG, this.channel.getLevel(this.heading));
+
+        this.channel.set(this.voltage, 12.5);
+        assertEquals(12.5, this.channel.get(this.voltage), 0);
+        assertEquals(0, this.channel.get(this.heading), 0);
+    }
+
+    @Test
+    public void rendersTheValuesWhenTheTelemetryIsSent() {
+        this.channel.set(this.heading, 1.5);
+        this.channel.set(this.voltage, 12.5);
+        this.channel.publish(true);
+
+        // the lines are built from the values at the time the telemetry is sent
+        this.channel.set(this.heading, 2.5);
+        this.telemetry.update();
+
+        assertEquals(Arrays.asList("[" + TAG + "/DEBUG] : Heading: 2.5", "[" + TAG + "/INFO] : Voltage: 12.5"),
+                this.telemetry.getLines());
+
+        // they are not kept past the next update, and nothing went to the log while looping
+        this.telemetry.update();
+        assertEquals(Collections.<String>emptyList(), this.telemetry.getLines());
+        assertTrue(this.writer.lines.isEmpty());
+    }
+
+    @Test
+    public void logsOutsideOfALoop() {
+        this.channel.set(this.heading, 1.5);
+        this.channel.publish(false);
+        this.channel.set(this.heading, 2.5);
+        this.telemetry.update();
+
+        assertEquals("[" + TAG + "/DEBUG] : Heading: 1.5", this.telemetry.getLines().get(0));
+        assertEquals(Arrays.asList("5 " + TAG + ": Heading: 1.5", "4 " + TAG + ": Voltage: 0.0"), this.writer.lines);
+    }
+
+    @Test
+    public void leavesOutKeysBelowTheLevel() {
+        this.logger.setTelemetryLevel(RobotLogger.Level.INFO);
+
+        this.channel.publish(true);
+        this.telemetry.update();
+
+        assertEquals(Collections.singletonList("[" + TAG + "/INFO] : Voltage: 0.0"), this.telemetry.getLines());
+    }
+
+    @Test
+    public void givesTheSubscribersEverySample() {
+        final List<double[]> samples = new ArrayList<>();
+        final long[] lastTime = {0};
+
+        TelemetryChannel.Subscriber subscriber = new TelemetryChannel.Subscriber() {
+            @Override
+            public void onSample(TelemetryChannel channel, long time, double[] values) {
+                assertTrue(time >= lastTime[0]);
+                lastTime[0] = time;
+                samples.add(values);
+                samples.add(values.clone());
+            }
+        };
+        this.channel.addSubscriber(subscriber);
+
+        this.channel.set(this.heading, 1);
+        this.channel.publish(true);
+        this.channel.set(this.heading, 2);
+        this.channel.publish(true);
+
+        // the values array is the channel's own, so publishing does not create one
+        assertSame(samples.get(0), samples.get(2));
+        assertArrayEquals(new double[] {1, 0}, samples.get(1), 0);
+        assertArrayEquals(new double[] {2, 0}, samples.get(3), 0);
+
+        assertTrue(this.channel.removeSubscriber(subscriber));
+        assertFalse(this.channel.removeSubscriber(subscriber));
+        this.channel.publish(true);
+        assertEquals(4, samples.size());
+    }
+}
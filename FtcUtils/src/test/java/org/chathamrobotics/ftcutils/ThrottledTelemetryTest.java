@@ -0,0 +1,189 @@
+package org.chathamrobotics.ftcutils;
+
+import org.chathamrobotics.ftcutils.sim.SimTelemetry;
+import org.chathamrobotics.ftcutils.sim.Simulator;
+import org.firstinspires.ftc.robotcore.external.Func;
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Tests {@link ThrottledTelemetry} sending to a {@link SimTelemetry}.
+ */
+public class ThrottledTelemetryTest {
+    private SimTelemetry target;
+    private ThrottledTelemetry telemetry;
+
+    @Before
+    public void setUp() {
+        this.target = new SimTelemetry();
+        this.telemetry = new ThrottledTelemetry(this.target);
+    }
+
+    @Test
+    public void sendsOnlyWhenSomethingChanged() {
+        this.telemetry.addData("a", 1);
+        this.telemetry.addData("b", 2);
+        assertTrue(this.telemetry.update());
+        assertEquals(Arrays.asList("a : 1", "b : 2"), this.target.getLines());
+
+        this.telemetry.addData("a", 1);
+        this.telemetry.addData("b", 2);
+        assertFalse(this.telemetry.update());
+
+        this.telemetry.addData("a", 1);
+        this.telemetry.addData("b", 3);
+        assertTrue(this.telemetry.update());
+        assertEquals(Arrays.asList("a : 1", "b : 3"), this.target.getLines());
+
+        assertEquals(2, this.target.getUpdateCount());
+        assertEquals(2, this.telemetry.getSentCount());
+        assertEquals(1, this.telemetry.getSkippedCount());
+        assertEquals(1, this.telemetry.getUnchangedCount());
+    }
+
+    @Test
+    public void skipsUpdatesWithinTheInterval() {
+        this.telemetry.setInterval(60000);
+
+        // the first update is never held back
+        this.telemetry.addData("a", 1);
+        assertTrue(this.telemetry.update());
+
+        this.telemetry.addData("a", 2);
+        assertFalse(this.telemetry.update());
+        this.telemetry.addData("a", 3);
+        assertFalse(this.telemetry.update());
+        assertEquals(Collections.singletonList("a : 1"), this.target.getLines());
+
+        this.telemetry.addData("a", 4);
+        assertTrue(this.telemetry.flush());
+        assertEquals(Collections.singletonList("a : 4"), this.target.getLines());
+
+        assertEquals(2, this.telemetry.getSentCount());
+        assertEquals(2, this.telemetry.getSkippedCount());
+        assertEquals(0, this.telemetry.getUnchangedCount());
+    }
+
+    @Test
+    public void keepsRetainedItems() {
+        final int[] count = {0};
+
+        this.telemetry.addData("retained", "kept").setRetained(true);
+        this.telemetry.addData("count", new Func<Integer>() {
+            @Override
+            public Integer value() {
+                return ++count[0];
+            }
+        });
+        this.telemetry.addData("once", "gone");
+        this.telemetry.update();
+        assertEquals(Arrays.asList("retained : kept", "count : 1", "once : gone"), this.target.getLines());
+
+        // only the line that is not retained goes away
+        this.telemetry.addData("loop", 1);
+        this.telemetry.update();
+        assertEquals(Arrays.asList("retained : kept", "count : 2", "loop : 1"), this.target.getLines());
+
+        this.telemetry.addData("loop", 2);
+        this.telemetry.update();
+        assertEquals(Arrays.asList("retained : kept", "count : 3", "loop : 2"), this.target.getLines());
+    }
+
+    @Test
+    public void clearRemovesTheLinesThatAreNotRetained() {
+        this.telemetry.addData("retained", "kept").setRetained(true);
+        this.telemetry.addData("a", 1);
+        this.telemetry.update();
+
+        this.telemetry.clear();
+        assertTrue(this.telemetry.update());
+        assertEquals(Collections.singletonList("retained : kept"), this.target.getLines());
+
+        this.telemetry.clearAll();
+        this.telemetry.update();
+        assertEquals(Collections.<String>emptyList(), this.target.getLines());
+    }
+
+    @Test
+    public void clearsWithoutAutoClearOnlyWhenAsked() {
+        this.telemetry.setAutoClear(false);
+
+        this.telemetry.addData("a", 1);
+        this.telemetry.update();
+        this.telemetry.update();
+        assertEquals(Collections.singletonList("a : 1"), this.target.getLines());
+
+        this.telemetry.clear();
+        this.telemetry.update();
+        assertEquals(Collections.<String>emptyList(), this.target.getLines());
+    }
+
+    @Test
+    public void removesLinesAndItems() {
+        Telemetry.Line line = this.telemetry.addLine("line");
+        line.addData("a", 1);
+        Telemetry.Item item = this.telemetry.addData("b", 2).setRetained(true);
+        this.telemetry.update();
+        assertEquals(Arrays.asList("line : ", "a : 1", "b : 2"), this.target.getLines());
+
+        this.telemetry.addLine("line").addData("a", 1);
+
+        assertTrue(this.telemetry.removeItem(item));
+        assertFalse(this.telemetry.removeItem(item));
+        this.telemetry.update();
+        assertEquals(Arrays.asList("line : ", "a : 1"), this.target.getLines());
+
+        Telemetry.Line second = this.telemetry.addLine("line");
+        second.addData("a", 1);
+        assertTrue(this.telemetry.removeLine(second));
+        assertFalse(this.telemetry.removeLine(second));
+        this.telemetry.update();
+        assertEquals(Collections.<String>emptyList(), this.target.getLines());
+    }
+
+    @Test
+    public void robotOnlyThrottlesWhenAsked() {
+        Simulator simulator = new Simulator(0.01);
+        SimTelemetry telemetry = new SimTelemetry();
+        telemetry.setMsTransmissionInterval(250);
+
+        Robot robot = new Robot(simulator.getHardwareMap(), telemetry) {
+            @Override
+            public void initHardware() {}
+
+            @Override
+            public void start() {}
+        };
+
+        assertSame(telemetry, robot.telemetry);
+        assertNull(robot.getThrottledTelemetry());
+
+        robot.setTelemetryInterval(100);
+        assertSame(robot.telemetry, robot.getThrottledTelemetry());
+        assertEquals(100, robot.getThrottledTelemetry().getInterval());
+
+        // the logger writes through the throttled telemetry
+        robot.logger.info("hello");
+        robot.getThrottledTelemetry().flush();
+        assertEquals(1, telemetry.getLines().size());
+        assertTrue(telemetry.getLines().get(0), telemetry.getLines().get(0).endsWith("hello"));
+    }
+}
@@ -0,0 +1,51 @@
+package org.chathamrobotics.ftcutils.benchmark;
+
+import org.chathamrobotics.ftcutils.Ballistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Measures {@link Ballistics#requiredVelocity(double, double, double)} over a sweep of distances.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BallisticsBenchmark {
+    /**
+     * The ballistics being measured.
+     */
+    private final Ballistics ballistics = new Ballistics();
+
+    /**
+     * The distance to the target, changed every call so that it is never the same.
+     */
+    private double distance = 0.5;
+
+    @Benchmark
+    public double requiredVelocity() {
+        this.distance = this.distance > 4 ? 0.5 : this.distance + 0.01;
+
+        // returned so that the calculation is not removed as dead code
+        return this.ballistics.requiredVelocity(this.distance, 1.2, Math.toRadians(40));
+    }
+}
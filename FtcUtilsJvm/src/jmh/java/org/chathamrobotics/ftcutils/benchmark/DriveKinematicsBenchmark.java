@@ -0,0 +1,199 @@
+package org.chathamrobotics.ftcutils.benchmark;
+
+import org.chathamrobotics.ftcutils.DriveKinematics;
+import org.chathamrobotics.ftcutils.OmniWheelDriver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Measures {@link DriveKinematics#solve(double, double, double, double[])} for each drivetrain
+ * against mixing the powers one motor at a time, the way the original omniwheel driver did.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DriveKinematicsBenchmark {
+    /**
+     * The drivetrains measured.
+     */
+    public enum Drivetrain {TANK, MECANUM, X_DRIVE}
+
+    /**
+     * The number of inputs cycled through.
+     */
+    private static final int INPUT_COUNT = 64;
+
+    /**
+     * The drivetrain measured.
+     */
+    @Param({"TANK", "MECANUM", "X_DRIVE"})
+    public Drivetrain drivetrain;
+
+    /**
+     * The kinematics of the drivetrain.
+     */
+    private DriveKinematics kinematics;
+
+    /**
+     * The forward and right speeds and rotations cycled through, so that the powers change every call.
+     */
+    private final double[] ys = new double[INPUT_COUNT], xs = new double[INPUT_COUNT],
+            rotations = new double[INPUT_COUNT];
+
+    /**
+     * The index of the next input.
+     */
+    private int input;
+
+    /**
+     * The motor powers, returned so that they are not removed as dead code.
+     */
+    private final double[] powers = new double[4];
+
+    @Setup
+    public void setUp() {
+        switch (this.drivetrain) {
+            case TANK: this.kinematics = DriveKinematics.tank(); break;
+            case MECANUM: this.kinematics = DriveKinematics.mecanum(); break;
+            default: this.kinematics = DriveKinematics.xDrive();
+        }
+
+        for (int i = 0; i < INPUT_COUNT; i++) {
+            double direction = 2 * Math.PI * i / INPUT_COUNT;
+
+            this.ys[i] = Math.sin(direction) * 0.8;
+            this.xs[i] = Math.cos(direction) * 0.8;
+            this.rotations[i] = (i % 5 - 2) * 0.2;
+        }
+    }
+
+    /**
+     * The power the original omniwheel driver gave a motor, copied from before the drivetrain API.
+     * Its rotation turns the other way from the rows, which does not change its cost.
+     *
+     * @param isFront   whether the motor is in the front.
+     * @param isLeft    whether the motor is on the left side.
+     * @param direction the direction in radians, with the plane transform added.
+     * @param rotation  the rotation.
+     * @param magnitude the magnitude of the motor power.
+     * @return          the power.
+     */
+    private static double calculateMotorPower(boolean isFront, boolean isLeft, double direction, double rotation, double magnitude) {
+        double power = (isFront == isLeft ? Math.sin(direction) : Math.cos(direction)) * magnitude;
+
+        if(isFront){
+            power -= rotation;
+        }
+        else {
+            power += rotation;
+            power *= -1;
+        }
+
+        return Math.max(-1, Math.min(1, power));
+    }
+
+    /**
+     * The power of a tank or mecanum motor, mixed one motor at a time like
+     * {@link #calculateMotorPower(boolean, boolean, double, double, double)}.
+     *
+     * @param isFront   whether the motor is in the front.
+     * @param isLeft    whether the motor is on the left side.
+     * @param y         the forward speed.
+     * @param x         the right speed, 0 for a tank drive.
+     * @param rotation  the rotation.
+     * @return          the power.
+     */
+    private static double calculateWheelPower(boolean isFront, boolean isLeft, double y, double x, double rotation) {
+        double power = isLeft ? y : -y;
+        power += isFront ? x : -x;
+
+        return Math.max(-1, Math.min(1, power + rotation));
+    }
+
+    /**
+     * Mixes the powers one motor at a time.
+     *
+     * @return  the powers.
+     */
+    @Benchmark
+    public double[] baseline() {
+        int i = this.input = (this.input + 1) % INPUT_COUNT;
+        double y = this.ys[i], rotation = this.rotations[i];
+        double x = this.drivetrain == Drivetrain.TANK ? 0 : this.xs[i];
+        double[] powers = this.powers;
+
+        if (this.drivetrain == Drivetrain.X_DRIVE) {
+            double direction = Math.atan2(y, x) + OmniWheelDriver.OMNIWHEEL_PLANE_TRANSFORM_ANGLE;
+            double magnitude = Math.sqrt(x * x + y * y);
+
+            powers[0] = calculateMotorPower(true, true, direction, rotation, magnitude);
+            powers[1] = calculateMotorPower(true, false, direction, rotation, magnitude);
+            powers[2] = calculateMotorPower(false, true, direction, rotation, magnitude);
+            powers[3] = calculateMotorPower(false, false, direction, rotation, magnitude);
+        }
+        else {
+            powers[0] = calculateWheelPower(true, true, y, x, rotation);
+            powers[1] = calculateWheelPower(true, false, y, x, rotation);
+            powers[2] = calculateWheelPower(false, true, y, x, rotation);
+            powers[3] = calculateWheelPower(false, false, y, x, rotation);
+        }
+
+        return powers;
+    }
+
+    /**
+     * Mixes the powers with the drivetrain's rows and clips each one.
+     *
+     * @return  the powers.
+     */
+    @Benchmark
+    public double[] solve() {
+        int i = this.input = (this.input + 1) % INPUT_COUNT;
+        double[] powers = this.powers;
+
+        this.kinematics.solve(this.ys[i], this.xs[i], this.rotations[i], powers);
+        for (int wheel = 0; wheel < powers.length; wheel++) {
+            powers[wheel] = Math.max(-1, Math.min(1, powers[wheel]));
+        }
+
+        return powers;
+    }
+
+    /**
+     * Mixes the powers with the drivetrain's rows and scales them down together.
+     *
+     * @return  the powers.
+     */
+    @Benchmark
+    public double[] solveAndNormalize() {
+        int i = this.input = (this.input + 1) % INPUT_COUNT;
+        double[] powers = this.powers;
+
+        this.kinematics.solve(this.ys[i], this.xs[i], this.rotations[i], powers);
+        DriveKinematics.normalize(powers, powers.length, 1);
+
+        return powers;
+    }
+}
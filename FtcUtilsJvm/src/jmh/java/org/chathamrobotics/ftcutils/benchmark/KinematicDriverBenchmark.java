@@ -0,0 +1,87 @@
+package org.chathamrobotics.ftcutils.benchmark;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+
+import org.chathamrobotics.ftcutils.DriveKinematics;
+import org.chathamrobotics.ftcutils.KinematicDriver;
+import org.chathamrobotics.ftcutils.sim.Simulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Measures {@link KinematicDriver#drive(double, double, double)} for each drivetrain, clipping or
+ * normalizing the powers, driving the simulator's motors.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KinematicDriverBenchmark {
+    /**
+     * The drivetrain measured.
+     */
+    @Param({"TANK", "MECANUM", "X_DRIVE"})
+    public DriveKinematicsBenchmark.Drivetrain drivetrain;
+
+    /**
+     * Whether the powers are scaled down together instead of clipped.
+     */
+    @Param({"true", "false"})
+    public boolean normalize;
+
+    /**
+     * The driver being measured.
+     */
+    private KinematicDriver driver;
+
+    /**
+     * The direction driven, changed every call so that the motor powers change.
+     */
+    private double direction;
+
+    @Setup
+    public void setUp() {
+        DriveKinematics kinematics;
+        switch (this.drivetrain) {
+            case TANK: kinematics = DriveKinematics.tank(); break;
+            case MECANUM: kinematics = DriveKinematics.mecanum(); break;
+            default: kinematics = DriveKinematics.xDrive();
+        }
+
+        Simulator simulator = new Simulator(0.01);
+        DcMotor[] motors = {
+                simulator.addMotor(Simulator.FRONT_LEFT), simulator.addMotor(Simulator.FRONT_RIGHT),
+                simulator.addMotor(Simulator.BACK_LEFT), simulator.addMotor(Simulator.BACK_RIGHT)
+        };
+
+        this.driver = new KinematicDriver(kinematics, motors);
+        this.driver.setNormalize(this.normalize);
+    }
+
+    @Benchmark
+    public void drive() {
+        this.direction += 0.01;
+        this.driver.drive(Math.sin(this.direction), Math.cos(this.direction), 0.2);
+    }
+}
@@ -0,0 +1,71 @@
+package org.chathamrobotics.ftcutils.benchmark;
+
+import org.chathamrobotics.ftcutils.OmniKinematics;
+import org.chathamrobotics.ftcutils.OmniWheelDriver;
+import org.chathamrobotics.ftcutils.sim.SimTelemetry;
+import org.chathamrobotics.ftcutils.sim.Simulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Measures {@link OmniWheelDriver#move(double, double, double)} with each trig mode, driving the
+ * simulator's motors.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OmniWheelDriverBenchmark {
+    /**
+     * How the sine and cosine of the direction are found.
+     */
+    @Param({"EXACT", "LOOKUP"})
+    public OmniKinematics.TrigMode trigMode;
+
+    /**
+     * The driver being measured.
+     */
+    private OmniWheelDriver driver;
+
+    /**
+     * The direction driven, changed every call so that the motor powers change.
+     */
+    private double direction;
+
+    @Setup
+    public void setUp() {
+        Simulator simulator = new Simulator(0.01);
+        simulator.addOmniDrivetrain();
+
+        this.driver = OmniWheelDriver.build(simulator.getHardwareMap(), new SimTelemetry());
+        this.driver.setSilent(true);
+        this.driver.setTrigMode(this.trigMode);
+    }
+
+    @Benchmark
+    public void move() {
+        this.direction += 0.01;
+        this.driver.move(this.direction, 0.2, 0.8);
+    }
+}
@@ -0,0 +1,105 @@
+package org.chathamrobotics.ftcutils.benchmark;
+
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.chathamrobotics.ftcutils.LogWriter;
+import org.chathamrobotics.ftcutils.OmniWheelDriver;
+import org.chathamrobotics.ftcutils.Robot;
+import org.chathamrobotics.ftcutils.RobotLogger;
+import org.chathamrobotics.ftcutils.sim.SimTelemetry;
+import org.chathamrobotics.ftcutils.sim.Simulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Measures {@link Robot#debug()} for a robot with the four motors of an omniwheel drivetrain.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RobotDebugBenchmark {
+    /**
+     * A robot with only a driver.
+     */
+    public static class OmniRobot extends Robot {
+        /**
+         * Creates a new instance of OmniRobot.
+         *
+         * @param hardwareMap   the hardware map.
+         * @param telemetry     the telemetry.
+         */
+        public OmniRobot(HardwareMap hardwareMap, SimTelemetry telemetry) {
+            super(hardwareMap, telemetry);
+        }
+
+        @Override
+        public void initHardware() {
+            OmniWheelDriver driver = OmniWheelDriver.build(this.hardwareMap, this.telemetry);
+            driver.setSilent(true);
+            this.driver = driver;
+        }
+
+        @Override
+        public void start() {}
+    }
+
+    /**
+     * The robot being measured.
+     */
+    private Robot robot;
+
+    /**
+     * The writer used before the benchmark.
+     */
+    private LogWriter previousWriter;
+
+    @Setup
+    public void setUp(final Blackhole blackhole) {
+        this.previousWriter = RobotLogger.getLogWriter();
+        RobotLogger.setLogWriter(new LogWriter() {
+            @Override
+            public void println(int priority, String tag, String line) {
+                blackhole.consume(line);
+            }
+        });
+
+        Simulator simulator = new Simulator(0.01);
+        simulator.addOmniDrivetrain();
+
+        // the robot gets a telemetry of its own so that updating it does not step the simulator
+        this.robot = new OmniRobot(simulator.getHardwareMap(), new SimTelemetry());
+    }
+
+    @TearDown
+    public void tearDown() {
+        RobotLogger.setLogWriter(this.previousWriter);
+    }
+
+    @Benchmark
+    public void debug() {
+        this.robot.debug();
+    }
+}
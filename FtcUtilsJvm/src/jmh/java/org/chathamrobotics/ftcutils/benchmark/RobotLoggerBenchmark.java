@@ -0,0 +1,87 @@
+package org.chathamrobotics.ftcutils.benchmark;
+
+import org.chathamrobotics.ftcutils.LogWriter;
+import org.chathamrobotics.ftcutils.RobotLogger;
+import org.chathamrobotics.ftcutils.sim.SimTelemetry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Measures logging a value or a line from loop code, and logging a line to the log cat.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RobotLoggerBenchmark {
+    /**
+     * The logger being measured.
+     */
+    private RobotLogger logger;
+
+    /**
+     * The writer used before the benchmark.
+     */
+    private LogWriter previousWriter;
+
+    /**
+     * The value logged, changed every call so that it is never the same.
+     */
+    private double value;
+
+    @Setup
+    public void setUp(final Blackhole blackhole) {
+        // hands the lines to the blackhole instead of printing them, so only the logger is measured
+        this.previousWriter = RobotLogger.getLogWriter();
+        RobotLogger.setLogWriter(new LogWriter() {
+            @Override
+            public void println(int priority, String tag, String line) {
+                blackhole.consume(line);
+            }
+        });
+
+        this.logger = new RobotLogger("Benchmark", new SimTelemetry());
+    }
+
+    @TearDown
+    public void tearDown() {
+        RobotLogger.setLogWriter(this.previousWriter);
+    }
+
+    @Benchmark
+    public void debugValueLooping() {
+        this.logger.debug("value", this.value += 0.001, true);
+    }
+
+    @Benchmark
+    public void infoLineLooping() {
+        this.logger.info("line", true);
+    }
+
+    @Benchmark
+    public void infoLine() {
+        this.logger.info("line", false);
+    }
+}
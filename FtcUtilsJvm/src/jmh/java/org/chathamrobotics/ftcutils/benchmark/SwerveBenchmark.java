@@ -0,0 +1,112 @@
+package org.chathamrobotics.ftcutils.benchmark;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.Servo;
+import com.qualcomm.robotcore.hardware.ServoImpl;
+
+import org.chathamrobotics.ftcutils.SwerveDriver;
+import org.chathamrobotics.ftcutils.SwerveKinematics;
+import org.chathamrobotics.ftcutils.sim.Simulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Measures {@link SwerveKinematics#solve(double, double, double, double[], double[])} on its own
+ * and in {@link SwerveDriver#drive(double, double, double)}, driving the simulator's motors.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SwerveBenchmark {
+    /**
+     * A steering servo without a controller, which keeps the position it is set to.
+     */
+    private static class BenchmarkServo extends ServoImpl {
+        /**
+         * The position last set.
+         */
+        private double position;
+
+        private BenchmarkServo(int port) {
+            super(null, port);
+        }
+
+        @Override
+        public void setPosition(double position) {
+            this.position = position;
+        }
+
+        @Override
+        public double getPosition() {
+            return this.position;
+        }
+    }
+
+    /**
+     * The kinematics being measured.
+     */
+    private final SwerveKinematics kinematics = new SwerveKinematics(0.4, 0.3);
+
+    /**
+     * The module speeds and angles, returned so that they are not removed as dead code.
+     */
+    private final double[] speeds = new double[SwerveKinematics.MODULE_COUNT],
+            angles = new double[SwerveKinematics.MODULE_COUNT];
+
+    /**
+     * The driver being measured.
+     */
+    private SwerveDriver driver;
+
+    /**
+     * The direction driven, changed every call so that the module speeds and angles change.
+     */
+    private double direction;
+
+    @Setup
+    public void setUp() {
+        Simulator simulator = new Simulator(0.01);
+        DcMotor[] motors = {
+                simulator.addMotor(Simulator.FRONT_LEFT), simulator.addMotor(Simulator.FRONT_RIGHT),
+                simulator.addMotor(Simulator.BACK_LEFT), simulator.addMotor(Simulator.BACK_RIGHT)
+        };
+        Servo[] steering = {new BenchmarkServo(1), new BenchmarkServo(2), new BenchmarkServo(3), new BenchmarkServo(4)};
+
+        this.driver = new SwerveDriver(this.kinematics, motors, steering);
+    }
+
+    @Benchmark
+    public double[] solve() {
+        this.direction += 0.01;
+        this.kinematics.solve(Math.sin(this.direction), Math.cos(this.direction), 0.2, this.speeds, this.angles);
+
+        return this.speeds;
+    }
+
+    @Benchmark
+    public void drive() {
+        this.direction += 0.01;
+        this.driver.drive(Math.sin(this.direction), Math.cos(this.direction), 0.2);
+    }
+}
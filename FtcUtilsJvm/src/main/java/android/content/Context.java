@@ -0,0 +1,15 @@
+package android.content;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Stands in for the Android context off the robot. The SDK's hardware map holds one, but the
+ * simulator never gives it one.
+ */
+public abstract class Context {}
@@ -0,0 +1,89 @@
+package android.util;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Stands in for the Android log cat off the robot. Lines are printed to standard error in the log
+ * cat's brief format.
+ */
+public final class Log {
+    /**
+     * The priorities of the log cat.
+     */
+    public static final int VERBOSE = 2, DEBUG = 3, INFO = 4, WARN = 5, ERROR = 6, ASSERT = 7;
+
+    /**
+     * The letter for each priority.
+     */
+    private static final String PRIORITY_LETTERS = "??VDIWEA";
+
+    private Log() {}
+
+    public static int v(String tag, String msg) {return println(VERBOSE, tag, msg);}
+    public static int v(String tag, String msg, Throwable tr) {return println(VERBOSE, tag, msg, tr);}
+    public static int d(String tag, String msg) {return println(DEBUG, tag, msg);}
+    public static int d(String tag, String msg, Throwable tr) {return println(DEBUG, tag, msg, tr);}
+    public static int i(String tag, String msg) {return println(INFO, tag, msg);}
+    public static int i(String tag, String msg, Throwable tr) {return println(INFO, tag, msg, tr);}
+    public static int w(String tag, String msg) {return println(WARN, tag, msg);}
+    public static int w(String tag, String msg, Throwable tr) {return println(WARN, tag, msg, tr);}
+    public static int w(String tag, Throwable tr) {return println(WARN, tag, "", tr);}
+    public static int e(String tag, String msg) {return println(ERROR, tag, msg);}
+    public static int e(String tag, String msg, Throwable tr) {return println(ERROR, tag, msg, tr);}
+    public static int wtf(String tag, String msg) {return println(ASSERT, tag, msg);}
+    public static int wtf(String tag, String msg, Throwable tr) {return println(ASSERT, tag, msg, tr);}
+    public static int wtf(String tag, Throwable tr) {return println(ASSERT, tag, "", tr);}
+
+    /**
+     * Always true off the robot.
+     *
+     * @param tag       the tag.
+     * @param level     the priority.
+     * @return          true.
+     */
+    public static boolean isLoggable(String tag, int level) {
+        return true;
+    }
+
+    /**
+     * Gets the stack trace of an exception as a string.
+     *
+     * @param tr    the exception.
+     * @return      the stack trace, or an empty string if tr is null.
+     */
+    public static String getStackTraceString(Throwable tr) {
+        if (tr == null) return "";
+
+        java.io.StringWriter writer = new java.io.StringWriter();
+        tr.printStackTrace(new java.io.PrintWriter(writer));
+        return writer.toString();
+    }
+
+    /**
+     * Prints a line.
+     *
+     * @param priority  the priority.
+     * @param tag       the tag.
+     * @param msg       the line.
+     * @return          the number of characters printed.
+     */
+    public static int println(int priority, String tag, String msg) {
+        String line = PRIORITY_LETTERS.charAt(priority >= 0 && priority < PRIORITY_LETTERS.length() ? priority : 0)
+                + "/" + tag + ": " + msg;
+        System.err.println(line);
+        return line.length();
+    }
+
+    /**
+     * Prints a line followed by the stack trace of an exception.
+     */
+    private static int println(int priority, String tag, String msg, Throwable tr) {
+        return println(priority, tag, tr == null ? msg : msg + '\n' + getStackTraceString(tr));
+    }
+}
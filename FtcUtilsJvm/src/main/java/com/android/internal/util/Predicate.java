@@ -0,0 +1,24 @@
+package com.android.internal.util;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Stands in for the Android predicate the SDK's opmode classes use off the robot.
+ *
+ * @param <T>   the type of the values tested.
+ */
+public interface Predicate<T> {
+    /**
+     * Tests a value.
+     *
+     * @param t the value.
+     * @return  whether the value passes.
+     */
+    boolean apply(T t);
+}
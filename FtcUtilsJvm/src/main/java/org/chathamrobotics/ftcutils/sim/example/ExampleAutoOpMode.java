@@ -0,0 +1,51 @@
+package org.chathamrobotics.ftcutils.sim.example;
+
+import com.qualcomm.robotcore.eventloop.opmode.OpMode;
+
+import org.chathamrobotics.ftcutils.AutonomousOpMode;
+import org.chathamrobotics.ftcutils.Path;
+import org.chathamrobotics.ftcutils.PathFollower;
+import org.chathamrobotics.ftcutils.RobotFactory;
+import org.chathamrobotics.ftcutils.StoppedException;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * An autonomous that follows an S shaped path and then turns in place until stopped.
+ */
+public class ExampleAutoOpMode extends AutonomousOpMode<ExampleRobot> {
+    /**
+     * Creates a new instance of ExampleAutoOpMode.
+     */
+    public ExampleAutoOpMode() {
+        super(true, new RobotFactory<ExampleRobot>() {
+            @Override
+            public ExampleRobot create(OpMode opMode) {
+                return new ExampleRobot(opMode);
+            }
+        });
+    }
+
+    @Override
+    public void runRobot() throws StoppedException {
+        PathFollower follower = new PathFollower(Path.through(new double[] {0, 0, 0.6, 0.6, 0.6, 1.5, 0, 1.8}, 0.02),
+                this.robot.getOdometry(), 0.2);
+        follower.setSlowdownDistance(0.3);
+        follower.setTolerance(0.02);
+        follower.setHeadingGains(2, 0, 0);
+
+        followPath(follower, this.robot.getDriver());
+        this.robot.logger.info("Path done");
+
+        while (true) {
+            this.robot.getDriver().drive(0, 0, 0.5);
+            status();
+        }
+    }
+}
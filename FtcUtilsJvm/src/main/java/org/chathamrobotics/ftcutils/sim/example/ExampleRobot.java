@@ -0,0 +1,69 @@
+package org.chathamrobotics.ftcutils.sim.example;
+
+import com.qualcomm.robotcore.eventloop.opmode.OpMode;
+
+import org.chathamrobotics.ftcutils.OmniOdometry;
+import org.chathamrobotics.ftcutils.OmniWheelDriver;
+import org.chathamrobotics.ftcutils.Robot;
+import org.chathamrobotics.ftcutils.sim.SimMotor;
+import org.chathamrobotics.ftcutils.sim.SimOmniDrivetrain;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * A robot with an omniwheel drivetrain, set up to match the simulator's {@link SimOmniDrivetrain}.
+ */
+public class ExampleRobot extends Robot {
+    /**
+     * Tracks the robot's pose from the wheels.
+     */
+    private OmniOdometry odometry;
+
+    /**
+     * Creates a new instance of ExampleRobot.
+     *
+     * @param opMode    used to get the hardware.
+     */
+    public ExampleRobot(OpMode opMode) {
+        super(opMode);
+    }
+
+    @Override
+    public void initHardware() {
+        OmniWheelDriver driver = OmniWheelDriver.build(this.hardwareMap, this.telemetry);
+        driver.setSilent(true);
+        this.driver = driver;
+
+        // distances are in meters, like the simulator's
+        this.odometry = OmniOdometry.build(this.hardwareMap,
+                SimMotor.DEFAULT_MAX_SPEED / SimOmniDrivetrain.DEFAULT_MAX_SPEED,
+                SimOmniDrivetrain.DEFAULT_MAX_SPEED / SimOmniDrivetrain.DEFAULT_MAX_TURN_RATE);
+    }
+
+    @Override
+    public void start() {}
+
+    /**
+     * Gets the driver.
+     *
+     * @return  the driver.
+     */
+    public OmniWheelDriver getDriver() {
+        return (OmniWheelDriver) this.driver;
+    }
+
+    /**
+     * Gets the odometry.
+     *
+     * @return  the odometry.
+     */
+    public OmniOdometry getOdometry() {
+        return this.odometry;
+    }
+}
@@ -0,0 +1,46 @@
+package org.chathamrobotics.ftcutils.sim.example;
+
+import org.chathamrobotics.ftcutils.LogWriter;
+import org.chathamrobotics.ftcutils.sim.SimOmniDrivetrain;
+import org.chathamrobotics.ftcutils.sim.Simulator;
+
+import java.util.Locale;
+
+/*!
+ * ftc-utils
+ * Copyright (c) 2017 Chatham Robotics
+ * MIT License
+ * @Last Modified by: Carson Storm
+ * @Last Modified time: 5/26/2017
+ */
+
+/**
+ * Runs {@link ExampleAutoOpMode} in the simulator and prints where the robot ended up.
+ *
+ * <p>Run it with {@code ./gradlew run} from the FtcUtilsJvm directory. The first argument is the
+ * simulated time to run for in seconds, 5 by default.</p>
+ */
+public final class RunExample {
+    private RunExample() {}
+
+    /**
+     * Runs the example.
+     *
+     * @param args                  the simulated time to run for in seconds.
+     * @throws InterruptedException Thrown if the thread is interrupted.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 5;
+
+        Simulator simulator = new Simulator(0.01);
+        SimOmniDrivetrain drivetrain = simulator.addOmniDrivetrain();
+        simulator.setLogWriter(LogWriter.STANDARD_OUT);
+
+        long start = System.nanoTime();
+        simulator.run(new ExampleAutoOpMode(), seconds);
+
+        System.out.println(String.format(Locale.US, "Simulated %.2f s in %d ms: x %.3f m, y %.3f m, heading %.3f rad",
+                simulator.getTime(), (System.nanoTime() - start) / 1000000,
+                drivetrain.getX(), drivetrain.getY(), drivetrain.getHeading()));
+    }
+}